@@ -41,6 +41,8 @@ import org.opalj.tac.cg.AllocationSiteBasedPointsToCallGraphKey
 import org.opalj.tac.cg.CallGraphSerializer
 import org.opalj.tac.cg.CFA_1_0_CallGraphKey
 import org.opalj.tac.cg.CFA_1_1_CallGraphKey
+import org.opalj.tac.cg.BulkSynchronousCHACallGraphKey
+import org.opalj.tac.cg.BulkSynchronousRTACallGraphKey
 import org.opalj.tac.cg.CHACallGraphKey
 import org.opalj.tac.cg.CTACallGraphKey
 import org.opalj.tac.cg.FTACallGraphKey
@@ -62,6 +64,8 @@ import org.opalj.tac.fpcf.analyses.pointsto.TamiFlexKey
  * You can specify the call-graph algorithm:
  *  -algorithm=CHA for an CHA-based call graph
  *  -algorithm=RTA for an RTA-based call graph
+ *  -algorithm=BulkSynchronousCHA|BulkSynchronousRTA for the same call graphs computed by the
+ *   bulk-synchronous call graph analysis (configured call graph modules are ignored)
  *  -algorithm=PointsTo for a points-to based call graph
  * The default algorithm is RTA.
  *
@@ -87,11 +91,11 @@ object CallGraph extends ProjectAnalysisApplication {
     }
 
     override def analysisSpecificParametersDescription: String = {
-        "[-algorithm=CHA|RTA|MTA|FTA|CTA|XTA|TypeBasedPointsTo|PointsTo|1-0-CFA|1-1-CFA]"+
+        "[-algorithm=CHA|RTA|BulkSynchronousCHA|BulkSynchronousRTA|MTA|FTA|CTA|XTA|TypeBasedPointsTo|PointsTo|1-0-CFA|1-1-CFA]"+
             "[-domain=domain]"+
             "[-callers=method]"+
             "[-callees=method]"+
-            "[-writeCG=file]"+
+            "[-writeCG=file(.json|.opalcg)]"+
             "[-analysisName=name]"+
             "[-schedulingStrategy=name]"+
             "[-writeOutput=file]"+
@@ -108,7 +112,7 @@ object CallGraph extends ProjectAnalysisApplication {
     }
 
     private val algorithmRegex =
-        "-algorithm=(CHA|RTA|MTA|FTA|CTA|XTA|TypeBasedPointsTo|PointsTo|1-0-CFA|1-1-CFA)".r
+        "-algorithm=(CHA|RTA|BulkSynchronousCHA|BulkSynchronousRTA|MTA|FTA|CTA|XTA|TypeBasedPointsTo|PointsTo|1-0-CFA|1-1-CFA)".r
 
     override def checkAnalysisSpecificParameters(parameters: Seq[String]): Iterable[String] = {
         val remainingParameters =
@@ -176,16 +180,18 @@ object CallGraph extends ProjectAnalysisApplication {
 
         val cg = time {
             cgAlgorithm match {
-                case "CHA"               => project.get(CHACallGraphKey)
-                case "RTA"               => project.get(RTACallGraphKey)
-                case "MTA"               => project.get(MTACallGraphKey)
-                case "FTA"               => project.get(FTACallGraphKey)
-                case "CTA"               => project.get(CTACallGraphKey)
-                case "XTA"               => project.get(XTACallGraphKey)
-                case "TypeBasedPointsTo" => project.get(TypeBasedPointsToCallGraphKey)
-                case "PointsTo"          => project.get(AllocationSiteBasedPointsToCallGraphKey)
-                case "1-0-CFA"           => project.get(CFA_1_0_CallGraphKey)
-                case "1-1-CFA"           => project.get(CFA_1_1_CallGraphKey)
+                case "CHA"                => project.get(CHACallGraphKey)
+                case "RTA"                => project.get(RTACallGraphKey)
+                case "BulkSynchronousCHA" => project.get(BulkSynchronousCHACallGraphKey)
+                case "BulkSynchronousRTA" => project.get(BulkSynchronousRTACallGraphKey)
+                case "MTA"                => project.get(MTACallGraphKey)
+                case "FTA"                => project.get(FTACallGraphKey)
+                case "CTA"                => project.get(CTACallGraphKey)
+                case "XTA"                => project.get(XTACallGraphKey)
+                case "TypeBasedPointsTo"  => project.get(TypeBasedPointsToCallGraphKey)
+                case "PointsTo"           => project.get(AllocationSiteBasedPointsToCallGraphKey)
+                case "1-0-CFA"            => project.get(CFA_1_0_CallGraphKey)
+                case "1-1-CFA"            => project.get(CFA_1_1_CallGraphKey)
             }
         } { t => callGraphTime = t.toSeconds }
 
@@ -270,7 +276,10 @@ object CallGraph extends ProjectAnalysisApplication {
         }
 
         if (cgFile.nonEmpty) {
-            CallGraphSerializer.writeCG(cg, new File(cgFile.get))
+            if (cgFile.get.endsWith(".opalcg"))
+                CallGraphSerializer.writeBinaryCG(cg, new File(cgFile.get))
+            else
+                CallGraphSerializer.writeCG(cg, new File(cgFile.get))
         }
 
         if (outputFile.isDefined) {
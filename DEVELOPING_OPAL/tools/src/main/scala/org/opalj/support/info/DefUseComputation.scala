@@ -0,0 +1,103 @@
+/* BSD 2-Clause License - see OPAL/LICENSE for details. */
+package org.opalj
+package support
+package info
+
+import java.net.URL
+
+import org.opalj.util.Nanoseconds
+import org.opalj.util.PerformanceEvaluation.timed
+import org.opalj.br.Method
+import org.opalj.br.analyses.BasicReport
+import org.opalj.br.analyses.Project
+import org.opalj.br.analyses.ProjectAnalysisApplication
+import org.opalj.ai.BaseAI
+import org.opalj.ai.domain.RecordDefUseInReversePostorder
+import org.opalj.ai.domain.l1.DefaultDomainWithCFGAndDefUse
+
+/**
+ * Compares the time required to perform the abstract interpretation – including the
+ * computation of the def/use information – of the largest methods of a project using
+ * the standard def/use computation and the def/use computation which evaluates the join
+ * instructions in reverse postorder. Additionally checks that the results are identical.
+ *
+ * E.g., to evaluate the 100 largest methods of the JDK:
+ * {{{
+ * DefUseComputation -JDK -methods=100
+ * }}}
+ */
+object DefUseComputation extends ProjectAnalysisApplication {
+
+    override def title: String = "Def/Use Computation"
+
+    override def description: String = {
+        "compares the def/use computation strategies using the largest methods of a project"
+    }
+
+    final val MethodsParameterPrefix = "-methods="
+
+    final val RunsParameterPrefix = "-runs="
+
+    override def analysisSpecificParametersDescription: String = {
+        "[-methods=<Number of (largest) methods to analyze> (Default: 100)]\n"+
+            "[-runs=<Number of runs per method> (Default: 5)]"
+    }
+
+    override def checkAnalysisSpecificParameters(parameters: Seq[String]): Iterable[String] = {
+        val remainingParameters =
+            parameters.filter { p =>
+                !p.startsWith(MethodsParameterPrefix) && !p.startsWith(RunsParameterPrefix)
+            }
+        super.checkAnalysisSpecificParameters(remainingParameters)
+    }
+
+    def doAnalyze(
+        project:       Project[URL],
+        parameters:    Seq[String],
+        isInterrupted: () => Boolean
+    ): BasicReport = {
+        val methodsCount = parameters.collectFirst {
+            case p if p.startsWith(MethodsParameterPrefix) => p.substring(MethodsParameterPrefix.length).toInt
+        }.getOrElse(100)
+        val runs = parameters.collectFirst {
+            case p if p.startsWith(RunsParameterPrefix) => p.substring(RunsParameterPrefix.length).toInt
+        }.getOrElse(5)
+
+        val largestMethods: Seq[Method] =
+            project.allMethodsWithBody.sortBy(m => -m.body.get.codeSize).take(methodsCount)
+
+        var defaultTime = Nanoseconds.None
+        var reversePostorderTime = Nanoseconds.None
+        var differences = List.empty[String]
+
+        for { m <- largestMethods } {
+            for { _ <- 1 to runs } {
+                val (t1, r1) = timed {
+                    BaseAI(m, new DefaultDomainWithCFGAndDefUse(project, m))
+                }
+                val (t2, r2) = timed {
+                    BaseAI(m, new DefaultDomainWithCFGAndDefUse(project, m) with RecordDefUseInReversePostorder)
+                }
+                defaultTime += t1
+                reversePostorderTime += t2
+
+                val code = m.body.get
+                val isDifferent =
+                    (-code.maxLocals until code.codeSize).exists { vo =>
+                        r1.domain.safeUsedBy(vo) != r2.domain.safeUsedBy(vo)
+                    }
+                if (isDifferent) differences ::= m.toJava
+            }
+        }
+
+        BasicReport(
+            s"analyzed the ${largestMethods.size} largest methods "+
+                s"(code size: ${largestMethods.lastOption.map(_.body.get.codeSize).getOrElse(0)}-"+
+                s"${largestMethods.headOption.map(_.body.get.codeSize).getOrElse(0)} bytes; "+
+                s"$runs runs per method)\n"+
+                s"default def/use computation: ${defaultTime.toSeconds}\n"+
+                s"evaluating joins in reverse postorder: ${reversePostorderTime.toSeconds}\n"+
+                differences.distinct.mkString(s"methods with different results: ${differences.size}\n\t", "\n\t", "\n")
+        )
+    }
+}
@@ -0,0 +1,104 @@
+/* BSD 2-Clause License - see OPAL/LICENSE for details. */
+package org.opalj
+package support
+package info
+
+import java.net.URL
+
+import com.typesafe.config.ConfigFactory
+import com.typesafe.config.ConfigValueFactory
+
+import org.opalj.log.LogContext
+import org.opalj.log.OPALLogger
+import org.opalj.util.Nanoseconds
+import org.opalj.util.PerformanceEvaluation.memory
+import org.opalj.util.PerformanceEvaluation.time
+import org.opalj.util.asMB
+import org.opalj.br.analyses.BasicReport
+import org.opalj.br.analyses.Project
+import org.opalj.br.analyses.ProjectAnalysisApplication
+import org.opalj.br.fpcf.FPCFAnalysesManagerKey
+import org.opalj.tac.cg.RTACallGraphKey
+import org.opalj.tac.fpcf.analyses.ide.IDESolver
+import org.opalj.tac.fpcf.analyses.taint.TaintAnalysisScheduler
+import org.opalj.tac.fpcf.analyses.taint.TaintConfiguration
+import org.opalj.tac.fpcf.analyses.taint.TaintProblem
+
+/**
+ * Runs the taint analysis on a project and reports the findings as well as the time and the
+ * memory required to compute the call graph and the taint flows; intended for regular (e.g.,
+ * nightly) scans and for benchmarking. The sources, sinks and sanitizers are configured in the
+ * project configuration (see [[org.opalj.tac.fpcf.analyses.taint.TaintConfiguration]] and
+ * `-projectConfig`).
+ *
+ * The benchmark corpus of the taint analysis is the test fixture project `taint` (see
+ * `OPAL/bi/src/test/fixtures-java/projects/taint`): all flows in classes whose names start with
+ * `Leak` have to be found, the classes whose names start with `Safe` must not have findings.
+ */
+object TaintAnalysisRunner extends ProjectAnalysisApplication {
+
+    override def title: String = "Taint Analysis"
+
+    override def description: String = {
+        "Reports the flows from the configured sources to the configured sinks."
+    }
+
+    override def analysisSpecificParametersDescription: String = {
+        "[-backward (computes the flows backward starting at the sinks)]\n"+
+            "[-k=<the maximum number of fields of an access path>]"
+    }
+
+    override def checkAnalysisSpecificParameters(parameters: Seq[String]): Iterable[String] = {
+        parameters.filterNot(p => p == "-backward" || p.startsWith("-k=")).map("unknown parameter: "+_)
+    }
+
+    override def doAnalyze(
+        project:       Project[URL],
+        parameters:    Seq[String],
+        isInterrupted: () => Boolean
+    ): BasicReport = {
+        var config = ConfigFactory.empty()
+        if (parameters.contains("-backward")) {
+            config = config.withValue(
+                TaintConfiguration.ConfigKeyPrefix+"direction",
+                ConfigValueFactory.fromAnyRef("backward")
+            )
+        }
+        parameters.find(_.startsWith("-k=")).foreach { k =>
+            config = config.withValue(
+                TaintConfiguration.ConfigKeyPrefix+"accessPathLength",
+                ConfigValueFactory.fromAnyRef(Integer.valueOf(k.substring(3)))
+            )
+        }
+        val p = if (config.isEmpty) project else Project.recreate(project, config)
+        implicit val logContext: LogContext = p.logContext
+
+        var callGraphTime = Nanoseconds.None
+        var analysisTime = Nanoseconds.None
+        var analysisMemory = 0L
+
+        time { p.get(RTACallGraphKey) } { t => callGraphTime = t }
+        val problem = memory {
+            time {
+                val (_, analyses) = p.get(FPCFAnalysesManagerKey).runAll(TaintAnalysisScheduler)
+                analyses.collectFirst {
+                    case (_, solver: IDESolver[_, _]) => solver.problem.asInstanceOf[TaintProblem]
+                }.get
+            } { t => analysisTime = t }
+        } { mu => analysisMemory = mu }
+
+        val configuration = problem.configuration
+        val findings = problem.findings.toList.map(_.toString).sorted
+        OPALLogger.info(
+            "analysis progress",
+            s"taint analysis: call graph ${callGraphTime.toSeconds}; "+
+                s"taint flows ${analysisTime.toSeconds} (${asMB(analysisMemory)})"
+        )
+
+        val direction = if (configuration.isBackward) "backward" else "forward"
+        s"taint analysis ($direction, k = ${configuration.accessPathLength})\n"+
+            s"call graph: ${callGraphTime.toSeconds}\n"+
+            s"taint flows: ${analysisTime.toSeconds}, ${asMB(analysisMemory)}\n"+
+            findings.mkString(s"findings (${findings.size}):\n\t", "\n\t", "\n")
+    }
+}
@@ -10,6 +10,7 @@ import org.opalj.ai.domain.l1.DefaultDomainWithCFGAndDefUse
 import org.opalj.ai.fpcf.properties.AIDomainFactoryKey
 import org.opalj.tac.cg.RTACallGraphKey
 import org.opalj.tac.fpcf.analyses.EagerFieldLocalityAnalysis
+import org.opalj.tac.fpcf.analyses.EagerGroupedFieldLocalityAnalysis
 import org.opalj.tac.fpcf.analyses.escape.LazyInterProceduralEscapeAnalysis
 import org.opalj.tac.fpcf.analyses.escape.LazyReturnValueFreshnessAnalysis
 
@@ -41,4 +42,20 @@ class FieldLocalityTests extends PropertiesTest {
             Set("FieldLocality")
         )
     }
+
+    describe("field locality analysis is executed per class") {
+        val as = executeAnalyses(
+            Set[FPCFAnalysisScheduler](
+                EagerGroupedFieldLocalityAnalysis,
+                LazyInterProceduralEscapeAnalysis,
+                LazyReturnValueFreshnessAnalysis
+            )
+        )
+        as.propertyStore.shutdown()
+        validateProperties(
+            as,
+            fieldsWithAnnotations(as.project),
+            Set("FieldLocality")
+        )
+    }
 }
@@ -12,6 +12,7 @@ import org.opalj.ai.fpcf.properties.AIDomainFactoryKey
 import org.opalj.tac.cg.RTACallGraphKey
 import org.opalj.tac.fpcf.analyses.escape.LazyInterProceduralEscapeAnalysis
 import org.opalj.tac.fpcf.analyses.purity.LazyL2PurityAnalysis
+import org.opalj.tac.fpcf.analyses.EagerGroupedL2FieldMutabilityAnalysis
 import org.opalj.tac.fpcf.analyses.EagerL1FieldMutabilityAnalysis
 import org.opalj.tac.fpcf.analyses.EagerL2FieldMutabilityAnalysis
 
@@ -77,4 +78,17 @@ class FieldMutabilityTests extends PropertiesTest {
         validateProperties(as, fieldsWithAnnotations(as.project), Set("FieldMutability"))
     }
 
+    describe("the org.opalj.fpcf.analyses.L2FieldMutabilityAnalysis is executed per class") {
+        val as = executeAnalyses(
+            Set(
+                EagerGroupedL2FieldMutabilityAnalysis,
+                LazyUnsoundPrematurelyReadFieldsAnalysis,
+                LazyL2PurityAnalysis,
+                LazyInterProceduralEscapeAnalysis
+            )
+        )
+        as.propertyStore.shutdown()
+        validateProperties(as, fieldsWithAnnotations(as.project), Set("FieldMutability"))
+    }
+
 }
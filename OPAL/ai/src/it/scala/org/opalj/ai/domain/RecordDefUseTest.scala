@@ -61,6 +61,37 @@ class RecordDefUseTest extends AnyFunSpec with Matchers {
     ) extends DefUseDomain(method, project)
         with RefineDefUseUsingOrigins // this should not really affect the results...
 
+    protected[this] class ReversePostorderDefUseDomain(
+            method:  Method,
+            project: Project[URL]
+    ) extends DefUseDomain(method, project)
+        with RecordDefUseInReversePostorder // the results have to be identical
+
+    protected[this] def compareDefUse(
+        m:  Method,
+        r1: AIResult { val domain: DefUseDomain },
+        r2: AIResult { val domain: DefUseDomain }
+    ): Unit = {
+        val d1: r1.domain.type = r1.domain
+        val d2: r2.domain.type = r2.domain
+        val parametersCount = m.body.get.maxLocals
+        for (vo <- -parametersCount until m.body.get.codeSize) {
+            if (d1.safeUsedBy(vo) != d2.safeUsedBy(vo))
+                fail(s"usedBy($vo) differs: ${d1.safeUsedBy(vo)} vs. ${d2.safeUsedBy(vo)}")
+        }
+        for {
+            (ops, pc) <- r1.operandsArray.iterator.zipWithIndex
+            if ops ne null
+            stackIndex <- ops.indices
+        } {
+            if (d1.operandOrigin(pc, stackIndex) != d2.operandOrigin(pc, stackIndex))
+                fail(
+                    s"operandOrigin($pc,$stackIndex) differs: "+
+                        s"${d1.operandOrigin(pc, stackIndex)} vs. ${d2.operandOrigin(pc, stackIndex)}"
+                )
+        }
+    }
+
     protected[this] def analyzeDefUse(
         m:                        Method,
         r:                        AIResult { val domain: DefUseDomain },
@@ -239,6 +270,19 @@ class RecordDefUseTest extends AnyFunSpec with Matchers {
             }
         } { t => info(s"using the reference domain's origin information took ${t.toSeconds}") }
 
+        time {
+            project.parForeachMethodWithBody() { methodInfo =>
+                val m = methodInfo.method
+                try {
+                    val aiResult = BaseAI(m, new DefUseDomain(m, project))
+                    val rpoAIResult = BaseAI(m, new ReversePostorderDefUseDomain(m, project))
+                    compareDefUse(m, aiResult, rpoAIResult)
+                } catch {
+                    case t: Throwable => failures.add((m, t.fillInStackTrace))
+                }
+            }
+        } { t => info(s"comparing the def/use information computed in reverse postorder took ${t.toSeconds}") }
+
         val baseMessage = s"origin information of ${identicalOrigins.get} values is identical"
         if (failures.size > 0) {
             val failureMessages = for { (m, exception) <- failures.asScala } yield {
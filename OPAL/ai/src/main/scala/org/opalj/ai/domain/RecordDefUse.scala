@@ -578,6 +578,54 @@ trait RecordDefUse extends RecordCFG { defUseDomain: Domain with TheCode =>
         propagate(currentPC, successorPC, defOps(currentPC), newDefLocals)
     }
 
+    /**
+     * If `true`, the instructions where the control flow joins are evaluated in reverse
+     * postorder w.r.t. the abstract interpretation time cfg. In this case, a join instruction
+     * is – ignoring back edges – only evaluated after the def/use information of all its
+     * predecessors is known; this avoids that the def/use information of (large) parts of
+     * a method is computed over and over again. This is primarily beneficial for (large)
+     * methods with many (nested) branches.
+     * The computed def/use information is the same; in particular, it is still computed and
+     * stored per instruction (i.e., this is not a sparse, SSA-based computation).
+     *
+     * @note The setting is ignored for methods with subroutines (JSR/RET).
+     */
+    protected[this] def evaluateJoinsInReversePostorder: Boolean = false
+
+    /**
+     * Computes the postorder number of each instruction w.r.t. the abstract interpretation
+     * time cfg; the numbers of instructions that were not evaluated are `-1`.
+     */
+    protected[this] def computePostorderNumbers(): Array[Int] = {
+        val codeSize = code.instructions.length
+        val postorderNumbers = new Array[Int](codeSize)
+        java.util.Arrays.fill(postorderNumbers, -1)
+        val visited = new Array[Boolean](codeSize)
+        var nextPostorderNumber = 0
+
+        val pcs = mutable.Stack.empty[Int]
+        val successors = mutable.Stack.empty[Iterator[Int]]
+        visited(0) = true
+        pcs.push(0)
+        successors.push(allSuccessorsOf(0).iterator)
+        while (pcs.nonEmpty) {
+            val pcSuccessors = successors.top
+            if (pcSuccessors.hasNext) {
+                val successorPC = pcSuccessors.next()
+                if (!visited(successorPC)) {
+                    visited(successorPC) = true
+                    pcs.push(successorPC)
+                    successors.push(allSuccessorsOf(successorPC).iterator)
+                }
+            } else {
+                successors.pop()
+                postorderNumbers(pcs.pop()) = nextPostorderNumber
+                nextPostorderNumber += 1
+            }
+        }
+        postorderNumbers
+    }
+
     /**
      * Completes the computation of the definition/use information by using the recorded cfg.
      */
@@ -620,6 +668,24 @@ trait RecordDefUse extends RecordCFG { defUseDomain: Domain with TheCode =>
         var subroutineUsed: Array[ValueOrigins] = null
         var subroutineUsedExternalExceptions: Array[ValueOrigins] = null
 
+        // If not null, the pending join instructions are managed by `pendingJoinPCs` instead of
+        // `nextJoinPCs` and are evaluated in reverse postorder; i.e., the join instruction with
+        // the highest postorder number is evaluated first.
+        // (Not supported in the presence of subroutines, because the instructions belonging
+        // to a subroutine are evaluated once per subroutine call.)
+        val pendingJoinPCs: mutable.PriorityQueue[Int] =
+            if (evaluateJoinsInReversePostorder && subroutinePCs.isEmpty) {
+                val postorderNumbers = computePostorderNumbers()
+                mutable.PriorityQueue.empty[Int](Ordering.by[Int, Int](postorderNumbers(_)))
+            } else {
+                null
+            }
+        // Used to ensure that a join instruction is pending at most once.
+        val isPendingJoinPC: Array[Boolean] =
+            if (pendingJoinPCs ne null) new Array[Boolean](code.instructions.length) else null
+
+        def hasPendingJoinPCs: Boolean = (pendingJoinPCs ne null) && pendingJoinPCs.nonEmpty
+
         /**
          * Updates/computes the def/use information when the instruction with
          * the pc `successorPC` is executed immediately after the instruction with `currentPC`.
@@ -1132,13 +1198,20 @@ trait RecordDefUse extends RecordCFG { defUseDomain: Domain with TheCode =>
             }
         }
 
-        while (nextPCs.top.nonEmpty || nextJoinPCs.top.nonEmpty || scheduleNextSubroutine()) {
+        while (nextPCs.top.nonEmpty ||
+            nextJoinPCs.top.nonEmpty ||
+            hasPendingJoinPCs ||
+            scheduleNextSubroutine()) {
             val currentPC =
                 if (nextPCs.top.nonEmpty) {
                     val IntRefPair(currentPC, newNextPCs) = nextPCs.pop().headAndTail
                     nextPCs.push(newNextPCs)
                     //    print("next pc: "+currentPC)
                     currentPC
+                } else if (hasPendingJoinPCs) {
+                    val currentPC = pendingJoinPCs.dequeue()
+                    isPendingJoinPC(currentPC) = false
+                    currentPC
                 } else {
                     val IntRefPair(currentPC, newNextJoinPCs) = nextJoinPCs.pop().headAndTail
                     nextJoinPCs.push(newNextJoinPCs)
@@ -1213,7 +1286,14 @@ trait RecordDefUse extends RecordCFG { defUseDomain: Domain with TheCode =>
                         currentSubroutineLevel == 0 ||
                         belongsToSubroutine(currentPC) == belongsToSubroutine(successorPC)) {
                         if (cfJoins.contains(successorPC)) {
-                            nextJoinPCs.push(nextJoinPCs.pop() + successorPC)
+                            if (pendingJoinPCs ne null) {
+                                if (!isPendingJoinPC(successorPC)) {
+                                    isPendingJoinPC(successorPC) = true
+                                    pendingJoinPCs.enqueue(successorPC)
+                                }
+                            } else {
+                                nextJoinPCs.push(nextJoinPCs.pop() + successorPC)
+                            }
                         } else {
                             nextPCs.push(nextPCs.pop() + successorPC)
                         }
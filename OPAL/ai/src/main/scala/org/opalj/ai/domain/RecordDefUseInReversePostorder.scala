@@ -0,0 +1,21 @@
+/* BSD 2-Clause License - see OPAL/LICENSE for details. */
+package org.opalj
+package ai
+package domain
+
+/**
+ * Computes the definition/use information by evaluating the instructions where the control
+ * flow joins in reverse postorder (w.r.t. the abstract interpretation time cfg).
+ * The computed information is the same as the information computed by [[RecordDefUse]];
+ * however, in case of large methods with many (nested) branches the number of re-evaluations
+ * of instructions is significantly reduced.
+ *
+ * @note The def/use information is still computed and stored per instruction; this trait only
+ *       changes the order in which the instructions are evaluated.
+ */
+trait RecordDefUseInReversePostorder extends RecordDefUse {
+    defUseDomain: Domain with TheCode =>
+
+    override protected[this] def evaluateJoinsInReversePostorder: Boolean = true
+
+}
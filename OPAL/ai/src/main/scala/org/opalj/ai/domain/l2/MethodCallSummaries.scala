@@ -0,0 +1,191 @@
+/* BSD 2-Clause License - see OPAL/LICENSE for details. */
+package org.opalj
+package ai
+package domain
+package l2
+
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.concurrent.atomic.AtomicLong
+
+import com.typesafe.config.Config
+
+import org.opalj.value.ValueInformation
+import org.opalj.br.Method
+import org.opalj.br.analyses.ProjectInformationKey
+import org.opalj.br.analyses.ProjectInformationKeys
+import org.opalj.br.analyses.SomeProject
+
+/**
+ * The abstract signature of a call: the canonical representation of the operands
+ * (in the order of the operand stack; i.e., the receiver, if any, is the last value) and
+ * the context in which the summary is valid. The context is used to distinguish
+ * summaries computed by (called method) domains that have a different precision.
+ */
+final case class MethodCallSignature(context: AnyRef, operands: List[ValueInformation])
+
+/**
+ * The domain independent summary of the result of the abstract interpretation of a
+ * called method.
+ *
+ * @param returnsNormally `true` if the method (potentially) returns normally.
+ * @param returnedValue The canonical representation of the returned value; `None` if the
+ *        method is void or never returns normally.
+ * @param returnedOperand The index of the operand (w.r.t. the operand stack) that is
+ *        returned as is; `-1` if the returned value is not (known to be) one of the operands.
+ * @param thrownExceptions The canonical representation of the thrown exceptions; `None`
+ *        if the method does not throw exceptions or if the exceptions are not derived from
+ *        the called method (see [[PerformInvocations.useExceptionsThrownByCalledMethod]]).
+ */
+final case class MethodCallSummary(
+        returnsNormally:  Boolean,
+        returnedValue:    Option[ValueInformation],
+        returnedOperand:  Int,
+        thrownExceptions: Option[List[ValueInformation]]
+)
+
+/**
+ * Statistics about the usage of a [[MethodCallSummaries]] table.
+ */
+final case class MethodCallSummariesStatistics(
+        summaries: Int,
+        hits:      Long,
+        misses:    Long,
+        rejected:  Long
+) {
+
+    def hitRatio: Double = if (hits + misses == 0L) 0.0d else hits.toDouble / (hits + misses)
+
+    override def toString: String = {
+        s"MethodCallSummariesStatistics(summaries=$summaries,hits=$hits,misses=$misses,"+
+            s"rejected=$rejected,hitRatio=${(hitRatio * 100).round}%)"
+    }
+}
+
+/**
+ * Stores the summaries of the abstract interpretations of called methods to make it
+ * possible to reuse them across call sites and calling methods.
+ *
+ * Each summary is computed for one [[MethodCallSignature]]; i.e., it is only reused if
+ * the called method is called with the same (abstract) operands.
+ *
+ * ==Thread Safety==
+ * This class is thread-safe. If two threads concurrently compute the summary for the
+ * same signature, the summary of the thread that finishes first is kept.
+ *
+ * @param maxSummaries The maximum number of summaries that are stored; if the limit is
+ *        reached, newly computed summaries are no longer stored.
+ * @param maxSummariesPerMethod The maximum number of summaries stored per method.
+ */
+class MethodCallSummaries(val maxSummaries: Int, val maxSummariesPerMethod: Int) {
+
+    private[this] val summaries = {
+        new ConcurrentHashMap[Method, ConcurrentHashMap[MethodCallSignature, MethodCallSummary]]()
+    }
+
+    private[this] val summariesCount = new AtomicInteger(0)
+    private[this] val hitsCount = new AtomicLong(0L)
+    private[this] val missesCount = new AtomicLong(0L)
+    private[this] val rejectedCount = new AtomicLong(0L)
+
+    /**
+     * Returns the summary for the given method and signature if available.
+     */
+    def get(method: Method, signature: MethodCallSignature): Option[MethodCallSummary] = {
+        val methodSummaries = summaries.get(method)
+        val summary = if (methodSummaries ne null) methodSummaries.get(signature) else null
+        if (summary ne null) {
+            hitsCount.incrementAndGet()
+            Some(summary)
+        } else {
+            missesCount.incrementAndGet()
+            None
+        }
+    }
+
+    /**
+     * Stores the given summary unless a cache limit is reached.
+     *
+     * @return `true` if the summary was stored or an equivalent summary was already stored.
+     */
+    def put(
+        method:    Method,
+        signature: MethodCallSignature,
+        summary:   MethodCallSummary
+    ): Boolean = {
+        var methodSummaries = summaries.get(method)
+        if (methodSummaries eq null) {
+            val newMethodSummaries = new ConcurrentHashMap[MethodCallSignature, MethodCallSummary]()
+            methodSummaries = summaries.putIfAbsent(method, newMethodSummaries)
+            if (methodSummaries eq null) methodSummaries = newMethodSummaries
+        }
+
+        if (methodSummaries.containsKey(signature))
+            return true;
+
+        if (methodSummaries.size >= maxSummariesPerMethod) {
+            rejectedCount.incrementAndGet()
+            return false;
+        }
+        if (summariesCount.incrementAndGet() > maxSummaries) {
+            summariesCount.decrementAndGet()
+            rejectedCount.incrementAndGet()
+            return false;
+        }
+
+        if (methodSummaries.putIfAbsent(signature, summary) ne null) {
+            // another thread was faster...
+            summariesCount.decrementAndGet()
+        }
+        true
+    }
+
+    def statistics: MethodCallSummariesStatistics = {
+        MethodCallSummariesStatistics(
+            summariesCount.get,
+            hitsCount.get,
+            missesCount.get,
+            rejectedCount.get
+        )
+    }
+
+    /**
+     * Removes all summaries; the statistics are not reset.
+     */
+    def clear(): Unit = {
+        summaries.clear()
+        summariesCount.set(0)
+    }
+
+    override def toString: String = s"MethodCallSummaries($statistics)"
+}
+
+object MethodCallSummaries {
+
+    final val ConfigKeyPrefix = "org.opalj.ai.domain.l2.MethodCallSummaries."
+
+    final val MaxSummariesConfigKey = ConfigKeyPrefix+"maxSummaries"
+
+    final val MaxSummariesPerMethodConfigKey = ConfigKeyPrefix+"maxSummariesPerMethod"
+
+    def apply(config: Config): MethodCallSummaries = {
+        new MethodCallSummaries(
+            config.getInt(MaxSummariesConfigKey),
+            config.getInt(MaxSummariesPerMethodConfigKey)
+        )
+    }
+}
+
+/**
+ * The [[org.opalj.br.analyses.ProjectInformationKey]] to get the project-wide
+ * [[MethodCallSummaries]] table. The limits of the table are configured using
+ * the project's configuration (see [[MethodCallSummaries.ConfigKeyPrefix]]).
+ */
+object MethodCallSummariesKey extends ProjectInformationKey[MethodCallSummaries, Nothing] {
+
+    override def requirements(project: SomeProject): ProjectInformationKeys = Nil
+
+    override def compute(project: SomeProject): MethodCallSummaries = {
+        MethodCallSummaries(project.config)
+    }
+}
@@ -0,0 +1,141 @@
+/* BSD 2-Clause License - see OPAL/LICENSE for details. */
+package org.opalj
+package ai
+package domain
+package l2
+
+import org.opalj.br.Method
+
+/**
+ * Mix in this trait if the results of the abstract interpretations of called methods
+ * should be summarized and reused. I.e., a called method is only interpreted once per
+ * [[MethodCallSignature]] (the canonical form of the operands); afterwards, the cached
+ * [[MethodCallSummary]] is used by all call sites – also in other methods – which
+ * use the same [[MethodCallSummaries]] table.
+ *
+ * The summaries are domain independent. Hence, the identity of the returned value is
+ * only preserved if the called method returns one of its parameters as is; all
+ * other values are recreated using `InitializedDomainValue`. The thrown exceptions are only
+ * stored if [[useExceptionsThrownByCalledMethod]] is `true`; otherwise, the exceptions
+ * are – as in the case of [[PerformInvocations]] – determined by the calling domain.
+ *
+ * ==Usage==
+ * This trait has to be mixed in after [[PerformInvocations]] and – if used – after
+ * [[PerformInvocationsWithRecursionDetection]]; e.g.,
+ * {{{
+ * new DefaultDomain(project, method) with PerformInvocationsWithSummaries
+ * }}}
+ */
+trait PerformInvocationsWithSummaries extends PerformInvocations {
+    callingDomain: ValuesFactory with ReferenceValuesDomain with Configuration with TheProject with TheCode =>
+
+    /**
+     * The table that is used to look up and store the summaries; by default the
+     * project-wide table is used.
+     */
+    def methodCallSummaries: MethodCallSummaries = project.get(MethodCallSummariesKey)
+
+    /**
+     * Identifies the configuration of the called methods' domains; only summaries
+     * computed in the same context are reused. By default, the class of the calling
+     * domain is used.
+     */
+    def methodCallSummariesContext: AnyRef = callingDomain.getClass
+
+    protected[this] def methodCallSignature(operands: Operands): MethodCallSignature = {
+        MethodCallSignature(methodCallSummariesContext, operands.map(_.toCanonicalForm))
+    }
+
+    override protected[this] def doInvoke(
+        pc:       Int,
+        method:   Method,
+        operands: Operands,
+        fallback: () => MethodCallResult
+    ): MethodCallResult = {
+        methodCallSummaries.get(method, methodCallSignature(operands)) match {
+            case Some(summary) => toMethodCallResult(pc, operands, summary)
+            case None          => super.doInvoke(pc, method, operands, fallback)
+        }
+    }
+
+    override protected[this] def transformResult(
+        callerPC:           Int,
+        calledMethod:       Method,
+        originalOperands:   callingDomain.Operands,
+        calledMethodDomain: CalledMethodDomain
+    )(
+        passedParameters: calledMethodDomain.Locals,
+        result:           AIResult { val domain: calledMethodDomain.type }
+    ): MethodCallResult = {
+        val methodCallResult =
+            super.transformResult(
+                callerPC, calledMethod, originalOperands, calledMethodDomain
+            )(
+                passedParameters, result
+            )
+        methodCallSummaries.put(
+            calledMethod,
+            methodCallSignature(originalOperands),
+            toMethodCallSummary(originalOperands, methodCallResult)
+        )
+        methodCallResult
+    }
+
+    protected[this] def toMethodCallSummary(
+        operands:         Operands,
+        methodCallResult: MethodCallResult
+    ): MethodCallSummary = {
+        val returnedValue = if (methodCallResult.hasResult) Some(methodCallResult.result) else None
+        val returnedOperand = returnedValue match {
+            case Some(value) => operands.indexWhere(_ eq value)
+            case None        => -1
+        }
+        val thrownExceptions =
+            if (useExceptionsThrownByCalledMethod && methodCallResult.throwsException)
+                Some(methodCallResult.exceptions.iterator.map(_.toCanonicalForm).toList)
+            else
+                None
+        MethodCallSummary(
+            methodCallResult.returnsNormally,
+            returnedValue.map(_.toCanonicalForm),
+            returnedOperand,
+            thrownExceptions
+        )
+    }
+
+    protected[this] def toMethodCallResult(
+        pc:       Int,
+        operands: Operands,
+        summary:  MethodCallSummary
+    ): MethodCallResult = {
+        val returnedValue =
+            if (summary.returnedOperand >= 0)
+                Some(operands(summary.returnedOperand))
+            else
+                summary.returnedValue.map(vi => InitializedDomainValue(pc, vi))
+        if (!useExceptionsThrownByCalledMethod) {
+            // the exceptions are not part of the summary; they depend on the calling method
+            val exceptions = getPotentialExceptions(pc)
+            returnedValue match {
+                case Some(value)                     => MethodCallResult(value, exceptions)
+                case None if summary.returnsNormally => MethodCallResult(exceptions)
+                case None                            => ThrowsException(exceptions)
+            }
+        } else {
+            val origin = ValueOriginForMethodExternalException(pc)
+            val thrownExceptions: Option[ExceptionValues] =
+                summary.thrownExceptions.map { exceptions =>
+                    exceptions.map(vi => InitializedDomainValue(origin, vi).asDomainReferenceValue)
+                }
+            (summary.returnsNormally, returnedValue, thrownExceptions) match {
+                case (true, Some(v), Some(exceptions)) => ComputedValueOrException(v, exceptions)
+                case (true, Some(v), None)             => ComputedValue(v)
+                case (true, None, Some(exceptions)) =>
+                    ComputationWithSideEffectOrException(exceptions)
+                case (true, None, None)                => ComputationWithSideEffectOnly
+                case (false, _, Some(exceptions))      => ThrowsException(exceptions)
+                case (false, _, None)                  => ComputationFailed
+            }
+        }
+    }
+}
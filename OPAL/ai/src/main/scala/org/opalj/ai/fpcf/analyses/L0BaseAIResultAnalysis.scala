@@ -9,6 +9,7 @@ import org.opalj.log.OPALLogger.error
 import org.opalj.fpcf.Entity
 import org.opalj.fpcf.ProperPropertyComputationResult
 import org.opalj.fpcf.PropertyBounds
+import org.opalj.fpcf.PropertyKind
 import org.opalj.fpcf.PropertyStore
 import org.opalj.fpcf.Result
 import org.opalj.br.Method
@@ -96,7 +97,7 @@ object EagerL0BaseAIAnalysis
     }
 }
 
-object LazyL0BaseAIAnalysis
+sealed trait LazyL0BaseAIAnalysisScheduler
     extends L0BaseAIResultAnalysisScheduler
     with BasicFPCFLazyAnalysisScheduler {
 
@@ -108,3 +109,15 @@ object LazyL0BaseAIAnalysis
         analysis
     }
 }
+
+object LazyL0BaseAIAnalysis extends LazyL0BaseAIAnalysisScheduler
+
+/**
+ * Lazily computes the results of the abstract interpretation, which are (in general) only an
+ * intermediate step to derive the three-address code. Hence, they are transient; i.e., they
+ * may be dropped by the property store and are recomputed if they are required again.
+ */
+object LazyTransientL0BaseAIAnalysis extends LazyL0BaseAIAnalysisScheduler {
+
+    override def derivesTransiently: Set[PropertyKind] = Set(BaseAIResult.key)
+}
@@ -0,0 +1,172 @@
+/* BSD 2-Clause License - see OPAL/LICENSE for details. */
+package org.opalj.ai
+package fpcf
+package properties
+
+import java.util.concurrent.ConcurrentHashMap
+
+import scala.jdk.CollectionConverters._
+
+import com.typesafe.config.Config
+
+import org.opalj.log.OPALLogger
+import org.opalj.log.LogContext
+import org.opalj.util.Milliseconds
+import org.opalj.br.Method
+import org.opalj.br.analyses.SomeProject
+import org.opalj.ai.common.DomainRegistry
+
+/**
+ * Describes why the abstract interpretation of a method was aborted and which domain
+ * was used instead.
+ */
+sealed abstract class AIBudgetExceeded {
+
+    /** The domain which was used to perform the (successful) abstract interpretation. */
+    def fallbackDomainClass: Class[_ <: Domain]
+
+}
+
+/**
+ * The abstract interpretation was aborted after the evaluation of `maxEvaluationCount`
+ * instructions.
+ */
+case class InstructionBudgetExceeded(
+        maxEvaluationCount:  Int,
+        fallbackDomainClass: Class[_ <: Domain]
+) extends AIBudgetExceeded
+
+/**
+ * The abstract interpretation was aborted because it took longer than `maxEvaluationTime`.
+ */
+case class TimeBudgetExceeded(
+        maxEvaluationTime:   Milliseconds,
+        fallbackDomainClass: Class[_ <: Domain]
+) extends AIBudgetExceeded
+
+/**
+ * Performs the abstract interpretation of a method using a bounded abstract interpreter;
+ * i.e., the number of evaluated instructions and the time are limited. If the abstract
+ * interpretation is aborted, the method is (re)analyzed using the given cheaper (fallback)
+ * domain without any bounds. All methods for which the fallback domain was used are recorded.
+ *
+ * ==Thread Safety==
+ * This class is thread-safe.
+ *
+ * @param maxEvaluationFactor See [[InstructionCountBoundedAI.calculateMaxEvaluationCount]].
+ * @param maxEvaluationTime The time after which the abstract interpretation of a single
+ *        method is aborted.
+ * @param fallbackDomainFactory The factory of the domain which is used if the budget is
+ *        exceeded; the fallback domain has to satisfy the same requirements as the
+ *        original domain and should be significantly cheaper.
+ */
+class AIBudgetManager(
+        val maxEvaluationFactor:   Double,
+        val maxEvaluationTime:     Milliseconds,
+        val fallbackDomainClass:   Class[_ <: Domain],
+        val fallbackDomainFactory: (SomeProject, Method) => Domain
+) {
+
+    private[this] val degradedMethods = new ConcurrentHashMap[Method, AIBudgetExceeded]()
+
+    def apply(project: SomeProject, m: Method, domain: Domain): AIResult = {
+        implicit val logContext: LogContext = project.logContext
+
+        val ai = new BoundedInterruptableAI[Domain](
+            m.body.get,
+            maxEvaluationFactor,
+            maxEvaluationTime,
+            () => false
+        )
+        val aiResult = ai(m, domain)
+        if (!aiResult.wasAborted)
+            return aiResult;
+
+        val reason =
+            if (ai.currentEvaluationCount >= ai.maxEvaluationCount)
+                InstructionBudgetExceeded(ai.maxEvaluationCount, fallbackDomainClass)
+            else
+                TimeBudgetExceeded(maxEvaluationTime, fallbackDomainClass)
+        degradedMethods.put(m, reason)
+        OPALLogger.info(
+            "analysis progress",
+            s"the abstract interpretation of ${m.toJava} exceeded its budget ($reason); "+
+                s"using ${fallbackDomainClass.getSimpleName} instead"
+        )
+        BaseAI(m, fallbackDomainFactory(project, m))
+    }
+
+    /**
+     * The methods for which the fallback domain was used and the reason why.
+     */
+    def degraded: Map[Method, AIBudgetExceeded] = degradedMethods.asScala.toMap
+
+}
+
+object AIBudgetManager {
+
+    final val ConfigKeyPrefix = "org.opalj.ai.AIBudgetManager."
+
+    final val EnabledConfigKey = ConfigKeyPrefix+"enabled"
+
+    final val MaxEvaluationFactorConfigKey = ConfigKeyPrefix+"maxEvaluationFactor"
+
+    final val MaxEvaluationTimeConfigKey = ConfigKeyPrefix+"maxEvaluationTimeInMs"
+
+    /**
+     * The fully qualified name of the fallback domain; if empty, the cheapest (registered)
+     * domain which is less precise than the original domain and which satisfies the
+     * requirements is used.
+     */
+    final val FallbackDomainConfigKey = ConfigKeyPrefix+"fallbackDomain"
+
+    /**
+     * Creates the budget manager for the given domain as configured; returns `None` if the
+     * budget manager is disabled or if no suitable fallback domain exists.
+     *
+     * @param requirements The requirements which have to be satisfied by the fallback domain.
+     */
+    def apply(
+        config:       Config,
+        domainClass:  Class[_ <: Domain],
+        requirements: Iterable[Class[_ <: AnyRef]]
+    )(
+        implicit
+        logContext: LogContext
+    ): Option[AIBudgetManager] = {
+        if (!config.getBoolean(EnabledConfigKey))
+            return None;
+
+        val fallbackDomainName = config.getString(FallbackDomainConfigKey)
+        val fallbackDomainClasses: Set[Class[_ <: Domain]] =
+            if (fallbackDomainName.isEmpty) {
+                val lessPreciseDomains = DomainRegistry.allLessPreciseDomains(domainClass)
+                DomainRegistry.selectCheapest(requirements).filter(lessPreciseDomains.contains)
+            } else {
+                DomainRegistry.registry.keySet.filter { d =>
+                    d.getName == fallbackDomainName && requirements.forall(_.isAssignableFrom(d))
+                }
+            }
+
+        if (fallbackDomainClasses.isEmpty) {
+            OPALLogger.warn(
+                "analysis configuration",
+                s"no fallback domain for $domainClass satisfies the requirements "+
+                    requirements.mkString("{", ", ", "}")+"; the AI budget manager is disabled"
+            )
+            return None;
+        }
+
+        val fallbackDomainClass = fallbackDomainClasses.head
+        OPALLogger.info(
+            "analysis configuration",
+            s"methods exceeding their AI budget will be analyzed using $fallbackDomainClass"
+        )
+        Some(new AIBudgetManager(
+            config.getDouble(MaxEvaluationFactorConfigKey),
+            new Milliseconds(config.getLong(MaxEvaluationTimeConfigKey)),
+            fallbackDomainClass,
+            DomainRegistry.domainMetaInformation(fallbackDomainClass).factory
+        ))
+    }
+}
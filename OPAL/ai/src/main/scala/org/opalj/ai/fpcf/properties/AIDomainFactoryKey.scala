@@ -13,14 +13,23 @@ import org.opalj.ai.common.DomainRegistry
 /**
  * Encapsulates the information which domain will be used to perform the abstract interpretations
  * for the specified project. This typically initialized by the [[AIDomainFactoryKey$]].
+ *
+ * @param budgetManager If defined, the abstract interpretations are bounded and methods which
+ *        exceed their budget are analyzed using a cheaper domain; see [[AIBudgetManager]].
  */
 class ProjectSpecificAIExecutor(
         val project:       SomeProject,
         val domainClass:   Class[_ <: Domain],
-        val domainFactory: (SomeProject, Method) => Domain
+        val domainFactory: (SomeProject, Method) => Domain,
+        val budgetManager: Option[AIBudgetManager]         = None
 ) extends (Method => AIResult) {
 
-    def apply(m: Method): AIResult = { BaseAI(m, domainFactory(project, m)) }
+    def apply(m: Method): AIResult = {
+        budgetManager match {
+            case Some(budgetManager) => budgetManager(project, m, domainFactory(project, m))
+            case None                => BaseAI(m, domainFactory(project, m))
+        }
+    }
 }
 
 /**
@@ -93,6 +102,7 @@ object AIDomainFactoryKey
         )
 
         val domainFactory = DomainRegistry.domainMetaInformation(domainClass).factory
-        new ProjectSpecificAIExecutor(project, domainClass, domainFactory)
+        val budgetManager = AIBudgetManager(project.config, domainClass, domainFactoryRequirements)
+        new ProjectSpecificAIExecutor(project, domainClass, domainFactory, budgetManager)
     }
 }
@@ -0,0 +1,120 @@
+/* BSD 2-Clause License - see OPAL/LICENSE for details. */
+package org.opalj
+package ai
+package domain
+package l2
+
+import org.junit.runner.RunWith
+import org.scalatest.flatspec.AnyFlatSpec
+import org.scalatest.matchers.should.Matchers
+import org.scalatestplus.junit.JUnitRunner
+
+import org.opalj.br.Method
+
+/**
+ * Tests that the results of methods that are evaluated using summaries are identical
+ * to the results computed by [[PerformInvocations]].
+ */
+@RunWith(classOf[JUnitRunner])
+class PerformInvocationsWithSummariesTest extends AnyFlatSpec with Matchers {
+
+    import PerformInvocationsTestFixture._
+
+    class LiSummaryInvocationDomain(
+            method:                           Method,
+            override val methodCallSummaries: MethodCallSummaries
+    ) extends LiInvocationDomain(PerformInvocationsTestFixture.project, method)
+        with PerformInvocationsWithSummaries
+
+    def thrownExceptionsOrigins(domain: LiInvocationDomain): Set[ValueOrigin] = {
+        val origins = for {
+            exceptions <- domain.allThrownExceptions.values
+            exception <- exceptions
+            origin <- domain.origins(exception).iterator
+        } yield origin
+        origins.toSet
+    }
+
+    behavior of "PerformInvocationsWithSummaries"
+
+    it should ("compute the same result as PerformInvocations for a longer call chain") in {
+        val summaries = new MethodCallSummaries(1000, 10)
+        val method = StaticCalls.findMethod("aLongerCallChain").head
+
+        val domain = new LiSummaryInvocationDomain(method, summaries)
+        BaseAI(method, domain)
+        domain.returnedNormally should be(true)
+        domain.returnedValue(domain, -1).flatMap(domain.intValueOption(_)) should equal(Some(175))
+        summaries.statistics.summaries should be > 0
+    }
+
+    it should ("reuse the summaries when the same method is analyzed again") in {
+        val summaries = new MethodCallSummaries(1000, 10)
+        val method = StaticCalls.findMethod("aLongerCallChain").head
+
+        BaseAI(method, new LiSummaryInvocationDomain(method, summaries))
+        val hitsAfterFirstRun = summaries.statistics.hits
+        val summariesAfterFirstRun = summaries.statistics.summaries
+
+        val domain = new LiSummaryInvocationDomain(method, summaries)
+        BaseAI(method, domain)
+        domain.returnedValue(domain, -1).flatMap(domain.intValueOption(_)) should equal(Some(175))
+        summaries.statistics.hits should be > hitsAfterFirstRun
+        summaries.statistics.summaries should be(summariesAfterFirstRun)
+    }
+
+    it should ("reuse the exceptions thrown by a called method") in {
+        val summaries = new MethodCallSummaries(1000, 10)
+        val method = StaticCalls.findMethod("mayFail").head
+
+        BaseAI(method, new LiSummaryInvocationDomain(method, summaries))
+        val domain = new LiSummaryInvocationDomain(method, summaries)
+        val result = BaseAI(method, domain)
+        domain.returnedNormally should be(true)
+        val exs = domain.thrownExceptions(result.domain, -1)
+        if (exs.size != 1) fail(exs.mkString("expected one exception: ", ", ", "."))
+        summaries.statistics.hits should be > 0L
+    }
+
+    it should ("use method external origins for the exceptions of a reused summary") in {
+        val summaries = new MethodCallSummaries(1000, 10)
+        val method = StaticCalls.findMethod("mayFail").head
+
+        val expectedDomain = new LiInvocationDomain(PerformInvocationsTestFixture.project, method)
+        BaseAI(method, expectedDomain)
+        val expectedOrigins = thrownExceptionsOrigins(expectedDomain)
+        expectedOrigins should not be (empty)
+        expectedOrigins.forall(isMethodExternalExceptionOrigin) should be(true)
+
+        BaseAI(method, new LiSummaryInvocationDomain(method, summaries))
+        val domain = new LiSummaryInvocationDomain(method, summaries)
+        BaseAI(method, domain)
+        summaries.statistics.hits should be > 0L
+        thrownExceptionsOrigins(domain) should be(expectedOrigins)
+    }
+
+    it should ("not store the exceptions if they are not derived from the called method") in {
+        val summaries = new MethodCallSummaries(1000, 10)
+        val method = StaticCalls.findMethod("mayFail").head
+
+        val domain = new LiSummaryInvocationDomain(method, summaries) {
+            override val useExceptionsThrownByCalledMethod = false
+        }
+        BaseAI(method, domain)
+        summaries.statistics.summaries should be > 0
+        val calledMethod = StaticCalls.findMethod("returnObjectOrthrowException").head
+        val summary = summaries.get(calledMethod, MethodCallSignature(domain.getClass, Nil))
+        summary.flatMap(_.thrownExceptions) should be(None)
+    }
+
+    it should ("not store more summaries than configured") in {
+        val summaries = new MethodCallSummaries(1, 1)
+        val method = StaticCalls.findMethod("doStuff").head
+
+        val domain = new LiSummaryInvocationDomain(method, summaries)
+        BaseAI(method, domain)
+        domain.returnedNormally should be(true)
+        summaries.statistics.summaries should be(1)
+        summaries.statistics.rejected should be > 0L
+    }
+}
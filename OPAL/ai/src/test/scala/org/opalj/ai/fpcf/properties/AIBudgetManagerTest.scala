@@ -0,0 +1,67 @@
+/* BSD 2-Clause License - see OPAL/LICENSE for details. */
+package org.opalj
+package ai
+package fpcf
+package properties
+
+import org.junit.runner.RunWith
+import org.scalatestplus.junit.JUnitRunner
+import org.scalatest.funspec.AnyFunSpec
+import org.scalatest.matchers.should.Matchers
+
+import org.opalj.util.Milliseconds
+import org.opalj.br.Method
+import org.opalj.br.analyses.SomeProject
+import org.opalj.ai.domain.l0.PrimitiveTACAIDomain
+import org.opalj.ai.domain.l1.DefaultDomainWithCFGAndDefUse
+
+/**
+ * Tests that the [[AIBudgetManager]] falls back to the cheaper domain if – and only if –
+ * the budget of a method is exceeded.
+ */
+@RunWith(classOf[JUnitRunner])
+class AIBudgetManagerTest extends AnyFunSpec with Matchers {
+
+    val project = org.opalj.br.TestSupport.biProject("ai.jar")
+
+    def budgetManager(maxEvaluationFactor: Double): AIBudgetManager = {
+        new AIBudgetManager(
+            maxEvaluationFactor,
+            new Milliseconds(60000L),
+            classOf[PrimitiveTACAIDomain],
+            (p: SomeProject, m: Method) => new PrimitiveTACAIDomain(p.classHierarchy, m)
+        )
+    }
+
+    describe("the AIBudgetManager") {
+
+        it("should not degrade any method if the budget is large enough") {
+            val manager = budgetManager(Double.PositiveInfinity)
+            project.allMethodsWithBody foreach { m =>
+                val aiResult = manager(project, m, new DefaultDomainWithCFGAndDefUse(project, m))
+                aiResult.wasAborted should be(false)
+                aiResult.domain shouldBe a[DefaultDomainWithCFGAndDefUse[_]]
+            }
+            manager.degraded should be(empty)
+        }
+
+        it("should use the fallback domain for the methods which exceed the budget") {
+            val manager = budgetManager(0.0d)
+            val aiResults = project.allMethodsWithBody map { m =>
+                (m, manager(project, m, new DefaultDomainWithCFGAndDefUse(project, m)))
+            }
+            val degraded = manager.degraded
+            degraded should not be (empty)
+            aiResults foreach { case (m, aiResult) =>
+                aiResult.wasAborted should be(false)
+                if (degraded.contains(m)) {
+                    aiResult.domain shouldBe a[PrimitiveTACAIDomain]
+                    degraded(m) shouldBe an[InstructionBudgetExceeded]
+                    degraded(m).fallbackDomainClass should be(classOf[PrimitiveTACAIDomain])
+                } else {
+                    aiResult.domain shouldBe a[DefaultDomainWithCFGAndDefUse[_]]
+                }
+            }
+        }
+    }
+}
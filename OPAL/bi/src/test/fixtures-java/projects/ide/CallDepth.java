@@ -0,0 +1,31 @@
+/* BSD 2-Clause License - see OPAL/LICENSE for details. */
+package ide;
+
+/**
+ * The methods are reached with the call depths (from {@code main}) given in their comments.
+ */
+public class CallDepth {
+
+    // depth 0
+    public static void main(String[] args) {
+        int value = identity(args.length);
+        countDown(value);
+    }
+
+    // depth 1
+    static int identity(int value) {
+        return twice(value) / 2;
+    }
+
+    // depth 2
+    static int twice(int value) {
+        return value * 2;
+    }
+
+    // depth 1, 2, 3, ... (i.e., not constant)
+    static int countDown(int value) {
+        if (value <= 0)
+            return 0;
+        return countDown(value - 1);
+    }
+}
@@ -0,0 +1,20 @@
+/* BSD 2-Clause License - see OPAL/LICENSE for details. */
+package purity_summaries.app;
+
+import purity_summaries.lib.Arithmetic;
+import purity_summaries.lib.Operation;
+
+/**
+ * The project that uses the library; its operation is called back by the library.
+ */
+public class Main implements Operation {
+
+    public int apply(int value) {
+        return Arithmetic.add(value, Arithmetic.count());
+    }
+
+    public static void main(String[] args) {
+        int value = Arithmetic.add(args.length, 2);
+        Arithmetic.apply(new Main(), value);
+    }
+}
@@ -0,0 +1,23 @@
+/* BSD 2-Clause License - see OPAL/LICENSE for details. */
+package purity_summaries.lib;
+
+/**
+ * Library methods whose purity can be summarized ({@code add}, {@code count}) and a library
+ * method whose purity depends on the project ({@code apply}).
+ */
+public class Arithmetic {
+
+    private static int counter;
+
+    public static int add(int a, int b) {
+        return a + b;
+    }
+
+    public static int count() {
+        return ++counter;
+    }
+
+    public static int apply(Operation operation, int value) {
+        return operation.apply(value);
+    }
+}
@@ -0,0 +1,7 @@
+/* BSD 2-Clause License - see OPAL/LICENSE for details. */
+package purity_summaries.lib;
+
+public interface Operation {
+
+    int apply(int value);
+}
@@ -0,0 +1,14 @@
+/* BSD 2-Clause License - see OPAL/LICENSE for details. */
+package taint;
+
+/**
+ * A simple container that is used by the taint analysis benchmark.
+ */
+public class Box {
+
+    public String value;
+
+    public String other;
+
+    public Box next;
+}
@@ -0,0 +1,13 @@
+/* BSD 2-Clause License - see OPAL/LICENSE for details. */
+package taint;
+
+/**
+ * A tainted value is directly passed to the sink.
+ */
+public class LeakDirect {
+
+    public static void main(String[] args) {
+        String secret = Sources.source();
+        Sinks.sink(secret);
+    }
+}
@@ -0,0 +1,14 @@
+/* BSD 2-Clause License - see OPAL/LICENSE for details. */
+package taint;
+
+/**
+ * A tainted value is stored in and read from an array.
+ */
+public class LeakViaArray {
+
+    public static void main(String[] args) {
+        String[] values = new String[1];
+        values[0] = Sources.source();
+        Sinks.sink(values[0]);
+    }
+}
@@ -0,0 +1,17 @@
+/* BSD 2-Clause License - see OPAL/LICENSE for details. */
+package taint;
+
+/**
+ * A tainted value is returned by a called method.
+ */
+public class LeakViaCall {
+
+    static String identity(String value) {
+        return value;
+    }
+
+    public static void main(String[] args) {
+        String secret = identity(Sources.source());
+        Sinks.sink(secret);
+    }
+}
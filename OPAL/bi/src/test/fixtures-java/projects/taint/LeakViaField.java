@@ -0,0 +1,14 @@
+/* BSD 2-Clause License - see OPAL/LICENSE for details. */
+package taint;
+
+/**
+ * A tainted value is stored in and read from an instance field.
+ */
+public class LeakViaField {
+
+    public static void main(String[] args) {
+        Box box = new Box();
+        box.value = Sources.source();
+        Sinks.sink(box.value);
+    }
+}
@@ -0,0 +1,13 @@
+/* BSD 2-Clause License - see OPAL/LICENSE for details. */
+package taint;
+
+/**
+ * A tainted value is passed through a library method without a body; the result is tainted.
+ */
+public class LeakViaLibrary {
+
+    public static void main(String[] args) {
+        String secret = Sources.source().trim();
+        Sinks.sink(secret);
+    }
+}
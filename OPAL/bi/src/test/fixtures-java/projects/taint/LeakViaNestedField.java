@@ -0,0 +1,16 @@
+/* BSD 2-Clause License - see OPAL/LICENSE for details. */
+package taint;
+
+/**
+ * A tainted value is stored in a field of a nested object; the access path has two fields.
+ */
+public class LeakViaNestedField {
+
+    public static void main(String[] args) {
+        Box inner = new Box();
+        inner.value = Sources.source();
+        Box outer = new Box();
+        outer.next = inner;
+        Sinks.sink(outer.next.value);
+    }
+}
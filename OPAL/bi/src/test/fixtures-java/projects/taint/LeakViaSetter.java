@@ -0,0 +1,18 @@
+/* BSD 2-Clause License - see OPAL/LICENSE for details. */
+package taint;
+
+/**
+ * A tainted value is stored in an instance field of a parameter by a called method.
+ */
+public class LeakViaSetter {
+
+    static void set(Box box, String value) {
+        box.value = value;
+    }
+
+    public static void main(String[] args) {
+        Box box = new Box();
+        set(box, Sources.source());
+        Sinks.sink(box.value);
+    }
+}
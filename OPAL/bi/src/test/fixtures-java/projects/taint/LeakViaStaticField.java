@@ -0,0 +1,19 @@
+/* BSD 2-Clause License - see OPAL/LICENSE for details. */
+package taint;
+
+/**
+ * A tainted value is stored in a static field and passed to the sink by another method.
+ */
+public class LeakViaStaticField {
+
+    static String cache;
+
+    static void publish() {
+        Sinks.sink(cache);
+    }
+
+    public static void main(String[] args) {
+        cache = Sources.source();
+        publish();
+    }
+}
@@ -0,0 +1,17 @@
+/* BSD 2-Clause License - see OPAL/LICENSE for details. */
+package taint;
+
+/**
+ * A tainted value is passed to a method that returns a constant.
+ */
+public class SafeIgnoredParameter {
+
+    static String constant(String value) {
+        return "public";
+    }
+
+    public static void main(String[] args) {
+        String secret = Sources.source();
+        Sinks.sink(constant(secret));
+    }
+}
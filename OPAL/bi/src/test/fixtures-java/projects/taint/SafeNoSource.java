@@ -0,0 +1,12 @@
+/* BSD 2-Clause License - see OPAL/LICENSE for details. */
+package taint;
+
+/**
+ * Only constants are passed to the sink.
+ */
+public class SafeNoSource {
+
+    public static void main(String[] args) {
+        Sinks.sink("public");
+    }
+}
@@ -0,0 +1,15 @@
+/* BSD 2-Clause License - see OPAL/LICENSE for details. */
+package taint;
+
+/**
+ * A tainted value is stored in an instance field, but another field is passed to the sink.
+ */
+public class SafeOtherField {
+
+    public static void main(String[] args) {
+        Box box = new Box();
+        box.value = Sources.source();
+        box.other = "public";
+        Sinks.sink(box.other);
+    }
+}
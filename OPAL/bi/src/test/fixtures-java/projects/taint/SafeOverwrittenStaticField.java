@@ -0,0 +1,16 @@
+/* BSD 2-Clause License - see OPAL/LICENSE for details. */
+package taint;
+
+/**
+ * A tainted value is stored in a static field that is overwritten before it is read.
+ */
+public class SafeOverwrittenStaticField {
+
+    static String cache;
+
+    public static void main(String[] args) {
+        cache = Sources.source();
+        cache = "public";
+        Sinks.sink(cache);
+    }
+}
@@ -0,0 +1,13 @@
+/* BSD 2-Clause License - see OPAL/LICENSE for details. */
+package taint;
+
+/**
+ * A tainted value is sanitized before it is passed to the sink.
+ */
+public class SafeSanitized {
+
+    public static void main(String[] args) {
+        String secret = Sources.source();
+        Sinks.sink(Sanitizers.sanitize(secret));
+    }
+}
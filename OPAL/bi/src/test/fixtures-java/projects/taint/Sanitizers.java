@@ -0,0 +1,12 @@
+/* BSD 2-Clause License - see OPAL/LICENSE for details. */
+package taint;
+
+/**
+ * The sanitizer of the taint analysis benchmark; the returned value is never tainted.
+ */
+public class Sanitizers {
+
+    public static String sanitize(String value) {
+        return value.replaceAll("[^a-z]", "");
+    }
+}
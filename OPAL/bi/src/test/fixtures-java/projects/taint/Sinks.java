@@ -0,0 +1,12 @@
+/* BSD 2-Clause License - see OPAL/LICENSE for details. */
+package taint;
+
+/**
+ * The sink of the taint analysis benchmark; tainted values must not be passed to it.
+ */
+public class Sinks {
+
+    public static void sink(Object value) {
+        System.out.println(value);
+    }
+}
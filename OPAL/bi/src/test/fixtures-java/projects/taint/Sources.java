@@ -0,0 +1,12 @@
+/* BSD 2-Clause License - see OPAL/LICENSE for details. */
+package taint;
+
+/**
+ * The source of the taint analysis benchmark; the returned value is tainted.
+ */
+public class Sources {
+
+    public static String source() {
+        return System.getenv("SECRET");
+    }
+}
@@ -0,0 +1,24 @@
+/* BSD 2-Clause License - see OPAL/LICENSE for details. */
+package org.opalj
+package br
+package analyses
+
+import org.opalj.br.collection.ExceptionTypesIndex
+
+/**
+ * The ''key'' object to get the [[org.opalj.br.collection.ExceptionTypesIndex]] of the project's
+ * class hierarchy, which is required to represent sets of exception types as bit sets.
+ */
+object ExceptionTypesIndexKey extends ProjectInformationKey[ExceptionTypesIndex, Nothing] {
+
+    /**
+     * The [[ExceptionTypesIndexKey]] has no special prerequisites.
+     *
+     * @return `Nil`.
+     */
+    override def requirements(project: SomeProject): ProjectInformationKeys = Nil
+
+    override def compute(project: SomeProject): ExceptionTypesIndex = {
+        new ExceptionTypesIndex(project.classHierarchy)
+    }
+}
@@ -4,7 +4,6 @@ package br
 package analyses
 package cg
 
-import scala.collection.mutable.ArrayBuffer
 import org.opalj.log.OPALLogger
 import net.ceedubs.ficus.Ficus._
 
@@ -42,10 +41,8 @@ trait ApplicationEntryPointsFinder extends EntryPointFinder {
     override def collectEntryPoints(project: SomeProject): Iterable[Method] = {
         val MAIN_METHOD_DESCRIPTOR = MethodDescriptor.JustTakes(FieldType.apply("[Ljava/lang/String;"))
 
-        super.collectEntryPoints(project) ++ project.allMethodsWithBody.collect {
-            case m: Method if m.isStatic
-                && (m.descriptor == MAIN_METHOD_DESCRIPTOR)
-                && (m.name == "main") => m
+        super.collectEntryPoints(project) ++ ParallelProjectScan.methodsWithBody(project) { m =>
+            m.isStatic && (m.descriptor == MAIN_METHOD_DESCRIPTOR) && (m.name == "main")
         }
     }
 }
@@ -93,35 +90,63 @@ trait LibraryEntryPointsFinder extends EntryPointFinder {
         val isExtensible = project.get(TypeExtensibilityKey)
         val classHierarchy = project.classHierarchy
 
-        @inline def isEntryPoint(method: Method): Boolean = {
-            val classFile = method.classFile
+        // The properties of the declaring classes that determine whether their methods are
+        // entry points; they are computed once per class (indexed by the class' type id) and
+        // shared by all methods of the class. Concurrent threads may compute the properties of
+        // a class more than once, but they always compute the same value.
+        val classProperties = new Array[Byte](ObjectType.objectTypesCount)
+
+        def computeClassProperties(classFile: ClassFile): Int = {
             val ot = classFile.thisType
+            if (!isClosedPackage(ot.packageName)) {
+                ClassPropertiesComputed
+            } else {
+                var properties = ClassPropertiesComputed | InClosedPackage
+                classHierarchy.allSubtypes(ot, reflexive = true).foreach { st =>
+                    val subtypeCFOption = project.classFile(st)
+                    // Class file must be public to access it
+                    if (subtypeCFOption.forall(_.isPublic)) {
+                        properties |= HasPublicSubtype
+                        // Note: This is not enough to ensure that the type is instantiable
+                        // (supertype might have no accessible constructor),
+                        // but it soundly overapproximates
+                        if (subtypeCFOption.forall(_.constructors.exists { c =>
+                            c.isPublic || (c.isProtected && isExtensible(st).isYesOrUnknown)
+                        }))
+                            properties |= HasPublicInstantiableSubtype
+                    }
+                    if (project.classFile(st).forall(_.constructors.exists { c =>
+                        c.isPublic || c.isProtected
+                    }))
+                        properties |= HasSubtypeWithAccessibleConstructor
+                }
+                if (classFile.methods.exists { m => m.isStatic && m.isPublic && m.returnType == ot })
+                    properties |= HasFactoryMethod
+                if (isExtensible(ot).isYesOrUnknown)
+                    properties |= IsExtensible
+                properties
+            }
+        }
 
-            if (isClosedPackage(ot.packageName)) {
+        def isEntryPoint(method: Method): Boolean = {
+            val classFile = method.classFile
+            val typeId = classFile.thisType.id
+            var properties: Int = classProperties(typeId)
+            if (properties == 0) {
+                properties = computeClassProperties(classFile)
+                classProperties(typeId) = properties.toByte
+            }
+
+            if ((properties & InClosedPackage) != 0) {
                 if (method.isPublic) {
-                    classHierarchy.allSubtypes(ot, reflexive = true).exists { st =>
-                        val subtypeCFOption = project.classFile(st)
-                        // Class file must be public to access it
-                        subtypeCFOption.forall(_.isPublic) &&
-                            // Method must be static or class instantiable
-                            (method.isStatic ||
-                                // Note: This is not enough to ensure that the type is instantiable
-                                // (supertype might have no accessible constructor),
-                                // but it soundly overapproximates
-                                subtypeCFOption.forall(_.constructors.exists { c =>
-                                    c.isPublic || (c.isProtected && isExtensible(st).isYesOrUnknown)
-                                }) || classFile.methods.exists {
-                                    m => m.isStatic && m.isPublic && m.returnType == ot
-                                })
-                    }
+                    // Method must be static or class instantiable
+                    if (method.isStatic || (properties & HasFactoryMethod) != 0)
+                        (properties & HasPublicSubtype) != 0
+                    else
+                        (properties & HasPublicInstantiableSubtype) != 0
                 } else if (method.isProtected) {
-                    isExtensible(ot).isYesOrUnknown &&
-                        (method.isStatic ||
-                            classHierarchy.allSubtypes(ot, reflexive = true).exists { st =>
-                                project.classFile(st).forall(_.constructors.exists { c =>
-                                    c.isPublic || c.isProtected
-                                })
-                            })
+                    (properties & IsExtensible) != 0 &&
+                        (method.isStatic || (properties & HasSubtypeWithAccessibleConstructor) != 0)
                 } else false
             } else {
                 // all methods in an open package are accessible
@@ -129,14 +154,17 @@ trait LibraryEntryPointsFinder extends EntryPointFinder {
             }
         }
 
-        val eps = ArrayBuffer.empty[Method]
-
-        project.allMethodsWithBody.foreach { method =>
-            if (isEntryPoint(method))
-                eps.append(method)
-        }
+        val eps = ParallelProjectScan.methodsWithBody(project)(isEntryPoint)
         super.collectEntryPoints(project) ++ eps
     }
+
+    private[this] final val ClassPropertiesComputed = 1
+    private[this] final val InClosedPackage = 2
+    private[this] final val HasPublicSubtype = 4
+    private[this] final val HasPublicInstantiableSubtype = 8
+    private[this] final val HasSubtypeWithAccessibleConstructor = 16
+    private[this] final val HasFactoryMethod = 32
+    private[this] final val IsExtensible = 64
 }
 
 /**
@@ -43,15 +43,15 @@ trait LibraryInstantiatedTypesFinder extends InstantiatedTypesFinder {
 
     override def collectInstantiatedTypes(project: SomeProject): Iterable[ObjectType] = {
         val closedPackages = project.get(ClosedPackagesKey)
-        project.allClassFiles.iterator.filter { cf =>
-            !cf.isInterfaceDeclaration && !cf.isAbstract &&
-                (cf.isPublic /* && cf.constructors.nonEmpty*/ ||
-                    !closedPackages.isClosed(cf.thisType.packageName)) &&
+        ParallelProjectScan.classFiles(project) { cf =>
+            !cf.isInterfaceDeclaration && !cf.isAbstract && {
+                val isClosedPackage = closedPackages.isClosed(cf.thisType.packageName)
+                (cf.isPublic /* && cf.constructors.nonEmpty*/ || !isClosedPackage) &&
                     cf.constructors.exists { ctor =>
-                        ctor.isPublic ||
-                            !ctor.isPrivate && !closedPackages.isClosed(cf.thisType.packageName)
+                        ctor.isPublic || !ctor.isPrivate && !isClosedPackage
                     }
-        }.map(_.thisType).iterator.to(Iterable) ++ super.collectInstantiatedTypes(project)
+            }
+        }.map(_.thisType) ++ super.collectInstantiatedTypes(project)
     }
 }
 
@@ -0,0 +1,63 @@
+/* BSD 2-Clause License - see OPAL/LICENSE for details. */
+package org.opalj
+package br
+package analyses
+package cg
+
+import scala.reflect.ClassTag
+import scala.collection.immutable.ArraySeq
+
+import org.opalj.concurrent.parForeachSeqElement
+
+/**
+ * Index-based, parallel scans over the methods and class files of a project as used to compute
+ * the initial entry points and instantiated types.
+ *
+ * The selected elements are recorded in a boolean array indexed by the position of the element,
+ * i.e., the scans return the selected elements in the same order as a sequential scan would.
+ * The scans are performed sequentially if [[ParallelScansConfigKey]] is `false`.
+ */
+private[cg] object ParallelProjectScan {
+
+    final val ParallelScansConfigKey = "org.opalj.br.analyses.cg.parallelScans"
+
+    /**
+     * Returns the methods with a body that satisfy the given predicate, in the order of
+     * [[Project.allMethodsWithBody]]. The predicate is evaluated concurrently.
+     */
+    def methodsWithBody(project: SomeProject)(p: Method => Boolean): ArraySeq[Method] = {
+        select(project, project.allMethodsWithBody)(p)
+    }
+
+    /**
+     * Returns the class files that satisfy the given predicate, in the order of
+     * [[Project.allClassFiles]]. The predicate is evaluated concurrently.
+     */
+    def classFiles(project: SomeProject)(p: ClassFile => Boolean): ArraySeq[ClassFile] = {
+        select(project, ArraySeq.from(project.allClassFiles))(p)
+    }
+
+    private[this] def select[T <: AnyRef: ClassTag](
+        project:  SomeProject,
+        elements: ArraySeq[T]
+    )(
+        p: T => Boolean
+    ): ArraySeq[T] = {
+        if (!project.config.getBoolean(ParallelScansConfigKey))
+            return elements.filter(p);
+
+        val elementsCount = elements.length
+        val isSelected = new Array[Boolean](elementsCount)
+        parForeachSeqElement(0 until elementsCount) { i =>
+            if (p(elements(i))) isSelected(i) = true
+        }
+
+        val selectedElements = ArraySeq.newBuilder[T]
+        var i = 0
+        while (i < elementsCount) {
+            if (isSelected(i)) selectedElements += elements(i)
+            i += 1
+        }
+        selectedElements.result()
+    }
+}
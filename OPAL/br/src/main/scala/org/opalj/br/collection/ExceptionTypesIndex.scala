@@ -0,0 +1,97 @@
+/* BSD 2-Clause License - see OPAL/LICENSE for details. */
+package org.opalj
+package br
+package collection
+
+import scala.collection.mutable.ArrayBuffer
+
+import org.opalj.br.collection.immutable.ExceptionTypesSet
+
+/**
+ * A dense numbering of all known subtypes of `java.lang.Throwable` that enables to represent
+ * sets of exception types as bit sets; see [[immutable.ExceptionTypesSet]].
+ *
+ * The types are numbered in depth-first pre-order of the (tree-shaped) class hierarchy rooted
+ * in `java.lang.Throwable`. Hence, the reflexive subtypes of the type with the id `i` are
+ * exactly the types with the ids `i` until `subtypesEnd(i)`, which makes subsumption checks
+ * w.r.t. upper type bounds trivial. The subtrees containing the exceptions that are thrown by
+ * the JVM itself are numbered first; this way the sets of most methods only require a single
+ * word.
+ *
+ * @param classHierarchy The class hierarchy; exception types that are not known to be subtypes
+ *                       of `java.lang.Throwable` are not numbered.
+ */
+final class ExceptionTypesIndex(val classHierarchy: ClassHierarchy) {
+
+    private[this] val (ids, types, subtypesEnds) = {
+        val ids = Array.fill(ObjectType.objectTypesCount)(-1)
+        val types = ArrayBuffer.empty[ObjectType]
+        val subtypesEnds = ArrayBuffer.empty[Int]
+
+        val prioritizedTypes = ExceptionTypesIndex.JVMExceptions.iterator.flatMap { t =>
+            classHierarchy.allSupertypes(t, reflexive = true).iterator
+        }.toSet
+
+        def number(t: ObjectType): Unit = {
+            // in case of broken projects, a type may be reachable multiple times
+            if (ids(t.id) == -1) {
+                val id = types.length
+                ids(t.id) = id
+                types += t
+                subtypesEnds += -1
+                val subclasses = classHierarchy.directSubclassesOf(t).iterator.toList
+                val (prioritized, others) = subclasses.partition(prioritizedTypes.contains)
+                prioritized.foreach(number)
+                others.foreach(number)
+                subtypesEnds(id) = types.length
+            }
+        }
+        if (classHierarchy.isKnown(ObjectType.Throwable)) number(ObjectType.Throwable)
+
+        (ids, types.toArray, subtypesEnds.toArray)
+    }
+
+    /** The number of indexed exception types. */
+    def size: Int = types.length
+
+    /** The id of the given type or `-1` if the type is not an indexed exception type. */
+    def id(t: ObjectType): Int = {
+        val oid = t.id
+        if (oid < ids.length) ids(oid) else -1
+    }
+
+    /** The exception type with the given id. */
+    def exceptionType(id: Int): ObjectType = types(id)
+
+    /**
+     * The (exclusive) upper bound of the ids of the subtypes of the type with the given id.
+     */
+    def subtypesEnd(id: Int): Int = subtypesEnds(id)
+
+    /** The empty set of exception types. */
+    val emptySet: ExceptionTypesSet = ExceptionTypesSet.empty(this)
+
+    /** The set of the given concrete exception types. */
+    def typesSet(concreteTypes: Iterable[ObjectType]): ExceptionTypesSet = {
+        emptySet ++ concreteTypes
+    }
+}
+
+object ExceptionTypesIndex {
+
+    /** The exceptions thrown by the JVM when executing specific instructions. */
+    final val JVMExceptions: List[ObjectType] = {
+        import ObjectType._
+        List(
+            NullPointerException,
+            ArithmeticException,
+            ArrayIndexOutOfBoundsException,
+            ArrayStoreException,
+            NegativeArraySizeException,
+            ClassCastException,
+            IllegalMonitorStateException,
+            OutOfMemoryError,
+            BootstrapMethodError
+        )
+    }
+}
@@ -49,7 +49,7 @@ abstract class TypesSet /*extends Set[(ObjectType,...)]*/ {
      */
     def types: (Set[ObjectType], Set[ObjectType]) = (concreteTypes, upperTypeBounds)
 
-    final override def equals(other: Any): Boolean = {
+    override def equals(other: Any): Boolean = {
 
         other match {
             case that: TypesSet =>
@@ -58,7 +58,7 @@ abstract class TypesSet /*extends Set[(ObjectType,...)]*/ {
         }
     }
 
-    final override lazy val hashCode: Int = {
+    override lazy val hashCode: Int = {
         concreteTypes.hashCode() * 111 + upperTypeBounds.hashCode()
     }
 
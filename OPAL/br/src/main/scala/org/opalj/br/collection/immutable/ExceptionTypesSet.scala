@@ -0,0 +1,344 @@
+/* BSD 2-Clause License - see OPAL/LICENSE for details. */
+package org.opalj
+package br
+package collection
+package immutable
+
+import java.lang.Long.numberOfTrailingZeros
+import java.util.Arrays.copyOf
+
+import scala.util.hashing.MurmurHash3
+
+/**
+ * An immutable set of exception types that stores the concrete types and the upper type bounds
+ * as bit sets over the ids of an [[org.opalj.br.collection.ExceptionTypesIndex]]; hence, unions
+ * are computed word-wise.
+ *
+ * As in case of the other types sets, the operations are subsumption-aware: concrete types and
+ * upper type bounds that are subtypes of another upper type bound are not stored. Exception types
+ * that are not indexed (i.e., that are not known to be subtypes of `java.lang.Throwable`) are
+ * stored explicitly and are not subject to subsumption.
+ *
+ * @note The bit sets never have trailing zero words.
+ */
+final class ExceptionTypesSet private (
+        private val concreteBits:    Array[Long],
+        private val upperBoundBits:  Array[Long],
+        private val unindexedTypes:  Set[ObjectType],
+        private val unindexedBounds: Set[ObjectType],
+        val index:                   ExceptionTypesIndex
+) extends collection.TypesSet {
+
+    import ExceptionTypesSet._
+
+    override def isEmpty: Boolean = {
+        concreteBits.length == 0 && upperBoundBits.length == 0 &&
+            unindexedTypes.isEmpty && unindexedBounds.isEmpty
+    }
+
+    override def nonEmpty: Boolean = !isEmpty
+
+    lazy val concreteTypes: Set[ObjectType] = typesOf(concreteBits) ++ unindexedTypes
+
+    lazy val upperTypeBounds: Set[ObjectType] = typesOf(upperBoundBits) ++ unindexedBounds
+
+    /**
+     * Adds the given concrete type unless it is already stored or a subtype of an upper type
+     * bound.
+     */
+    def +(tpe: ObjectType): ExceptionTypesSet = {
+        val id = index.id(tpe)
+        if (id == -1) {
+            if (unindexedTypes.contains(tpe))
+                this
+            else
+                copy(unindexedTypes = unindexedTypes + tpe)
+        } else if (contains(concreteBits, id) || isSubsumed(id)) {
+            this
+        } else {
+            copy(concreteBits = set(concreteBits, id))
+        }
+    }
+
+    /** Adds the given concrete types; see `+`. */
+    def ++(tpes: IterableOnce[ObjectType]): ExceptionTypesSet = {
+        var newConcreteBits = concreteBits
+        var newUnindexedTypes = unindexedTypes
+        tpes.iterator.foreach { tpe =>
+            val id = index.id(tpe)
+            if (id == -1)
+                newUnindexedTypes += tpe
+            else if (!contains(newConcreteBits, id) && !isSubsumed(id)) {
+                // the bits are copied at most once unless they have to be extended
+                val word = id >> 6
+                if ((newConcreteBits eq concreteBits) || word >= newConcreteBits.length) {
+                    val length = Math.max(newConcreteBits.length, word + 1)
+                    newConcreteBits = copyOf(newConcreteBits, length)
+                }
+                newConcreteBits(word) |= 1L << id
+            }
+        }
+        if ((newConcreteBits eq concreteBits) && newUnindexedTypes.size == unindexedTypes.size)
+            this
+        else
+            copy(concreteBits = newConcreteBits, unindexedTypes = newUnindexedTypes)
+    }
+
+    /**
+     * Adds the given upper type bound unless the type is already subsumed by an upper type bound;
+     * all concrete types and upper type bounds that are subtypes of the given type are removed.
+     */
+    def addUpperTypeBound(tpe: ObjectType): ExceptionTypesSet = {
+        val id = index.id(tpe)
+        if (id == -1) {
+            if (unindexedBounds.contains(tpe))
+                this
+            else
+                copy(unindexedTypes = unindexedTypes - tpe, unindexedBounds = unindexedBounds + tpe)
+        } else if (isSubsumed(id)) {
+            this
+        } else {
+            val end = index.subtypesEnd(id)
+            copy(
+                concreteBits = clear(concreteBits, id, end),
+                upperBoundBits = set(clear(upperBoundBits, id, end), id)
+            )
+        }
+    }
+
+    /** The (subsumption-aware) union of this set and the given set. */
+    def ++(that: collection.TypesSet): ExceptionTypesSet = that match {
+        case that: ExceptionTypesSet if that.index eq index =>
+            val newUpperBoundBits =
+                if (that.upperBoundBits.length == 0) upperBoundBits
+                else {
+                    val bits = minimalUpperBounds(or(upperBoundBits, that.upperBoundBits))
+                    unchangedOr(upperBoundBits, bits)
+                }
+            val newUnindexedBounds =
+                if (that.unindexedBounds.isEmpty) unindexedBounds
+                else unindexedBounds ++ that.unindexedBounds
+            withConcreteTypes(that, newUpperBoundBits, newUnindexedBounds)
+
+        case _ =>
+            that.upperTypeBounds.foldLeft(this ++ that.concreteTypes)(_.addUpperTypeBound(_))
+    }
+
+    /**
+     * Adds the concrete types of the given set; the upper type bounds of the given set are
+     * ignored.
+     */
+    def withConcreteTypesOf(that: collection.TypesSet): ExceptionTypesSet = that match {
+        case that: ExceptionTypesSet if that.index eq index =>
+            withConcreteTypes(that, upperBoundBits, unindexedBounds)
+
+        case _ =>
+            this ++ that.concreteTypes
+    }
+
+    private[this] def withConcreteTypes(
+        that:               ExceptionTypesSet,
+        newUpperBoundBits:  Array[Long],
+        newUnindexedBounds: Set[ObjectType]
+    ): ExceptionTypesSet = {
+        var newConcreteBits = or(concreteBits, that.concreteBits)
+        if (newUpperBoundBits.length > 0) {
+            foreachId(newUpperBoundBits) { id =>
+                newConcreteBits = clear(newConcreteBits, id, index.subtypesEnd(id))
+            }
+            newConcreteBits = unchangedOr(concreteBits, newConcreteBits)
+        }
+        val newUnindexedTypes =
+            if (that.unindexedTypes.isEmpty) unindexedTypes
+            else unindexedTypes ++ that.unindexedTypes
+        if ((newConcreteBits eq concreteBits) && (newUpperBoundBits eq upperBoundBits) &&
+            (newUnindexedTypes eq unindexedTypes) && (newUnindexedBounds eq unindexedBounds))
+            this
+        else
+            new ExceptionTypesSet(
+                newConcreteBits, newUpperBoundBits, newUnindexedTypes, newUnindexedBounds, index
+            )
+    }
+
+    private[this] def copy(
+        concreteBits:    Array[Long]     = concreteBits,
+        upperBoundBits:  Array[Long]     = upperBoundBits,
+        unindexedTypes:  Set[ObjectType] = unindexedTypes,
+        unindexedBounds: Set[ObjectType] = unindexedBounds
+    ): ExceptionTypesSet = {
+        new ExceptionTypesSet(concreteBits, upperBoundBits, unindexedTypes, unindexedBounds, index)
+    }
+
+    /** Returns `true` if the type with the given id is a subtype of an upper type bound. */
+    private[this] def isSubsumed(id: Int): Boolean = {
+        var isSubsumed = false
+        if (upperBoundBits.length > 0) {
+            foreachId(upperBoundBits) { boundId =>
+                isSubsumed ||= boundId <= id && id < index.subtypesEnd(boundId)
+            }
+        }
+        isSubsumed
+    }
+
+    /** Removes all upper type bounds that are subtypes of another upper type bound. */
+    private[this] def minimalUpperBounds(bits: Array[Long]): Array[Long] = {
+        var minimalBits = bits
+        // Due to the pre-order numbering, a bound is subsumed iff it is in the range of the
+        // previous (not subsumed) bound.
+        var end = -1
+        foreachId(bits) { id =>
+            if (id < end) minimalBits = clear(minimalBits, id, id + 1)
+            else end = index.subtypesEnd(id)
+        }
+        minimalBits
+    }
+
+    /**
+     * Compares the bit sets if both sets use the same index; as the bit sets never have trailing
+     * zero words, equal sets of types have equal bit sets.
+     */
+    override def equals(other: Any): Boolean = other match {
+        case that: ExceptionTypesSet if that.index eq index =>
+            (this eq that) ||
+                java.util.Arrays.equals(concreteBits, that.concreteBits) &&
+                java.util.Arrays.equals(upperBoundBits, that.upperBoundBits) &&
+                unindexedTypes == that.unindexedTypes &&
+                unindexedBounds == that.unindexedBounds
+
+        case _ =>
+            super.equals(other)
+    }
+
+    /**
+     * The hash code is the one of the other representations of types sets (and hence consistent
+     * with `equals`), but it is computed by iterating over the bit sets instead of materializing
+     * the sets of types.
+     */
+    override lazy val hashCode: Int = {
+        typesHash(concreteBits, unindexedTypes) * 111 + typesHash(upperBoundBits, unindexedBounds)
+    }
+
+    private[this] def typesHash(bits: Array[Long], unindexed: Set[ObjectType]): Int = {
+        // the indexed and the unindexed types are disjoint
+        val types = idsIterator(bits).map(index.exceptionType) ++ unindexed.iterator
+        MurmurHash3.unorderedHash(types, MurmurHash3.setSeed)
+    }
+
+    private[this] def typesOf(bits: Array[Long]): Set[ObjectType] = {
+        val types = Set.newBuilder[ObjectType]
+        foreachId(bits) { id => types += index.exceptionType(id) }
+        types.result()
+    }
+}
+
+object ExceptionTypesSet {
+
+    private final val NoBits = new Array[Long](0)
+
+    /** The empty set of exception types w.r.t. the given index. */
+    def empty(index: ExceptionTypesIndex): ExceptionTypesSet = {
+        new ExceptionTypesSet(NoBits, NoBits, Set.empty, Set.empty, index)
+    }
+
+    @inline private def contains(bits: Array[Long], id: Int): Boolean = {
+        val word = id >> 6
+        word < bits.length && (bits(word) & (1L << id)) != 0L
+    }
+
+    /** Returns a copy of the given bit set where the bit with the given id is set. */
+    private def set(bits: Array[Long], id: Int): Array[Long] = {
+        val word = id >> 6
+        val newBits = copyOf(bits, Math.max(bits.length, word + 1))
+        newBits(word) |= 1L << id
+        newBits
+    }
+
+    /**
+     * Returns the given bit set where all bits in the range `[from, until)` are cleared; the
+     * given bit set is returned if no bit was set.
+     */
+    private def clear(bits: Array[Long], from: Int, until: Int): Array[Long] = {
+        val end = Math.min(until, bits.length << 6)
+        var newBits = bits
+        var i = from
+        while (i < end) {
+            val word = i >> 6
+            val wordEnd = Math.min(end, (word + 1) << 6)
+            val length = wordEnd - i
+            val mask = if (length == 64) -1L else ((1L << length) - 1L) << i
+            if ((newBits(word) & mask) != 0L) {
+                if (newBits eq bits) newBits = bits.clone()
+                newBits(word) &= ~mask
+            }
+            i = wordEnd
+        }
+        if (newBits eq bits) bits else trim(newBits)
+    }
+
+    /**
+     * The union of both bit sets; one of the given bit sets is returned if it already contains
+     * all bits of the other one.
+     */
+    private def or(bits: Array[Long], otherBits: Array[Long]): Array[Long] = {
+        val (longer, shorter) =
+            if (bits.length >= otherBits.length) (bits, otherBits) else (otherBits, bits)
+        var i = 0
+        while (i < shorter.length && (longer(i) | shorter(i)) == longer(i)) i += 1
+        if (i == shorter.length) {
+            longer
+        } else {
+            val newBits = longer.clone()
+            while (i < shorter.length) {
+                newBits(i) |= shorter(i)
+                i += 1
+            }
+            newBits
+        }
+    }
+
+    private def trim(bits: Array[Long]): Array[Long] = {
+        var length = bits.length
+        while (length > 0 && bits(length - 1) == 0L) length -= 1
+        if (length == bits.length) bits
+        else if (length == 0) NoBits
+        else copyOf(bits, length)
+    }
+
+    /** Returns the old bit set if the new bit set contains the same bits. */
+    private def unchangedOr(oldBits: Array[Long], newBits: Array[Long]): Array[Long] = {
+        if ((oldBits ne newBits) && java.util.Arrays.equals(oldBits, newBits)) oldBits
+        else newBits
+    }
+
+    private def idsIterator(bits: Array[Long]): Iterator[Int] = new Iterator[Int] {
+        private[this] var word = 0
+        private[this] var remainingBits = if (bits.length > 0) bits(0) else 0L
+
+        override def hasNext: Boolean = {
+            while (remainingBits == 0L && word + 1 < bits.length) {
+                word += 1
+                remainingBits = bits(word)
+            }
+            remainingBits != 0L
+        }
+
+        override def next(): Int = {
+            if (!hasNext) throw new NoSuchElementException()
+            val id = (word << 6) + numberOfTrailingZeros(remainingBits)
+            remainingBits &= remainingBits - 1L
+            id
+        }
+    }
+
+    @inline private def foreachId(bits: Array[Long])(f: Int => Unit): Unit = {
+        var word = 0
+        while (word < bits.length) {
+            var remainingBits = bits(word)
+            while (remainingBits != 0L) {
+                f((word << 6) + numberOfTrailingZeros(remainingBits))
+                remainingBits &= remainingBits - 1L
+            }
+            word += 1
+        }
+    }
+}
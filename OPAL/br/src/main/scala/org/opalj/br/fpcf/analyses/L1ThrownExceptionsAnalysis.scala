@@ -6,11 +6,12 @@ package analyses
 
 import org.opalj.fpcf.Entity
 import org.opalj.fpcf.Result
-import org.opalj.br.collection.mutable.{TypesSet => BRMutableTypesSet}
 import org.opalj.br.ObjectType
 import org.opalj.br.Method
 import org.opalj.br.MethodDescriptor
+import org.opalj.br.analyses.ExceptionTypesIndexKey
 import org.opalj.br.analyses.SomeProject
+import org.opalj.br.collection.immutable.ExceptionTypesSet
 import org.opalj.br.instructions.Instruction
 import org.opalj.br.instructions.ATHROW
 import org.opalj.br.instructions.INVOKESPECIAL
@@ -74,12 +75,58 @@ import org.opalj.br.analyses.ProjectInformationKeys
  * Analysis of thrown exceptions; computes the [[org.opalj.br.fpcf.properties.ThrownExceptions]]
  * property.
  *
+ * The sets of exceptions are represented as bit sets (see
+ * [[org.opalj.br.collection.immutable.ExceptionTypesSet]]) and the exceptions thrown by the JVM
+ * are only added once per opcode after the method's instructions were scanned. Methods without
+ * invocations and without instructions that may throw exceptions are not analyzed in detail.
+ *
  * @author Andreas Muttscheller
  */
 class L1ThrownExceptionsAnalysis private[analyses] (
         final val project: SomeProject
 ) extends FPCFAnalysis {
 
+    private[this] val exceptionTypes = project.get(ExceptionTypesIndexKey)
+
+    /**
+     * The exceptions thrown by the JVM per opcode; the array is filled on demand which is a benign
+     * race as the sets are immutable and only depend on the opcode.
+     */
+    private[this] val jvmExceptionsPerOpcode = new Array[ExceptionTypesSet](256)
+
+    private[this] def jvmExceptionsOf(instruction: Instruction): ExceptionTypesSet = {
+        val opcode = instruction.opcode
+        var exceptions = jvmExceptionsPerOpcode(opcode)
+        if (exceptions eq null) {
+            exceptions = exceptionTypes.typesSet(instruction.jvmExceptions)
+            jvmExceptionsPerOpcode(opcode) = exceptions
+        }
+        exceptions
+    }
+
+    /**
+     * Returns `true` if the given instruction is a throw or an invocation instruction or if the
+     * JVM may throw an exception when executing it. As in case of the detailed analysis, the
+     * `IllegalMonitorStateException` of return instructions is ignored.
+     */
+    private[this] def mayThrowExceptions(instruction: Instruction): Boolean = {
+        instruction.opcode match {
+            case IRETURN.opcode | LRETURN.opcode |
+                FRETURN.opcode | DRETURN.opcode |
+                ARETURN.opcode | RETURN.opcode =>
+                false
+
+            case ATHROW.opcode |
+                INVOKESPECIAL.opcode | INVOKESTATIC.opcode |
+                INVOKEVIRTUAL.opcode | INVOKEINTERFACE.opcode |
+                INVOKEDYNAMIC.opcode =>
+                true
+
+            case _ =>
+                jvmExceptionsOf(instruction).nonEmpty
+        }
+    }
+
     private[analyses] def lazilyDetermineThrownExceptions(
         e: Entity
     ): ProperPropertyComputationResult = {
@@ -107,11 +154,22 @@ class L1ThrownExceptionsAnalysis private[analyses] (
         //... when we reach this point the method is non-empty
         //
         val code = body.get
-        val cfJoins = code.cfJoins
+        // methods without invocations and without instructions that may throw exceptions
+        // (e.g., getters of static fields) don't have to be analyzed in detail
+        if (code.forall((_, instruction) => !mayThrowExceptions(instruction)))
+            return Result(m, ThrownExceptions.NoExceptions);
+
+        // the control-flow joins are only required to decide whether field accesses and
+        // divisions may throw exceptions; hence, they are computed on demand
+        lazy val cfJoins = code.cfJoins
         val instructions = code.instructions
         val isStaticMethod = m.isStatic
 
-        val initialExceptions = new BRMutableTypesSet(project.classHierarchy)
+        var exceptions = exceptionTypes.emptySet
+
+        // The opcodes of the instructions (other than invocations) that may cause the JVM
+        // to throw an exception
+        val thrownOpcodes = new Array[Long](4)
 
         var result: ThrownExceptions = null
 
@@ -123,6 +181,13 @@ class L1ThrownExceptionsAnalysis private[analyses] (
 
         var dependees = Set.empty[EOptionP[Entity, Property]]
 
+        def recordJVMExceptions(instruction: Instruction): Unit = {
+            val opcode = instruction.opcode
+            if (jvmExceptionsOf(instruction).nonEmpty) {
+                thrownOpcodes(opcode >> 6) |= 1L << opcode
+            }
+        }
+
         /* Implicitly (i.e., as a side effect) collects the thrown exceptions in the exceptions set.
          *
          * @return `true` if it is possible to collect all potentially thrown exceptions.
@@ -167,7 +232,9 @@ class L1ThrownExceptionsAnalysis private[analyses] (
                                                 // exceptions set. Upper type bounds are only used
                                                 // for `SomeExecption`, which are handled above, and
                                                 // don't have to be added to this set.
-                                                initialExceptions ++= eps.ub.types.concreteTypes
+                                                exceptions = exceptions.withConcreteTypesOf(
+                                                    eps.ub.types
+                                                )
                                                 if (eps.isRefinable) {
                                                     dependees += eps
                                                 }
@@ -213,7 +280,8 @@ class L1ThrownExceptionsAnalysis private[analyses] (
                                     // exceptions set. Upper type bounds are only used
                                     // for `SomeExecption`, which are handled above, and
                                     // don't have to be added to this set.
-                                    initialExceptions ++= eps.ub.exceptions.concreteTypes
+                                    exceptions =
+                                        exceptions.withConcreteTypesOf(eps.ub.exceptions)
                                     if (eps.isRefinable) {
                                         dependees += eps
                                     }
@@ -272,7 +340,7 @@ class L1ThrownExceptionsAnalysis private[analyses] (
                     true
 
                 case MONITORENTER.opcode | MONITOREXIT.opcode =>
-                    initialExceptions ++= instruction.jvmExceptions
+                    recordJVMExceptions(instruction)
                     isSynchronizationUsed = true
                     true
                 case IRETURN.opcode | LRETURN.opcode |
@@ -291,11 +359,11 @@ class L1ThrownExceptionsAnalysis private[analyses] (
                                 // there will be no arithmetic exception
                                 true
                             case _ =>
-                                initialExceptions ++= instruction.jvmExceptions
+                                recordJVMExceptions(instruction)
                                 true
                         }
                     } else {
-                        initialExceptions ++= instruction.jvmExceptions
+                        recordJVMExceptions(instruction)
                         true
                     }
 
@@ -308,16 +376,16 @@ class L1ThrownExceptionsAnalysis private[analyses] (
                                 // there will be no arithmetic exception
                                 true
                             case _ =>
-                                initialExceptions ++= instruction.jvmExceptions
+                                recordJVMExceptions(instruction)
                                 true
                         }
                     } else {
-                        initialExceptions ++= instruction.jvmExceptions
+                        recordJVMExceptions(instruction)
                         true
                     }
 
                 case _ /* all other instructions */ =>
-                    initialExceptions ++= instruction.jvmExceptions
+                    recordJVMExceptions(instruction)
                     true
             }
         }
@@ -333,13 +401,17 @@ class L1ThrownExceptionsAnalysis private[analyses] (
         }
         if (fieldAccessMayThrowNullPointerException ||
             (isFieldAccessed && isLocalVariable0Updated)) {
-            initialExceptions += ObjectType.NullPointerException
+            exceptions += ObjectType.NullPointerException
         }
         if (isSynchronizationUsed) {
-            initialExceptions += ObjectType.IllegalMonitorStateException
+            exceptions += ObjectType.IllegalMonitorStateException
+        }
+        var opcode = 0
+        while (opcode < 256) {
+            if ((thrownOpcodes(opcode >> 6) & (1L << opcode)) != 0L)
+                exceptions ++= jvmExceptionsPerOpcode(opcode)
+            opcode += 1
         }
-
-        var exceptions = initialExceptions.toImmutableTypesSet
 
         def c(eps: SomeEPS): ProperPropertyComputationResult = {
             dependees = dependees.filter { d =>
@@ -364,7 +436,7 @@ class L1ThrownExceptionsAnalysis private[analyses] (
                     return Result(m, MethodCalledThrowsUnknownExceptions);
 
                 case te: ThrownExceptions =>
-                    exceptions = exceptions ++ te.types.concreteTypes
+                    exceptions = exceptions.withConcreteTypesOf(te.types)
 
                 // Properties from ThrownExceptionsByOverridingMethods
                 case ThrownExceptionsByOverridingMethods.SomeException |
@@ -372,7 +444,7 @@ class L1ThrownExceptionsAnalysis private[analyses] (
                     return Result(m, MethodCalledThrowsUnknownExceptions);
 
                 case tebom: ThrownExceptionsByOverridingMethods =>
-                    exceptions = exceptions ++ tebom.exceptions.concreteTypes
+                    exceptions = exceptions.withConcreteTypesOf(tebom.exceptions)
             }
             if (dependees.isEmpty) {
                 Result(m, new ThrownExceptions(exceptions))
@@ -382,7 +454,9 @@ class L1ThrownExceptionsAnalysis private[analyses] (
         }
 
         if (dependees.isEmpty) {
-            Result(m, new ThrownExceptions(exceptions))
+            // methods without instructions that may throw exceptions share the same property
+            if (exceptions.isEmpty) Result(m, ThrownExceptions.NoExceptions)
+            else Result(m, new ThrownExceptions(exceptions))
         } else {
             InterimResult(m, SomeException, new ThrownExceptions(exceptions), dependees, c)
         }
@@ -391,7 +465,7 @@ class L1ThrownExceptionsAnalysis private[analyses] (
 
 abstract class ThrownExceptionsAnalysisScheduler extends FPCFAnalysisScheduler {
 
-    override def requiredProjectInformation: ProjectInformationKeys = Seq.empty
+    override def requiredProjectInformation: ProjectInformationKeys = Seq(ExceptionTypesIndexKey)
 
     final override def uses: Set[PropertyBounds] = {
         Set(PropertyBounds.lub(ThrownExceptionsByOverridingMethods))
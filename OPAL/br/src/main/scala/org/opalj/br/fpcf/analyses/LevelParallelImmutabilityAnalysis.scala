@@ -0,0 +1,301 @@
+/* BSD 2-Clause License - see OPAL/LICENSE for details. */
+package org.opalj
+package br
+package fpcf
+package analyses
+
+import java.util.concurrent.atomic.AtomicBoolean
+import scala.collection.mutable.ArrayBuffer
+
+import org.opalj.log.LogContext
+import org.opalj.log.OPALLogger
+import org.opalj.concurrent.parForeachArrayElement
+import org.opalj.fpcf.FinalEP
+import org.opalj.fpcf.FinalP
+import org.opalj.fpcf.MultiResult
+import org.opalj.fpcf.ProperPropertyComputationResult
+import org.opalj.fpcf.PropertyBounds
+import org.opalj.fpcf.PropertyStore
+import org.opalj.fpcf.SomeFinalEP
+import org.opalj.br.analyses.ProjectInformationKeys
+import org.opalj.br.analyses.SomeProject
+import org.opalj.br.analyses.cg.TypeExtensibilityKey
+import org.opalj.br.fpcf.properties.ClassImmutability
+import org.opalj.br.fpcf.properties.FieldMutability
+import org.opalj.br.fpcf.properties.FinalField
+import org.opalj.br.fpcf.properties.ImmutableContainer
+import org.opalj.br.fpcf.properties.ImmutableContainerType
+import org.opalj.br.fpcf.properties.ImmutableObject
+import org.opalj.br.fpcf.properties.ImmutableType
+import org.opalj.br.fpcf.properties.MutableObjectByAnalysis
+import org.opalj.br.fpcf.properties.MutableObjectDueToUnknownSupertypes
+import org.opalj.br.fpcf.properties.MutableType
+import org.opalj.br.fpcf.properties.TypeImmutability
+
+/**
+ * Determines the [[ClassImmutability]] and the [[TypeImmutability]] of all class files; derives
+ * the same immutability levels as the [[ClassImmutabilityAnalysis]] and the
+ * [[TypeImmutabilityAnalysis]], but requires the (final) [[FieldMutability]] of all fields.
+ *
+ * Instead of walking the class hierarchy top-down using incremental results and one dependency
+ * per subclass, the immutabilities are computed in passes over the levels of the class
+ * hierarchy: the class immutability of all classes of one level (i.e., classes with the same
+ * distance to `java.lang.Object`) and the type immutability of all types of one level (i.e.,
+ * types with the same height of the subtype hierarchy) are computed in parallel. The
+ * immutabilities are encoded as bytes in arrays indexed by the types' ids; the passes are
+ * repeated until the immutabilities of the types of (cyclic) field declarations are stable,
+ * i.e., the result is the greatest fixpoint – as with the property store's cycle resolution.
+ * Afterwards, all results are stored using a single [[org.opalj.fpcf.MultiResult]].
+ */
+class LevelParallelImmutabilityAnalysis private[analyses] (
+        final val project: SomeProject
+) extends FPCFAnalysis {
+
+    import LevelParallelImmutabilityAnalysis._
+
+    private[this] val typesCount = ObjectType.objectTypesCount
+
+    private[this] val classImmutability = Array.fill[Byte](typesCount)(Undetermined)
+    private[this] val typeImmutability = Array.fill[Byte](typesCount)(Undetermined)
+
+    /** The immutability of a class w.r.t. its own fields ignoring the fields' types. */
+    private[this] val localImmutability = new Array[Byte](typesCount)
+
+    /** The types of the (non-static) reference type fields of a class. */
+    private[this] val fieldTypes = new Array[Array[ObjectType]](typesCount)
+
+    def determineImmutability(p: SomeProject): ProperPropertyComputationResult = {
+        val classLevels = classHierarchyLevels()
+        val typeLevels = subtypeHierarchyLevels(p.get(TypeExtensibilityKey))
+
+        val changed = new AtomicBoolean(true)
+        while (changed.get) {
+            changed.set(false)
+            classLevels.foreach(parForeachArrayElement(_)(updateClassImmutability(changed)))
+            typeLevels.foreach(parForeachArrayElement(_)(updateTypeImmutability(changed)))
+        }
+
+        MultiResult(results())
+    }
+
+    /**
+     * Sets the class immutabilities that are fixed and returns the remaining classes grouped
+     * by their distance to `java.lang.Object`; the fields' mutability is looked up (once) while
+     * the levels are computed.
+     */
+    private[this] def classHierarchyLevels(): ArrayBuffer[Array[ClassFile]] = {
+        implicit val logContext: LogContext = project.logContext
+
+        // java.lang.Object and all (instances of) interfaces are by definition immutable
+        classImmutability(ObjectType.ObjectId) = Immutable
+        project.allClassFiles.foreach { cf =>
+            if (cf.isInterfaceDeclaration) classImmutability(cf.thisType.id) = Immutable
+        }
+
+        // Classes without complete superclass information are mutable
+        classHierarchy.rootClassTypesIterator.filter(_ ne ObjectType.Object).foreach { rt =>
+            classHierarchy.allSubtypes(rt, reflexive = true).foreach { t =>
+                if (project.classFile(t).isDefined) setMutableDueToUnknownSupertypes(t)
+            }
+        }
+
+        val levels = ArrayBuffer.empty[Array[ClassFile]]
+        var types = classHierarchy.directSubclassesOf(ObjectType.Object).iterator
+        while (types.hasNext) {
+            val classFiles = ArrayBuffer.empty[ClassFile]
+            types.foreach { t =>
+                project.classFile(t) match {
+                    case Some(cf) =>
+                        if (classImmutability(t.id) == Undetermined) {
+                            initializeLocalImmutability(cf)
+                            classFiles += cf
+                        }
+                    case None =>
+                        OPALLogger.warn(
+                            "project configuration - object immutability analysis",
+                            s"missing class file of ${t.toJava}; setting all subtypes to mutable"
+                        )
+                        classHierarchy.allSubclassTypes(t, reflexive = true).foreach {
+                            setMutableDueToUnknownSupertypes
+                        }
+                }
+            }
+            levels += classFiles.toArray
+            types = classFiles.iterator.flatMap { cf =>
+                classHierarchy.directSubclassesOf(cf.thisType).iterator
+            }
+        }
+        levels
+    }
+
+    private[this] def setMutableDueToUnknownSupertypes(t: ObjectType): Unit = {
+        if (classImmutability(t.id) == Undetermined)
+            classImmutability(t.id) = MutableDueToUnknownSupertypes
+    }
+
+    /**
+     * Sets the type immutabilities of the extensible types and returns the remaining types
+     * grouped by the height of their subtype hierarchy; i.e., the subtypes of a type belong to
+     * a previous level.
+     */
+    private[this] def subtypeHierarchyLevels(
+        typeExtensibility: ObjectType => Answer
+    ): ArrayBuffer[Array[ObjectType]] = {
+        val types = project.allClassFiles.iterator.map(_.thisType).filter { t =>
+            (t ne ObjectType.Object) && (typeExtensibility(t) match {
+                case No => true
+                case _ =>
+                    typeImmutability(t.id) = Mutable
+                    false
+            })
+        }.toArray
+        types.foreach(t => typeImmutability(t.id) = Immutable)
+
+        val heights = Array.fill(typesCount)(-1)
+        def height(t: ObjectType): Int = {
+            if (heights(t.id) == -1) {
+                var h = 0
+                classHierarchy.foreachDirectSubtypeOf(t) { subtype =>
+                    if (isAnalyzedType(subtype)) h = Math.max(h, height(subtype) + 1)
+                }
+                heights(t.id) = h
+            }
+            heights(t.id)
+        }
+
+        val levels = ArrayBuffer.empty[ArrayBuffer[ObjectType]]
+        types.foreach { t =>
+            val h = height(t)
+            while (levels.size <= h) levels += ArrayBuffer.empty
+            levels(h) += t
+        }
+        levels.map(_.toArray)
+    }
+
+    private[this] def isAnalyzedType(t: ObjectType): Boolean = {
+        t.id < typesCount && typeImmutability(t.id) == Immutable
+    }
+
+    private[this] def initializeLocalImmutability(cf: ClassFile): Unit = {
+        val t = cf.thisType
+        val instanceFields = cf.fields.filter(f => !f.isStatic)
+        // Fields whose mutability is not (yet) known to be final are conservatively considered
+        // to be non-final.
+        val hasNonFinalField = instanceFields.exists { f =>
+            propertyStore(f, FieldMutability.key) match {
+                case FinalP(_: FinalField) => false
+                case _                     => true
+            }
+        }
+        localImmutability(t.id) =
+            if (hasNonFinalField) Mutable
+            // IMPROVE We could analyze if the array is effectively final.
+            else if (instanceFields.exists(_.fieldType.isArrayType)) Container
+            else Immutable
+        fieldTypes(t.id) = instanceFields.iterator.collect {
+            case f if f.fieldType.isObjectType => f.fieldType.asObjectType
+        }.distinct.toArray
+    }
+
+    private[this] def updateClassImmutability(changed: AtomicBoolean)(cf: ClassFile): Unit = {
+        val t = cf.thisType
+        val superclassImmutability = classLevel(classHierarchy.superclassType(t.id))
+        val local = localImmutability(t.id)
+        val immutability =
+            if (superclassImmutability == Mutable || local == Mutable)
+                Mutable
+            else if (superclassImmutability == Container || local == Container ||
+                fieldTypes(t.id).exists(typeLevel(_) != Immutable))
+                Container
+            else
+                Immutable
+        if (immutability != classImmutability(t.id)) {
+            classImmutability(t.id) = immutability
+            changed.set(true)
+        }
+    }
+
+    private[this] def updateTypeImmutability(changed: AtomicBoolean)(t: ObjectType): Unit = {
+        var immutability = classLevel(t)
+        if (!project.classFile(t).exists(_.isFinal)) {
+            classHierarchy.foreachDirectSubtypeOf(t) { subtype =>
+                immutability = Math.max(immutability, typeLevel(subtype)).toByte
+            }
+        }
+        if (immutability != typeImmutability(t.id)) {
+            typeImmutability(t.id) = immutability
+            changed.set(true)
+        }
+    }
+
+    /** The class immutability's level; types without class immutability are mutable. */
+    private[this] def classLevel(t: ObjectType): Byte = {
+        if (t.id >= typesCount) Mutable
+        else {
+            val immutability = classImmutability(t.id)
+            if (immutability == Undetermined || immutability > Mutable) Mutable else immutability
+        }
+    }
+
+    /** The type immutability's level; types without type immutability are mutable. */
+    private[this] def typeLevel(t: ObjectType): Byte = {
+        if (t.id >= typesCount || typeImmutability(t.id) == Undetermined) Mutable
+        else typeImmutability(t.id)
+    }
+
+    private[this] def results(): Iterator[SomeFinalEP] = {
+        val classResults: Iterator[SomeFinalEP] = classImmutability.iterator.zipWithIndex.collect {
+            case (immutability, id) if immutability != Undetermined =>
+                FinalEP(ObjectType.lookup(id), toClassImmutability(immutability))
+        }
+        val typeResults: Iterator[SomeFinalEP] = typeImmutability.iterator.zipWithIndex.collect {
+            case (immutability, id) if immutability != Undetermined =>
+                FinalEP(ObjectType.lookup(id), toTypeImmutability(immutability))
+        }
+        classResults ++ typeResults
+    }
+}
+
+object LevelParallelImmutabilityAnalysis {
+
+    final val Undetermined: Byte = -1
+    final val Immutable: Byte = 0
+    final val Container: Byte = 1
+    final val Mutable: Byte = 2
+    final val MutableDueToUnknownSupertypes: Byte = 3
+
+    def toClassImmutability(immutability: Byte): ClassImmutability = immutability match {
+        case Immutable => ImmutableObject
+        case Container => ImmutableContainer
+        case Mutable   => MutableObjectByAnalysis
+        case _         => MutableObjectDueToUnknownSupertypes
+    }
+
+    def toTypeImmutability(immutability: Byte): TypeImmutability = immutability match {
+        case Immutable => ImmutableType
+        case Container => ImmutableContainerType
+        case _         => MutableType
+    }
+}
+
+/**
+ * Schedules the [[LevelParallelImmutabilityAnalysis]] as an alternative to the eager
+ * [[ClassImmutabilityAnalysis]] and [[TypeImmutabilityAnalysis]].
+ */
+object EagerLevelParallelImmutabilityAnalysis extends BasicFPCFEagerAnalysisScheduler {
+
+    override def requiredProjectInformation: ProjectInformationKeys = Seq(TypeExtensibilityKey)
+
+    override def uses: Set[PropertyBounds] = Set(PropertyBounds.finalP(FieldMutability))
+
+    override def derivesEagerly: Set[PropertyBounds] =
+        PropertyBounds.lubs(ClassImmutability, TypeImmutability)
+
+    override def derivesCollaboratively: Set[PropertyBounds] = Set.empty
+
+    override def start(p: SomeProject, ps: PropertyStore, unused: Null): FPCFAnalysis = {
+        val analysis = new LevelParallelImmutabilityAnalysis(p)
+        ps.scheduleEagerComputationForEntity(p)(analysis.determineImmutability)
+        analysis
+    }
+}
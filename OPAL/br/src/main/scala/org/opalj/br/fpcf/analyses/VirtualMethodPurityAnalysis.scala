@@ -155,6 +155,9 @@ object EagerVirtualMethodPurityAnalysis
         val methods = dms.collect {
             case dm if dm.hasSingleDefinedMethod && !configuredPurity.wasSet(dm) =>
                 simpleContexts(dm)
+        }.filterNot { context =>
+            // the virtual method purity may already have been set (e.g., from purity summaries)
+            ps.hasProperty(context.method, VirtualMethodPurity.key)
         }
         ps.scheduleEagerComputationsForEntities(methods)(analysis.determinePurity)
 
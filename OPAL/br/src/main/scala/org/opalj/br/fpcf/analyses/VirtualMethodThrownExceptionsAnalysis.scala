@@ -15,10 +15,10 @@ import org.opalj.fpcf.PropertyStore
 import org.opalj.fpcf.Result
 import org.opalj.fpcf.SomeEPS
 import org.opalj.fpcf.UBP
+import org.opalj.br.analyses.ExceptionTypesIndexKey
 import org.opalj.br.analyses.SomeProject
 import org.opalj.br.analyses.cg.IsOverridableMethodKey
 import org.opalj.br.analyses.ProjectInformationKeys
-import org.opalj.br.collection.mutable.{TypesSet => BRMutableTypesSet}
 import org.opalj.br.fpcf.properties.ThrownExceptions
 import org.opalj.br.fpcf.properties.ThrownExceptions.AnalysisLimitation
 import org.opalj.br.fpcf.properties.ThrownExceptions.MethodBodyIsNotAvailable
@@ -32,7 +32,8 @@ import org.opalj.br.fpcf.properties.ThrownExceptionsByOverridingMethods.SomeExce
 
 /**
  * Aggregates the exceptions thrown by a method over all methods which override the respective
- * method.
+ * method; the aggregated sets are represented as bit sets (see
+ * [[org.opalj.br.collection.immutable.ExceptionTypesSet]]).
  *
  * @author Andreas Muttscheller
  * @author Michael Eichberg
@@ -41,6 +42,8 @@ class VirtualMethodThrownExceptionsAnalysis private[analyses] (
         final val project: SomeProject
 ) extends FPCFAnalysis {
 
+    private[this] val exceptionTypes = project.get(ExceptionTypesIndexKey)
+
     private[analyses] def lazilyAggregateExceptionsThrownByOverridingMethods(
         e: Entity
     ): ProperPropertyComputationResult = {
@@ -65,7 +68,7 @@ class VirtualMethodThrownExceptionsAnalysis private[analyses] (
             return Result(m, MethodIsOverridable);
         }
 
-        val initialExceptions = new BRMutableTypesSet(project.classHierarchy)
+        var exceptions = exceptionTypes.emptySet
 
         var dependees = Set.empty[EOptionP[Entity, Property]]
 
@@ -83,7 +86,7 @@ class VirtualMethodThrownExceptionsAnalysis private[analyses] (
                             UBP(UnresolvedInvokeDynamicInstruction) =>
                             return Result(m, SomeException)
                         case eps: EPS[Entity, Property] =>
-                            initialExceptions ++= eps.ub.types.concreteTypes
+                            exceptions = exceptions.withConcreteTypesOf(eps.ub.types)
                             if (eps.isRefinable) {
                                 dependees += eps
                             }
@@ -93,8 +96,6 @@ class VirtualMethodThrownExceptionsAnalysis private[analyses] (
             })
         }
 
-        var exceptions = initialExceptions.toImmutableTypesSet
-
         def c(eps: SomeEPS): ProperPropertyComputationResult = {
             dependees = dependees.filter { d =>
                 d.e != eps.e || d.pk != eps.pk
@@ -117,7 +118,7 @@ class VirtualMethodThrownExceptionsAnalysis private[analyses] (
                     UnresolvedInvokeDynamicInstruction =>
                     return Result(m, SomeException)
                 case te: ThrownExceptions =>
-                    exceptions = exceptions ++ te.types.concreteTypes
+                    exceptions = exceptions.withConcreteTypesOf(te.types)
             }
             if (dependees.isEmpty) {
                 Result(m, new ThrownExceptionsByOverridingMethods(exceptions))
@@ -138,7 +139,9 @@ class VirtualMethodThrownExceptionsAnalysis private[analyses] (
 
 trait VirtualMethodThrownExceptionsAnalysisScheduler extends FPCFAnalysisScheduler {
 
-    override def requiredProjectInformation: ProjectInformationKeys = Seq(IsOverridableMethodKey)
+    override def requiredProjectInformation: ProjectInformationKeys = {
+        Seq(IsOverridableMethodKey, ExceptionTypesIndexKey)
+    }
 
     final override def uses: Set[PropertyBounds] = Set(PropertyBounds.lub(ThrownExceptions))
 
@@ -0,0 +1,211 @@
+/* BSD 2-Clause License - see OPAL/LICENSE for details. */
+package org.opalj
+package br
+package fpcf
+package properties
+package pointsto
+
+import java.lang.ref.WeakReference
+import java.util.Arrays
+import java.util.Collections
+import java.util.WeakHashMap
+import java.util.concurrent.ConcurrentHashMap
+
+import org.opalj.collection.immutable.SparseBitSet
+
+/**
+ * Assigns dense indices (0, 1, 2, ...) to the allocation sites in the order in which they
+ * are encountered and maintains a bit set per allocated type of all allocation sites of the
+ * respective type; these masks are used to apply type filters to an
+ * [[AllocationSitePointsToBitSet]] word-wise.
+ *
+ * The indices are assigned per project (see [[AllocationSiteIndicesKey]]) and are never
+ * released; the bit sets of points-to sets that use different indices must not be combined.
+ * The bit sets of the points-to sets of a project are hash-consed (see `intern`); i.e., all
+ * live points-to sets with the same allocation sites share the same bit set.
+ *
+ * ==Thread Safety==
+ * This class is thread-safe.
+ */
+final class AllocationSiteIndices {
+
+    private[this] val indices = new ConcurrentHashMap[AllocationSite, Integer]()
+
+    // All indices that are (transitively) obtained from `indices` are guaranteed to be valid
+    // indices of this array.
+    @volatile private[this] var allocationSites = new Array[AllocationSite](1024)
+    private[this] var allocationSitesCount = 0 // guarded by this
+
+    private[this] final class TypeMask {
+        private[this] var indices = new Array[Int](8)
+        private[this] var indicesCount = 0
+        private[this] var mask = SparseBitSet.empty
+
+        // The indices are added in ascending order.
+        def +=(index: Int): Unit = synchronized {
+            if (indicesCount == indices.length)
+                indices = Arrays.copyOf(indices, indicesCount * 2)
+            indices(indicesCount) = index
+            indicesCount += 1
+        }
+
+        // The mask is only recomputed if new allocation sites of the type were registered.
+        def get: SparseBitSet = synchronized {
+            if (mask.size != indicesCount)
+                mask = SparseBitSet.fromSorted(indices, indicesCount)
+            mask
+        }
+    }
+
+    private[this] val typeMasks = new ConcurrentHashMap[Integer, TypeMask]()
+
+    // Weakly references the bit sets of all live points-to sets to share equal bit sets.
+    private[this] val bitSets = Collections.synchronizedMap(
+        new WeakHashMap[SparseBitSet, WeakReference[SparseBitSet]]()
+    )
+
+    /**
+     * Returns the shared bit set that is equal to the given bit set; if there is none, the
+     * given bit set is shared from now on. (The bit sets cache their hash codes.)
+     */
+    def intern(bits: SparseBitSet): SparseBitSet = {
+        val bitsRef = bitSets.get(bits)
+        val internedBits = if (bitsRef ne null) bitsRef.get else null
+        if (internedBits ne null)
+            internedBits
+        else {
+            bitSets.put(bits, new WeakReference(bits))
+            bits
+        }
+    }
+
+    /**
+     * Returns the index of the given allocation site; if the allocation site has no index so
+     * far, a new index is assigned.
+     */
+    def indexOf(allocationSite: AllocationSite): Int = {
+        val index = indices.get(allocationSite)
+        if (index ne null)
+            index.intValue
+        else
+            register(allocationSite)
+    }
+
+    /**
+     * Returns the index of the given allocation site or -1 if the allocation site has no index.
+     */
+    def knownIndexOf(allocationSite: AllocationSite): Int = {
+        val index = indices.get(allocationSite)
+        if (index ne null) index.intValue else -1
+    }
+
+    private[this] def register(allocationSite: AllocationSite): Int = synchronized {
+        val index = indices.get(allocationSite)
+        if (index ne null)
+            return index.intValue;
+
+        val newIndex = allocationSitesCount
+        if (newIndex == allocationSites.length) {
+            val newAllocationSites = Arrays.copyOf(allocationSites, newIndex * 2)
+            newAllocationSites(newIndex) = allocationSite
+            allocationSites = newAllocationSites
+        } else {
+            allocationSites(newIndex) = allocationSite
+        }
+        allocationSitesCount += 1
+
+        val typeId = allocationSiteLongToTypeId(allocationSite)
+        var typeMask = typeMasks.get(typeId)
+        if (typeMask eq null) {
+            typeMask = new TypeMask
+            typeMasks.put(typeId, typeMask)
+        }
+        typeMask += newIndex
+
+        indices.put(allocationSite, newIndex)
+        newIndex
+    }
+
+    def allocationSite(index: Int): AllocationSite = allocationSites(index)
+
+    /**
+     * The indices of all allocation sites of the given type.
+     */
+    def typeMask(tpe: ReferenceType): SparseBitSet = {
+        val typeMask = typeMasks.get(tpe.id)
+        if (typeMask eq null) SparseBitSet.empty else typeMask.get
+    }
+
+    /**
+     * The indices of the given allocation sites.
+     */
+    def indicesOf(allocationSites: Iterator[AllocationSite]): SparseBitSet = {
+        SparseBitSet(allocationSites.map(indexOf).toArray)
+    }
+}
+
+/**
+ * An append-only log of allocation sites which records the order in which the allocation sites
+ * were added to an [[AllocationSitePointsToBitSet]]. A log is shared by all versions of a
+ * points-to set which extend each other; each version only reads the entries below its
+ * number of elements.
+ *
+ * ==Thread Safety==
+ * This class is thread-safe.
+ */
+private[pointsto] final class AllocationSiteLog private (
+        @volatile private[this] var allocationSites: Array[AllocationSite],
+        private[this] var count:                     Int // guarded by this
+) {
+
+    def apply(index: Int): AllocationSite = allocationSites(index)
+
+    /**
+     * Returns a log whose first `length` entries are the first `length` entries of this log,
+     * followed by the given allocation sites. If this log has exactly `length` entries, the
+     * allocation sites are appended to this log and this log is returned; otherwise, the
+     * first `length` entries are copied.
+     */
+    def appended(length: Int, newAllocationSites: Array[AllocationSite]): AllocationSiteLog = {
+        val newAllocationSitesCount = newAllocationSites.length
+        val isAppended = synchronized {
+            if (count == length) {
+                val newCount = count + newAllocationSitesCount
+                if (newCount > allocationSites.length) {
+                    val grownAllocationSites =
+                        Arrays.copyOf(allocationSites, Math.max(newCount, count * 2))
+                    System.arraycopy(
+                        newAllocationSites, 0, grownAllocationSites, count, newAllocationSitesCount
+                    )
+                    allocationSites = grownAllocationSites
+                } else {
+                    System.arraycopy(
+                        newAllocationSites, 0, allocationSites, count, newAllocationSitesCount
+                    )
+                }
+                count = newCount
+                true
+            } else {
+                false
+            }
+        }
+
+        if (isAppended)
+            this
+        else {
+            val copiedAllocationSites = new Array[AllocationSite](length + newAllocationSitesCount)
+            System.arraycopy(allocationSites, 0, copiedAllocationSites, 0, length)
+            System.arraycopy(
+                newAllocationSites, 0, copiedAllocationSites, length, newAllocationSitesCount
+            )
+            new AllocationSiteLog(copiedAllocationSites, copiedAllocationSites.length)
+        }
+    }
+}
+
+private[pointsto] object AllocationSiteLog {
+
+    def apply(allocationSites: Array[AllocationSite]): AllocationSiteLog = {
+        new AllocationSiteLog(allocationSites, allocationSites.length)
+    }
+}
@@ -0,0 +1,26 @@
+/* BSD 2-Clause License - see OPAL/LICENSE for details. */
+package org.opalj
+package br
+package fpcf
+package properties
+package pointsto
+
+import org.opalj.br.analyses.ProjectInformationKey
+import org.opalj.br.analyses.ProjectInformationKeys
+import org.opalj.br.analyses.SomeProject
+
+/**
+ * The ''key'' object to get the [[AllocationSiteIndices]] of a project, which are required to
+ * represent points-to sets as [[AllocationSitePointsToBitSet]]s.
+ */
+object AllocationSiteIndicesKey extends ProjectInformationKey[AllocationSiteIndices, Nothing] {
+
+    /**
+     * The [[AllocationSiteIndicesKey]] has no special prerequisites.
+     *
+     * @return `Nil`.
+     */
+    override def requirements(project: SomeProject): ProjectInformationKeys = Nil
+
+    override def compute(project: SomeProject): AllocationSiteIndices = new AllocationSiteIndices
+}
@@ -5,9 +5,11 @@ package fpcf
 package properties
 package pointsto
 
+import org.opalj.collection.LongIterator
 import org.opalj.collection.immutable.IntTrieSet
 import org.opalj.collection.immutable.LongLinkedSet
 import org.opalj.collection.immutable.LongTrieSetWithList
+import org.opalj.collection.immutable.SparseBitSet
 import org.opalj.collection.immutable.UIDSet
 import org.opalj.fpcf.Entity
 import org.opalj.fpcf.FallbackReason
@@ -265,6 +267,21 @@ case class AllocationSitePointsToSetN private[pointsto] (
     override def hashCode: Int = elements.hashCode()
 
     override def getNewestElement(): AllocationSite = elements.head
+
+    // The indices of the allocation sites w.r.t. the most recently used AllocationSiteIndices;
+    // caches the indices when this set is repeatedly combined with bit sets.
+    @volatile private[this] var bits: (AllocationSiteIndices, SparseBitSet) = _ /*null*/
+
+    private[pointsto] def bitsOf(indices: AllocationSiteIndices): SparseBitSet = {
+        val cachedBits = bits
+        if ((cachedBits ne null) && (cachedBits._1 eq indices))
+            cachedBits._2
+        else {
+            val newBits = indices.indicesOf(elements.iterator)
+            bits = (indices, newBits)
+            newBits
+        }
+    }
 }
 
 object NoAllocationSites extends AllocationSitePointsToSet {
@@ -337,6 +354,9 @@ case class AllocationSitePointsToSet1(
             case NoAllocationSites =>
                 this
 
+            case that: AllocationSitePointsToBitSet =>
+                AllocationSitePointsToBitSet(allocationSite, allocatedType, that.indices).included(that)
+
             case AllocationSitePointsToSetN(otherAllocationSites, otherTypes, otherOrderedTypes) =>
                 val newAllocations = otherAllocationSites.foldLeft(elements) { (l, as) =>
                     if (as != allocationSite) {
@@ -464,4 +484,316 @@ case class AllocationSitePointsToSet1(
     override def hashCode: Int = (allocationSite ^ (allocationSite >> 32)).toInt
 
     override def getNewestElement(): AllocationSite = allocationSite
-}
\ No newline at end of file
+}
+/**
+ * An allocation-site points-to set that stores the (dense indices of the) allocation sites in a
+ * [[org.opalj.collection.immutable.SparseBitSet]] over the project's
+ * [[AllocationSiteIndices]]. Unions and differences are computed word-wise and type filters are
+ * applied by intersecting the allocation sites with the precomputed masks of the types that pass
+ * the filter. Hence, the allocated types are only looked up for the types and not for each
+ * allocation site.
+ *
+ * The bit sets are hash-consed per project (see [[AllocationSiteIndices.intern]]); i.e., all
+ * points-to sets with the same allocation sites share the same bit set. The order in which the
+ * allocation sites were added (which is required by `forNewestNElements`) is recorded in an
+ * [[AllocationSiteLog]] that is shared with the previous versions of the points-to set.
+ */
+final class AllocationSitePointsToBitSet private[pointsto] (
+        val indices:                               AllocationSiteIndices,
+        val bits:                                  SparseBitSet,
+        private[this] val log:                     AllocationSiteLog,
+        override val numElements:                  Int,
+        override val types:                        UIDSet[ReferenceType],
+        override protected[this] val orderedTypes: List[ReferenceType]
+) extends AllocationSitePointsToSet {
+
+    override def numTypes: Int = types.size
+
+    override def elements: LongLinkedSet = new AllocationSiteLogView(indices, log, numElements, bits)
+
+    override def forNewestNTypes[U](n: Int)(f: ReferenceType => U): Unit = {
+        orderedTypes.take(n).foreach(f)
+    }
+
+    override def forNewestNElements[U](n: Int)(f: AllocationSite => U): Unit = {
+        var index = numElements - 1
+        val lastIndex = numElements - n
+        while (index >= lastIndex) {
+            f(log(index))
+            index -= 1
+        }
+    }
+
+    override def getNewestElement(): AllocationSite = log(numElements - 1)
+
+    override def included(other: AllocationSitePointsToSet): AllocationSitePointsToSet = {
+        included(other, 0, PointsToSetLike.noFilter)
+    }
+
+    override def included(
+        other: AllocationSitePointsToSet, seenElements: Int
+    ): AllocationSitePointsToSet = {
+        included(other, seenElements, PointsToSetLike.noFilter)
+    }
+
+    override def included(
+        other: AllocationSitePointsToSet, typeFilter: ReferenceType => Boolean
+    ): AllocationSitePointsToSet = {
+        included(other, 0, typeFilter)
+    }
+
+    // The union is computed word-wise over all allocation sites of the other set; hence,
+    // `seenElements` is not required.
+    override def included(
+        other:        AllocationSitePointsToSet,
+        seenElements: Int,
+        typeFilter:   ReferenceType => Boolean
+    ): AllocationSitePointsToSet = {
+        if (other eq this)
+            return this;
+
+        var newBits = AllocationSitePointsToBitSet.bitsOf(other, indices) &~ bits
+        if (newBits.isEmpty)
+            return this;
+
+        var newTypes = types
+        var newOrderedTypes = orderedTypes
+        if (typeFilter eq PointsToSetLike.noFilter) {
+            other.types foreach { t =>
+                if (!types.contains(t)) {
+                    newTypes += t
+                    newOrderedTypes ::= t
+                }
+            }
+        } else {
+            var mask = SparseBitSet.empty
+            var allTypesPass = true
+            other.types foreach { t =>
+                if (typeFilter(t)) {
+                    mask |= indices.typeMask(t)
+                    if (!types.contains(t)) {
+                        newTypes += t
+                        newOrderedTypes ::= t
+                    }
+                } else {
+                    allTypesPass = false
+                }
+            }
+            if (!allTypesPass) {
+                newBits &= mask
+                if (newBits.isEmpty)
+                    return this;
+            }
+        }
+
+        val newAllocationSites = new Array[AllocationSite](newBits.size)
+        var i = 0
+        newBits foreach { index =>
+            newAllocationSites(i) = indices.allocationSite(index)
+            i += 1
+        }
+
+        new AllocationSitePointsToBitSet(
+            indices,
+            indices.intern(bits | newBits),
+            log.appended(numElements, newAllocationSites),
+            numElements + newAllocationSites.length,
+            newTypes,
+            newOrderedTypes
+        )
+    }
+
+    override def filter(typeFilter: ReferenceType => Boolean): AllocationSitePointsToSet = {
+        if (typeFilter eq PointsToSetLike.noFilter)
+            return this;
+
+        val newOrderedTypes = orderedTypes.filter(typeFilter)
+        if (newOrderedTypes.size == numTypes)
+            return this;
+        if (newOrderedTypes.isEmpty)
+            return NoAllocationSites;
+
+        val mask = newOrderedTypes.foldLeft(SparseBitSet.empty) { (mask, t) =>
+            mask | indices.typeMask(t)
+        }
+        val newBits = bits & mask
+        val newAllocationSites = new Array[AllocationSite](newBits.size)
+        var i = 0
+        var index = 0
+        while (index < numElements) {
+            val allocationSite = log(index)
+            if (newBits.contains(indices.indexOf(allocationSite))) {
+                newAllocationSites(i) = allocationSite
+                i += 1
+            }
+            index += 1
+        }
+
+        new AllocationSitePointsToBitSet(
+            indices,
+            indices.intern(newBits),
+            AllocationSiteLog(newAllocationSites),
+            newAllocationSites.length,
+            UIDSet(newOrderedTypes: _*),
+            newOrderedTypes
+        )
+    }
+
+    override def equals(obj: Any): Boolean = {
+        obj match {
+            case that: AllocationSitePointsToBitSet => that.bits == this.bits
+            case _                                  => false
+        }
+    }
+
+    override def hashCode: Int = bits.hashCode
+}
+
+object AllocationSitePointsToBitSet {
+
+    private[pointsto] def bitsOf(
+        pointsToSet: AllocationSitePointsToSet, indices: AllocationSiteIndices
+    ): SparseBitSet = {
+        pointsToSet match {
+            case that: AllocationSitePointsToBitSet =>
+                assert(that.indices eq indices, "points-to sets of different projects")
+                that.bits
+            case NoAllocationSites => SparseBitSet.empty
+            case AllocationSitePointsToSet1(allocationSite, _) =>
+                SparseBitSet(indices.indexOf(allocationSite))
+            case that: AllocationSitePointsToSetN => that.bitsOf(indices)
+        }
+    }
+
+    def apply(
+        allocationSite: AllocationSite,
+        allocatedType:  ReferenceType,
+        indices:        AllocationSiteIndices
+    ): AllocationSitePointsToBitSet = {
+        new AllocationSitePointsToBitSet(
+            indices,
+            indices.intern(SparseBitSet(indices.indexOf(allocationSite))),
+            AllocationSiteLog(Array(allocationSite)),
+            1,
+            UIDSet(allocatedType),
+            List(allocatedType)
+        )
+    }
+
+    /**
+     * Converts the given points-to set; the order of the allocation sites is preserved.
+     */
+    def apply(
+        pointsToSet: AllocationSitePointsToSet, indices: AllocationSiteIndices
+    ): AllocationSitePointsToSet = {
+        pointsToSet match {
+            case that: AllocationSitePointsToBitSet =>
+                assert(that.indices eq indices, "points-to sets of different projects")
+                that
+            case NoAllocationSites => NoAllocationSites
+            case AllocationSitePointsToSet1(allocationSite, allocatedType) =>
+                AllocationSitePointsToBitSet(allocationSite, allocatedType, indices)
+            case that =>
+                val allocationSites = new Array[AllocationSite](that.numElements)
+                var i = that.numElements
+                that.forNewestNElements(that.numElements) { allocationSite =>
+                    i -= 1
+                    allocationSites(i) = allocationSite
+                }
+                val orderedTypes = List.newBuilder[ReferenceType]
+                that.forNewestNTypes(that.numTypes)(orderedTypes += _)
+                new AllocationSitePointsToBitSet(
+                    indices,
+                    indices.intern(indices.indicesOf(allocationSites.iterator)),
+                    AllocationSiteLog(allocationSites),
+                    allocationSites.length,
+                    that.types,
+                    orderedTypes.result()
+                )
+        }
+    }
+}
+
+/**
+ * The allocation sites of an [[AllocationSitePointsToBitSet]]; the newest allocation site is
+ * the first one.
+ */
+private[pointsto] final class AllocationSiteLogView(
+        indices:  AllocationSiteIndices,
+        log:      AllocationSiteLog,
+        val size: Int,
+        bits:     SparseBitSet
+) extends LongLinkedSet {
+
+    override type ThisSet = LongLinkedSet
+
+    override def isEmpty: Boolean = size == 0
+
+    override def isSingletonSet: Boolean = size == 1
+
+    override def head: Long = log(size - 1)
+
+    override def contains(value: Long): Boolean = {
+        val index = indices.knownIndexOf(value)
+        index >= 0 && bits.contains(index)
+    }
+
+    override def forFirstN[U](n: Int)(f: Long => U): Unit = {
+        var index = size - 1
+        val lastIndex = size - n
+        while (index >= lastIndex) {
+            f(log(index))
+            index -= 1
+        }
+    }
+
+    override def foreach[U](f: Long => U): Unit = forFirstN(size)(f)
+
+    override def forall(p: Long => Boolean): Boolean = {
+        var index = size - 1
+        while (index >= 0) {
+            if (!p(log(index)))
+                return false;
+            index -= 1
+        }
+        true
+    }
+
+    override def foldLeft[B](z: B)(op: (B, Long) => B): B = {
+        var result = z
+        foreach { value => result = op(result, value) }
+        result
+    }
+
+    override def iterator: LongIterator = new LongIterator {
+        private[this] var index = AllocationSiteLogView.this.size - 1
+        override def hasNext: Boolean = index >= 0
+        override def next(): Long = {
+            val value = log(index)
+            index -= 1
+            value
+        }
+    }
+
+    override def +(value: Long): LongLinkedSet = {
+        if (contains(value))
+            return this;
+
+        var elements = LongTrieSetWithList.empty
+        var index = 0
+        while (index < size) {
+            elements += log(index)
+            index += 1
+        }
+        elements + value
+    }
+
+    override def equals(other: Any): Boolean = {
+        other match {
+            case that: AllocationSiteLogView => this.bits == that.bits
+            case _                           => false
+        }
+    }
+
+    override def hashCode: Int = bits.hashCode
+}
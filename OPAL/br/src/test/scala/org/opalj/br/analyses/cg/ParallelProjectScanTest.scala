@@ -0,0 +1,133 @@
+/* BSD 2-Clause License - see OPAL/LICENSE for details. */
+package org.opalj
+package br
+package analyses
+package cg
+
+import java.net.URL
+
+import com.typesafe.config.Config
+import com.typesafe.config.ConfigValueFactory
+import org.junit.runner.RunWith
+import org.scalatest.funspec.AnyFunSpec
+import org.scalatest.matchers.should.Matchers
+import org.scalatestplus.junit.JUnitRunner
+
+import org.opalj.log.GlobalLogContext
+import org.opalj.bi.TestResources.locateTestResources
+
+/**
+ * Tests that the initial entry points and instantiated types that are computed using parallel
+ * scans are the same as those computed using sequential scans.
+ */
+@RunWith(classOf[JUnitRunner])
+class ParallelProjectScanTest extends AnyFunSpec with Matchers {
+
+    def config(
+        entryPointsFinder:       String,
+        instantiatedTypesFinder: String,
+        parallelScans:           Boolean
+    ): Config = {
+        BaseConfig
+            .withValue(
+                InitialEntryPointsKey.ConfigKey,
+                ConfigValueFactory.fromAnyRef(entryPointsFinder)
+            )
+            .withValue(
+                InitialInstantiatedTypesKey.ConfigKeyPrefix+"analysis",
+                ConfigValueFactory.fromAnyRef(instantiatedTypesFinder)
+            )
+            .withValue(
+                ClosedPackagesKey.ConfigKeyPrefix+"analysis",
+                ConfigValueFactory.fromAnyRef("org.opalj.br.analyses.cg.ClosedPackagesConfiguration")
+            )
+            .withValue(
+                ClosedPackagesKey.ConfigKeyPrefix+"closedPackages",
+                ConfigValueFactory.fromAnyRef("ai")
+            )
+            .withValue(
+                ParallelProjectScan.ParallelScansConfigKey,
+                ConfigValueFactory.fromAnyRef(parallelScans)
+            )
+    }
+
+    def project(config: Config): Project[URL] = {
+        Project(locateTestResources("ai.jar", "bi"), GlobalLogContext, config)
+    }
+
+    def assertSameResults(entryPointsFinder: String, instantiatedTypesFinder: String): Unit = {
+        val sequentialProject =
+            project(config(entryPointsFinder, instantiatedTypesFinder, parallelScans = false))
+        val parallelProject =
+            project(config(entryPointsFinder, instantiatedTypesFinder, parallelScans = true))
+
+        val entryPoints = parallelProject.get(InitialEntryPointsKey).map(_.toJava).toList
+        entryPoints should not be empty
+        entryPoints should be(sequentialProject.get(InitialEntryPointsKey).map(_.toJava).toList)
+
+        val instantiatedTypes = parallelProject.get(InitialInstantiatedTypesKey).toList
+        instantiatedTypes should be(sequentialProject.get(InitialInstantiatedTypesKey).toList)
+    }
+
+    describe("the parallel project scans") {
+
+        it("should find the same entry points and instantiated types for applications") {
+            assertSameResults(
+                "org.opalj.br.analyses.cg.ApplicationEntryPointsFinder",
+                "org.opalj.br.analyses.cg.ApplicationInstantiatedTypesFinder"
+            )
+        }
+
+        it("should find the same entry points and instantiated types for libraries") {
+            assertSameResults(
+                "org.opalj.br.analyses.cg.LibraryEntryPointsFinder",
+                "org.opalj.br.analyses.cg.LibraryInstantiatedTypesFinder"
+            )
+        }
+
+        it("should find the library entry points that are found when checking each method") {
+            val p = project(config(
+                "org.opalj.br.analyses.cg.LibraryEntryPointsFinder",
+                "org.opalj.br.analyses.cg.LibraryInstantiatedTypesFinder",
+                parallelScans = true
+            ))
+            val isClosedPackage = p.get(ClosedPackagesKey).isClosed _
+            val isExtensible = p.get(TypeExtensibilityKey)
+
+            // The decision per method, as it is made without sharing the properties of the
+            // declaring class between its methods
+            def isEntryPoint(method: Method): Boolean = {
+                val classFile = method.classFile
+                val ot = classFile.thisType
+                if (isClosedPackage(ot.packageName)) {
+                    if (method.isPublic) {
+                        p.classHierarchy.allSubtypes(ot, reflexive = true).exists { st =>
+                            val subtypeCFOption = p.classFile(st)
+                            subtypeCFOption.forall(_.isPublic) &&
+                                (method.isStatic ||
+                                    subtypeCFOption.forall(_.constructors.exists { c =>
+                                        c.isPublic ||
+                                            (c.isProtected && isExtensible(st).isYesOrUnknown)
+                                    }) || classFile.methods.exists {
+                                        m => m.isStatic && m.isPublic && m.returnType == ot
+                                    })
+                        }
+                    } else if (method.isProtected) {
+                        isExtensible(ot).isYesOrUnknown &&
+                            (method.isStatic ||
+                                p.classHierarchy.allSubtypes(ot, reflexive = true).exists { st =>
+                                    p.classFile(st).forall(_.constructors.exists { c =>
+                                        c.isPublic || c.isProtected
+                                    })
+                                })
+                    } else false
+                } else {
+                    true
+                }
+            }
+
+            val expectedEntryPoints = p.allMethodsWithBody.filter(isEntryPoint).map(_.toJava).toSet
+            p.get(InitialEntryPointsKey).map(_.toJava).toSet should be(expectedEntryPoints)
+        }
+    }
+}
@@ -0,0 +1,149 @@
+/* BSD 2-Clause License - see OPAL/LICENSE for details. */
+package org.opalj
+package br
+package collection
+package immutable
+
+import org.junit.runner.RunWith
+import org.scalatestplus.junit.JUnitRunner
+import org.scalatest.flatspec.AnyFlatSpec
+import org.scalatest.matchers.should.Matchers
+
+/**
+ * Basic tests of the ExceptionTypesSet class and the underlying ExceptionTypesIndex.
+ */
+@RunWith(classOf[JUnitRunner])
+class ExceptionTypesSetTest extends AnyFlatSpec with Matchers {
+
+    //
+    // Setup
+    //
+    val index = new ExceptionTypesIndex(ClassHierarchy.PreInitializedClassHierarchy)
+
+    val Throwable = ObjectType.Throwable
+    val Exception = ObjectType.Exception
+    val Error = ObjectType.Error
+    val RuntimeException = ObjectType.RuntimeException
+    val NullPointerException = ObjectType.NullPointerException
+    val ArithmeticException = ObjectType.ArithmeticException
+    val ClassNotFoundException = ObjectType("java/lang/ClassNotFoundException")
+    val AnUnknownType = ObjectType("myTest/AnUnknownException")
+
+    //
+    // Verify
+    //
+
+    behavior of "the ExceptionTypesIndex"
+
+    it should "number the subtypes of a type consecutively" in {
+        val id = index.id(RuntimeException)
+        val subtypes = (id until index.subtypesEnd(id)).map(index.exceptionType).toSet
+        subtypes should be(
+            ClassHierarchy.PreInitializedClassHierarchy.allSubtypes(RuntimeException, true)
+        )
+    }
+
+    it should "number the exceptions thrown by the JVM first" in {
+        ExceptionTypesIndex.JVMExceptions.foreach { t => index.id(t) should be < 64 }
+    }
+
+    it should "not number unknown types" in {
+        index.id(AnUnknownType) should be(-1)
+    }
+
+    behavior of "the ExceptionTypesSet"
+
+    it should "be empty upon creation" in {
+        index.emptySet should be(Symbol("Empty"))
+    }
+
+    it should "add the types if they are not stored in the set" in {
+        val ts = index.emptySet + NullPointerException + ArithmeticException + AnUnknownType
+        ts.size should be(3)
+        ts.types should be(
+            (Set(NullPointerException, ArithmeticException, AnUnknownType), Set.empty)
+        )
+        (ts + NullPointerException) should be theSameInstanceAs ts
+    }
+
+    it should "not add a type if a super type is already added as an upper type bound" in {
+        val ts = index.emptySet.addUpperTypeBound(RuntimeException)
+        (ts + NullPointerException) should be theSameInstanceAs ts
+        (ts ++ List(ArithmeticException, RuntimeException)) should be theSameInstanceAs ts
+        ts.types should be((Set.empty, Set(RuntimeException)))
+    }
+
+    it should "remove all subsumed types if an upper type bound is added" in {
+        val ts = index.typesSet(List(NullPointerException, Error)).
+            addUpperTypeBound(RuntimeException).
+            addUpperTypeBound(Exception)
+        ts.types should be((Set(Error), Set(Exception)))
+    }
+
+    it should "be equal to the sets with the same types independent of their construction" in {
+        val ts1 = index.typesSet(List(NullPointerException, AnUnknownType)).
+            addUpperTypeBound(Error)
+        val ts2 = index.emptySet.addUpperTypeBound(Error) + AnUnknownType + NullPointerException
+        ts1 should be(ts2)
+        ts1.hashCode should be(ts2.hashCode)
+        ts1 should not be (ts2 + ArithmeticException)
+        ts1 should not be (index.typesSet(List(NullPointerException, AnUnknownType)))
+    }
+
+    it should "have the same hash code as the equal sets of other representations" in {
+        val ts1 = index.typesSet(List(NullPointerException, AnUnknownType)).
+            addUpperTypeBound(Error)
+        val ts2 = TypesSet(Set(NullPointerException, AnUnknownType), Set(Error))(
+            ClassHierarchy.PreInitializedClassHierarchy
+        )
+        ts1 should be(ts2)
+        ts2 should be(ts1)
+        ts1.hashCode should be(ts2.hashCode)
+    }
+
+    behavior of "the union of ExceptionTypesSets"
+
+    it should "contain the types of both sets" in {
+        val ts1 = index.typesSet(List(NullPointerException, AnUnknownType))
+        val ts2 = index.typesSet(List(ArithmeticException, ClassNotFoundException))
+        (ts1 ++ ts2).types should be(
+            (Set(NullPointerException, AnUnknownType, ArithmeticException, ClassNotFoundException),
+                Set.empty)
+        )
+        (ts1 ++ index.typesSet(List(NullPointerException))) should be theSameInstanceAs ts1
+    }
+
+    it should "be subsumption-aware" in {
+        val ts1 = index.typesSet(List(NullPointerException, ClassNotFoundException))
+        val ts2 = index.emptySet.addUpperTypeBound(RuntimeException) + Error
+        val ts3 = index.emptySet.addUpperTypeBound(Throwable)
+        (ts1 ++ ts2).types should be(
+            (Set(ClassNotFoundException, Error), Set(RuntimeException))
+        )
+        (ts1 ++ ts2 ++ ts3).types should be((Set.empty, Set(Throwable)))
+        (ts3 ++ ts2) should be theSameInstanceAs ts3
+    }
+
+    it should "be equal to the union of the types sets of another representation" in {
+        val ts1 = index.typesSet(List(NullPointerException, ClassNotFoundException))
+        val ts2 = TypesSet(Set(ArithmeticException), Set(RuntimeException))(
+            ClassHierarchy.PreInitializedClassHierarchy
+        )
+        (ts1 ++ ts2).types should be(
+            (Set(ClassNotFoundException), Set(RuntimeException))
+        )
+        (ts1 ++ ts2) should be(
+            TypesSet(Set(ClassNotFoundException), Set(RuntimeException))(
+                ClassHierarchy.PreInitializedClassHierarchy
+            )
+        )
+    }
+
+    it should "only contain the concrete types of the other set if the bounds are ignored" in {
+        val ts1 = index.typesSet(List(NullPointerException))
+        val ts2 = index.typesSet(List(ArithmeticException)).addUpperTypeBound(Error)
+        ts1.withConcreteTypesOf(ts2).types should be(
+            (Set(NullPointerException, ArithmeticException), Set.empty)
+        )
+    }
+}
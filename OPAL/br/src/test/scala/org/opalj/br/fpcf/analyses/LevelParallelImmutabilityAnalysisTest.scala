@@ -0,0 +1,57 @@
+/* BSD 2-Clause License - see OPAL/LICENSE for details. */
+package org.opalj
+package br
+package fpcf
+package analyses
+
+import org.junit.runner.RunWith
+import org.scalatest.funspec.AnyFunSpec
+import org.scalatest.matchers.should.Matchers
+import org.scalatestplus.junit.JUnitRunner
+
+import org.opalj.fpcf.ComputationSpecification
+import org.opalj.br.TestSupport.biProject
+import org.opalj.br.fpcf.properties.ClassImmutability
+import org.opalj.br.fpcf.properties.TypeImmutability
+
+/**
+ * Tests that the [[LevelParallelImmutabilityAnalysis]] derives the same immutability levels as
+ * the [[ClassImmutabilityAnalysis]] and the [[TypeImmutabilityAnalysis]].
+ */
+@RunWith(classOf[JUnitRunner])
+class LevelParallelImmutabilityAnalysisTest extends AnyFunSpec with Matchers {
+
+    /**
+     * The class immutabilities (as the corresponding type immutabilities to abstract over the
+     * reasons of mutability) and the type immutabilities of all types of the project.
+     */
+    def immutabilities(
+        projectJARName: String,
+        analyses:       ComputationSpecification[FPCFAnalysis]*
+    ): Map[String, (TypeImmutability, TypeImmutability)] = {
+        val project = biProject(projectJARName)
+        val (ps, _) = project.get(FPCFAnalysesManagerKey).runAll(
+            EagerL0FieldMutabilityAnalysis +: analyses
+        )
+        project.allClassFiles.map { cf =>
+            val t = cf.thisType
+            val classImmutability = ps(t, ClassImmutability.key).ub.correspondingTypeImmutability
+            t.toJava -> ((classImmutability, ps(t, TypeImmutability.key).ub))
+        }.toMap
+    }
+
+    for (projectJARName <- List("immutability.jar", "classhierarchy.jar")) {
+        describe(s"the level-parallel immutability analysis of $projectJARName") {
+
+            it("should derive the same immutabilities as the incremental analyses") {
+                val expected = immutabilities(
+                    projectJARName,
+                    EagerClassImmutabilityAnalysis,
+                    EagerTypeImmutabilityAnalysis
+                )
+                val actual = immutabilities(projectJARName, EagerLevelParallelImmutabilityAnalysis)
+                actual should be(expected)
+            }
+        }
+    }
+}
@@ -0,0 +1,127 @@
+/* BSD 2-Clause License - see OPAL/LICENSE for details. */
+package org.opalj
+package br
+package fpcf
+package properties
+package pointsto
+
+import org.junit.runner.RunWith
+import org.scalatest.flatspec.AnyFlatSpec
+import org.scalatest.matchers.should.Matchers
+import org.scalatestplus.junit.JUnitRunner
+
+@RunWith(classOf[JUnitRunner])
+class AllocationSitePointsToBitSetTest extends AnyFlatSpec with Matchers {
+
+    val types: List[ReferenceType] = List(
+        ObjectType.Object, ObjectType.String, ObjectType.StringBuilder, ArrayType(ObjectType.Object)
+    )
+
+    def allocationSite(tpe: ReferenceType, pc: Int): AllocationSite = {
+        (tpe.id.toLong << 44) | (pc.toLong << 27)
+    }
+
+    val indices = new AllocationSiteIndices
+
+    // creates the same points-to set using both representations
+    def pointsToSets(
+        pcs:     Range,
+        indices: AllocationSiteIndices = indices
+    ): (AllocationSitePointsToSet, AllocationSitePointsToSet) = {
+        pcs.foldLeft((NoAllocationSites: AllocationSitePointsToSet, NoAllocationSites: AllocationSitePointsToSet)) {
+            case ((pts, bitSetPts), pc) =>
+                val tpe = types(pc % types.size)
+                val as = allocationSite(tpe, pc)
+                (
+                    pts.included(AllocationSitePointsToSet1(as, tpe)),
+                    bitSetPts.included(AllocationSitePointsToBitSet(as, tpe, indices))
+                )
+        }
+    }
+
+    def newestElements(pts: AllocationSitePointsToSet, n: Int): List[AllocationSite] = {
+        var elements = List.empty[AllocationSite]
+        pts.forNewestNElements(n) { elements ::= _ }
+        elements
+    }
+
+    behavior of "AllocationSitePointsToBitSet"
+
+    it should "contain the same allocation sites and types as AllocationSitePointsToSet" in {
+        val (pts, bitSetPts) = pointsToSets(0 until 200)
+        bitSetPts.numElements should be(pts.numElements)
+        bitSetPts.types should be(pts.types)
+        newestElements(bitSetPts, 200).toSet should be(newestElements(pts, 200).toSet)
+        bitSetPts.elements.forall(pts.elements.contains) should be(true)
+    }
+
+    it should "return the newest allocation sites in the order in which they were added" in {
+        val (_, bitSetPts) = pointsToSets(0 until 100)
+        val (_, otherBitSetPts) = pointsToSets(50 until 150)
+        val union = bitSetPts.included(otherBitSetPts, 0)
+        union.numElements should be(150)
+        newestElements(union, 50).toSet should be((100 until 150).map { pc =>
+            allocationSite(types(pc % types.size), pc)
+        }.toSet)
+        union.getNewestElement() should be(union.elements.head)
+    }
+
+    it should "return the same set if no allocation sites are added" in {
+        val (_, bitSetPts) = pointsToSets(0 until 100)
+        val (_, subset) = pointsToSets(10 until 20)
+        bitSetPts.included(subset) should be theSameInstanceAs bitSetPts
+        bitSetPts.included(bitSetPts) should be theSameInstanceAs bitSetPts
+    }
+
+    it should "consider points-to sets with the same allocation sites equal" in {
+        val (_, bitSetPts1) = pointsToSets(0 until 100)
+        val (_, bitSetPts2) = pointsToSets(0 until 100)
+        bitSetPts1 should be(bitSetPts2)
+        bitSetPts1.hashCode should be(bitSetPts2.hashCode)
+    }
+
+    it should "share the bit sets of points-to sets with the same allocation sites" in {
+        val (_, bitSetPts1) = pointsToSets(0 until 100)
+        val (_, bitSetPts2) = pointsToSets(0 until 100)
+        val bits1 = bitSetPts1.asInstanceOf[AllocationSitePointsToBitSet].bits
+        val bits2 = bitSetPts2.asInstanceOf[AllocationSitePointsToBitSet].bits
+        bits1 should be theSameInstanceAs bits2
+    }
+
+    it should "assign the indices of the allocation sites per AllocationSiteIndices" in {
+        val otherIndices = new AllocationSiteIndices
+        val (_, bitSetPts) = pointsToSets(100 until 200, otherIndices)
+        bitSetPts.asInstanceOf[AllocationSitePointsToBitSet].bits.iterator.toList should be(
+            (0 until 100).toList
+        )
+        newestElements(bitSetPts, 1) should be(List(allocationSite(types(199 % types.size), 199)))
+    }
+
+    it should "apply type filters like AllocationSitePointsToSet" in {
+        val (pts, bitSetPts) = pointsToSets(0 until 100)
+        val typeFilter = (t: ReferenceType) => t eq ObjectType.String
+        val filtered = NoAllocationSites.included(pts, typeFilter)
+        val filteredBitSet = AllocationSitePointsToBitSet(
+            allocationSite(ObjectType.Object, 1000), ObjectType.Object, indices
+        ).included(bitSetPts, typeFilter)
+        filteredBitSet.numElements should be(filtered.numElements + 1)
+        filteredBitSet.types should be(filtered.types + ObjectType.Object)
+
+        val filteredOnly = bitSetPts.filter(typeFilter)
+        filteredOnly.numElements should be(filtered.numElements)
+        filteredOnly.elements.forall(filtered.elements.contains) should be(true)
+    }
+
+    it should "be combinable with the other representations" in {
+        val (pts, bitSetPts) = pointsToSets(0 until 100)
+        val (otherPts, _) = pointsToSets(100 until 120)
+        val union = bitSetPts.included(otherPts)
+        union.numElements should be(120)
+        AllocationSitePointsToBitSet(pts, indices) should be(bitSetPts)
+
+        val as = allocationSite(ObjectType.Object, 1000)
+        val extended = AllocationSitePointsToSet1(as, ObjectType.Object).included(bitSetPts)
+        extended.numElements should be(101)
+        extended.getNewestElement() should be(newestElements(bitSetPts, 1).head)
+    }
+}
@@ -0,0 +1,291 @@
+/* BSD 2-Clause License - see OPAL/LICENSE for details. */
+package org.opalj
+package collection
+package immutable
+
+import java.lang.Long.bitCount
+import java.lang.Long.numberOfTrailingZeros
+import java.util.Arrays
+
+/**
+ * An immutable bit set for storing positive int values where only the non-zero 64 bit words
+ * are stored (together with their index); i.e., the size of the set depends on the number of
+ * non-zero words and not on the largest value.
+ *
+ * All bulk operations (`|`, `&`, `&~`) are performed word-wise and return `this` (or `that`)
+ * if the result is equal to `this` (`that`).
+ *
+ * @param wordIndices The indices of the non-zero words in ascending order.
+ * @param words The non-zero words.
+ */
+final class SparseBitSet private (
+        private val wordIndices: Array[Int],
+        private val words:       Array[Long],
+        val size:                Int
+) extends BitSet { thisSet =>
+
+    private[this] var hash: Int = 0
+
+    override def isEmpty: Boolean = size == 0
+
+    def nonEmpty: Boolean = size != 0
+
+    override def contains(i: Int): Boolean = {
+        val wordIndex = Arrays.binarySearch(wordIndices, i >>> 6)
+        wordIndex >= 0 && (words(wordIndex) & (1L << i)) != 0L
+    }
+
+    def +(i: Int): SparseBitSet = if (contains(i)) this else this | SparseBitSet(i)
+
+    /**
+     * The union of this set and the given set.
+     */
+    def |(that: SparseBitSet): SparseBitSet = {
+        if ((this eq that) || that.isEmpty) return this;
+        if (this.isEmpty) return that;
+
+        val thisWordsCount = this.words.length
+        val thatWordsCount = that.words.length
+        val newWordIndices = new Array[Int](thisWordsCount + thatWordsCount)
+        val newWords = new Array[Long](thisWordsCount + thatWordsCount)
+        var newSize = 0
+        var i = 0
+        var j = 0
+        var k = 0
+        while (i < thisWordsCount || j < thatWordsCount) {
+            if (j == thatWordsCount ||
+                (i < thisWordsCount && this.wordIndices(i) < that.wordIndices(j))) {
+                newWordIndices(k) = this.wordIndices(i)
+                newWords(k) = this.words(i)
+                i += 1
+            } else if (i == thisWordsCount || that.wordIndices(j) < this.wordIndices(i)) {
+                newWordIndices(k) = that.wordIndices(j)
+                newWords(k) = that.words(j)
+                j += 1
+            } else {
+                newWordIndices(k) = this.wordIndices(i)
+                newWords(k) = this.words(i) | that.words(j)
+                i += 1
+                j += 1
+            }
+            newSize += bitCount(newWords(k))
+            k += 1
+        }
+
+        if (newSize == this.size) this
+        else if (newSize == that.size) that
+        else new SparseBitSet(Arrays.copyOf(newWordIndices, k), Arrays.copyOf(newWords, k), newSize)
+    }
+
+    /**
+     * The intersection of this set and the given set.
+     */
+    def &(that: SparseBitSet): SparseBitSet = {
+        if (this eq that) return this;
+
+        val thisWordsCount = this.words.length
+        val thatWordsCount = that.words.length
+        val maxWordsCount = Math.min(thisWordsCount, thatWordsCount)
+        val newWordIndices = new Array[Int](maxWordsCount)
+        val newWords = new Array[Long](maxWordsCount)
+        var newSize = 0
+        var i = 0
+        var j = 0
+        var k = 0
+        while (i < thisWordsCount && j < thatWordsCount) {
+            val thisWordIndex = this.wordIndices(i)
+            val thatWordIndex = that.wordIndices(j)
+            if (thisWordIndex < thatWordIndex) {
+                i += 1
+            } else if (thatWordIndex < thisWordIndex) {
+                j += 1
+            } else {
+                val word = this.words(i) & that.words(j)
+                if (word != 0L) {
+                    newWordIndices(k) = thisWordIndex
+                    newWords(k) = word
+                    newSize += bitCount(word)
+                    k += 1
+                }
+                i += 1
+                j += 1
+            }
+        }
+
+        if (newSize == this.size) this
+        else if (newSize == that.size) that
+        else if (newSize == 0) SparseBitSet.empty
+        else new SparseBitSet(Arrays.copyOf(newWordIndices, k), Arrays.copyOf(newWords, k), newSize)
+    }
+
+    /**
+     * The difference of this set and the given set; i.e., all values of this set that are not
+     * contained in the given set.
+     */
+    def &~(that: SparseBitSet): SparseBitSet = {
+        if (this eq that) return SparseBitSet.empty;
+        if (this.isEmpty || that.isEmpty) return this;
+
+        val thisWordsCount = this.words.length
+        val thatWordsCount = that.words.length
+        val newWordIndices = new Array[Int](thisWordsCount)
+        val newWords = new Array[Long](thisWordsCount)
+        var newSize = 0
+        var i = 0
+        var j = 0
+        var k = 0
+        while (i < thisWordsCount) {
+            val thisWordIndex = this.wordIndices(i)
+            while (j < thatWordsCount && that.wordIndices(j) < thisWordIndex) j += 1
+            val word =
+                if (j < thatWordsCount && that.wordIndices(j) == thisWordIndex)
+                    this.words(i) & ~that.words(j)
+                else
+                    this.words(i)
+            if (word != 0L) {
+                newWordIndices(k) = thisWordIndex
+                newWords(k) = word
+                newSize += bitCount(word)
+                k += 1
+            }
+            i += 1
+        }
+
+        if (newSize == this.size) this
+        else if (newSize == 0) SparseBitSet.empty
+        else new SparseBitSet(Arrays.copyOf(newWordIndices, k), Arrays.copyOf(newWords, k), newSize)
+    }
+
+    /**
+     * Returns `true` if this set and the given set have at least one value in common.
+     */
+    def intersects(that: SparseBitSet): Boolean = {
+        val thisWordsCount = this.words.length
+        val thatWordsCount = that.words.length
+        var i = 0
+        var j = 0
+        while (i < thisWordsCount && j < thatWordsCount) {
+            val thisWordIndex = this.wordIndices(i)
+            val thatWordIndex = that.wordIndices(j)
+            if (thisWordIndex < thatWordIndex) {
+                i += 1
+            } else if (thatWordIndex < thisWordIndex) {
+                j += 1
+            } else {
+                if ((this.words(i) & that.words(j)) != 0L)
+                    return true;
+                i += 1
+                j += 1
+            }
+        }
+        false
+    }
+
+    def subsetOf(that: SparseBitSet): Boolean = (this &~ that).isEmpty
+
+    /**
+     * Calls the given function for each value of this set in ascending order.
+     */
+    def foreach[U](f: Int => U): Unit = {
+        val wordsCount = words.length
+        var i = 0
+        while (i < wordsCount) {
+            val offset = wordIndices(i) << 6
+            var word = words(i)
+            while (word != 0L) {
+                f(offset + numberOfTrailingZeros(word))
+                word &= word - 1L
+            }
+            i += 1
+        }
+    }
+
+    override def iterator: IntIterator = new IntIterator {
+        private[this] var i = 0
+        private[this] var word = if (thisSet.isEmpty) 0L else words(0)
+        def hasNext: Boolean = word != 0L
+        def next(): Int = {
+            val value = (wordIndices(i) << 6) + numberOfTrailingZeros(word)
+            word &= word - 1L
+            if (word == 0L) {
+                i += 1
+                if (i < words.length) word = words(i)
+            }
+            value
+        }
+    }
+
+    override def equals(other: Any): Boolean = {
+        other match {
+            case that: SparseBitSet =>
+                (this eq that) || (
+                    this.size == that.size &&
+                    this.hashCode == that.hashCode &&
+                    Arrays.equals(this.wordIndices, that.wordIndices) &&
+                    Arrays.equals(this.words, that.words)
+                )
+            case _ => false
+        }
+    }
+
+    override def hashCode: Int = {
+        var hash = this.hash
+        if (hash == 0) {
+            hash = Arrays.hashCode(wordIndices) * 31 + Arrays.hashCode(words)
+            this.hash = hash
+        }
+        hash
+    }
+
+    override def toString: String = mkString("SparseBitSet(", ",", ")")
+}
+
+object SparseBitSet {
+
+    final val empty: SparseBitSet = new SparseBitSet(new Array[Int](0), new Array[Long](0), 0)
+
+    def apply(i: Int): SparseBitSet = {
+        assert(i >= 0)
+        new SparseBitSet(Array(i >>> 6), Array(1L << i), 1)
+    }
+
+    /**
+     * Creates a new bit set containing the first `count` values of the given array which have
+     * to be sorted in ascending order; duplicates are ignored.
+     */
+    def fromSorted(values: Array[Int], count: Int): SparseBitSet = {
+        if (count == 0) return empty;
+
+        assert(values(0) >= 0)
+        val wordIndices = new Array[Int](count)
+        val words = new Array[Long](count)
+        var size = 0
+        var k = -1
+        var i = 0
+        while (i < count) {
+            val value = values(i)
+            val wordIndex = value >>> 6
+            if (k < 0 || wordIndices(k) != wordIndex) {
+                k += 1
+                wordIndices(k) = wordIndex
+            }
+            val word = words(k)
+            val newWord = word | (1L << value)
+            if (newWord != word) {
+                words(k) = newWord
+                size += 1
+            }
+            i += 1
+        }
+        new SparseBitSet(Arrays.copyOf(wordIndices, k + 1), Arrays.copyOf(words, k + 1), size)
+    }
+
+    /**
+     * Creates a new bit set containing the given values.
+     */
+    def apply(values: Array[Int]): SparseBitSet = {
+        val sortedValues = values.clone()
+        Arrays.sort(sortedValues)
+        fromSorted(sortedValues, sortedValues.length)
+    }
+}
@@ -0,0 +1,91 @@
+/* BSD 2-Clause License - see OPAL/LICENSE for details. */
+package org.opalj
+package collection
+package immutable
+
+import org.junit.runner.RunWith
+import org.scalatestplus.junit.JUnitRunner
+import org.scalacheck.Properties
+import org.scalacheck.Prop.forAll
+import org.scalacheck.Prop.propBoolean
+import org.scalacheck.Gen
+import org.scalacheck.Arbitrary
+
+import java.util.Random
+
+import scala.collection.immutable.{BitSet => SBitSet}
+
+/**
+ * Tests `SparseBitSet`.
+ */
+@RunWith(classOf[JUnitRunner])
+object SparseBitSetProperties extends Properties("SparseBitSetProperties") {
+
+    val r = new Random()
+
+    val frequencies = List(
+        (1, Gen.choose(1, 63)),
+        (1, Gen.choose(64, 1000)),
+        (1, Gen.choose(1000, 1000000))
+    )
+
+    implicit val arbIntBitSet: Arbitrary[SBitSet] = Arbitrary {
+        Gen.sized { s =>
+            Gen.frequency(frequencies: _*).map { max =>
+                (0 until s).foldLeft(SBitSet.empty) { (c, _) => c + r.nextInt(max) }
+            }
+        }
+    }
+
+    def toSparseBitSet(s: SBitSet): SparseBitSet = SparseBitSet(s.toArray)
+
+    def toSBitSet(s: SparseBitSet): SBitSet = s.iterator.foldLeft(SBitSet.empty)(_ + _)
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////
+    //                             P R O P E R T I E S
+
+    property("apply|size|contains|iterator") = forAll { s: SBitSet =>
+        val sbs = toSparseBitSet(s)
+        (sbs.size == s.size) :| "size" &&
+            s.forall(sbs.contains) :| "contains all values" &&
+            (toSBitSet(sbs) == s) :| "iterator returns all values" &&
+            (sbs.iterator.toList == s.toList) :| "iterator returns the values in ascending order"
+    }
+
+    property("+") = forAll { (s: SBitSet, i: Int) =>
+        val v = Math.abs(i % 1000000)
+        val sbs = toSparseBitSet(s) + v
+        (toSBitSet(sbs) == s + v) :| "contains the added value" &&
+            ((sbs + v) eq sbs) :| "returns this if the value is already contained"
+    }
+
+    property("|") = forAll { (s1: SBitSet, s2: SBitSet) =>
+        val sbs1 = toSparseBitSet(s1)
+        val sbs2 = toSparseBitSet(s2)
+        val union = sbs1 | sbs2
+        (toSBitSet(union) == (s1 | s2)) :| "union" &&
+            (union.size == (s1 | s2).size) :| "size" &&
+            (!s2.subsetOf(s1) || (union eq sbs1)) :| "returns this if nothing is added"
+    }
+
+    property("&") = forAll { (s1: SBitSet, s2: SBitSet) =>
+        val intersection = toSparseBitSet(s1) & toSparseBitSet(s2)
+        (toSBitSet(intersection) == (s1 & s2)) :| "intersection" &&
+            (intersection.size == (s1 & s2).size) :| "size" &&
+            (toSparseBitSet(s1).intersects(toSparseBitSet(s2)) == (s1 & s2).nonEmpty) :| "intersects"
+    }
+
+    property("&~") = forAll { (s1: SBitSet, s2: SBitSet) =>
+        val sbs1 = toSparseBitSet(s1)
+        val difference = sbs1 &~ toSparseBitSet(s2)
+        (toSBitSet(difference) == (s1 &~ s2)) :| "difference" &&
+            (difference.size == (s1 &~ s2).size) :| "size" &&
+            (!(s1 & s2).isEmpty || (difference eq sbs1)) :| "returns this if nothing is removed"
+    }
+
+    property("equals|hashCode") = forAll { s: SBitSet =>
+        val sbs1 = toSparseBitSet(s)
+        val sbs2 = toSparseBitSet(s.toList.reverse.foldLeft(SBitSet.empty)(_ + _))
+        (sbs1 == sbs2) :| "equals" && (sbs1.hashCode == sbs2.hashCode) :| "hashCode"
+    }
+}
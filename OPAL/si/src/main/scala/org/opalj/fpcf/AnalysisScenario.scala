@@ -240,6 +240,17 @@ class AnalysisScenario[A](val ps: PropertyStore) {
             }
         }
 
+        // 0.1. check that only derived properties are transient
+        allCS.foreach { cs =>
+            cs.derivesTransiently foreach { transientPK =>
+                if (!cs.derives.exists(_.pk == transientPK)) {
+                    val pkName = PropertyKey.name(transientPK)
+                    val m = s"can not register $cs: $pkName is transient, but not derived"
+                    throw new SpecificationViolation(m)
+                }
+            }
+        }
+
         // 1. check for properties that are not derived (and which require an analysis)
         val underivedProperties = usedProperties -- derivedProperties
         underivedProperties
@@ -301,7 +312,8 @@ class AnalysisScenario[A](val ps: PropertyStore) {
 
         val phase1Configuration = PropertyKindsConfiguration(
             propertyKindsComputedInThisPhase = derivedProperties.map(_.pk),
-            suppressInterimUpdates = suppressInterimUpdates
+            suppressInterimUpdates = suppressInterimUpdates,
+            transientPropertyKinds = allCS.flatMap(_.derivesTransiently)
         )
 
         PhaseConfiguration(phase1Configuration, batchBuilder.result())
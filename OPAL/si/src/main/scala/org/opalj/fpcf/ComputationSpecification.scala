@@ -64,6 +64,14 @@ trait ComputationSpecification[A] {
 
     def derivesCollaboratively: Set[PropertyBounds]
 
+    /**
+     * Returns the kinds of the derived properties that are only required while the phase in
+     * which this computation is scheduled is running; i.e., which are neither queried by the
+     * analyses of later phases nor by the client of the analysis.
+     * The property store may drop the final properties of these kinds.
+     */
+    def derivesTransiently: Set[PropertyKind] = Set.empty
+
     def derives: Iterator[PropertyBounds] = {
         derivesEagerly.iterator ++ derivesCollaboratively.iterator ++ derivesLazily.iterator
     }
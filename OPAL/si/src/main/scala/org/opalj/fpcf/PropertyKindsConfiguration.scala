@@ -25,6 +25,9 @@ package fpcf
  *         will suppress notifications about interim updates from `ReachableNodes` to
  *         `ReachableNodesCount`
  *
+ * @param transientPropertyKinds The set of properties computed in this phase that are only
+ *         required while the phase is running (e.g., intermediate representations). The store
+ *         may drop the final properties of these kinds if it can recompute them on demand.
  *
  * @author Michael Eichberg
  */
@@ -32,7 +35,8 @@ case class PropertyKindsConfiguration(
         propertyKindsComputedInThisPhase:                      Set[PropertyKind],
         propertyKindsComputedInLaterPhase:                     Set[PropertyKind]                    = Set.empty,
         suppressInterimUpdates:                                Map[PropertyKind, Set[PropertyKind]] = Map.empty,
-        collaborativelyComputedPropertyKindsFinalizationOrder: List[List[PropertyKind]]             = List.empty
+        collaborativelyComputedPropertyKindsFinalizationOrder: List[List[PropertyKind]]             = List.empty,
+        transientPropertyKinds:                                Set[PropertyKind]                    = Set.empty
 ) {
 
     override def toString: String = {
@@ -47,7 +51,8 @@ case class PropertyKindsConfiguration(
             }.mkString("suppressInterimUpdates={", ",", "}\n\t") +
             collaborativelyComputedPropertyKindsFinalizationOrder
             .map(_.map(PropertyKey.name).mkString("[", ",", "]"))
-            .mkString("finalizationOrder=[ ", " , ", " ]\n")+
+            .mkString("finalizationOrder=[ ", " , ", " ]\n\t") +
+            transientPropertyKinds.map(PropertyKey.name).mkString("transient={", ", ", "}\n")+
             ")"
     }
 }
@@ -330,6 +330,14 @@ abstract class PropertyStore {
         Array.fill(SupportedPropertyKinds) { false }
     }
 
+    /**
+     * `true` if the properties of the respective kind are only required while the current phase
+     * is running; see `setupPhase`.
+     */
+    protected[this] final val transientPropertyKinds: Array[Boolean] = {
+        new Array(SupportedPropertyKinds)
+    }
+
     /**
      * The order in which the property kinds will be finalized; the last phase is considered
      * the clean-up phase and will contain all remaining properties that were not explicitly
@@ -354,6 +362,21 @@ abstract class PropertyStore {
         new Array(PropertyKind.SupportedPropertyKinds)
     }
 
+    /**
+     * The sinks to which the final properties of the respective kind are passed; see `subscribe`.
+     */
+    protected[this] final val finalPropertiesSinks: Array[List[SomeFinalEP => Unit]] = {
+        Array.fill(SupportedPropertyKinds) { Nil }
+    }
+
+    /**
+     * `true` if the final properties of the respective kind are removed from the store when
+     * a phase is completed; see `subscribe`.
+     */
+    protected[this] final val evictFinalProperties: Array[Boolean] = {
+        new Array(SupportedPropertyKinds)
+    }
+
     protected[this] def computeFallback[E <: Entity, P <: Property](
         e:    E,
         pkId: Int
@@ -525,12 +548,52 @@ abstract class PropertyStore {
         pc: EOptionP[E, P] => InterimEP[E, P]
     ): Unit
 
+    /**
+     * Registers a sink to which each property of the given kind is passed the moment it
+     * becomes final. Hence, the results of an analysis can be processed (e.g., written to a file
+     * or put into a queue) while the analysis is still running instead of iterating over all
+     * properties (e.g., using `entities`) after the phase was completed.
+     *
+     * '''Calling this method is only supported before any analysis is scheduled!'''
+     *
+     * @note   Properties that are already final when the sink is registered (e.g., explicitly
+     *         set properties or properties computed in a previous phase) are not passed to it.
+     * @note   Parallel property stores pass the properties concurrently; hence, the sink has to
+     *         be thread-safe and should not block.
+     *
+     * @param  evict If `true`, the final properties of the given kind are removed from the store
+     *         when the phase is completed. This caps the memory that is required by long running
+     *         batch analyses, but evicted properties can no longer be queried and subsequent
+     *         queries return the fallback. Hence, only properties that are not required by the
+     *         analyses of later phases should be evicted.
+     */
+    final def subscribe[P <: Property](
+        pk:    PropertyKey[P],
+        evict: Boolean        = false
+    )(
+        sink: FinalEP[Entity, P] => Unit
+    ): Unit = {
+        if (!isIdle) {
+            throw new IllegalStateException("analyses are already running")
+        }
+        val pkId = pk.id
+        finalPropertiesSinks(pkId) :+= sink.asInstanceOf[SomeFinalEP => Unit]
+        evictFinalProperties(pkId) |= evict
+    }
+
+    /** Passes the given final property to the sinks registered for its kind, if any. */
+    @inline protected[this] final def passToSinks(finalEP: SomeFinalEP): Unit = {
+        val sinks = finalPropertiesSinks(finalEP.pk.id)
+        if (sinks ne Nil) sinks.foreach(sink => sink(finalEP))
+    }
+
     final def setupPhase(configuration: PropertyKindsConfiguration): Unit = {
         setupPhase(
             configuration.propertyKindsComputedInThisPhase,
             configuration.propertyKindsComputedInLaterPhase,
             configuration.suppressInterimUpdates,
-            configuration.collaborativelyComputedPropertyKindsFinalizationOrder
+            configuration.collaborativelyComputedPropertyKindsFinalizationOrder,
+            configuration.transientPropertyKinds
         )
     }
 
@@ -561,12 +624,18 @@ abstract class PropertyStore {
      *        This is an optimization related to lazy computations, but also enables the
      *        implementation of transformers and the scheduling of analyses which compute different
      *        kinds of bounds unless the analyses have cyclic dependencies.
+     * @param transientPropertyKinds The property kinds computed in this phase whose final
+     *        properties are only required while the phase is running. A store may drop such
+     *        properties once no computation is waiting for them anymore if it can recompute them
+     *        on demand (i.e., if they are computed lazily); whether and when this happens is up
+     *        to the store.
      */
     final def setupPhase(
         propertyKindsComputedInThisPhase:  Set[PropertyKind],
         propertyKindsComputedInLaterPhase: Set[PropertyKind]                    = Set.empty,
         suppressInterimUpdates:            Map[PropertyKind, Set[PropertyKind]] = Map.empty,
-        finalizationOrder:                 List[List[PropertyKind]]             = List.empty
+        finalizationOrder:                 List[List[PropertyKind]]             = List.empty,
+        transientPropertyKinds:            Set[PropertyKind]                    = Set.empty
     ): Unit = handleExceptions {
         if (!isIdle) {
             throw new IllegalStateException("computations are already running");
@@ -628,10 +697,17 @@ abstract class PropertyStore {
                 (finalizationOrder :+ cleanUpSubPhase.toList).toArray
             }
 
+        // Step 5
+        // Save the information about which properties are transient.
+        JArrays.fill(this.transientPropertyKinds, false)
+        transientPropertyKinds foreach { pk =>
+            this.transientPropertyKinds(pk.id) = true
+        }
+
         subPhaseId = 0
         hasSuppressedNotifications = suppressInterimUpdates.nonEmpty
 
-        // Step 5
+        // Step 6
         // Call `newPhaseInitialized` to enable subclasses to perform custom initialization steps
         // when a phase was setup.
         newPhaseInitialized(
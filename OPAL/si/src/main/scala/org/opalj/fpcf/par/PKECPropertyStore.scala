@@ -82,6 +82,10 @@ class PKECPropertyStore(
         fallbacksForComputedProperties.getAndIncrement()
     }
 
+    private[this] var droppedPropertiesCounter = 0
+    /** The number of final properties of transient kinds that were dropped. */
+    def droppedPropertiesCount: Int = droppedPropertiesCounter
+
     // --------------------------------------------------------------------------------------------
     //
     // BASIC QUERY METHODS (ONLY TO BE CALLED WHEN THE STORE IS QUIESCENT)
@@ -346,6 +350,7 @@ class PKECPropertyStore(
         val ePKState = ps(pk.id).computeIfAbsent(e, { _ => isFresh = true; EPKState(finalEP, null, null) })
         if (isFresh) triggerComputations(e, pk.id)
         else ePKState.setFinal(finalEP, unnotifiedPKs)
+        passToSinks(finalEP)
     }
 
     private[par] def triggerComputations(e: Entity, pkId: Int): Unit = {
@@ -407,7 +412,7 @@ class PKECPropertyStore(
                        different thread instead. */
                     if (evaluationDepth < MaxEvaluationDepth) {
                         evaluationDepth += 1
-                        handleResult(lazyComputation(e))
+                        handleLazyComputationResult(e, pkId, lazyComputation(e))
                         evaluationDepth -= 1
                         ps(pkId).get(e).eOptP.asInstanceOf[EOptionP[E, P]]
                     } else {
@@ -432,6 +437,7 @@ class PKECPropertyStore(
                         val previous = ps(pkId).putIfAbsent(e, EPKState(result, null, null))
                         if (previous eq null) {
                             triggerComputations(e, pkId)
+                            passToSinks(result)
                             result.asInstanceOf[FinalEP[E, P]]
                         } else {
                             previous.eOptP.asInstanceOf[EOptionP[E, P]]
@@ -459,6 +465,7 @@ class PKECPropertyStore(
                 val previous = ps(pkId).putIfAbsent(e, EPKState(finalEP, null, null))
                 if (previous eq null) {
                     triggerComputations(e, pkId)
+                    passToSinks(finalEP)
                     finalEP
                 } else {
                     previous.eOptP.asInstanceOf[EOptionP[E, P]]
@@ -506,6 +513,8 @@ class PKECPropertyStore(
 
                     quiescenceCounter += 1
 
+                    releaseTransientProperties()
+
                     startThreads(new FallbackThread(_))
 
                     continueFallbacks = activeTasks.get() > 0
@@ -525,9 +534,84 @@ class PKECPropertyStore(
             ps(AnalysisKeyId).clear()
         }
 
+        releaseTransientProperties()
+        evictFinalPropertiesOfPhase()
+
         idle = true
     }
 
+    // --------------------------------------------------------------------------------------------
+    //
+    // TRANSIENT PROPERTIES
+    //
+    // --------------------------------------------------------------------------------------------
+
+    /**
+     * `true` if a lazy computation of the respective property kind returned something other than
+     * a single final result for the entity it was invoked for; i.e., if it computed (interim)
+     * properties of other entities or had to wait for other properties. The properties of such
+     * kinds are not dropped, because their recomputation would derive them a second time.
+     */
+    private[this] val nonRecomputablePropertyKinds: Array[Boolean] = {
+        new Array(PropertyKind.SupportedPropertyKinds)
+    }
+
+    private[this] def handleLazyComputationResult(
+        e:    Entity,
+        pkId: Int,
+        r:    PropertyComputationResult
+    ): Unit = {
+        r match {
+            case Result(finalEP) if finalEP.e == e && finalEP.pk.id == pkId =>
+            case _ => nonRecomputablePropertyKinds(pkId) = true
+        }
+        handleResult(r)
+    }
+
+    /**
+     * Drops the final properties of transient property kinds which are not awaited by any
+     * computation if they can be recomputed on demand; i.e., if they are computed lazily, each
+     * lazy computation returned a single result for its own entity and recomputing them does
+     * neither trigger computations nor sinks a second time.
+     *
+     * The final properties of transient property kinds that cannot be recomputed are kept in
+     * memory; they are not spilled to disk. Spilling would require serializing the properties,
+     * but most property kinds (e.g., `TACAI`, `BaseAIResult` or `Callees`) reference entities
+     * such as methods, types and code that are neither serializable nor could be reconnected
+     * to the project's instances when the properties are reloaded.
+     */
+    // executed on the main thread only (when the store is quiescent)
+    private[this] def releaseTransientProperties(): Unit = {
+        var pkId = 0
+        while (pkId <= PropertyKey.maxId) {
+            if (transientPropertyKinds(pkId) &&
+                (lazyComputations(pkId) ne null) &&
+                !nonRecomputablePropertyKinds(pkId) &&
+                (triggeredComputations(pkId) eq null) &&
+                finalPropertiesSinks(pkId).isEmpty) {
+                val propertiesOfKind = ps(pkId)
+                propertiesOfKind.forEach { (e: Entity, state: EPKState) =>
+                    if (state.eOptP.isFinal && state.dependers.isEmpty &&
+                        state.suppressedDependers.isEmpty &&
+                        propertiesOfKind.remove(e, state))
+                        droppedPropertiesCounter += 1
+                }
+            }
+            pkId += 1
+        }
+    }
+
+    // executed on the main thread only
+    private[this] def evictFinalPropertiesOfPhase(): Unit = {
+        var pkId = 0
+        while (pkId <= PropertyKey.maxId) {
+            if (evictFinalProperties(pkId)) {
+                ps(pkId).values().removeIf { (state: EPKState) => state.eOptP.isFinal }
+            }
+            pkId += 1
+        }
+    }
+
     private[this] val interimStates: Array[ArrayBuffer[EPKState]] =
         Array.fill(THREAD_COUNT)(null)
     private[this] val successors: Array[EPKState => Iterable[EPKState]] =
@@ -734,7 +818,7 @@ class PKECPropertyStore(
             val state = ps(pkId).get(e)
             state.synchronized {
                 if (state.eOptP.isEPK)
-                    handleResult(pc(e))
+                    handleLazyComputationResult(e, pkId, pc(e))
             }
         }
     }
@@ -387,6 +387,7 @@ final class PKESequentialPropertyStore protected (
                     dependees(pkId).put(e, newDependees)
                 eps.isUpdatedComparedTo(oldEOptionP)
         }
+        if (eps.isFinal) passToSinks(eps.asFinal)
         if (notificationRequired) {
             val isFinal = eps.isFinal
             val theDependers = dependers(pkId).get(e)
@@ -824,6 +825,15 @@ final class PKESequentialPropertyStore protected (
             }
         } while (continueComputation)
 
+        // 4. Let's remove the final properties that should be evicted.
+        var pkId = 0
+        while (pkId <= maxPKIndex) {
+            if (evictFinalProperties(pkId)) {
+                ps(pkId).filterInPlace((_, eOptionP) => !eOptionP.isFinal)
+            }
+            pkId += 1
+        }
+
         if (exception != null) throw exception;
     }
 
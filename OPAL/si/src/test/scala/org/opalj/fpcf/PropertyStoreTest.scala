@@ -1,7 +1,9 @@
 /* BSD 2-Clause License - see OPAL/LICENSE for details. */
 package org.opalj.fpcf
 
+import java.util.concurrent.ConcurrentLinkedQueue
 import java.util.concurrent.atomic.AtomicInteger
+import scala.jdk.CollectionConverters._
 import scala.collection.immutable
 import scala.collection.mutable
 import org.junit.runner.RunWith
@@ -49,6 +51,7 @@ sealed abstract class PropertyStoreTest[PS <: PropertyStore]
         import Palindromes.SuperPalindromeKey
         import Palindromes.PalindromeFragmentsKey
         import Palindromes.PalindromeFragments
+        import Palindromes.PalindromeProperty
         import ReachableEntities.ReachedEntities
         import ReachableEntities.ReachedEntitiesKey
 
@@ -474,6 +477,61 @@ sealed abstract class PropertyStoreTest[PS <: PropertyStore]
             ps.shutdown()
         }
 
+        it("should pass all final properties to the subscribed sinks") {
+            val ps = createPropertyStore()
+            info(s"PropertyStore@${System.identityHashCode(ps).toHexString}")
+
+            val pk = Palindromes.PalindromeKey
+            val sunkEPs = new ConcurrentLinkedQueue[FinalEP[Entity, PalindromeProperty]]()
+            ps.subscribe(pk) { finalEP => sunkEPs.add(finalEP) }
+            ps.subscribe(SuperPalindromeKey) { _ => fail("unexpected property") }
+
+            ps.setupPhase(Set(pk), Set.empty)
+
+            val es = Set("aba", "cc", "d", "fd", "zu", "aaabbbaaa")
+            ps.scheduleEagerComputationsForEntities(es) { e =>
+                Result(e, if (e.reverse == e) Palindrome else NoPalindrome)
+            }
+
+            ps.waitOnPhaseCompletion()
+
+            sunkEPs.asScala.toList.sortBy(_.e.toString) should be(
+                ps.entities(pk).toList.sortBy(_.e.toString)
+            )
+
+            afterAll(ps)
+            ps.shutdown()
+        }
+
+        it("should evict the final properties of the subscribed kinds "+
+            "when the phase is completed") {
+            val ps = createPropertyStore()
+            info(s"PropertyStore@${System.identityHashCode(ps).toHexString}")
+
+            val pk = Palindromes.PalindromeKey
+            val sunkEPs = new ConcurrentLinkedQueue[FinalEP[Entity, PalindromeProperty]]()
+            ps.subscribe(pk, evict = true) { finalEP => sunkEPs.add(finalEP) }
+
+            ps.setupPhase(Set(pk, SuperPalindromeKey), Set.empty)
+
+            val es = Set("aba", "cc", "fd", "zu")
+            ps.scheduleEagerComputationsForEntities(es) { e =>
+                Result(e, if (e.reverse == e) Palindrome else NoPalindrome)
+            }
+            ps.scheduleEagerComputationsForEntities(es) { e =>
+                Result(e, NoSuperPalindrome)
+            }
+
+            ps.waitOnPhaseCompletion()
+
+            sunkEPs.asScala.map(_.e).toSet should be(es)
+            ps.entities(pk) should be(Symbol("Empty"))
+            ps.entities(SuperPalindromeKey).map(_.e).toSet should be(es)
+
+            afterAll(ps)
+            ps.shutdown()
+        }
+
         it("should trigger a lazy property computation only lazily") {
             val ps = createPropertyStore()
             info(s"PropertyStore@${System.identityHashCode(ps).toHexString}")
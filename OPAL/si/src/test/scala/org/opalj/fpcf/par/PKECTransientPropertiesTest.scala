@@ -0,0 +1,97 @@
+/* BSD 2-Clause License - see OPAL/LICENSE for details. */
+package org.opalj
+package fpcf
+package par
+
+import java.util.concurrent.atomic.AtomicInteger
+
+import org.junit.runner.RunWith
+import org.scalatestplus.junit.JUnitRunner
+import org.scalatest.funspec.AnyFunSpec
+import org.scalatest.matchers.should.Matchers
+
+import org.opalj.log.GlobalLogContext
+import org.opalj.log.LogContext
+import org.opalj.fpcf.fixtures.Palindromes.NoPalindrome
+import org.opalj.fpcf.fixtures.Palindromes.NoSuperPalindrome
+import org.opalj.fpcf.fixtures.Palindromes.Palindrome
+import org.opalj.fpcf.fixtures.Palindromes.PalindromeKey
+import org.opalj.fpcf.fixtures.Palindromes.SuperPalindrome
+import org.opalj.fpcf.fixtures.Palindromes.SuperPalindromeKey
+
+/**
+ * Tests that the [[PKECPropertyStore]] drops the final properties of transient property kinds
+ * and recomputes them on demand if their lazy computations only derive the respective property.
+ */
+@RunWith(classOf[JUnitRunner])
+class PKECTransientPropertiesTest extends AnyFunSpec with Matchers {
+
+    implicit val logContext: LogContext = GlobalLogContext
+
+    val es = Set("aba", "cc", "d", "fd", "zu", "aaabbbaaa")
+
+    def isPalindrome(e: Entity): Boolean = e.toString.reverse == e.toString
+
+    describe("the PKECPropertyStore") {
+
+        it("should drop the lazily computed final properties of transient property kinds") {
+            val ps = new PKECPropertyStore(Map.empty, PKECNoPriorityTaskManager, 8, 32)
+            val computations = new AtomicInteger(0)
+
+            ps.setupPhase(
+                Set(PalindromeKey, SuperPalindromeKey),
+                transientPropertyKinds = Set(PalindromeKey)
+            )
+            ps.registerLazyPropertyComputation(
+                PalindromeKey,
+                (e: Entity) => {
+                    computations.incrementAndGet()
+                    Result(e, if (isPalindrome(e)) Palindrome else NoPalindrome)
+                }
+            )
+            ps.scheduleEagerComputationsForEntities(es) { e =>
+                def c(eOptionP: SomeEOptionP): ProperPropertyComputationResult = {
+                    (eOptionP: @unchecked) match {
+                        case FinalP(Palindrome) => Result(e, SuperPalindrome)
+                        case FinalP(_)          => Result(e, NoSuperPalindrome)
+                        case epk =>
+                            InterimResult(e, NoSuperPalindrome, SuperPalindrome, Set(epk), c)
+                    }
+                }
+                c(ps(e, PalindromeKey))
+            }
+            ps.waitOnPhaseCompletion()
+
+            ps.droppedPropertiesCount should be(es.size)
+            ps.entities(PalindromeKey) should be(Symbol("Empty"))
+            ps.entities(SuperPalindromeKey).map(_.e).toSet should be(es)
+
+            // the dropped properties are recomputed on demand
+            ps("aba", PalindromeKey) should be(FinalEP("aba", Palindrome))
+            computations.get should be(es.size + 1)
+
+            ps.shutdown()
+        }
+
+        it("should not drop the properties if the lazy computations derive other properties") {
+            val ps = new PKECPropertyStore(Map.empty, PKECNoPriorityTaskManager, 8, 32)
+
+            ps.setupPhase(Set(PalindromeKey), transientPropertyKinds = Set(PalindromeKey))
+            ps.registerLazyPropertyComputation(
+                PalindromeKey,
+                (e: Entity) => {
+                    val p = if (isPalindrome(e)) Palindrome else NoPalindrome
+                    // the upper case variant of the entity is a palindrome iff the entity is one
+                    Results(Result(e, p), Result(e.toString.toUpperCase, p))
+                }
+            )
+            es.foreach(ps.force(_, PalindromeKey))
+            ps.waitOnPhaseCompletion()
+
+            ps.droppedPropertiesCount should be(0)
+            ps.entities(PalindromeKey).map(_.e).toSet should be(es ++ es.map(_.toUpperCase))
+
+            ps.shutdown()
+        }
+    }
+}
@@ -23,6 +23,9 @@ import org.opalj.ai.Domain
  * @example To get the index use the [[org.opalj.br.analyses.Project]]'s `get` method and
  *          pass in `this` object.
  *
+ * @note    If the 3-address code of each method is only processed once, use a [[TACAIStream]]
+ *          instead; it does not retain the 3-address code of all methods.
+ *
  * @author Michael Eichberg
  */
 object EagerDetachedTACAIKey extends TACAIKey[Method => Domain with RecordDefUse] {
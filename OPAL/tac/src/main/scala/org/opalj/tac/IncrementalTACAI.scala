@@ -0,0 +1,333 @@
+/* BSD 2-Clause License - see OPAL/LICENSE for details. */
+package org.opalj
+package tac
+
+import org.opalj.collection.mutable.Locals
+import org.opalj.value.ValueInformation
+import org.opalj.br.Method
+import org.opalj.br.instructions.ANEWARRAY
+import org.opalj.br.instructions.NEWARRAY
+import org.opalj.br.analyses.SomeProject
+import org.opalj.ai.AIResult
+import org.opalj.ai.Domain
+import org.opalj.ai.domain.RecordDefUse
+
+/**
+ * Updates the three address representation of a method if the result of the underlying
+ * abstract interpretation was refined (e.g., because more precise information about the
+ * values stored in fields or returned by methods became available), but the control flow
+ * and the def/use information did not change. In this case, the statements of the previous
+ * 3-address code are copied and the copies' (new) variables get the values computed by the new
+ * abstract interpretation; the control-flow graph and the exception handlers are reused.
+ *
+ * The result is (modulo the identity of the statements) identical to the result of
+ * [[TACAI]] given the new abstract interpretation result.
+ *
+ * @note   The previous 3-address code must not be detached from the previous abstract
+ *         interpretation result, because the values of the variables are mapped to the
+ *         values of the new result by means of their position in the previous result.
+ */
+object IncrementalTACAI {
+
+    type AIResultWithDefUse = AIResult { val domain: Domain with RecordDefUse }
+
+    type TACAICode = AITACode[TACMethodParameter, ValueInformation]
+
+    def apply(
+        project:          SomeProject,
+        method:           Method,
+        previousAIResult: AIResultWithDefUse,
+        previousTAC:      TACAICode,
+        aiResult:         AIResultWithDefUse
+    ): Option[TACAICode] = {
+        val config = project.config
+        val propagateConstants = config.getBoolean("org.opalj.tacai.performConstantPropagation")
+        IncrementalTACAI(method, previousAIResult, previousTAC, aiResult, propagateConstants)
+    }
+
+    /**
+     * Creates the 3-address code for the given abstract interpretation result by reusing the
+     * statements of the previous 3-address code.
+     *
+     * @param  propagateConstants Has to be the same value that was used when the previous
+     *         3-address code was created.
+     * @return The updated 3-address code or `None` if the previous 3-address code cannot be
+     *         reused; in the latter case the 3-address code has to be recreated using
+     *         [[TACAI]].
+     */
+    def apply(
+        method:             Method,
+        previousAIResult:   AIResultWithDefUse,
+        previousTAC:        TACAICode,
+        aiResult:           AIResultWithDefUse,
+        propagateConstants: Boolean
+    ): Option[TACAICode] = {
+        if (previousAIResult.wasAborted || aiResult.wasAborted ||
+            !hasSameStructure(method, previousAIResult, aiResult, propagateConstants))
+            return None;
+
+        val code = aiResult.code
+        val previousOperandsArray = previousAIResult.operandsArray
+        val previousLocalsArray = previousAIResult.localsArray
+        val operandsArray = aiResult.operandsArray
+        val localsArray = aiResult.localsArray
+
+        // Returns the value stored at the same position (stack slot or register) as the
+        // given previous value; `null` if no such unique position exists.
+        def correspondingValue(previousValue: ValueInformation, pc: Int): ValueInformation = {
+            if (previousOperandsArray(pc) eq null)
+                return null;
+
+            var value: ValueInformation = null
+            var isAmbiguous = false
+
+            var previousOperands: List[ValueInformation] = previousOperandsArray(pc)
+            var operands: List[ValueInformation] = operandsArray(pc)
+            while (previousOperands.nonEmpty) {
+                if (previousOperands.head eq previousValue) {
+                    if (value eq null) value = operands.head
+                    else if (value ne operands.head) isAmbiguous = true
+                }
+                previousOperands = previousOperands.tail
+                operands = operands.tail
+            }
+
+            val previousLocals = previousLocalsArray(pc).asInstanceOf[Locals[AnyRef]]
+            val locals = localsArray(pc).asInstanceOf[Locals[AnyRef]]
+            var i = 0
+            val localsCount = previousLocals.size
+            while (i < localsCount) {
+                if (previousLocals(i) eq previousValue) {
+                    val local = locals(i).asInstanceOf[ValueInformation]
+                    if (value eq null) value = local
+                    else if (value ne local) isAmbiguous = true
+                }
+                i += 1
+            }
+
+            if (isAmbiguous) null else value
+        }
+
+        val previousStmts = previousTAC.stmts
+        val stmtsCount = previousStmts.length
+        val stmts = new Array[Stmt[V]](stmtsCount)
+        var index = 0
+        while (index < stmtsCount) {
+            val previousStmt = previousStmts(index)
+            val stmt = updatedStmt(previousStmt, code.pcOfNextInstruction, correspondingValue)
+            if (stmt eq null)
+                return None;
+            stmts(index) = stmt
+            index += 1
+        }
+
+        // The parameters are (re)created using the def/use information of the new result;
+        // it is identical to the one of the previous result (see `hasSameStructure`).
+        val previousParams = previousTAC.params.parameters
+        val params = new Array[TACMethodParameter](previousParams.length)
+        var pIndex = 0
+        while (pIndex < params.length) {
+            val TACMethodParameter(origin, useSites) = previousParams(pIndex)
+            params(pIndex) = TACMethodParameter(origin, useSites)
+            pIndex += 1
+        }
+
+        val cfg = previousTAC.cfg.copy(code = TACStmts(stmts))
+        Some(new AITACode[TACMethodParameter, ValueInformation](
+            new Parameters(params),
+            stmts,
+            previousTAC.pcToIndex,
+            cfg,
+            previousTAC.exceptionHandlers
+        ))
+    }
+
+    private[this] type V = DUVar[ValueInformation]
+
+    /**
+     * Creates a copy of the given statement where all variables are new variables with the
+     * values determined by `correspondingValue`; the variables are never mutated.
+     *
+     * @return The new statement or `null` if the value of a variable cannot be determined.
+     */
+    private[this] def updatedStmt(
+        stmt:               Stmt[V],
+        pcOfNextPC:         Int => Int,
+        correspondingValue: (ValueInformation, Int) => ValueInformation
+    ): Stmt[V] = {
+        val pc = stmt.pc
+        var isUpdatable = true
+
+        def newValue(previousValue: ValueInformation, pc: Int): ValueInformation = {
+            val value = correspondingValue(previousValue, pc)
+            if (value eq null) {
+                isUpdatable = false
+                previousValue
+            } else {
+                value
+            }
+        }
+
+        // the operands of the expressions are either variables or constants
+        def e(expr: Expr[V]): Expr[V] = {
+            if (expr.isVar) {
+                val uVar = expr.asVar
+                UVar(newValue(uVar.value, pc), uVar.definedBy)
+            } else {
+                expr
+            }
+        }
+
+        def es(exprs: Seq[Expr[V]]): Seq[Expr[V]] = exprs.map(e)
+
+        def updatedExpr(expr: Expr[V]): Expr[V] = expr match {
+            case _ if expr.isVar                  => e(expr)
+            case InstanceOf(ePC, value, tpe)      => InstanceOf(ePC, e(value), tpe)
+            case Compare(ePC, left, op, right)    => Compare(ePC, e(left), op, e(right))
+            case BinaryExpr(ePC, cTpe, op, l, r)  => BinaryExpr(ePC, cTpe, op, e(l), e(r))
+            case PrefixExpr(ePC, cTpe, op, value) => PrefixExpr(ePC, cTpe, op, e(value))
+            case PrimitiveTypecastExpr(ePC, tpe, value) =>
+                PrimitiveTypecastExpr(ePC, tpe, e(value))
+            case NewArray(ePC, counts, tpe)       => NewArray(ePC, es(counts), tpe)
+            case ArrayLoad(ePC, index, arrayRef)  => ArrayLoad(ePC, e(index), e(arrayRef))
+            case ArrayLength(ePC, arrayRef)       => ArrayLength(ePC, e(arrayRef))
+            case GetField(ePC, declClass, name, fieldType, objRef) =>
+                GetField(ePC, declClass, name, fieldType, e(objRef))
+            case InvokedynamicFunctionCall(ePC, bootstrapMethod, name, descriptor, params) =>
+                InvokedynamicFunctionCall(ePC, bootstrapMethod, name, descriptor, es(params))
+            case NonVirtualFunctionCall(ePC, declClass, isI, name, descriptor, rec, params) =>
+                NonVirtualFunctionCall(ePC, declClass, isI, name, descriptor, e(rec), es(params))
+            case VirtualFunctionCall(ePC, declClass, isI, name, descriptor, rec, params) =>
+                VirtualFunctionCall(ePC, declClass, isI, name, descriptor, e(rec), es(params))
+            case StaticFunctionCall(ePC, declClass, isI, name, descriptor, params) =>
+                StaticFunctionCall(ePC, declClass, isI, name, descriptor, es(params))
+            case _ =>
+                // constants, parameters, GetStatic and New do not reference variables
+                expr
+        }
+
+        val newStmt: Stmt[V] = stmt.astID match {
+            case Assignment.ASTID =>
+                val Assignment(_, targetVar, expr) = stmt
+                val value = newValue(targetVar.value, pcOfNextPC(pc))
+                val dVar = targetVar.asInstanceOf[DVar[ValueInformation]].copy(value = value)
+                Assignment(pc, dVar, updatedExpr(expr))
+            case ExprStmt.ASTID =>
+                val ExprStmt(_, expr) = stmt
+                ExprStmt(pc, updatedExpr(expr))
+            case ReturnValue.ASTID =>
+                val ReturnValue(_, expr) = stmt
+                ReturnValue(pc, e(expr))
+            case Throw.ASTID =>
+                val Throw(_, exception) = stmt
+                Throw(pc, e(exception))
+            case MonitorEnter.ASTID =>
+                val MonitorEnter(_, objRef) = stmt
+                MonitorEnter(pc, e(objRef))
+            case MonitorExit.ASTID =>
+                val MonitorExit(_, objRef) = stmt
+                MonitorExit(pc, e(objRef))
+            case If.ASTID =>
+                val If(_, left, condition, right, target) = stmt
+                If(pc, e(left), condition, e(right), target)
+            case Switch.ASTID =>
+                val Switch(_, defaultTarget, index, npairs) = stmt
+                Switch(pc, defaultTarget, e(index), npairs)
+            case ArrayStore.ASTID =>
+                val ArrayStore(_, arrayRef, index, value) = stmt
+                ArrayStore(pc, e(arrayRef), e(index), e(value))
+            case PutStatic.ASTID =>
+                val PutStatic(_, declClass, name, fieldType, value) = stmt
+                PutStatic(pc, declClass, name, fieldType, e(value))
+            case PutField.ASTID =>
+                val PutField(_, declClass, name, fieldType, objRef, value) = stmt
+                PutField(pc, declClass, name, fieldType, e(objRef), e(value))
+            case StaticMethodCall.ASTID =>
+                val StaticMethodCall(_, declClass, isI, name, descriptor, params) = stmt
+                StaticMethodCall(pc, declClass, isI, name, descriptor, es(params))
+            case VirtualMethodCall.ASTID =>
+                val VirtualMethodCall(_, declClass, isI, name, descriptor, rec, params) = stmt
+                VirtualMethodCall(pc, declClass, isI, name, descriptor, e(rec), es(params))
+            case NonVirtualMethodCall.ASTID =>
+                val NonVirtualMethodCall(_, declClass, isI, name, descriptor, rec, params) = stmt
+                NonVirtualMethodCall(pc, declClass, isI, name, descriptor, e(rec), es(params))
+            case InvokedynamicMethodCall.ASTID =>
+                val InvokedynamicMethodCall(_, bootstrapMethod, name, descriptor, params) = stmt
+                InvokedynamicMethodCall(pc, bootstrapMethod, name, descriptor, es(params))
+            case Checkcast.ASTID =>
+                val Checkcast(_, value, tpe) = stmt
+                Checkcast(pc, e(value), tpe)
+            case _ =>
+                // Nop, Return, Goto, JSR, Ret and CaughtException do not reference variables
+                stmt
+        }
+        if (isUpdatable) newStmt else null
+    }
+
+    /**
+     * Returns `true` if both abstract interpretation results will lead to structurally
+     * identical 3-address code; i.e., if the same instructions were evaluated, if the
+     * control-flow and the def/use information is identical and if the constants that
+     * are propagated by [[TACAI]] (if any) are identical.
+     */
+    def hasSameStructure(
+        method:             Method,
+        previousAIResult:   AIResultWithDefUse,
+        aiResult:           AIResultWithDefUse,
+        propagateConstants: Boolean
+    ): Boolean = {
+        val code = aiResult.code
+        if (previousAIResult.code ne code)
+            return false;
+
+        val previousDomain = previousAIResult.domain
+        val domain = aiResult.domain
+        val previousOperandsArray = previousAIResult.operandsArray
+        val operandsArray = aiResult.operandsArray
+        val instructions = code.instructions
+        val codeSize = instructions.length
+
+        var pc = 0
+        while (pc < codeSize) {
+            val previousOperands = previousOperandsArray(pc)
+            val operands = operandsArray(pc)
+            if ((previousOperands eq null) != (operands eq null))
+                return false;
+
+            if (operands ne null) {
+                if (previousDomain.allSuccessorsOf(pc) != domain.allSuccessorsOf(pc) ||
+                    previousDomain.safeUsedBy(pc) != domain.safeUsedBy(pc) ||
+                    previousDomain.safeExternalExceptionsUsedBy(pc) !=
+                    domain.safeExternalExceptionsUsedBy(pc))
+                    return false;
+
+                val opcode = instructions(pc).opcode
+                if (propagateConstants &&
+                    (opcode == NEWARRAY.opcode || opcode == ANEWARRAY.opcode) &&
+                    previousOperands.head.asPrimitiveValue.constantValue !=
+                    operands.head.asPrimitiveValue.constantValue)
+                    return false;
+            }
+            pc = code.pcOfNextInstruction(pc)
+        }
+
+        val haveSameCaughtExceptions = code.exceptionHandlers forall { eh =>
+            val handlerPC = eh.handlerPC
+            (operandsArray(handlerPC) eq null) ||
+                previousDomain.operandOrigin(handlerPC, 0) == domain.operandOrigin(handlerPC, 0)
+        }
+        if (!haveSameCaughtExceptions)
+            return false;
+
+        val parametersCount =
+            method.descriptor.requiredRegisters + (if (method.isStatic) 0 else 1)
+        var vo = -1
+        while (vo >= -parametersCount) {
+            if (previousDomain.safeUsedBy(vo) != domain.safeUsedBy(vo))
+                return false;
+            vo -= 1
+        }
+
+        true
+    }
+}
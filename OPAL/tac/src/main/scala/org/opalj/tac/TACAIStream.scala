@@ -0,0 +1,184 @@
+/* BSD 2-Clause License - see OPAL/LICENSE for details. */
+package org.opalj
+package tac
+
+import java.util.concurrent.ArrayBlockingQueue
+import java.util.concurrent.atomic.AtomicBoolean
+
+import scala.concurrent.Await
+import scala.concurrent.Future
+import scala.concurrent.duration.Duration
+
+import org.opalj.concurrent.NumberOfThreadsForCPUBoundTasks
+import org.opalj.concurrent.OPALUnboundedExecutionContext
+import org.opalj.concurrent.parForeachSeqElement
+import org.opalj.value.ValueInformation
+import org.opalj.br.ClassFile
+import org.opalj.br.Method
+import org.opalj.br.analyses.SomeProject
+import org.opalj.ai.BaseAI
+import org.opalj.ai.Domain
+import org.opalj.ai.domain.RecordDefUse
+import org.opalj.ai.domain.l1.DefaultDomainWithCFGAndDefUse
+
+/**
+ * Specifies in which order the 3-address code of the methods is passed to the consumer
+ * of a [[TACAIStream]].
+ */
+sealed abstract class TACAIStreamOrder
+
+object TACAIStreamOrder {
+
+    /**
+     * The 3-address code of each method is passed to the consumer as soon as it is
+     * available. This order enables the highest degree of parallelism.
+     */
+    case object Unordered extends TACAIStreamOrder
+
+    /**
+     * The 3-address code of all methods of a class is passed to the consumer en bloc and
+     * in the order in which the methods are declared by the class. The classes are not
+     * ordered.
+     */
+    case object ByClass extends TACAIStreamOrder
+
+    /**
+     * The 3-address code of all methods of all classes of a package is passed to the
+     * consumer en bloc. The packages are not ordered.
+     *
+     * @note The classes of a package are transformed sequentially; hence, the degree of
+     *       parallelism is limited by the number of packages.
+     */
+    case object ByPackage extends TACAIStreamOrder
+}
+
+/**
+ * Computes the 3-address code of all methods with a body of a project in parallel and passes
+ * each result to a consumer immediately after the computation; the 3-address code is not
+ * retained. Hence, this is the best choice for analyses that only need to look at each
+ * method's 3-address code once (e.g., to collect call sites or constants).
+ *
+ * The number of results that are computed but not yet consumed is bounded by
+ * `maxBufferedResults`; if the limit is reached the transformation is blocked until the
+ * consumer has processed a result (backpressure). If the order is [[TACAIStreamOrder.ByClass]]
+ * or [[TACAIStreamOrder.ByPackage]], the limit refers to the number of buffered classes or
+ * packages.
+ *
+ * ==Thread Safety==
+ * The consumer is always called by the thread that called [[TACAIStream.apply]]; hence, the
+ * consumer does not need to be thread-safe.
+ *
+ * @example
+ * {{{
+ * TACAIStream(project) { (m, tac) =>
+ *     tac.stmts.foreach { ... }
+ * }
+ * }}}
+ */
+object TACAIStream {
+
+    type TACAICode = AITACode[TACMethodParameter, ValueInformation]
+
+    private[this] final val EndOfStream: List[(Method, TACAICode)] = List.empty
+
+    /**
+     * Streams the 3-address code of all methods with a body to the given consumer.
+     *
+     * @param domainFactory The factory that is used to create the domain that is used to
+     *        perform the abstract interpretation; if `None`, the
+     *        [[org.opalj.ai.domain.l1.DefaultDomainWithCFGAndDefUse]] is used.
+     * @throws org.opalj.concurrent.ConcurrentExceptions if the transformation of some method
+     *         failed. The exception thrown by the consumer, if any, is rethrown as is.
+     */
+    def apply(
+        project:              SomeProject,
+        domainFactory:        Option[Method => Domain with RecordDefUse] = None,
+        order:                TACAIStreamOrder                          = TACAIStreamOrder.Unordered,
+        maxBufferedResults:   Int                                       = 2 * NumberOfThreadsForCPUBoundTasks,
+        parallelizationLevel: Int                                       = NumberOfThreadsForCPUBoundTasks
+    )(
+        consumer: (Method, TACAICode) => Unit
+    ): Unit = {
+        val theDomainFactory =
+            domainFactory.getOrElse((m: Method) => new DefaultDomainWithCFGAndDefUse(project, m))
+
+        // A batch contains the 3-address code of one method if the order is Unordered.
+        val results = new ArrayBlockingQueue[List[(Method, TACAICode)]](maxBufferedResults)
+        val isAborted = new AtomicBoolean(false)
+
+        def computeTAC(m: Method): TACAICode = {
+            val aiResult = BaseAI(m, theDomainFactory(m))
+            // the cast is safe, because the underlying data-structure is conceptually immutable
+            val taCode = TACAI(project, m, aiResult).asInstanceOf[TACAICode]
+            taCode.detach()
+            taCode
+        }
+
+        def computeTACs(classFiles: Iterable[ClassFile]): List[(Method, TACAICode)] = {
+            for {
+                classFile <- classFiles.toList
+                m <- classFile.methods
+                if m.body.isDefined && !isAborted.get
+            } yield {
+                (m, computeTAC(m))
+            }
+        }
+
+        def put(batch: List[(Method, TACAICode)]): Unit = {
+            if (batch.nonEmpty && !isAborted.get) results.put(batch)
+        }
+
+        val producer = Future {
+            try {
+                val isInterrupted = () => isAborted.get
+                order match {
+                    case TACAIStreamOrder.Unordered =>
+                        parForeachSeqElement(
+                            project.allMethodsWithBody, parallelizationLevel, isInterrupted
+                        ) { m =>
+                            put(List((m, computeTAC(m))))
+                        }
+
+                    case TACAIStreamOrder.ByClass =>
+                        parForeachSeqElement(
+                            project.allClassFiles.toIndexedSeq, parallelizationLevel, isInterrupted
+                        ) { classFile =>
+                            put(computeTACs(List(classFile)))
+                        }
+
+                    case TACAIStreamOrder.ByPackage =>
+                        val classFilesPerPackage = project.allClassFiles.groupBy(_.thisType.packageName)
+                        parForeachSeqElement(
+                            classFilesPerPackage.values.toIndexedSeq, parallelizationLevel, isInterrupted
+                        ) { classFiles =>
+                            put(computeTACs(classFiles))
+                        }
+                }
+            } finally {
+                // the consumer always drains the queue until the end of the stream is reached
+                results.put(EndOfStream)
+            }
+        }(OPALUnboundedExecutionContext)
+
+        var consumerException: Throwable = null
+        var batch = results.take()
+        while (batch ne EndOfStream) {
+            if (consumerException eq null) {
+                try {
+                    batch foreach { e => consumer(e._1, e._2) }
+                } catch {
+                    case t: Throwable =>
+                        consumerException = t
+                        isAborted.set(true)
+                }
+            }
+            batch = results.take()
+        }
+
+        if (consumerException ne null)
+            throw consumerException;
+
+        // rethrows the exceptions thrown while computing the 3-address code, if any
+        Await.result(producer, Duration.Inf)
+    }
+}
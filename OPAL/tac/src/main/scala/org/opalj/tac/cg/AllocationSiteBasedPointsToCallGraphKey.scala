@@ -22,6 +22,10 @@ import org.opalj.tac.fpcf.analyses.pointsto.ReflectionAllocationsAnalysisSchedul
  * A [[org.opalj.br.analyses.ProjectInformationKey]] to compute a [[CallGraph]] based on
  * the points-to analysis.
  *
+ * The representation of the points-to sets can be selected using
+ * `org.opalj.fpcf.analyses.AllocationSiteBasedPointsToAnalysis.useBitSets`; bit sets are
+ * preferable for large projects with large points-to sets.
+ *
  * @see [[CallGraphKey]] for further details.
  *
  * @author Florian Kuebler
@@ -0,0 +1,46 @@
+/* BSD 2-Clause License - see OPAL/LICENSE for details. */
+package org.opalj
+package tac
+package cg
+
+/**
+ * Constants of the binary, columnar call graph format written by
+ * [[CallGraphSerializer.writeBinaryCG]] and read by
+ * [[org.opalj.tac.fpcf.analyses.cg.BinaryCallGraphDeserializer]].
+ *
+ * All numbers are stored big-endian. A file consists of the following sections, where every
+ * column is stored contiguously so that it can be read with a single bulk operation:
+ *
+ *  1. The header: `magic: Int`, `version: Int`.
+ *  1. The string pool: `count: Int`, `byteLengths: Int[count]`, followed by the concatenated
+ *     UTF-8 encoded strings. Every string (type names, method names, descriptors and package
+ *     names) is stored exactly once.
+ *  1. The method table: `count: Int`, followed by the columns `declaredType`, `packageName`,
+ *     `runtimeType`, `name` and `descriptor` (each `Int[count]`, indices into the string pool)
+ *     which are used to identify the respective [[org.opalj.br.DeclaredMethod]].
+ *  1. The reachable methods: `count: Int`, `method: Int[count]` (indices into the method
+ *     table), `flags: Byte[count]` (see [[VMLevelCallersFlag]] and
+ *     [[CallersWithUnknownContextFlag]]), `edgeOffsets: Int[count + 1]` and
+ *     `incompleteCallSiteOffsets: Int[count + 1]`.
+ *  1. The call edges in compressed sparse row form, sorted by caller and pc:
+ *     `count: Int`, `pc: Int[count]`, `target: Int[count]` (indices into the method table)
+ *     and `kind: Byte[count]` ([[DirectCall]] or [[IndirectCall]]).
+ *  1. The incomplete call sites: `count: Int`, `pc: Int[count]`.
+ *
+ * Contexts are not stored; i.e., the call graph is projected on the declared methods and
+ * restored using [[org.opalj.br.fpcf.properties.SimpleContexts]].
+ */
+private[tac] object BinaryCallGraphFormat {
+
+    final val Magic = 0x4F43470A // "OCG\n"
+
+    final val Version = 1
+
+    final val VMLevelCallersFlag: Byte = 1
+
+    final val CallersWithUnknownContextFlag: Byte = 2
+
+    final val DirectCall: Byte = 0
+
+    final val IndirectCall: Byte = 1
+}
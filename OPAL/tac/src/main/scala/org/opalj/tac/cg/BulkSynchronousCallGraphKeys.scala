@@ -0,0 +1,65 @@
+/* BSD 2-Clause License - see OPAL/LICENSE for details. */
+package org.opalj
+package tac
+package cg
+
+import org.opalj.br.analyses.SomeProject
+import org.opalj.br.fpcf.FPCFAnalysisScheduler
+import org.opalj.tac.fpcf.analyses.cg.BulkSynchronousCHACallGraphAnalysisScheduler
+import org.opalj.tac.fpcf.analyses.cg.BulkSynchronousRTACallGraphAnalysisScheduler
+import org.opalj.tac.fpcf.analyses.cg.CHATypeProvider
+import org.opalj.tac.fpcf.analyses.cg.RTATypeProvider
+
+/**
+ * Base trait of the keys that compute a [[CallGraph]] using the
+ * [[org.opalj.tac.fpcf.analyses.cg.BulkSynchronousCallGraphAnalysis]] instead of the call graph
+ * analyses of the property store.
+ *
+ * The call graph modules configured under "org.opalj.tac.cg.CallGraphKey.modules" (e.g., for
+ * reflection or serialization) are not supported and are ignored.
+ */
+sealed trait BulkSynchronousCallGraphKey extends CallGraphKey {
+
+    override protected[this] def registeredAnalyses(
+        project: SomeProject
+    ): scala.collection.Seq[FPCFAnalysisScheduler] = Seq.empty
+
+    override protected[this] def callGraphAnalyses(
+        project: SomeProject
+    ): List[FPCFAnalysisScheduler] = callGraphSchedulers(project).toList
+}
+
+/**
+ * A [[org.opalj.br.analyses.ProjectInformationKey]] to compute the same [[CallGraph]] as the
+ * [[CHACallGraphKey]] using the
+ * [[org.opalj.tac.fpcf.analyses.cg.BulkSynchronousCallGraphAnalysis]].
+ *
+ * @see [[BulkSynchronousCallGraphKey]] for further details.
+ */
+object BulkSynchronousCHACallGraphKey extends BulkSynchronousCallGraphKey {
+
+    override protected def callGraphSchedulers(
+        project: SomeProject
+    ): Iterable[FPCFAnalysisScheduler] = List(BulkSynchronousCHACallGraphAnalysisScheduler)
+
+    override def getTypeProvider(project: SomeProject) = new CHATypeProvider(project)
+}
+
+/**
+ * A [[org.opalj.br.analyses.ProjectInformationKey]] to compute the same [[CallGraph]] as the
+ * [[RTACallGraphKey]] using the
+ * [[org.opalj.tac.fpcf.analyses.cg.BulkSynchronousCallGraphAnalysis]].
+ *
+ * @note Unlike the [[RTACallGraphKey]], the key does not support the
+ *       [[org.opalj.br.analyses.cg.LibraryEntryPointsFinder]].
+ *
+ * @see [[BulkSynchronousCallGraphKey]] for further details.
+ */
+object BulkSynchronousRTACallGraphKey extends BulkSynchronousCallGraphKey {
+
+    override protected def callGraphSchedulers(
+        project: SomeProject
+    ): Iterable[FPCFAnalysisScheduler] = List(BulkSynchronousRTACallGraphAnalysisScheduler)
+
+    override def getTypeProvider(project: SomeProject) = new RTATypeProvider(project)
+}
@@ -93,6 +93,12 @@ class CallGraph private[cg] ()(implicit ps: PropertyStore, typeProvider: TypePro
         }
     }
 
+    /**
+     * Creates an immutable, array-based representation of this call graph that supports
+     * efficient traversals and graph algorithms; see [[FrozenCallGraph]].
+     */
+    def freeze(): FrozenCallGraph = FrozenCallGraph(this)
+
     lazy val numEdges: Int = {
         ps.entities(Callers.key).map { cs => cs.ub.callers(cs.e.asInstanceOf[DeclaredMethod]).iterator.size }.sum
     }
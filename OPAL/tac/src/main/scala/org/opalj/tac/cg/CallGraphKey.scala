@@ -86,12 +86,12 @@ trait CallGraphKey extends ProjectInformationKey[CallGraph, Nothing] {
         ).asScala.flatMap(resolveAnalysisRunner(_))
     }
 
-    override def compute(project: SomeProject): CallGraph = {
-        implicit val typeProvider: TypeProvider = project.get(TypeProviderKey)
-        implicit val ps: PropertyStore = project.get(PropertyStoreKey)
-
-        val manager = project.get(FPCFAnalysesManagerKey)
-
+    /**
+     * Lists all schedulers that are run to compute the call graph, i.e., the TACAI provider, the
+     * general [[CallGraphAnalysisScheduler]], the call graph specific schedulers and the
+     * configured modules.
+     */
+    protected[this] def callGraphAnalyses(project: SomeProject): List[FPCFAnalysisScheduler] = {
         // TODO make TACAI analysis configurable
         var analyses: List[FPCFAnalysisScheduler] =
             List(
@@ -101,8 +101,16 @@ trait CallGraphKey extends ProjectInformationKey[CallGraph, Nothing] {
         analyses ::= CallGraphAnalysisScheduler
         analyses ++= callGraphSchedulers(project)
         analyses ++= registeredAnalyses(project)
+        analyses
+    }
+
+    override def compute(project: SomeProject): CallGraph = {
+        implicit val typeProvider: TypeProvider = project.get(TypeProviderKey)
+        implicit val ps: PropertyStore = project.get(PropertyStoreKey)
+
+        val manager = project.get(FPCFAnalysesManagerKey)
 
-        manager.runAll(analyses)
+        manager.runAll(callGraphAnalyses(project))
 
         val cg = new CallGraph()
 
@@ -2,11 +2,22 @@
 package org.opalj
 package tac
 package cg
+import java.io.BufferedOutputStream
 import java.io.BufferedWriter
+import java.io.DataOutputStream
 import java.io.File
+import java.io.FileOutputStream
 import java.io.FileWriter
 import java.io.Writer
+import java.nio.charset.StandardCharsets.UTF_8
+import java.util.Arrays
 
+import it.unimi.dsi.fastutil.bytes.ByteArrayList
+import it.unimi.dsi.fastutil.ints.IntArrayList
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap
+
+import org.opalj.collection.immutable.IntTrieSet
 import org.opalj.br.instructions.MethodInvocationInstruction
 import org.opalj.br.ObjectType
 import org.opalj.br.analyses.DeclaredMethods
@@ -15,7 +26,8 @@ import org.opalj.br.fpcf.properties.Context
 
 /**
  * Provides the functionality to serialize a [[CallGraph]] into a .json file according to the format
- * required by the JCG (https://bitbucket.org/delors/jcg) project.
+ * required by the JCG (https://bitbucket.org/delors/jcg) project or into the binary format
+ * described by [[BinaryCallGraphFormat]].
  *
  * @author Florian Kuebler
  * @author Dominik Helm
@@ -157,4 +169,147 @@ object CallGraphSerializer {
             out.write(method.descriptor.parameterTypes.iterator.map[String](_.toJVMTypeName).mkString("\"", "\",\"", "\""))
         out.write("]}")
     }
+
+    /**
+     * Writes the given call graph into the provided file using the binary, columnar format
+     * described in [[BinaryCallGraphFormat]]. Such files can be loaded using the
+     * [[org.opalj.tac.fpcf.analyses.cg.BinaryCallGraphDeserializerScheduler]].
+     *
+     * In contrast to [[writeCG]], every method and string is stored only once and the call
+     * sites are identified by their pcs; i.e., the file can only be loaded for the same project.
+     * Contexts are not stored.
+     */
+    def writeBinaryCG(cg: CallGraph, outFile: File): Unit = {
+        import BinaryCallGraphFormat._
+
+        val strings = new Object2IntOpenHashMap[String]()
+        strings.defaultReturnValue(-1)
+        val stringPool = new java.util.ArrayList[Array[Byte]]()
+
+        def stringIndex(s: String): Int = {
+            var index = strings.getInt(s)
+            if (index == -1) {
+                index = stringPool.size
+                strings.put(s, index)
+                stringPool.add(s.getBytes(UTF_8))
+            }
+            index
+        }
+
+        val methodIndices = new Object2IntOpenHashMap[DeclaredMethod]()
+        methodIndices.defaultReturnValue(-1)
+        val declaredTypes = new IntArrayList()
+        val packageNames = new IntArrayList()
+        val runtimeTypes = new IntArrayList()
+        val names = new IntArrayList()
+        val descriptors = new IntArrayList()
+
+        def methodIndex(m: DeclaredMethod): Int = {
+            var index = methodIndices.getInt(m)
+            if (index == -1) {
+                index = methodIndices.size
+                methodIndices.put(m, index)
+                val declaredType =
+                    if (m.hasSingleDefinedMethod) m.definedMethod.classFile.thisType
+                    else m.declaringClassType
+                declaredTypes.add(stringIndex(declaredType.fqn))
+                packageNames.add(stringIndex(declaredType.packageName))
+                runtimeTypes.add(stringIndex(m.declaringClassType.fqn))
+                names.add(stringIndex(m.name))
+                descriptors.add(stringIndex(m.descriptor.toJVMDescriptor))
+            }
+            index
+        }
+
+        val reachableMethods = new IntArrayList()
+        val flags = new ByteArrayList()
+        val edgeOffsets = new IntArrayList()
+        val incompleteCallSiteOffsets = new IntArrayList()
+        val edgePCs = new IntArrayList()
+        val edgeTargets = new IntArrayList()
+        val edgeKinds = new ByteArrayList()
+        val incompleteCallSites = new IntArrayList()
+
+        val seenMethods = new LongOpenHashSet()
+        for (context <- cg.reachableMethods()) {
+            val method = context.method
+            if (seenMethods.add(method.id.toLong)) {
+                reachableMethods.add(methodIndex(method))
+                var methodFlags = 0
+                if (cg.hasVMLevelCaller(method))
+                    methodFlags |= VMLevelCallersFlag
+                if (cg.hasCallersWithUnknownContext(method))
+                    methodFlags |= CallersWithUnknownContextFlag
+                flags.add(methodFlags.toByte)
+
+                // Every edge is encoded as pc (32 bits), target (31 bits) and kind (1 bit); the
+                // edges of all contexts of the method are merged
+                val pcs = cg.calleesOf(method).foldLeft(IntTrieSet.empty)(_ + _._1)
+                val edges = new LongOpenHashSet()
+                for (pc <- pcs.iterator) {
+                    for (callee <- cg.directCalleesOf(method, pc))
+                        edges.add(pc.toLong << 32 | methodIndex(callee.method).toLong << 1 | DirectCall)
+                    for (callee <- cg.indirectCalleesOf(method, pc))
+                        edges.add(pc.toLong << 32 | methodIndex(callee.method).toLong << 1 | IndirectCall)
+                }
+                val sortedEdges = edges.toLongArray
+                Arrays.sort(sortedEdges)
+
+                edgeOffsets.add(edgePCs.size)
+                for (edge <- sortedEdges) {
+                    edgePCs.add((edge >> 32).toInt)
+                    edgeTargets.add((edge & 0xFFFFFFFFL).toInt >>> 1)
+                    edgeKinds.add((edge & 1L).toByte)
+                }
+
+                incompleteCallSiteOffsets.add(incompleteCallSites.size)
+                cg.incompleteCallSitesOf(method).foldLeft(IntTrieSet.empty)(_ + _).foreach {
+                    incompleteCallSites.add(_)
+                }
+            }
+        }
+        edgeOffsets.add(edgePCs.size)
+        incompleteCallSiteOffsets.add(incompleteCallSites.size)
+
+        val out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(outFile), 1 << 16))
+        try {
+            def writeInts(ints: IntArrayList): Unit = {
+                var i = 0
+                while (i < ints.size) {
+                    out.writeInt(ints.getInt(i))
+                    i += 1
+                }
+            }
+
+            out.writeInt(Magic)
+            out.writeInt(Version)
+
+            out.writeInt(stringPool.size)
+            stringPool.forEach(bytes => out.writeInt(bytes.length))
+            stringPool.forEach(bytes => out.write(bytes))
+
+            out.writeInt(declaredTypes.size)
+            writeInts(declaredTypes)
+            writeInts(packageNames)
+            writeInts(runtimeTypes)
+            writeInts(names)
+            writeInts(descriptors)
+
+            out.writeInt(reachableMethods.size)
+            writeInts(reachableMethods)
+            out.write(flags.toByteArray)
+            writeInts(edgeOffsets)
+            writeInts(incompleteCallSiteOffsets)
+
+            out.writeInt(edgePCs.size)
+            writeInts(edgePCs)
+            writeInts(edgeTargets)
+            out.write(edgeKinds.toByteArray)
+
+            out.writeInt(incompleteCallSites.size)
+            writeInts(incompleteCallSites)
+        } finally {
+            out.close()
+        }
+    }
 }
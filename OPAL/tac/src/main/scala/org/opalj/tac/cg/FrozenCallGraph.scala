@@ -0,0 +1,480 @@
+/* BSD 2-Clause License - see OPAL/LICENSE for details. */
+package org.opalj
+package tac
+package cg
+
+import java.util.{BitSet => JBitSet}
+import java.util.Arrays
+import java.util.concurrent.ForkJoinPool
+import java.util.concurrent.ForkJoinTask
+import java.util.concurrent.RecursiveAction
+import java.util.concurrent.atomic.AtomicInteger
+
+import it.unimi.dsi.fastutil.booleans.BooleanArrayList
+import it.unimi.dsi.fastutil.ints.IntArrayList
+
+import org.opalj.collection.IntIterator
+import org.opalj.concurrent.NumberOfThreadsForCPUBoundTasks
+import org.opalj.fpcf.PropertyStore
+import org.opalj.br.fpcf.properties.Context
+import org.opalj.tac.fpcf.analyses.cg.TypeProvider
+
+/**
+ * An immutable, compact representation of a finished [[CallGraph]] that is independent of the
+ * property store; use [[CallGraph.freeze]] to create it.
+ *
+ * The nodes of the graph are the contexts of all reachable methods, numbered consecutively
+ * from `0` to `numNodes - 1`. The call edges are numbered from `0` to `numEdges - 1`, stored
+ * in compressed sparse row form sorted by their source node and carry the pc of the call site
+ * and whether the call is direct. For the backward direction, a second index maps every node
+ * to the edges targeting it.
+ *
+ * All traversals operate on the underlying arrays; in particular, [[calleeEdgesStart]],
+ * [[calleeEdgesEnd]], [[callerEdgesStart]], [[callerEdgesEnd]] and [[callerEdge]] can be used
+ * to traverse the graph without allocating any objects.
+ *
+ * ==Thread Safety==
+ * This class is thread-safe.
+ */
+final class FrozenCallGraph private (
+        private[this] val contexts:        Array[Context],
+        private[this] val contextIdToNode: Array[Int],
+        private[this] val outOffsets:      Array[Int],
+        private[this] val edgeSources:     Array[Int],
+        private[this] val edgeTargets:     Array[Int],
+        private[this] val edgePCs:         Array[Int],
+        private[this] val edgeIsDirect:    Array[Boolean],
+        private[this] val inOffsets:       Array[Int],
+        private[this] val inEdges:         Array[Int]
+) {
+
+    def numNodes: Int = contexts.length
+
+    def numEdges: Int = edgeTargets.length
+
+    /**
+     * The node of the given context or -1 if the context is not reachable.
+     */
+    def node(context: Context): Int = nodeOfContextId(context.id)
+
+    /**
+     * The node of the context with the given id or -1 if the context is not reachable.
+     */
+    def nodeOfContextId(contextId: Int): Int = {
+        if (contextId >= 0 && contextId < contextIdToNode.length) contextIdToNode(contextId)
+        else -1
+    }
+
+    def context(node: Int): Context = contexts(node)
+
+    /** The first outgoing edge of the given node. */
+    def calleeEdgesStart(node: Int): Int = outOffsets(node)
+
+    /** The outgoing edges of the given node are the edges `[calleeEdgesStart, calleeEdgesEnd)`. */
+    def calleeEdgesEnd(node: Int): Int = outOffsets(node + 1)
+
+    /** The first index of an incoming edge of the given node; see [[callerEdge]]. */
+    def callerEdgesStart(node: Int): Int = inOffsets(node)
+
+    def callerEdgesEnd(node: Int): Int = inOffsets(node + 1)
+
+    /**
+     * The incoming edge with the given index; the indices of the incoming edges of a node are
+     * `[callerEdgesStart, callerEdgesEnd)`.
+     */
+    def callerEdge(index: Int): Int = inEdges(index)
+
+    def edgeSource(edge: Int): Int = edgeSources(edge)
+
+    def edgeTarget(edge: Int): Int = edgeTargets(edge)
+
+    def edgePC(edge: Int): Int = edgePCs(edge)
+
+    def isDirectEdge(edge: Int): Boolean = edgeIsDirect(edge)
+
+    def foreachCalleeEdge[U](node: Int)(f: Int => U): Unit = {
+        var edge = outOffsets(node)
+        val end = outOffsets(node + 1)
+        while (edge < end) {
+            f(edge)
+            edge += 1
+        }
+    }
+
+    def foreachCallerEdge[U](node: Int)(f: Int => U): Unit = {
+        var index = inOffsets(node)
+        val end = inOffsets(node + 1)
+        while (index < end) {
+            f(inEdges(index))
+            index += 1
+        }
+    }
+
+    /**
+     * Computes the nodes that are reachable from the given nodes using a breadth-first search;
+     * if `forward` is false, the edges are traversed backwards, i.e., all (transitive) callers
+     * are computed. The source nodes are always contained in the result.
+     */
+    def reachableFrom(sources: IntIterator, forward: Boolean = true): JBitSet = {
+        val visited = new JBitSet(numNodes)
+        val queue = new Array[Int](numNodes)
+        var head = 0
+        var tail = 0
+        while (sources.hasNext) {
+            val source = sources.next()
+            if (!visited.get(source)) {
+                visited.set(source)
+                queue(tail) = source
+                tail += 1
+            }
+        }
+
+        while (head < tail) {
+            val node = queue(head)
+            head += 1
+            if (forward) {
+                var edge = outOffsets(node)
+                val end = outOffsets(node + 1)
+                while (edge < end) {
+                    val target = edgeTargets(edge)
+                    if (!visited.get(target)) {
+                        visited.set(target)
+                        queue(tail) = target
+                        tail += 1
+                    }
+                    edge += 1
+                }
+            } else {
+                var index = inOffsets(node)
+                val end = inOffsets(node + 1)
+                while (index < end) {
+                    val source = edgeSources(inEdges(index))
+                    if (!visited.get(source)) {
+                        visited.set(source)
+                        queue(tail) = source
+                        tail += 1
+                    }
+                    index += 1
+                }
+            }
+        }
+        visited
+    }
+
+    /**
+     * Computes the strongly connected components of the call graph in parallel.
+     *
+     * Nodes without callers or callees in the currently analyzed subgraph are trimmed first.
+     * Then, the forward-backward algorithm splits the remaining subgraph into the component of a
+     * pivot node and the three subgraphs that are only forward, only backward or not reachable
+     * from the pivot, which are processed in parallel. Small subgraphs are processed
+     * sequentially using [[org.opalj.graphs.sccs]].
+     */
+    def stronglyConnectedComponents(
+        parallelizationLevel: Int = NumberOfThreadsForCPUBoundTasks
+    ): FrozenCallGraph.StronglyConnectedComponents = {
+        val n = numNodes
+        val componentOf = new Array[Int](n)
+        val nextComponent = new AtomicInteger(0)
+
+        // Every node is owned by the task that processes the subgraph the node belongs to;
+        // only that task writes the following arrays for the node. Other tasks may read a
+        // (stale) partition of the node, but it is never their own partition.
+        val partitionOf = new Array[Int](n)
+        val nextPartition = new AtomicInteger(1)
+        val marks = new Array[Byte](n)
+        val inDegrees = new Array[Int](n)
+        val outDegrees = new Array[Int](n)
+        val localIndices = new Array[Int](n)
+
+        val Forward: Byte = 1
+        val Backward: Byte = 2
+        val ForwardAndBackward: Byte = 3
+        val Removed = -1
+        val SequentialThreshold = 1024
+
+        class SCCTask(nodes: Array[Int], partition: Int) extends RecursiveAction {
+
+            override def compute(): Unit = {
+                val remainingNodes = trim(nodes)
+                if (remainingNodes.length <= SequentialThreshold)
+                    computeSequentially(remainingNodes)
+                else
+                    split(remainingNodes)
+            }
+
+            private[this] def inPartition(node: Int): Boolean = partitionOf(node) == partition
+
+            private[this] def trim(nodes: Array[Int]): Array[Int] = {
+                var remaining = nodes.length
+                val worklist = new IntArrayList()
+                for (node <- nodes) {
+                    var out = 0
+                    var edge = outOffsets(node)
+                    val outEnd = outOffsets(node + 1)
+                    while (edge < outEnd) {
+                        if (inPartition(edgeTargets(edge))) out += 1
+                        edge += 1
+                    }
+                    var in = 0
+                    var index = inOffsets(node)
+                    val inEnd = inOffsets(node + 1)
+                    while (index < inEnd) {
+                        if (inPartition(edgeSources(inEdges(index)))) in += 1
+                        index += 1
+                    }
+                    inDegrees(node) = in
+                    outDegrees(node) = out
+                    if (in == 0 || out == 0) worklist.add(node)
+                }
+
+                while (!worklist.isEmpty) {
+                    val node = worklist.popInt()
+                    if (inPartition(node)) {
+                        partitionOf(node) = Removed
+                        componentOf(node) = nextComponent.getAndIncrement()
+                        remaining -= 1
+
+                        var edge = outOffsets(node)
+                        val outEnd = outOffsets(node + 1)
+                        while (edge < outEnd) {
+                            val target = edgeTargets(edge)
+                            if (inPartition(target)) {
+                                inDegrees(target) -= 1
+                                if (inDegrees(target) == 0) worklist.add(target)
+                            }
+                            edge += 1
+                        }
+                        var index = inOffsets(node)
+                        val inEnd = inOffsets(node + 1)
+                        while (index < inEnd) {
+                            val source = edgeSources(inEdges(index))
+                            if (inPartition(source)) {
+                                outDegrees(source) -= 1
+                                if (outDegrees(source) == 0) worklist.add(source)
+                            }
+                            index += 1
+                        }
+                    }
+                }
+
+                if (remaining == nodes.length)
+                    nodes
+                else {
+                    val remainingNodes = new Array[Int](remaining)
+                    var i = 0
+                    for (node <- nodes if inPartition(node)) {
+                        remainingNodes(i) = node
+                        i += 1
+                    }
+                    remainingNodes
+                }
+            }
+
+            private[this] def computeSequentially(nodes: Array[Int]): Unit = {
+                var i = 0
+                while (i < nodes.length) {
+                    localIndices(nodes(i)) = i
+                    i += 1
+                }
+                val successors = (localNode: Int) => new IntIterator {
+                    private[this] var edge = outOffsets(nodes(localNode))
+                    private[this] val end = outOffsets(nodes(localNode) + 1)
+                    advance()
+
+                    private[this] def advance(): Unit = {
+                        while (edge < end && !inPartition(edgeTargets(edge))) edge += 1
+                    }
+
+                    override def hasNext: Boolean = edge < end
+
+                    override def next(): Int = {
+                        val target = localIndices(edgeTargets(edge))
+                        edge += 1
+                        advance()
+                        target
+                    }
+                }
+                for (scc <- org.opalj.graphs.sccs(nodes.length, successors)) {
+                    val component = nextComponent.getAndIncrement()
+                    scc.foreach { localNode => componentOf(nodes(localNode)) = component }
+                }
+            }
+
+            private[this] def markReachable(pivot: Int, mark: Byte, forward: Boolean): Unit = {
+                val queue = new IntArrayList()
+                marks(pivot) = (marks(pivot) | mark).toByte
+                queue.add(pivot)
+                while (!queue.isEmpty) {
+                    val node = queue.popInt()
+                    if (forward) {
+                        var edge = outOffsets(node)
+                        val end = outOffsets(node + 1)
+                        while (edge < end) {
+                            val target = edgeTargets(edge)
+                            if (inPartition(target) && (marks(target) & mark) == 0) {
+                                marks(target) = (marks(target) | mark).toByte
+                                queue.add(target)
+                            }
+                            edge += 1
+                        }
+                    } else {
+                        var index = inOffsets(node)
+                        val end = inOffsets(node + 1)
+                        while (index < end) {
+                            val source = edgeSources(inEdges(index))
+                            if (inPartition(source) && (marks(source) & mark) == 0) {
+                                marks(source) = (marks(source) | mark).toByte
+                                queue.add(source)
+                            }
+                            index += 1
+                        }
+                    }
+                }
+            }
+
+            private[this] def split(nodes: Array[Int]): Unit = {
+                val pivot = nodes(0)
+                markReachable(pivot, Forward, forward = true)
+                markReachable(pivot, Backward, forward = false)
+
+                val component = nextComponent.getAndIncrement()
+                val forwardOnly = new IntArrayList()
+                val backwardOnly = new IntArrayList()
+                val unreached = new IntArrayList()
+                for (node <- nodes) {
+                    marks(node) match {
+                        case ForwardAndBackward => componentOf(node) = component
+                        case Forward            => forwardOnly.add(node)
+                        case Backward           => backwardOnly.add(node)
+                        case _                  => unreached.add(node)
+                    }
+                    marks(node) = 0
+                }
+
+                val subtasks = new java.util.ArrayList[SCCTask](3)
+                for (subgraph <- List(forwardOnly, backwardOnly, unreached) if !subgraph.isEmpty) {
+                    val subpartition = nextPartition.getAndIncrement()
+                    val subgraphNodes = subgraph.toIntArray
+                    for (node <- subgraphNodes) partitionOf(node) = subpartition
+                    subtasks.add(new SCCTask(subgraphNodes, subpartition))
+                }
+                ForkJoinTask.invokeAll(subtasks)
+            }
+        }
+
+        if (n > 0) {
+            val pool = new ForkJoinPool(parallelizationLevel)
+            try {
+                pool.invoke(new SCCTask(Array.range(0, n), 0))
+            } finally {
+                pool.shutdown()
+            }
+        }
+
+        FrozenCallGraph.StronglyConnectedComponents(componentOf, nextComponent.get)
+    }
+}
+
+object FrozenCallGraph {
+
+    /**
+     * The strongly connected components of a [[FrozenCallGraph]]; `componentOf` maps every node
+     * to its component, the components are numbered from `0` to `count - 1`.
+     */
+    case class StronglyConnectedComponents(componentOf: Array[Int], count: Int) {
+
+        /** The nodes of every component. */
+        def components: Array[Array[Int]] = {
+            val sizes = new Array[Int](count)
+            componentOf.foreach { component => sizes(component) += 1 }
+            val components = sizes.map(new Array[Int](_))
+            Arrays.fill(sizes, 0)
+            var node = 0
+            while (node < componentOf.length) {
+                val component = componentOf(node)
+                components(component)(sizes(component)) = node
+                sizes(component) += 1
+                node += 1
+            }
+            components
+        }
+    }
+
+    private[cg] def apply(
+        cg: CallGraph
+    )(implicit ps: PropertyStore, typeProvider: TypeProvider): FrozenCallGraph = {
+        val contexts = cg.reachableMethods().toArray
+        val maxContextId = if (contexts.isEmpty) -1 else contexts.iterator.map(_.id).max
+        val contextIdToNode = new Array[Int](maxContextId + 1)
+        Arrays.fill(contextIdToNode, -1)
+        var node = 0
+        while (node < contexts.length) {
+            contextIdToNode(contexts(node).id) = node
+            node += 1
+        }
+
+        val outOffsets = new Array[Int](contexts.length + 1)
+        val edgeSources = new IntArrayList()
+        val edgeTargets = new IntArrayList()
+        val edgePCs = new IntArrayList()
+        val edgeIsDirect = new BooleanArrayList()
+
+        def addEdges(source: Int, callSites: Map[Int, Iterator[Context]], isDirect: Boolean): Unit = {
+            for {
+                (pc, callees) <- callSites.iterator
+                callee <- callees
+            } {
+                val calleeId = callee.id
+                if (calleeId >= 0 && calleeId <= maxContextId && contextIdToNode(calleeId) != -1) {
+                    edgeSources.add(source)
+                    edgeTargets.add(contextIdToNode(calleeId))
+                    edgePCs.add(pc)
+                    edgeIsDirect.add(isDirect)
+                }
+            }
+        }
+
+        node = 0
+        while (node < contexts.length) {
+            val context = contexts(node)
+            outOffsets(node) = edgeTargets.size
+            val callees = cg.calleesPropertyOf(context.method)
+            addEdges(node, callees.directCallSites(context), isDirect = true)
+            addEdges(node, callees.indirectCallSites(context), isDirect = false)
+            node += 1
+        }
+        outOffsets(contexts.length) = edgeTargets.size
+
+        // Transposes the edges using a counting sort on the targets
+        val targets = edgeTargets.toIntArray
+        val inOffsets = new Array[Int](contexts.length + 1)
+        targets.foreach { target => inOffsets(target + 1) += 1 }
+        var i = 0
+        while (i < contexts.length) {
+            inOffsets(i + 1) += inOffsets(i)
+            i += 1
+        }
+        val inEdges = new Array[Int](targets.length)
+        val nextInEdge = Arrays.copyOf(inOffsets, contexts.length)
+        var edge = 0
+        while (edge < targets.length) {
+            val target = targets(edge)
+            inEdges(nextInEdge(target)) = edge
+            nextInEdge(target) += 1
+            edge += 1
+        }
+
+        new FrozenCallGraph(
+            contexts,
+            contextIdToNode,
+            outOffsets,
+            edgeSources.toIntArray,
+            targets,
+            edgePCs.toIntArray,
+            edgeIsDirect.toBooleanArray,
+            inOffsets,
+            inEdges
+        )
+    }
+}
@@ -7,6 +7,7 @@ package analyses
 import scala.annotation.tailrec
 
 import scala.collection.{Set => SomeSet}
+import scala.collection.immutable.HashSet
 import scala.collection.mutable
 
 import org.opalj.fpcf.EOptionP
@@ -40,6 +41,7 @@ import org.opalj.br.fpcf.properties.Context
 import org.opalj.tac.cg.TypeProviderKey
 import org.opalj.tac.fpcf.properties.cg.Callees
 import org.opalj.tac.fpcf.analyses.AbstractIFDSAnalysis.V
+import org.opalj.tac.fpcf.analyses.AbstractIFDSAnalysis.bitSetFactsConfigKey
 import org.opalj.tac.fpcf.analyses.cg.TypeProvider
 import org.opalj.tac.fpcf.properties.IFDSProperty
 import org.opalj.tac.fpcf.properties.IFDSPropertyMetaInformation
@@ -59,6 +61,13 @@ trait AbstractIFDSNullFact extends AbstractIFDSFact
 /**
  * A framework for IFDS analyses.
  *
+ * If [[usesBitSetFacts]] is `true`, the facts are interned to dense ids (see [[IFDSFactDomain]])
+ * and all sets of facts that are maintained by the framework and that are passed to the flow
+ * functions are [[IFDSFactSet]]s, i.e., bit sets over these ids. The sets returned by the flow
+ * functions are converted if necessary; flow functions should hence derive their results from
+ * their input (e.g., using `filter` or `+`) or from [[emptyFacts]]. The facts of final results
+ * are converted back to regular sets.
+ *
  * @tparam IFDSFact The type of flow facts the concrete analysis wants to track
  * @author Dominik Helm
  * @author Mario Trageser
@@ -159,6 +168,32 @@ abstract class AbstractIFDSAnalysis[IFDSFact <: AbstractIFDSFact] extends FPCFAn
      */
     val entryPoints: Map[DeclaredMethod, IFDSFact]
 
+    /**
+     * If `true`, sets of facts are represented as [[IFDSFactSet]]s. Per default, the value is
+     * configured using [[AbstractIFDSAnalysis.bitSetFactsConfigKey]]; subclasses may override
+     * this method to always (not) use bit sets.
+     */
+    def usesBitSetFacts: Boolean = project.config.getBoolean(bitSetFactsConfigKey)
+
+    /**
+     * The domain of the facts of this analysis if [[usesBitSetFacts]] is `true`, `null`
+     * otherwise.
+     */
+    final protected[this] val factDomain: IFDSFactDomain[IFDSFact] =
+        if (usesBitSetFacts) new IFDSFactDomain[IFDSFact] else null
+
+    /**
+     * The empty set of facts in the representation used by this analysis.
+     */
+    final def emptyFacts: Set[IFDSFact] = if (factDomain ne null) factDomain.empty else Set.empty
+
+    /**
+     * Returns the given facts in the representation used by this analysis.
+     */
+    final protected[this] def asFacts(facts: Set[IFDSFact]): Set[IFDSFact] = {
+        if (factDomain ne null) factDomain.factSet(facts) else facts
+    }
+
     /**
      * The state of the analysis. For each method and source fact, there is a separate state.
      *
@@ -232,8 +267,9 @@ abstract class AbstractIFDSAnalysis[IFDSFact <: AbstractIFDSFact] extends FPCFAn
         implicit val state: State =
             new State(declaringClass, context, entity, code, cfg, Map(entity -> Set.empty))
         val start = cfg.startBlock
-        state.incomingFacts += start -> Set(sourceFact)
-        process(mutable.Queue((start, Set(sourceFact), None, None, None)))
+        val sourceFacts = emptyFacts + sourceFact
+        state.incomingFacts += start -> sourceFacts
+        process(mutable.Queue((start, sourceFacts, None, None, None)))
         createResult()
     }
 
@@ -247,6 +283,10 @@ abstract class AbstractIFDSAnalysis[IFDSFact <: AbstractIFDSFact] extends FPCFAn
      *        calleeWithUpdate If the basic block is analyzed because there is new information for a callee, this is the callee.
      *        calleeWithUpdateFact If the basic block is analyzed because there is new information for a callee with a specific input fact,
      *                             this is the input fact.
+     *
+     * Only the new facts (the delta) are propagated to a successor. If a successor is already
+     * in the worklist, the new facts are added to its pending delta instead of enqueuing the
+     * successor again.
      */
     def process(
         worklist: mutable.Queue[(BasicBlock, Set[IFDSFact], Option[Int], Option[Context], Option[IFDSFact])]
@@ -254,9 +294,18 @@ abstract class AbstractIFDSAnalysis[IFDSFact <: AbstractIFDSFact] extends FPCFAn
         implicit
         state: State
     ): Unit = {
+        // The new facts of the basic blocks that were enqueued as successors and not yet analyzed
+        val pendingDeltas = mutable.HashMap.empty[BasicBlock, Set[IFDSFact]]
+
         while (worklist.nonEmpty) {
-            val (basicBlock, in, calleeWithUpdateIndex, calleeWithUpdate, calleeWithUpdateFact) =
+            val (basicBlock, queuedIn, calleeWithUpdateIndex, calleeWithUpdate, calleeWithUpdateFact) =
                 worklist.dequeue()
+            val in =
+                if (calleeWithUpdateIndex.isDefined) queuedIn
+                else pendingDeltas.remove(basicBlock) match {
+                    case Some(pendingDelta) => queuedIn ++ pendingDelta
+                    case None               => queuedIn
+                }
             val oldOut = state.outgoingFacts.getOrElse(basicBlock, Map.empty)
             val nextOut =
                 analyzeBasicBlock(basicBlock, in, calleeWithUpdateIndex, calleeWithUpdate, calleeWithUpdateFact)
@@ -270,15 +319,11 @@ abstract class AbstractIFDSAnalysis[IFDSFact <: AbstractIFDSFact] extends FPCFAn
                     if (nextOutSuccessors.isDefined && nextOutSuccessors.get.nonEmpty) {
                         val oldOutSuccessors = oldOut.get(successor)
                         if (oldOutSuccessors.isEmpty ||
-                            nextOutSuccessors.get.exists(nos => !oldOutSuccessors.get.contains(nos))) {
+                            !nextOutSuccessors.get.subsetOf(oldOutSuccessors.get)) {
                             val source = state.source
                             reAnalyzeCalls(state.pendingIfdsCallSites(source), source._1, Some(source._2))
                         }
                     }
-                    // if ((nextOut.getOrElse(successor, Set.empty) -- oldOut.getOrElse(successor, Set.empty)).nonEmpty) {
-                    //    val source = state.source
-                    //    reAnalyzeCalls(state.pendingIfdsCallSites(source), source._1.definedMethod, Some(source._2))
-                    // }
                 } else {
                     val actualSuccessor =
                         (if (successor.isBasicBlock) {
@@ -288,17 +333,23 @@ abstract class AbstractIFDSAnalysis[IFDSFact <: AbstractIFDSFact] extends FPCFAn
                             successor.successors.head
                         }).asBasicBlock
 
-                    val nextIn = nextOut.getOrElse(actualSuccessor, Set.empty)
-                    val oldIn = state.incomingFacts.getOrElse(actualSuccessor, Set.empty)
-                    val mergedIn = if (nextIn.size > oldIn.size) nextIn ++ oldIn else oldIn ++ nextIn
+                    val nextIn = nextOut.getOrElse(actualSuccessor, emptyFacts)
+                    val oldIn = state.incomingFacts.getOrElse(actualSuccessor, emptyFacts)
                     val newIn = nextIn -- oldIn
-                    state.incomingFacts = state.incomingFacts.updated(actualSuccessor, mergedIn)
                     /*
                      * Only process the successor with new facts.
                      * It is analyzed at least one time because of the null fact.
                      */
                     if (newIn.nonEmpty) {
-                        worklist.enqueue((actualSuccessor, newIn, None, None, None))
+                        val mergedIn = if (newIn.size > oldIn.size) newIn ++ oldIn else oldIn ++ newIn
+                        state.incomingFacts = state.incomingFacts.updated(actualSuccessor, mergedIn)
+                        pendingDeltas.get(actualSuccessor) match {
+                            case Some(pendingDelta) =>
+                                pendingDeltas.update(actualSuccessor, pendingDelta ++ newIn)
+                            case None =>
+                                pendingDeltas.update(actualSuccessor, newIn)
+                                worklist.enqueue((actualSuccessor, newIn, None, None, None))
+                        }
                     }
                 }
             }
@@ -336,10 +387,10 @@ abstract class AbstractIFDSAnalysis[IFDSFact <: AbstractIFDSFact] extends FPCFAn
      *
      */
     def createResult()(implicit state: State): ProperPropertyComputationResult = {
-        val propertyValue = createPropertyValue(mergeMaps(
+        val flows = mergeMaps(
             collectResult(state.cfg.normalReturnNode),
             collectResult(state.cfg.abnormalReturnNode)
-        ))
+        )
 
         var dependees: Set[SomeEOptionP] = state.pendingIfdsDependees.valuesIterator.toSet
         // In the follwing, we really want to avoid useless copying of dependees:
@@ -364,12 +415,25 @@ abstract class AbstractIFDSAnalysis[IFDSFact <: AbstractIFDSFact] extends FPCFAn
         }
 
         if (dependees.isEmpty) {
-            Result(state.source, propertyValue)
+            if (factDomain ne null)
+                Result(state.source, createPropertyValue(withRegularSets(flows)))
+            else
+                Result(state.source, createPropertyValue(flows))
         } else {
-            InterimResult.forUB(state.source, propertyValue, dependees, propertyUpdate)
+            InterimResult.forUB(state.source, createPropertyValue(flows), dependees, propertyUpdate)
         }
     }
 
+    /**
+     * Converts the [[IFDSFactSet]]s of a final result to regular sets, which do not refer to
+     * the [[IFDSFactDomain]] of this analysis.
+     */
+    private[this] def withRegularSets(
+        flows: Map[Statement, Set[IFDSFact]]
+    ): Map[Statement, Set[IFDSFact]] = {
+        flows.map { case (statement, facts) => statement -> HashSet.from(facts) }
+    }
+
     /**
      * Called, when the call graph for this method or an IFDSProperty for another method was computed.
      * Re-analyzes the relevant parts of this method and returns the new analysis result.
@@ -453,7 +517,7 @@ abstract class AbstractIFDSAnalysis[IFDSFact <: AbstractIFDSFact] extends FPCFAn
             flows = if (calleesO.isEmpty) {
                 val successor =
                     Statement(state.context, basicBlock, state.code(index + 1), index + 1, state.code, state.cfg)
-                normalFlow(statement, successor, flows)
+                asFacts(normalFlow(statement, successor, flows))
             } else
                 // Inside a basic block, we only have one successor --> Take the head
                 handleCall(basicBlock, statement, calleesO.get, flows, calleeFact).values.head
@@ -466,7 +530,7 @@ abstract class AbstractIFDSAnalysis[IFDSFact <: AbstractIFDSFact] extends FPCFAn
             if (calleesO.isEmpty) {
                 var result: Map[CFGNode, Set[IFDSFact]] = Map.empty
                 for (node <- basicBlock.successors) {
-                    result += node -> normalFlow(statement, firstStatement(node), flows)
+                    result += node -> asFacts(normalFlow(statement, firstStatement(node), flows))
                 }
                 result
             } else {
@@ -637,7 +701,8 @@ abstract class AbstractIFDSAnalysis[IFDSFact <: AbstractIFDSFact] extends FPCFAn
                 for {
                     successor <- successors
                 } {
-                    summaryEdges += successor -> (summaryEdges(successor) ++ nativeCall(call, callee, successor, in))
+                    summaryEdges += successor ->
+                        (summaryEdges.getOrElse(successor, emptyFacts) ++ asFacts(nativeCall(call, callee, successor, in)))
                 }
             } else {
                 val callToStart =
@@ -710,9 +775,8 @@ abstract class AbstractIFDSAnalysis[IFDSFact <: AbstractIFDSFact] extends FPCFAn
                     exitStatement <- allNewExitFacts.keys
                     if exitStatement.stmt.astID == Return.ASTID || exitStatement.stmt.astID == ReturnValue.ASTID
                 } {
-                    // FIXME Get rid of "getOrElse(...,Set.empty)" due to its potentially very BAD performance
-                    summaryEdges += successor -> (summaryEdges.getOrElse(successor, Set.empty[IFDSFact]) ++
-                        returnFlow(call, callee, exitStatement, successor, allNewExitFacts.getOrElse(exitStatement, Set.empty)))
+                    summaryEdges += successor -> (summaryEdges.getOrElse(successor, emptyFacts) ++
+                        asFacts(returnFlow(call, callee, exitStatement, successor, asFacts(allNewExitFacts(exitStatement)))))
                 }
                 for {
                     successor <- successors
@@ -720,9 +784,8 @@ abstract class AbstractIFDSAnalysis[IFDSFact <: AbstractIFDSFact] extends FPCFAn
                     exitStatement <- allNewExitFacts.keys
                     if exitStatement.stmt.astID != Return.ASTID && exitStatement.stmt.astID != ReturnValue.ASTID
                 } {
-                    // FIXME Get rid of "getOrElse(...,Set.empty)" due to its potentially very BAD performance
-                    summaryEdges += successor -> (summaryEdges.getOrElse(successor, Set.empty[IFDSFact]) ++
-                        returnFlow(call, callee, exitStatement, successor, allNewExitFacts.getOrElse(exitStatement, Set.empty)))
+                    summaryEdges += successor -> (summaryEdges.getOrElse(successor, emptyFacts) ++
+                        asFacts(returnFlow(call, callee, exitStatement, successor, asFacts(allNewExitFacts(exitStatement)))))
                 }
             }
         }
@@ -782,9 +845,14 @@ abstract class AbstractIFDSAnalysis[IFDSFact <: AbstractIFDSFact] extends FPCFAn
      * @return `to` with the null fact added, if it is contained in `from`.
      */
     def propagateNullFact(from: Set[IFDSFact], to: Set[IFDSFact]): Set[IFDSFact] = {
-        val nullFact = from.find(_.isInstanceOf[AbstractIFDSNullFact])
-        if (nullFact.isDefined) to + nullFact.get
-        else to
+        val nullFact = from match {
+            case from: IFDSFactSet[IFDSFact] @unchecked if from.domain eq factDomain =>
+                factDomain.nullFact(from)
+            case _ =>
+                from.find(_.isInstanceOf[AbstractIFDSNullFact])
+        }
+        if (nullFact.isDefined) asFacts(to) + nullFact.get
+        else asFacts(to)
     }
 
     /**
@@ -897,6 +965,8 @@ object AbstractIFDSAnalysis {
      * The type of the TAC domain.
      */
     type V = DUVar[ValueInformation]
+
+    final val bitSetFactsConfigKey = "org.opalj.fpcf.analyses.IFDSAnalysis.bitSetFacts"
 }
 
 abstract class IFDSAnalysis[IFDSFact <: AbstractIFDSFact] extends FPCFLazyAnalysisScheduler {
@@ -5,6 +5,7 @@ package fpcf
 package analyses
 
 import java.util.concurrent.ConcurrentHashMap
+import scala.collection.mutable
 
 import org.opalj.collection.immutable.IntTrieSet
 import org.opalj.fpcf.EOptionP
@@ -15,6 +16,7 @@ import org.opalj.fpcf.ProperPropertyComputationResult
 import org.opalj.fpcf.PropertyBounds
 import org.opalj.fpcf.PropertyStore
 import org.opalj.fpcf.Result
+import org.opalj.fpcf.Results
 import org.opalj.fpcf.SomeEPS
 import org.opalj.fpcf.UBP
 import org.opalj.value.ValueInformation
@@ -37,6 +39,7 @@ import org.opalj.br.fpcf.BasicFPCFEagerAnalysisScheduler
 import org.opalj.br.fpcf.BasicFPCFLazyAnalysisScheduler
 import org.opalj.br.fpcf.FPCFAnalysis
 import org.opalj.br.fpcf.FPCFAnalysisScheduler
+import org.opalj.br.ClassFile
 import org.opalj.br.DeclaredMethod
 import org.opalj.br.Field
 import org.opalj.br.Method
@@ -76,6 +79,9 @@ class FieldLocalityAnalysis private[analyses] (
 
     type V = DUVar[ValueInformation]
 
+    /** The three-address code and the callers of a method that accesses a field. */
+    type MethodProperties = (EOptionP[Method, TACAI], EOptionP[DeclaredMethod, Callers])
+
     final implicit val declaredMethods: DeclaredMethods = project.get(DeclaredMethodsKey)
     private[this] implicit val typeProvider: TypeProvider = project.get(TypeProviderKey)
     final val typeExtensiblity = project.get(TypeExtensibilityKey)
@@ -87,6 +93,33 @@ class FieldLocalityAnalysis private[analyses] (
      * Otherwise it forwards to `FieldLocalityAnalysis.step2`.
      */
     def step1(field: Field): ProperPropertyComputationResult = {
+        step1Using(fetchMethodProperties)(field)
+    }
+
+    /**
+     * Determines the field locality of all fields declared by the given class file at once.
+     *
+     * The three-address code and the callers of a method that accesses multiple fields of the
+     * class (or that is a potential clone caller for multiple fields) are retrieved from the
+     * property store only once and the results for all fields are returned together.
+     */
+    def determineFieldLocalities(classFile: ClassFile): ProperPropertyComputationResult = {
+        val methodProperties = mutable.HashMap.empty[Method, MethodProperties]
+        val sharedMethodProperties: Method => MethodProperties = { method =>
+            methodProperties.getOrElseUpdate(method, fetchMethodProperties(method))
+        }
+        Results(classFile.fields.map(step1Using(sharedMethodProperties)))
+    }
+
+    private[this] def fetchMethodProperties(method: Method): MethodProperties = {
+        (propertyStore(method, TACAI.key), propertyStore(declaredMethods(method), Callers.key))
+    }
+
+    private[this] def step1Using(
+        methodProperties: Method => MethodProperties
+    )(
+        field: Field
+    ): ProperPropertyComputationResult = {
         val fieldType = field.fieldType
         val thisType = field.classFile.thisType
         // base types can be considered to be local
@@ -116,7 +149,7 @@ class FieldLocalityAnalysis private[analyses] (
             }
         }
 
-        step2(field)
+        step2(field, methodProperties)
     }
 
     /**
@@ -128,7 +161,10 @@ class FieldLocalityAnalysis private[analyses] (
      *
      * Afterwards it calls [[step3]].
      */
-    private[this] def step2(field: Field): ProperPropertyComputationResult = {
+    private[this] def step2(
+        field:            Field,
+        methodProperties: Method => MethodProperties
+    ): ProperPropertyComputationResult = {
 
         val thisType = field.classFile.thisType
 
@@ -163,7 +199,7 @@ class FieldLocalityAnalysis private[analyses] (
             }
         }
 
-        step3()
+        step3(methodProperties)
     }
 
     /**
@@ -172,10 +208,12 @@ class FieldLocalityAnalysis private[analyses] (
      * has to overwritten to prevent it from being leaked by the shallow copy created through
      * `java.lang.Object.clone`.
      */
-    private[this] def step3()(implicit state: FieldLocalityState): ProperPropertyComputationResult = {
+    private[this] def step3(
+        methodProperties: Method => MethodProperties
+    )(implicit state: FieldLocalityState): ProperPropertyComputationResult = {
         for {
             (method, pcs) <- fieldAccessInformation.allAccesses(state.field)
-            (tacai, callees) <- getTACAIAndCallers(method, Some(pcs))
+            (tacai, callees) <- getTACAIAndCallers(Some(pcs), methodProperties(method))
             pc <- pcs
         } {
             var isLocal = true
@@ -195,7 +233,7 @@ class FieldLocalityAnalysis private[analyses] (
 
         for {
             method <- potentialCloneCallers
-            (tacai, callees) <- getTACAIAndCallers(method, None)
+            (tacai, callees) <- getTACAIAndCallers(None, methodProperties(method))
         } {
             var isLocal = true
             callees.forNewCalleeContexts(null, declaredMethods(method)) {
@@ -582,17 +620,15 @@ class FieldLocalityAnalysis private[analyses] (
      * Returns the TACode for a method if available, registering dependencies as necessary.
      */
     def getTACAIAndCallers(
-        method: Method,
-        pcs:    Option[PCs]
+        pcs:              Option[PCs],
+        methodProperties: MethodProperties
     )(implicit state: FieldLocalityState): Option[(TACode[TACMethodParameter, V], Callers)] = {
 
-        val tacai = propertyStore(method, TACAI.key)
+        val (tacai, callers) = methodProperties
 
         if (pcs.isDefined) state.addTACDependee(tacai, pcs.get)
         else state.addTACDependee(tacai)
 
-        val callers = propertyStore(declaredMethods(method), Callers.key)
-
         if (pcs.isDefined) state.addCallersDependee(callers, pcs.get)
         else state.addCallersDependee(callers)
 
@@ -734,6 +770,24 @@ object EagerFieldLocalityAnalysis
     override def derivesCollaboratively: Set[PropertyBounds] = Set.empty
 }
 
+/**
+ * Schedules the [[FieldLocalityAnalysis]] such that all fields of a class are analyzed together.
+ */
+object EagerGroupedFieldLocalityAnalysis
+    extends FieldLocalityAnalysisScheduler
+    with BasicFPCFEagerAnalysisScheduler {
+
+    final override def start(p: SomeProject, ps: PropertyStore, unused: Null): FPCFAnalysis = {
+        val analysis = new FieldLocalityAnalysis(p)
+        ps.scheduleEagerComputationsForEntities(p.allClassFiles)(analysis.determineFieldLocalities)
+        analysis
+    }
+
+    override def derivesEagerly: Set[PropertyBounds] = Set(derivedProperty)
+
+    override def derivesCollaboratively: Set[PropertyBounds] = Set.empty
+}
+
 object LazyFieldLocalityAnalysis
     extends FieldLocalityAnalysisScheduler
     with BasicFPCFLazyAnalysisScheduler {
@@ -0,0 +1,217 @@
+/* BSD 2-Clause License - see OPAL/LICENSE for details. */
+package org.opalj
+package tac
+package fpcf
+package analyses
+
+import java.util.Arrays
+import java.util.concurrent.ConcurrentHashMap
+
+import scala.collection.immutable.AbstractSet
+import scala.collection.mutable
+
+import org.opalj.collection.immutable.SparseBitSet
+
+/**
+ * Assigns dense ids (0, 1, 2, ...) to the facts of one IFDS analysis in the order in which
+ * they are encountered, so that sets of facts can be represented as [[IFDSFactSet]]s, i.e., as
+ * bit sets over these ids.
+ *
+ * The ids are only meaningful w.r.t. the domain that assigned them and are never released.
+ *
+ * ==Thread Safety==
+ * This class is thread-safe.
+ */
+final class IFDSFactDomain[IFDSFact <: AbstractIFDSFact] {
+
+    private[this] val ids = new ConcurrentHashMap[IFDSFact, Integer]()
+
+    // All ids that are (transitively) obtained from `ids` are guaranteed to be valid indices
+    // of this array.
+    @volatile private[this] var facts = new Array[AbstractIFDSFact](64)
+    private[this] var factsCount = 0 // guarded by this
+
+    // The ids of the null facts; there are typically only very few null facts.
+    @volatile private[this] var nullFactIds: List[Int] = Nil
+
+    /**
+     * The empty set of facts of this domain.
+     */
+    val empty: IFDSFactSet[IFDSFact] = new IFDSFactSet(this, SparseBitSet.empty)
+
+    /**
+     * Returns the id of the given fact; if the fact has no id so far, a new id is assigned.
+     */
+    def idOf(fact: IFDSFact): Int = {
+        val id = ids.get(fact)
+        if (id ne null)
+            id.intValue
+        else
+            register(fact)
+    }
+
+    /**
+     * Returns the id of the given fact or -1 if the fact has no id.
+     */
+    def knownIdOf(fact: IFDSFact): Int = {
+        val id = ids.get(fact)
+        if (id ne null) id.intValue else -1
+    }
+
+    private[this] def register(fact: IFDSFact): Int = synchronized {
+        val id = ids.get(fact)
+        if (id ne null)
+            return id.intValue;
+
+        val newId = factsCount
+        if (newId == facts.length) {
+            val newFacts = Arrays.copyOf(facts, newId * 2)
+            newFacts(newId) = fact
+            facts = newFacts
+        } else {
+            facts(newId) = fact
+        }
+        factsCount += 1
+
+        if (fact.isInstanceOf[AbstractIFDSNullFact])
+            nullFactIds ::= newId
+
+        ids.put(fact, newId)
+        newId
+    }
+
+    def fact(id: Int): IFDSFact = facts(id).asInstanceOf[IFDSFact]
+
+    /**
+     * The number of facts that have an id.
+     */
+    def size: Int = ids.size
+
+    /**
+     * Returns some null fact contained in the given set of facts.
+     */
+    def nullFact(facts: IFDSFactSet[IFDSFact]): Option[IFDSFact] = {
+        nullFactIds.find(facts.ids.contains).map(fact)
+    }
+
+    /**
+     * Returns the given facts as an [[IFDSFactSet]] of this domain; if the facts already are
+     * such a set, they are returned as is.
+     */
+    def factSet(facts: IterableOnce[IFDSFact]): IFDSFactSet[IFDSFact] = facts match {
+        case factSet: IFDSFactSet[IFDSFact] @unchecked if factSet.domain eq this => factSet
+        case _ =>
+            val builder = newBuilder
+            builder.addAll(facts)
+            builder.result()
+    }
+
+    def newBuilder: mutable.Builder[IFDSFact, IFDSFactSet[IFDSFact]] = {
+        new mutable.Builder[IFDSFact, IFDSFactSet[IFDSFact]] {
+            private[this] var factIds = new Array[Int](8)
+            private[this] var factIdsCount = 0
+
+            override def addOne(fact: IFDSFact): this.type = {
+                if (factIdsCount == factIds.length)
+                    factIds = Arrays.copyOf(factIds, factIdsCount * 2)
+                factIds(factIdsCount) = idOf(fact)
+                factIdsCount += 1
+                this
+            }
+
+            override def clear(): Unit = factIdsCount = 0
+
+            override def result(): IFDSFactSet[IFDSFact] = {
+                if (factIdsCount == 0)
+                    empty
+                else {
+                    Arrays.sort(factIds, 0, factIdsCount)
+                    new IFDSFactSet(IFDSFactDomain.this, SparseBitSet.fromSorted(factIds, factIdsCount))
+                }
+            }
+        }
+    }
+}
+
+/**
+ * An immutable set of IFDS facts that is represented as a bit set over the ids the facts
+ * have in the given [[IFDSFactDomain]].
+ *
+ * Unions, differences and subset tests with sets of the same domain are performed word-wise
+ * and return `this` (or `that`) if the result is equal to `this` (`that`). All other operations
+ * are supported as well, e.g., sets of different domains or other kinds of sets can be combined,
+ * and sets derived from an [[IFDSFactSet]] (e.g., by `filter`) are [[IFDSFactSet]]s again.
+ */
+final class IFDSFactSet[IFDSFact <: AbstractIFDSFact] private[analyses] (
+        val domain: IFDSFactDomain[IFDSFact],
+        val ids:    SparseBitSet
+) extends AbstractSet[IFDSFact] {
+
+    override def size: Int = ids.size
+
+    override def knownSize: Int = ids.size
+
+    override def isEmpty: Boolean = ids.isEmpty
+
+    override def contains(fact: IFDSFact): Boolean = {
+        val id = domain.knownIdOf(fact)
+        id >= 0 && ids.contains(id)
+    }
+
+    override def incl(fact: IFDSFact): IFDSFactSet[IFDSFact] = {
+        val newIds = ids + domain.idOf(fact)
+        if (newIds eq ids) this else new IFDSFactSet(domain, newIds)
+    }
+
+    override def excl(fact: IFDSFact): IFDSFactSet[IFDSFact] = {
+        val id = domain.knownIdOf(fact)
+        if (id < 0 || !ids.contains(id)) this
+        else new IFDSFactSet(domain, ids &~ SparseBitSet(id))
+    }
+
+    override def iterator: Iterator[IFDSFact] = ids.iterator.map(domain.fact)
+
+    override def foreach[U](f: IFDSFact => U): Unit = ids.foreach(id => f(domain.fact(id)))
+
+    override def concat(that: IterableOnce[IFDSFact]): Set[IFDSFact] = that match {
+        case that: IFDSFactSet[IFDSFact] @unchecked if that.domain eq domain =>
+            val newIds = this.ids | that.ids
+            if (newIds eq this.ids) this
+            else if (newIds eq that.ids) that
+            else new IFDSFactSet(domain, newIds)
+        case _ =>
+            super.concat(that)
+    }
+
+    override def removedAll(that: IterableOnce[IFDSFact]): Set[IFDSFact] = that match {
+        case that: IFDSFactSet[IFDSFact] @unchecked if that.domain eq domain => diff(that)
+        case _                                                               => super.removedAll(that)
+    }
+
+    override def diff(that: scala.collection.Set[IFDSFact]): Set[IFDSFact] = that match {
+        case that: IFDSFactSet[IFDSFact] @unchecked if that.domain eq domain =>
+            val newIds = this.ids &~ that.ids
+            if (newIds eq this.ids) this else new IFDSFactSet(domain, newIds)
+        case _ =>
+            super.diff(that)
+    }
+
+    override def subsetOf(that: scala.collection.Set[IFDSFact]): Boolean = that match {
+        case that: IFDSFactSet[IFDSFact] @unchecked if that.domain eq domain =>
+            this.ids.subsetOf(that.ids)
+        case _ =>
+            super.subsetOf(that)
+    }
+
+    override def empty: IFDSFactSet[IFDSFact] = domain.empty
+
+    override protected def fromSpecific(coll: IterableOnce[IFDSFact]): IFDSFactSet[IFDSFact] = {
+        domain.factSet(coll)
+    }
+
+    override protected def newSpecificBuilder: mutable.Builder[IFDSFact, IFDSFactSet[IFDSFact]] = {
+        domain.newBuilder
+    }
+
+    override protected[this] def className: String = "IFDSFactSet"
+}
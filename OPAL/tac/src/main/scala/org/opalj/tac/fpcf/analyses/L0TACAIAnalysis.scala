@@ -4,6 +4,10 @@ package tac
 package fpcf
 package analyses
 
+import java.util.concurrent.atomic.AtomicInteger
+
+import org.opalj.log.OPALLogger
+import org.opalj.value.ValueInformation
 import org.opalj.fpcf.Entity
 import org.opalj.fpcf.EOptionP
 import org.opalj.fpcf.EPK
@@ -12,6 +16,7 @@ import org.opalj.fpcf.InterimLUBP
 import org.opalj.fpcf.InterimResult
 import org.opalj.fpcf.ProperPropertyComputationResult
 import org.opalj.fpcf.PropertyBounds
+import org.opalj.fpcf.PropertyKind
 import org.opalj.fpcf.PropertyStore
 import org.opalj.fpcf.Result
 import org.opalj.br.Method
@@ -20,6 +25,9 @@ import org.opalj.br.analyses.SomeProject
 import org.opalj.br.fpcf.FPCFAnalysis
 import org.opalj.br.fpcf.FPCFEagerAnalysisScheduler
 import org.opalj.br.fpcf.FPCFLazyAnalysisScheduler
+import org.opalj.ai.AIResult
+import org.opalj.ai.Domain
+import org.opalj.ai.domain.RecordDefUse
 import org.opalj.ai.fpcf.analyses.L0BaseAIResultAnalysis
 import org.opalj.ai.fpcf.properties.AIDomainFactoryKey
 import org.opalj.ai.fpcf.properties.AnAIResult
@@ -28,19 +36,40 @@ import org.opalj.ai.fpcf.properties.NoAIResult
 import org.opalj.ai.fpcf.properties.ProjectSpecificAIExecutor
 import org.opalj.tac.fpcf.properties.NoTACAI
 import org.opalj.tac.fpcf.properties.TACAI
+import org.opalj.tac.fpcf.properties.TheTACAI
 
 /**
  * Basically just (re)creates the tac of a method if the result of the underlying
  * abstract interpretation changes.
  *
+ * If the result of the abstract interpretation is refined, but the control flow and the
+ * def/use information did not change, the previous tac is reused and only the values of the
+ * variables are updated (see [[org.opalj.tac.IncrementalTACAI]]).
+ *
  * @author Michael Eichberg
  */
 class L0TACAIAnalysis private[analyses] (val project: SomeProject) extends FPCFAnalysis {
 
     import org.opalj.tac.fpcf.analyses.TACAIAnalysis.computeTheTACAI
+    import L0TACAIAnalysis.TACAIOfAIResult
 
     final implicit val aiFactory: ProjectSpecificAIExecutor = project.get(AIDomainFactoryKey)
 
+    private[this] val computedTACsCount = new AtomicInteger(0)
+    private[this] val reusedTACsCount = new AtomicInteger(0)
+    private[this] val updatedTACsCount = new AtomicInteger(0)
+
+    /**
+     * The number of tacs that were computed from scratch, that were reused as is (because
+     * the result of the abstract interpretation did not change) and that were updated
+     * incrementally.
+     */
+    def statistics: Map[String, Int] = Map(
+        "computed TACs" -> computedTACsCount.get,
+        "reused TACs" -> reusedTACsCount.get,
+        "incrementally updated TACs" -> updatedTACsCount.get
+    )
+
     def computeTAC(e: Entity): ProperPropertyComputationResult = {
         e match {
             case m: Method => computeTAC(m)
@@ -56,43 +85,105 @@ class L0TACAIAnalysis private[analyses] (val project: SomeProject) extends FPCFA
     }
 
     def c(eOptionP: EOptionP[Method, BaseAIResult]): ProperPropertyComputationResult = {
+        continuation(null, null)(eOptionP)
+    }
+
+    private[this] def continuation(
+        previousLB: TACAIOfAIResult,
+        previousUB: TACAIOfAIResult
+    )(
+        eOptionP: EOptionP[Method, BaseAIResult]
+    ): ProperPropertyComputationResult = {
         val m = eOptionP.e
         (eOptionP: @unchecked) match {
-            case FinalP(NoAIResult)           => Result(m, NoTACAI)
-            case FinalP(AnAIResult(aiResult)) => Result(m, computeTheTACAI(m, aiResult, false))
+            case FinalP(NoAIResult) => Result(m, NoTACAI)
+            case FinalP(AnAIResult(aiResult)) =>
+                Result(m, createTACAI(m, aiResult, previousLB, previousUB).tacai)
 
             case currentAIResult @ InterimLUBP(AnAIResult(initialLBAIResult), ub) =>
-                val newLB = computeTheTACAI(m, initialLBAIResult, false)
+                val newLB = createTACAI(m, initialLBAIResult, previousLB, previousUB)
                 val newUB =
                     if (ub == NoAIResult)
-                        NoTACAI
+                        null
                     else {
                         val AnAIResult(initialUBAIResult) = ub
-                        computeTheTACAI(m, initialUBAIResult, false)
+                        createTACAI(m, initialUBAIResult, previousUB, newLB)
                     }
 
                 InterimResult.create(
                     m,
-                    newLB,
-                    newUB,
+                    newLB.tacai,
+                    if (newUB eq null) NoTACAI else newUB.tacai,
                     Set(currentAIResult),
-                    c = c
+                    c = continuation(newLB, newUB)
                 )
 
             case epk @ EPK(m: Method, _) =>
                 val aiResult = L0BaseAIResultAnalysis.performAI(m)
+                val newLB = createTACAI(m, aiResult, null, null)
 
                 InterimResult.create(
                     m,
-                    computeTheTACAI(m, aiResult, false),
+                    newLB.tacai,
                     NoTACAI,
                     Set(epk),
-                    c = c
+                    c = continuation(newLB, null)
+                )
+        }
+    }
+
+    /**
+     * Computes the tac for the given result of the abstract interpretation; if possible the
+     * given previous tacs (which may be `null`) are reused.
+     */
+    private[this] def createTACAI(
+        m:         Method,
+        aiResult:  AIResult,
+        previous:  TACAIOfAIResult,
+        previous2: TACAIOfAIResult
+    ): TACAIOfAIResult = {
+        if ((previous ne null) && (previous.aiResult eq aiResult)) {
+            reusedTACsCount.incrementAndGet()
+            return previous;
+        }
+        if ((previous2 ne null) && (previous2.aiResult eq aiResult)) {
+            reusedTACsCount.incrementAndGet()
+            return previous2;
+        }
+
+        val base = if (previous ne null) previous else previous2
+        val updatedTAC =
+            if (base ne null)
+                IncrementalTACAI(
+                    project,
+                    m,
+                    base.aiResult.asInstanceOf[AIResult { val domain: Domain with RecordDefUse }],
+                    // the following cast is safe - the tac is never detached
+                    base.tacai.theTAC.asInstanceOf[AITACode[TACMethodParameter, ValueInformation]],
+                    aiResult.asInstanceOf[AIResult { val domain: Domain with RecordDefUse }]
+                )
+            else
+                None
+        updatedTAC match {
+            case Some(tac) =>
+                updatedTACsCount.incrementAndGet()
+                TACAIOfAIResult(
+                    aiResult,
+                    TheTACAI(tac.asInstanceOf[TACode[TACMethodParameter, DUVar[ValueInformation]]])
                 )
+            case None =>
+                computedTACsCount.incrementAndGet()
+                TACAIOfAIResult(aiResult, computeTheTACAI(m, aiResult, false))
         }
     }
 }
 
+object L0TACAIAnalysis {
+
+    private final case class TACAIOfAIResult(aiResult: AIResult, tacai: TheTACAI)
+
+}
+
 sealed trait L0TACAIAnalysisScheduler extends TACAIInitializer {
 
     override def requiredProjectInformation: ProjectInformationKeys = Seq(AIDomainFactoryKey)
@@ -109,7 +200,13 @@ sealed trait L0TACAIAnalysisScheduler extends TACAIInitializer {
         p:        SomeProject,
         ps:       PropertyStore,
         analysis: FPCFAnalysis
-    ): Unit = {}
+    ): Unit = {
+        val statistics = analysis.asInstanceOf[L0TACAIAnalysis].statistics
+        OPALLogger.info(
+            "analysis progress",
+            statistics.map(e => e._1+": "+e._2).mkString("TACAI: ", ", ", "")
+        )(p.logContext)
+    }
 
 }
 
@@ -127,7 +224,9 @@ object EagerL0TACAIAnalysis extends L0TACAIAnalysisScheduler with FPCFEagerAnaly
     }
 }
 
-object LazyL0TACAIAnalysis extends L0TACAIAnalysisScheduler with FPCFLazyAnalysisScheduler {
+sealed trait LazyL0TACAIAnalysisScheduler
+    extends L0TACAIAnalysisScheduler
+    with FPCFLazyAnalysisScheduler {
 
     override def derivesLazily: Some[PropertyBounds] = Some(derivedProperty)
 
@@ -137,3 +236,15 @@ object LazyL0TACAIAnalysis extends L0TACAIAnalysisScheduler with FPCFLazyAnalysi
         analysis
     }
 }
+
+object LazyL0TACAIAnalysis extends LazyL0TACAIAnalysisScheduler
+
+/**
+ * Lazily computes the three-address code, which is not detached from the result of the abstract
+ * interpretation and, hence, requires a lot of memory. Therefore, it is transient; i.e., it may be
+ * dropped by the property store and is recomputed if it is required again.
+ */
+object LazyTransientL0TACAIAnalysis extends LazyL0TACAIAnalysisScheduler {
+
+    override def derivesTransiently: Set[PropertyKind] = Set(TACAI.key)
+}
@@ -5,6 +5,7 @@ package fpcf
 package analyses
 
 import scala.annotation.switch
+import scala.collection.mutable
 
 import org.opalj.RelationalOperators.EQ
 import org.opalj.RelationalOperators.NE
@@ -23,6 +24,7 @@ import org.opalj.fpcf.PropertyBounds
 import org.opalj.fpcf.PropertyComputationResult
 import org.opalj.fpcf.PropertyStore
 import org.opalj.fpcf.Result
+import org.opalj.fpcf.Results
 import org.opalj.fpcf.SomeEOptionP
 import org.opalj.fpcf.SomeEPS
 import org.opalj.fpcf.UBP
@@ -122,6 +124,9 @@ class L2FieldMutabilityAnalysis private[analyses] (val project: SomeProject) ext
 
     type V = DUVar[ValueInformation]
 
+    /** The three-address code and the callers of a method that writes a field. */
+    type MethodProperties = (EOptionP[Method, TACAI], EOptionP[DeclaredMethod, Callers])
+
     final val typeExtensibility = project.get(TypeExtensibilityKey)
     final val closedPackages = project.get(ClosedPackagesKey)
     final val fieldAccessInformation = project.get(FieldAccessInformationKey)
@@ -145,6 +150,35 @@ class L2FieldMutabilityAnalysis private[analyses] (val project: SomeProject) ext
      */
     private[analyses] def determineFieldMutability(
         field: Field
+    ): ProperPropertyComputationResult = {
+        determineFieldMutabilityUsing(fetchMethodProperties)(field)
+    }
+
+    /**
+     * Analyzes the mutability of all fields declared by the given class file at once.
+     *
+     * The three-address code and the callers of a method that writes multiple fields of the
+     * class are retrieved from the property store only once and the results for all fields are
+     * returned together.
+     */
+    private[analyses] def determineFieldMutabilities(
+        classFile: ClassFile
+    ): ProperPropertyComputationResult = {
+        val methodProperties = mutable.HashMap.empty[Method, MethodProperties]
+        val sharedMethodProperties: Method => MethodProperties = { method =>
+            methodProperties.getOrElseUpdate(method, fetchMethodProperties(method))
+        }
+        Results(classFile.fields.map(determineFieldMutabilityUsing(sharedMethodProperties)))
+    }
+
+    private[this] def fetchMethodProperties(method: Method): MethodProperties = {
+        (propertyStore(method, TACAI.key), propertyStore(declaredMethods(method), Callers.key))
+    }
+
+    private[this] def determineFieldMutabilityUsing(
+        methodProperties: Method => MethodProperties
+    )(
+        field: Field
     ): ProperPropertyComputationResult = {
         implicit val state: State = State(field)
 
@@ -216,7 +250,7 @@ class L2FieldMutabilityAnalysis private[analyses] (val project: SomeProject) ext
 
         for {
             (method, pcs) <- fieldAccessInformation.writeAccesses(field)
-            (taCode, callers) <- getTACAIAndCallers(method, pcs)
+            (taCode, callers) <- getTACAIAndCallers(method, pcs, methodProperties(method))
         } {
             if (methodUpdatesField(method, taCode, callers, pcs))
                 return Result(field, NonFinalFieldByAnalysis);
@@ -629,18 +663,17 @@ class L2FieldMutabilityAnalysis private[analyses] (val project: SomeProject) ext
      * Returns TACode and Callers for a method if available, registering dependencies as necessary.
      */
     def getTACAIAndCallers(
-        method: Method,
-        pcs:    PCs
+        method:           Method,
+        pcs:              PCs,
+        methodProperties: MethodProperties
     )(implicit state: State): Option[(TACode[TACMethodParameter, V], Callers)] = {
-        val tacEOptP = propertyStore(method, TACAI.key)
+        val (tacEOptP, callersEOptP) = methodProperties
         val tac = if (tacEOptP.hasUBP) tacEOptP.ub.tac else None
         state.tacDependees += method -> tacEOptP
         state.tacPCs += method -> pcs
 
-        val declaredMethod: DeclaredMethod = declaredMethods(method)
-        val callersEOptP = propertyStore(declaredMethod, Callers.key)
         val callers = if (callersEOptP.hasUBP) Some(callersEOptP.ub) else None
-        state.callerDependees += declaredMethod -> callersEOptP
+        state.callerDependees += callersEOptP.e -> callersEOptP
 
         if (tac.isDefined && callers.isDefined) {
             Some((tac.get, callers.get))
@@ -1167,3 +1200,22 @@ object LazyL2FieldMutabilityAnalysis
 
     override def derivesLazily: Some[PropertyBounds] = Some(derivedProperty)
 }
+
+/**
+ * Executor for the field mutability analysis that analyzes all fields of a class together.
+ */
+object EagerGroupedL2FieldMutabilityAnalysis
+    extends L2FieldMutabilityAnalysisScheduler
+    with BasicFPCFEagerAnalysisScheduler {
+
+    final override def start(p: SomeProject, ps: PropertyStore, unused: Null): FPCFAnalysis = {
+        val analysis = new L2FieldMutabilityAnalysis(p)
+        val classFiles = p.allClassFiles
+        ps.scheduleEagerComputationsForEntities(classFiles)(analysis.determineFieldMutabilities)
+        analysis
+    }
+
+    override def derivesEagerly: Set[PropertyBounds] = Set(derivedProperty)
+
+    override def derivesCollaboratively: Set[PropertyBounds] = Set.empty
+}
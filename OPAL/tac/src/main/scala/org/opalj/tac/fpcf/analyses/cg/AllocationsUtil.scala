@@ -78,6 +78,8 @@ object AllocationsUtil {
      * Processes allocation sites for a given local variable.
      * Clients MUST handle dependencies where the depender is the given one and the dependee
      * provides further allocation sites.
+     * If the state [[TypeProviderState.resolvesAllocationsLocally]], only the local definition
+     * sites are processed and no dependencies are introduced.
      */
     def handleAllocations[ContextType <: Context](
         value:      V,
@@ -92,22 +94,27 @@ object AllocationsUtil {
         state:        TypeProviderState,
         ps:           PropertyStore
     ): Unit = {
-        val allocations = typeProvider.typesProperty(
-            value, context.asInstanceOf[typeProvider.ContextType], depender, stmts
-        )
-        typeProvider.foreachAllocation(value, context, stmts, allocations) {
-            (tpe, allocationContext, pc) =>
-                if (typeFilter(tpe)) {
-                    handleAllocation(
-                        context,
-                        value,
-                        stmts,
-                        allocationContext.asInstanceOf[ContextType],
-                        pc,
-                        depender,
-                        failure
-                    )(process)
-                }
+        val handleAllocationSite = (tpe: ReferenceType, allocationContext: Context, pc: Int) => {
+            if (typeFilter(tpe)) {
+                handleAllocation(
+                    context,
+                    value,
+                    stmts,
+                    allocationContext.asInstanceOf[ContextType],
+                    pc,
+                    depender,
+                    failure
+                )(process)
+            }
+        }
+
+        if (state.resolvesAllocationsLocally) {
+            typeProvider.foreachLocalAllocation(value, context, stmts)(handleAllocationSite)
+        } else {
+            val allocations = typeProvider.typesProperty(
+                value, context.asInstanceOf[typeProvider.ContextType], depender, stmts
+            )
+            typeProvider.foreachAllocation(value, context, stmts, allocations)(handleAllocationSite)
         }
     }
 
@@ -0,0 +1,277 @@
+/* BSD 2-Clause License - see OPAL/LICENSE for details. */
+package org.opalj
+package tac
+package fpcf
+package analyses
+package cg
+
+import java.io.File
+import java.io.IOException
+import java.nio.ByteBuffer
+import java.nio.channels.FileChannel
+import java.nio.channels.FileChannel.MapMode
+import java.nio.charset.StandardCharsets.UTF_8
+import java.nio.file.StandardOpenOption
+
+import scala.collection.immutable.IntMap
+
+import org.opalj.collection.immutable.IntTrieSet
+import org.opalj.fpcf.ProperPropertyComputationResult
+import org.opalj.fpcf.PropertyBounds
+import org.opalj.fpcf.PropertyComputationResult
+import org.opalj.fpcf.PropertyStore
+import org.opalj.fpcf.Result
+import org.opalj.fpcf.Results
+import org.opalj.value.ValueInformation
+import org.opalj.br.DeclaredMethod
+import org.opalj.br.MethodDescriptor
+import org.opalj.br.ObjectType
+import org.opalj.br.analyses.DeclaredMethods
+import org.opalj.br.analyses.DeclaredMethodsKey
+import org.opalj.br.analyses.ProjectInformationKeys
+import org.opalj.br.analyses.SomeProject
+import org.opalj.br.fpcf.BasicFPCFEagerAnalysisScheduler
+import org.opalj.br.fpcf.FPCFAnalysis
+import org.opalj.br.fpcf.properties.SimpleContexts
+import org.opalj.br.fpcf.properties.SimpleContextsKey
+import org.opalj.tac.cg.BinaryCallGraphFormat._
+import org.opalj.tac.fpcf.properties.cg.Callees
+import org.opalj.tac.fpcf.properties.cg.Callers
+import org.opalj.tac.fpcf.properties.cg.NoCallees
+import org.opalj.tac.fpcf.properties.cg.NoCallers
+
+/**
+ * Reads a call graph that was written using
+ * [[org.opalj.tac.cg.CallGraphSerializer.writeBinaryCG]] and stores the final [[Callees]] and
+ * [[Callers]] of all methods in the property store.
+ *
+ * The columns of the file are memory mapped and read using bulk operations; the method table
+ * is resolved once and the callers are computed by transposing the edge array. Hence, unlike
+ * the [[CallGraphDeserializer]], neither per-call-site parsing nor
+ * [[org.opalj.fpcf.PartialResult]]s are necessary.
+ *
+ * @note The file must have been written for the same project.
+ */
+private class BinaryCallGraphDeserializer private[analyses] (
+        final val serializedCG: File,
+        final val project:      SomeProject
+) extends FPCFAnalysis {
+    private implicit val declaredMethods: DeclaredMethods = project.get(DeclaredMethodsKey)
+    private val simpleContexts: SimpleContexts = project.get(SimpleContextsKey)
+
+    def analyze(p: SomeProject): PropertyComputationResult = {
+        val channel = FileChannel.open(serializedCG.toPath, StandardOpenOption.READ)
+        try {
+            analyze(new ColumnReader(channel))
+        } finally {
+            channel.close()
+        }
+    }
+
+    private[this] def analyze(in: ColumnReader): PropertyComputationResult = {
+        if (in.readInt() != Magic)
+            throw new IOException(s"$serializedCG is not a binary call graph")
+        val version = in.readInt()
+        if (version != Version)
+            throw new IOException(s"unsupported binary call graph version $version")
+
+        val stringCount = in.readInt()
+        val stringLengths = in.readInts(stringCount)
+        val stringBytes = in.readBytes(stringLengths.foldLeft(0L)(_ + _).toInt)
+        val strings = new Array[String](stringCount)
+        var offset = 0
+        var i = 0
+        while (i < stringCount) {
+            strings(i) = new String(stringBytes, offset, stringLengths(i), UTF_8)
+            offset += stringLengths(i)
+            i += 1
+        }
+
+        val methodCount = in.readInt()
+        val declaredTypes = in.readInts(methodCount)
+        val packageNames = in.readInts(methodCount)
+        val runtimeTypes = in.readInts(methodCount)
+        val names = in.readInts(methodCount)
+        val descriptors = in.readInts(methodCount)
+        val methods = new Array[DeclaredMethod](methodCount)
+        i = 0
+        while (i < methodCount) {
+            methods(i) = declaredMethods(
+                ObjectType(strings(declaredTypes(i))),
+                strings(packageNames(i)),
+                ObjectType(strings(runtimeTypes(i))),
+                strings(names(i)),
+                MethodDescriptor(strings(descriptors(i)))
+            )
+            i += 1
+        }
+
+        val reachableCount = in.readInt()
+        val reachableMethods = in.readInts(reachableCount)
+        val flags = in.readBytes(reachableCount)
+        val edgeOffsets = in.readInts(reachableCount + 1)
+        val incompleteCallSiteOffsets = in.readInts(reachableCount + 1)
+
+        val edgeCount = in.readInt()
+        val edgePCs = in.readInts(edgeCount)
+        val edgeTargets = in.readInts(edgeCount)
+        val edgeKinds = in.readBytes(edgeCount)
+
+        val incompleteCallSiteCount = in.readInt()
+        val incompleteCallSites = in.readInts(incompleteCallSiteCount)
+
+        val results = new Array[ProperPropertyComputationResult](2 * methodCount)
+        var resultCount = 0
+
+        // Callees
+        var r = 0
+        while (r < reachableCount) {
+            val caller = methods(reachableMethods(r))
+            val edgesEnd = edgeOffsets(r + 1)
+            val incompleteEnd = incompleteCallSiteOffsets(r + 1)
+
+            var directCallees = IntMap.empty[IntTrieSet]
+            var indirectCallees = IntMap.empty[IntTrieSet]
+            var receivers = IntMap.empty[IntMap[Option[(ValueInformation, IntTrieSet)]]]
+            var parameters = IntMap.empty[IntMap[Seq[Option[(ValueInformation, IntTrieSet)]]]]
+            var e = edgeOffsets(r)
+            while (e < edgesEnd) {
+                val pc = edgePCs(e)
+                val callee = methods(edgeTargets(e))
+                val calleeId = simpleContexts(callee).id
+                if (edgeKinds(e) == DirectCall) {
+                    directCallees = directCallees.updated(
+                        pc, directCallees.getOrElse(pc, IntTrieSet.empty) + calleeId
+                    )
+                } else {
+                    indirectCallees = indirectCallees.updated(
+                        pc, indirectCallees.getOrElse(pc, IntTrieSet.empty) + calleeId
+                    )
+                    // The receivers and parameters of indirect calls are not serialized
+                    receivers = receivers.updated(
+                        pc, receivers.getOrElse(pc, IntMap.empty).updated(calleeId, None)
+                    )
+                    parameters = parameters.updated(
+                        pc,
+                        parameters.getOrElse(pc, IntMap.empty).updated(
+                            calleeId, Seq.fill(callee.descriptor.parametersCount)(None)
+                        )
+                    )
+                }
+                e += 1
+            }
+
+            var incomplete = IntTrieSet.empty
+            var c = incompleteCallSiteOffsets(r)
+            while (c < incompleteEnd) {
+                incomplete += incompleteCallSites(c)
+                c += 1
+            }
+
+            val callees: Callees =
+                if (directCallees.isEmpty && indirectCallees.isEmpty && incomplete.isEmpty)
+                    NoCallees
+                else
+                    NoCallees.updateWithCallees(
+                        simpleContexts(caller),
+                        directCallees,
+                        indirectCallees,
+                        incomplete,
+                        receivers,
+                        parameters
+                    )
+            results(resultCount) = Result(caller, callees)
+            resultCount += 1
+            r += 1
+        }
+
+        // Callers, computed by transposing the edge array
+        val callers = new Array[Callers](methodCount)
+        r = 0
+        while (r < reachableCount) {
+            val methodIndex = reachableMethods(r)
+            var methodCallers: Callers = NoCallers
+            if ((flags(r) & VMLevelCallersFlag) != 0)
+                methodCallers = methodCallers.updatedWithVMLevelCall()
+            if ((flags(r) & CallersWithUnknownContextFlag) != 0)
+                methodCallers = methodCallers.updatedWithUnknownContext()
+            callers(methodIndex) = methodCallers
+            r += 1
+        }
+        r = 0
+        while (r < reachableCount) {
+            val callerContext = simpleContexts(methods(reachableMethods(r)))
+            val edgesEnd = edgeOffsets(r + 1)
+            var e = edgeOffsets(r)
+            while (e < edgesEnd) {
+                val target = edgeTargets(e)
+                val targetCallers = if (callers(target) eq null) NoCallers else callers(target)
+                callers(target) = targetCallers.updated(
+                    simpleContexts(methods(target)),
+                    callerContext,
+                    edgePCs(e),
+                    edgeKinds(e) == DirectCall
+                )
+                e += 1
+            }
+            r += 1
+        }
+        i = 0
+        while (i < methodCount) {
+            if (callers(i) ne null) {
+                results(resultCount) = Result(methods(i), callers(i))
+                resultCount += 1
+            }
+            i += 1
+        }
+
+        Results(results.iterator.take(resultCount))
+    }
+
+    /**
+     * Reads the columns of the file in order; every column is memory mapped and copied using a
+     * single bulk operation.
+     */
+    private[this] class ColumnReader(channel: FileChannel) {
+
+        private[this] var position = 0L
+
+        private[this] def map(size: Long): ByteBuffer = {
+            val buffer = channel.map(MapMode.READ_ONLY, position, size)
+            position += size
+            buffer
+        }
+
+        def readInt(): Int = readInts(1)(0)
+
+        def readInts(count: Int): Array[Int] = {
+            val ints = new Array[Int](count)
+            if (count > 0) map(count * 4L).asIntBuffer().get(ints)
+            ints
+        }
+
+        def readBytes(count: Int): Array[Byte] = {
+            val bytes = new Array[Byte](count)
+            if (count > 0) map(count.toLong).get(bytes)
+            bytes
+        }
+    }
+}
+
+class BinaryCallGraphDeserializerScheduler(serializedCG: File) extends BasicFPCFEagerAnalysisScheduler {
+
+    override def requiredProjectInformation: ProjectInformationKeys =
+        Seq(DeclaredMethodsKey, SimpleContextsKey)
+
+    override def start(p: SomeProject, ps: PropertyStore, i: Null): FPCFAnalysis = {
+        val analysis = new BinaryCallGraphDeserializer(serializedCG, p)
+        ps.scheduleEagerComputationForEntity(p)(analysis.analyze)
+        analysis
+    }
+
+    override def uses: Set[PropertyBounds] = Set.empty
+
+    override def derivesEagerly: Set[PropertyBounds] = PropertyBounds.finalPs(Callees, Callers)
+
+    override def derivesCollaboratively: Set[PropertyBounds] = Set.empty
+}
@@ -0,0 +1,715 @@
+/* BSD 2-Clause License - see OPAL/LICENSE for details. */
+package org.opalj
+package tac
+package fpcf
+package analyses
+package cg
+
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.atomic.AtomicLongArray
+import java.util.concurrent.atomic.AtomicReferenceArray
+
+import scala.reflect.ClassTag
+
+import scala.collection.immutable.IntMap
+import scala.collection.mutable.ArrayBuffer
+
+import org.opalj.log.Error
+import org.opalj.log.OPALLogger
+import org.opalj.log.OPALLogger.logOnce
+import org.opalj.log.Warn
+import org.opalj.collection.immutable.IntTrieSet
+import org.opalj.collection.immutable.UIDSet
+import org.opalj.concurrent.NumberOfThreadsForCPUBoundTasks
+import org.opalj.concurrent.parForeachArrayElement
+import org.opalj.fpcf.ProperPropertyComputationResult
+import org.opalj.fpcf.PropertyBounds
+import org.opalj.fpcf.PropertyComputationResult
+import org.opalj.fpcf.PropertyStore
+import org.opalj.fpcf.Result
+import org.opalj.fpcf.Results
+import org.opalj.value.IsMObjectValue
+import org.opalj.value.IsNullValue
+import org.opalj.value.IsSArrayValue
+import org.opalj.value.IsSObjectValue
+import org.opalj.br.ArrayType
+import org.opalj.br.DeclaredMethod
+import org.opalj.br.Method
+import org.opalj.br.MethodDescriptor
+import org.opalj.br.ReferenceType
+import org.opalj.br.analyses.DeclaredMethods
+import org.opalj.br.analyses.DeclaredMethodsKey
+import org.opalj.br.analyses.ProjectInformationKeys
+import org.opalj.br.analyses.SomeProject
+import org.opalj.br.analyses.cg.CallBySignatureKey
+import org.opalj.br.analyses.cg.InitialEntryPointsKey
+import org.opalj.br.analyses.cg.InitialInstantiatedTypesKey
+import org.opalj.br.analyses.cg.IsOverridableMethodKey
+import org.opalj.br.fpcf.BasicFPCFEagerAnalysisScheduler
+import org.opalj.br.fpcf.FPCFAnalysis
+import org.opalj.br.fpcf.properties.SimpleContexts
+import org.opalj.br.fpcf.properties.SimpleContextsKey
+import org.opalj.br.instructions.NEW
+import org.opalj.ai.fpcf.analyses.L0BaseAIResultAnalysis
+import org.opalj.ai.fpcf.properties.AIDomainFactoryKey
+import org.opalj.ai.fpcf.properties.ProjectSpecificAIExecutor
+import org.opalj.tac.cg.TypeProviderKey
+import org.opalj.tac.fpcf.analyses.TACAIAnalysis.computeTheTACAI
+import org.opalj.tac.fpcf.properties.cg.Callees
+import org.opalj.tac.fpcf.properties.cg.Callers
+import org.opalj.tac.fpcf.properties.cg.InstantiatedTypes
+import org.opalj.tac.fpcf.properties.cg.NoCallees
+import org.opalj.tac.fpcf.properties.cg.NoCallers
+import org.opalj.tac.fpcf.properties.cg.OnlyCallersWithUnknownContext
+
+/**
+ * Computes a CHA or RTA call graph without using the fixpoint computations of the property store.
+ *
+ * The call graph is computed in rounds: in every round, the methods that became reachable in the
+ * previous round (the ''frontier'') are processed in parallel and the call sites of the methods
+ * processed in earlier rounds are re-dispatched to the types that were instantiated in the
+ * previous round. The reachable methods and the instantiated types are shared between the tasks
+ * using atomic bit sets; the set of instantiated types only changes between two rounds.
+ * Finally, the [[Callees]], [[Callers]] and (for RTA) [[InstantiatedTypes]] are stored in the
+ * property store as final results.
+ *
+ * The resolution of the calls follows the [[CallGraphAnalysis]], the [[CHATypeProvider]]
+ * and the [[RTATypeProvider]] as well as the
+ * [[org.opalj.tac.fpcf.analyses.cg.rta.InstantiatedTypesAnalysis]] and the
+ * [[org.opalj.tac.fpcf.analyses.cg.rta.ConfiguredNativeMethodsInstantiatedTypesAnalysis]].
+ * Hence, the computed call graph is the same as the one computed by the
+ * [[org.opalj.tac.cg.CHACallGraphKey]] or the [[org.opalj.tac.cg.RTACallGraphKey]] if no
+ * further modules (e.g., for reflection) are configured.
+ *
+ * @note The analysis uses [[org.opalj.br.fpcf.properties.SimpleContexts]], i.e., it is context
+ *       insensitive.
+ */
+class BulkSynchronousCallGraphAnalysis private[analyses] (
+        final val project:              SomeProject,
+        final val isRTA:                Boolean,
+        final val parallelizationLevel: Int
+) extends FPCFAnalysis {
+
+    private[this] implicit val declaredMethods: DeclaredMethods = project.get(DeclaredMethodsKey)
+    private[this] implicit val aiFactory: ProjectSpecificAIExecutor = project.get(AIDomainFactoryKey)
+    private[this] val simpleContexts: SimpleContexts = project.get(SimpleContextsKey)
+    private[this] val typeProvider: TypeProvider = project.get(TypeProviderKey)
+    private[this] val isMethodOverridable: Method => Answer = project.get(IsOverridableMethodKey)
+    private[this] lazy val getCBSTargets = project.get(CallBySignatureKey)
+    private[this] val resolveCallBySignature =
+        project.config.getBoolean("org.opalj.br.analyses.cg.callBySignatureResolution")
+
+    // the types instantiated by reachable configured native methods (RTA only)
+    private[this] val nativeInstantiatedTypes: Map[DeclaredMethod, Array[ReferenceType]] = {
+        if (!isRTA) Map.empty
+        else ConfiguredMethods.reader.read(
+            p.config, "org.opalj.fpcf.analyses.ConfiguredNativeMethodsAnalysis"
+        ).nativeMethods.iterator.filter(_.pointsTo.isDefined).map { v =>
+            v.method -> v.pointsTo.get.collect {
+                case PointsToRelation(_, as: AllocationSiteDescription) =>
+                    as.arrayComponentTypes.map(ReferenceType(_)) :+ ReferenceType(as.instantiatedType)
+            }.flatten
+        }.toMap
+    }
+
+    private[this] val reachableMethods = new AtomicBitSet
+    private[this] val newReachableMethods = new ConcurrentLinkedQueue[DeclaredMethod]()
+
+    private[this] val instantiatedObjectTypes = new AtomicBitSet
+    private[this] val instantiatedArrayTypes = ConcurrentHashMap.newKeySet[ArrayType]()
+    private[this] val newInstantiatedTypes = new ConcurrentLinkedQueue[ReferenceType]()
+
+    /**
+     * The callees of a reachable method. They are only updated by the task that processes the
+     * method in the current round.
+     */
+    private[this] final class MethodState(val method: DeclaredMethod) {
+        var callees: IntMap[IntTrieSet] = IntMap.empty
+        var incompleteCallSites: IntTrieSet = IntTrieSet.empty
+        var hasCalleesResult: Boolean = false
+        // RTA only: the virtual call sites that have to be dispatched to new instantiated types
+        var virtualCallSites: List[VirtualCallSite] = Nil
+    }
+
+    private[this] final class VirtualCallSite(
+            val pc:             Int,
+            val name:           String,
+            val descriptor:     MethodDescriptor,
+            val declaringClass: ReferenceType,
+            val receiver:       V,
+            val cbsTargets:     Set[ReferenceType]
+    )
+
+    def analyze(p: SomeProject): PropertyComputationResult = {
+        val entryPoints = p.get(InitialEntryPointsKey).iterator.map(declaredMethods.apply).toArray
+        if (entryPoints.isEmpty)
+            OPALLogger.logOnce(Error("project configuration", "the project has no entry points"))
+
+        entryPoints.foreach { ep =>
+            if (reachableMethods.add(ep.id)) newReachableMethods.add(ep)
+            // entry points are called from an unknown context
+            if (isRTA && ep.name == "<init>") handleConstructorCall(null, ep)
+        }
+        if (isRTA)
+            p.get(InitialInstantiatedTypesKey).foreach(instantiate)
+
+        val states = ArrayBuffer.empty[MethodState]
+        var statesWithVirtualCallSites = Array.empty[MethodState]
+        val instantiatedTypes = ArrayBuffer.empty[ReferenceType]
+
+        var frontier = drain(newReachableMethods).map(new MethodState(_))
+        var newTypes = drain(newInstantiatedTypes)
+        var round = 0
+        while (frontier.nonEmpty || (newTypes.nonEmpty && statesWithVirtualCallSites.nonEmpty)) {
+            instantiatedTypes ++= newTypes
+            val types = instantiatedTypes.toArray
+
+            if (newTypes.nonEmpty) {
+                parForeachArrayElement(statesWithVirtualCallSites, parallelizationLevel) { state =>
+                    state.virtualCallSites.foreach(dispatchToTypes(state, _, newTypes))
+                }
+            }
+            parForeachArrayElement(frontier, parallelizationLevel) { processMethod(_, types) }
+
+            states ++= frontier
+            if (isRTA)
+                statesWithVirtualCallSites ++= frontier.filter(_.virtualCallSites.nonEmpty)
+
+            frontier = drain(newReachableMethods).map(new MethodState(_))
+            newTypes = drain(newInstantiatedTypes)
+            round += 1
+        }
+        instantiatedTypes ++= newTypes
+
+        OPALLogger.info(
+            "analysis progress",
+            s"bulk-synchronous ${if (isRTA) "RTA" else "CHA"} call graph: "+
+                s"${states.size} reachable methods found in $round rounds"
+        )
+
+        val results = createResults(states.toArray, entryPoints)
+        if (isRTA) {
+            val types = UIDSet[ReferenceType](instantiatedTypes.toSeq: _*)
+            Results(results.iterator ++ Iterator(Result(p, InstantiatedTypes(types))))
+        } else
+            Results(results.iterator)
+    }
+
+    private[this] def drain[T <: AnyRef: ClassTag](
+        queue: ConcurrentLinkedQueue[T]
+    ): Array[T] = {
+        val elements = ArrayBuffer.empty[T]
+        var next = queue.poll()
+        while (next ne null) {
+            elements += next
+            next = queue.poll()
+        }
+        elements.toArray
+    }
+
+    private[this] def createResults(
+        states:      Array[MethodState],
+        entryPoints: Array[DeclaredMethod]
+    ): Array[ProperPropertyComputationResult] = {
+        // Transpose the call edges, i.e., sort the callers by the ids of their callees
+        val numMethods = declaredMethods._UNSAFE_size
+        val callerOffsets = new Array[Int](numMethods + 1)
+        states.foreach { state =>
+            state.callees.valuesIterator.foreach(_.foreach(calleeId => callerOffsets(calleeId + 1) += 1))
+        }
+        var i = 0
+        while (i < numMethods) {
+            callerOffsets(i + 1) += callerOffsets(i)
+            i += 1
+        }
+        val callerIds = new Array[Int](callerOffsets(numMethods))
+        val callerPCs = new Array[Int](callerOffsets(numMethods))
+        val nextCaller = callerOffsets.clone()
+        states.foreach { state =>
+            val callerId = state.method.id
+            state.callees.foreach {
+                case (pc, calleeIds) =>
+                    calleeIds.foreach { calleeId =>
+                        val index = nextCaller(calleeId)
+                        callerIds(index) = callerId
+                        callerPCs(index) = pc
+                        nextCaller(calleeId) = index + 1
+                    }
+            }
+        }
+
+        val entryPointIds = IntTrieSet(entryPoints.iterator.map(_.id))
+        val results = new Array[ProperPropertyComputationResult](2 * states.length)
+        parForeachArrayElement(states.indices.toArray, parallelizationLevel) { index =>
+            val state = states(index)
+            val method = state.method
+            val context = simpleContexts(method)
+
+            var callers: Callers =
+                if (entryPointIds.contains(method.id)) OnlyCallersWithUnknownContext else NoCallers
+            var edge = callerOffsets(method.id)
+            val edgesEnd = callerOffsets(method.id + 1)
+            while (edge < edgesEnd) {
+                val callerContext = simpleContexts(declaredMethods(callerIds(edge)))
+                callers = callers.updated(context, callerContext, callerPCs(edge), isDirect = true)
+                edge += 1
+            }
+            results(2 * index) = Result(method, callers)
+
+            if (state.hasCalleesResult) {
+                val callees =
+                    if (state.callees.isEmpty && state.incompleteCallSites.isEmpty) NoCallees
+                    else NoCallees.updateWithCallees(
+                        context,
+                        state.callees,
+                        IntMap.empty,
+                        state.incompleteCallSites,
+                        IntMap.empty,
+                        IntMap.empty
+                    )
+                results(2 * index + 1) = Result(method, callees)
+            }
+        }
+        results.filter(_ ne null)
+    }
+
+    private[this] def instantiate(tpe: ReferenceType): Unit = {
+        val isNew =
+            if (tpe.isObjectType) instantiatedObjectTypes.add(tpe.id)
+            else instantiatedArrayTypes.add(tpe.asArrayType)
+        if (isNew)
+            newInstantiatedTypes.add(tpe)
+    }
+
+    /**
+     * Marks the declaring type of the called constructor as instantiated unless the constructor
+     * is called by a constructor of a direct subtype that does not instantiate the type
+     * explicitly (see [[org.opalj.tac.fpcf.analyses.cg.rta.InstantiatedTypesAnalysis]]).
+     *
+     * @param caller The calling method or `null` if the constructor is called from an unknown
+     *               context.
+     */
+    private[this] def handleConstructorCall(
+        caller:      DeclaredMethod,
+        constructor: DeclaredMethod
+    ): Unit = {
+        val declaredType = constructor.declaringClassType
+        if (instantiatedObjectTypes.contains(declaredType.id))
+            return ;
+
+        // abstract classes can never be instantiated
+        val cfOpt = project.classFile(declaredType)
+        if (cfOpt.isDefined && cfOpt.get.isAbstract)
+            return ;
+
+        val isInstantiation =
+            (caller eq null) ||
+                caller.name != "<init>" ||
+                !caller.hasSingleDefinedMethod ||
+                project.classFile(caller.declaringClassType).exists {
+                    _.superclassType.exists(_ != declaredType)
+                } || {
+                    val newInstr = NEW(declaredType)
+                    caller.definedMethod.body.get.exists(pcInst => pcInst.instruction == newInstr)
+                }
+
+        if (isInstantiation)
+            instantiate(declaredType)
+    }
+
+    private[this] def addCall(state: MethodState, pc: Int, callee: DeclaredMethod): Unit = {
+        val oldCalleesAtPC = state.callees.getOrElse(pc, IntTrieSet.empty)
+        val newCalleesAtPC = oldCalleesAtPC + callee.id
+        // here we assert that IntSet returns the identity if the element is already contained
+        if (newCalleesAtPC ne oldCalleesAtPC) {
+            state.callees = state.callees.updated(pc, newCalleesAtPC)
+            if (reachableMethods.add(callee.id))
+                newReachableMethods.add(callee)
+            if (isRTA && callee.name == "<init>")
+                handleConstructorCall(state.method, callee)
+        }
+    }
+
+    private[this] def processMethod(state: MethodState, types: Array[ReferenceType]): Unit = {
+        val declaredMethod = state.method
+
+        if (isRTA)
+            nativeInstantiatedTypes.get(declaredMethod).foreach(_.foreach(instantiate))
+
+        if (!declaredMethod.hasSingleDefinedMethod) {
+            state.hasCalleesResult = true
+            return ;
+        }
+
+        val method = declaredMethod.definedMethod
+
+        // we only allow defined methods with declared type eq. to the class of the method
+        if (method.classFile.thisType != declaredMethod.declaringClassType)
+            return ;
+
+        state.hasCalleesResult = true
+
+        // happens in particular for native methods
+        if (method.body.isEmpty)
+            return ;
+
+        val aiResult = L0BaseAIResultAnalysis.performAI(method)
+        val tac = computeTheTACAI(method, aiResult, detachFromAIResult = true).theTAC
+        val callerType = declaredMethod.declaringClassType
+
+        tac.stmts.foreach {
+            case stmt @ StaticFunctionCallStatement(call) =>
+                handleCall(
+                    state,
+                    call.name,
+                    call.descriptor,
+                    call.declaringClass,
+                    isStatic = true,
+                    call.declaringClass,
+                    stmt.pc,
+                    call.resolveCallTarget(callerType)
+                )
+
+            case call: StaticMethodCall[V] =>
+                handleCall(
+                    state,
+                    call.name,
+                    call.descriptor,
+                    call.declaringClass,
+                    isStatic = true,
+                    call.declaringClass,
+                    call.pc,
+                    call.resolveCallTarget(callerType)
+                )
+
+            case stmt @ NonVirtualFunctionCallStatement(call) =>
+                handleCall(
+                    state,
+                    call.name,
+                    call.descriptor,
+                    call.declaringClass,
+                    isStatic = false,
+                    call.declaringClass,
+                    stmt.pc,
+                    call.resolveCallTarget(callerType)
+                )
+
+            case call: NonVirtualMethodCall[V] =>
+                handleCall(
+                    state,
+                    call.name,
+                    call.descriptor,
+                    call.declaringClass,
+                    isStatic = false,
+                    call.declaringClass,
+                    call.pc,
+                    call.resolveCallTarget(callerType)
+                )
+
+            case VirtualFunctionCallStatement(call) =>
+                handleVirtualCall(state, call, call.pc, types)
+
+            case call: VirtualMethodCall[V] =>
+                handleVirtualCall(state, call, call.pc, types)
+
+            case Assignment(_, _, idc: InvokedynamicFunctionCall[V]) =>
+                state.incompleteCallSites += idc.pc
+                logOnce(
+                    Warn("analysis - call graph construction", s"unresolved invokedynamic: $idc")
+                )
+
+            case ExprStmt(_, idc: InvokedynamicFunctionCall[V]) =>
+                state.incompleteCallSites += idc.pc
+                logOnce(
+                    Warn("analysis - call graph construction", s"unresolved invokedynamic: $idc")
+                )
+
+            case idc: InvokedynamicMethodCall[_] =>
+                state.incompleteCallSites += idc.pc
+                logOnce(
+                    Warn("analysis - call graph construction", s"unresolved invokedynamic: $idc")
+                )
+
+            case _ => //nothing to do
+        }
+    }
+
+    private[this] def handleVirtualCall(
+        state: MethodState,
+        call:  Call[V] with VirtualCall[V],
+        pc:    Int,
+        types: Array[ReferenceType]
+    ): Unit = {
+        val receiver = call.receiver.asVar
+        val rvs = receiver.value.asReferenceValue.allValues
+        var hasReceiver = false
+        var isPrecise = true
+        for (rv <- rvs) rv match {
+            case _: IsSArrayValue =>
+                hasReceiver = true
+
+            case ov: IsSObjectValue =>
+                hasReceiver = true
+                if (!ov.isPrecise) {
+                    isPrecise = false
+                    handleUnknownSubtypes(state, call, pc, ov.theUpperTypeBound)
+                }
+
+            case _: IsMObjectValue =>
+                hasReceiver = true
+                isPrecise = false
+                handleUnknownSubtypes(state, call, pc, call.declaringClass)
+
+            case _: IsNullValue =>
+            // TODO: do not ignore the implicit calls to NullPointerException.<init>
+        }
+
+        if (!hasReceiver)
+            return ;
+
+        val cbsTargets: Set[ReferenceType] =
+            if (!isPrecise && resolveCallBySignature && call.isInterface &&
+                call.declaringClass.isObjectType) {
+                val cf = project.classFile(call.declaringClass.asObjectType)
+                cf.flatMap { _.findMethod(call.name, call.descriptor) }.map {
+                    getCBSTargets(_).toSet[ReferenceType]
+                }.getOrElse(Set.empty)
+            } else Set.empty
+
+        val callSite = new VirtualCallSite(
+            pc, call.name, call.descriptor, call.declaringClass, receiver, cbsTargets
+        )
+
+        if (isRTA) {
+            // The instantiated types do not track array types, we just assume them to be instantiated
+            rvs.foreach {
+                case av: IsSArrayValue => dispatch(state, callSite, av.theUpperTypeBound)
+                case _                 =>
+            }
+            dispatchToTypes(state, callSite, types)
+            state.virtualCallSites ::= callSite
+        } else {
+            typeProvider.asInstanceOf[CHATypeProvider].foreachType(receiver, null, cbsTargets) {
+                dispatch(state, callSite, _)
+            }
+        }
+    }
+
+    private[this] def dispatchToTypes(
+        state:    MethodState,
+        callSite: VirtualCallSite,
+        types:    Array[ReferenceType]
+    ): Unit = {
+        var i = 0
+        while (i < types.length) {
+            val tpe = types(i)
+            if (typeProvider.isPossibleType(callSite.receiver, tpe) || callSite.cbsTargets.contains(tpe))
+                dispatch(state, callSite, tpe)
+            i += 1
+        }
+    }
+
+    private[this] def dispatch(
+        state:    MethodState,
+        callSite: VirtualCallSite,
+        tpe:      ReferenceType
+    ): Unit = {
+        val tgtR = project.instanceCall(
+            state.method.declaringClassType, tpe, callSite.name, callSite.descriptor
+        )
+        handleCall(
+            state,
+            callSite.name,
+            callSite.descriptor,
+            callSite.declaringClass,
+            isStatic = false,
+            tpe,
+            callSite.pc,
+            tgtR
+        )
+    }
+
+    // Deal with the fact that there may be unknown subtypes of the receiver type that might
+    // override the method
+    private[this] def handleUnknownSubtypes(
+        state:                         MethodState,
+        call:                          Call[V] with VirtualCall[V],
+        pc:                            Int,
+        specializedDeclaringClassType: ReferenceType
+    ): Unit = {
+        if (specializedDeclaringClassType.isObjectType) {
+            val declType = specializedDeclaringClassType.asObjectType
+
+            val mResult = if (classHierarchy.isInterface(declType).isYes)
+                org.opalj.Result(project.resolveInterfaceMethodReference(
+                    declType, call.name, call.descriptor
+                ))
+            else
+                org.opalj.Result(project.resolveMethodReference(
+                    declType,
+                    call.name,
+                    call.descriptor,
+                    forceLookupInSuperinterfacesOnFailure = true
+                ))
+
+            if (mResult.isEmpty) {
+                unknownLibraryCall(
+                    state,
+                    call.name,
+                    call.descriptor,
+                    call.declaringClass,
+                    isStatic = false,
+                    declType,
+                    pc
+                )
+            } else if (isMethodOverridable(mResult.value).isYesOrUnknown) {
+                state.incompleteCallSites += pc
+            }
+        }
+    }
+
+    private[this] def handleCall(
+        state:              MethodState,
+        callName:           String,
+        callDescriptor:     MethodDescriptor,
+        callDeclaringClass: ReferenceType,
+        isStatic:           Boolean,
+        receiverType:       ReferenceType,
+        pc:                 Int,
+        target:             org.opalj.Result[Method]
+    ): Unit = {
+        if (target.hasValue)
+            addCall(state, pc, declaredMethods(target.value))
+        else
+            unknownLibraryCall(
+                state, callName, callDescriptor, callDeclaringClass, isStatic, receiverType, pc
+            )
+    }
+
+    private[this] def unknownLibraryCall(
+        state:               MethodState,
+        callName:            String,
+        callDescriptor:      MethodDescriptor,
+        callDeclaringClass:  ReferenceType,
+        isStatic:            Boolean,
+        runtimeReceiverType: ReferenceType,
+        pc:                  Int
+    ): Unit = {
+        val declaringClassType = callDeclaringClass.mostPreciseObjectType
+        val runtimeType = runtimeReceiverType.mostPreciseObjectType
+        val packageName = state.method.definedMethod.classFile.thisType.packageName
+
+        val declTgt = declaredMethods.apply(
+            declaringClassType,
+            packageName,
+            runtimeType,
+            callName,
+            callDescriptor
+        )
+
+        if (declTgt.hasSingleDefinedMethod) {
+            if (declTgt.definedMethod.isStatic == isStatic)
+                addCall(state, pc, declTgt)
+        } else if (declTgt.isVirtualOrHasSingleDefinedMethod) {
+            addCall(state, pc, declTgt)
+        } else {
+            declTgt.definedMethods foreach { m =>
+                if (m.isStatic == isStatic)
+                    addCall(state, pc, declaredMethods(m))
+            }
+        }
+
+        state.incompleteCallSites += pc
+    }
+}
+
+/**
+ * A set of non-negative ints that can be updated concurrently. The set is organized in lazily
+ * allocated segments of 2^16 bits each, i.e., it can grow while it is being updated.
+ */
+private[cg] final class AtomicBitSet {
+
+    private[this] val segments = new AtomicReferenceArray[AtomicLongArray](1 << 15)
+
+    private[this] def segment(i: Int): AtomicLongArray = {
+        val index = i >>> 16
+        val segment = segments.get(index)
+        if (segment ne null)
+            segment
+        else {
+            val newSegment = new AtomicLongArray(1 << 10)
+            if (segments.compareAndSet(index, null, newSegment)) newSegment
+            else segments.get(index)
+        }
+    }
+
+    /**
+     * Adds the given value to the set; returns `true` if the value was not contained before, i.e.,
+     * if this call added the value.
+     */
+    def add(i: Int): Boolean = {
+        val segment = this.segment(i)
+        val word = (i >>> 6) & 1023
+        val mask = 1L << i
+        var oldBits = segment.get(word)
+        while ((oldBits & mask) == 0L) {
+            if (segment.compareAndSet(word, oldBits, oldBits | mask))
+                return true;
+            oldBits = segment.get(word)
+        }
+        false
+    }
+
+    def contains(i: Int): Boolean = {
+        val segment = segments.get(i >>> 16)
+        (segment ne null) && (segment.get((i >>> 6) & 1023) & (1L << i)) != 0L
+    }
+}
+
+sealed trait BulkSynchronousCallGraphAnalysisScheduler extends BasicFPCFEagerAnalysisScheduler {
+
+    protected[this] def isRTA: Boolean
+
+    override def requiredProjectInformation: ProjectInformationKeys = Seq(
+        DeclaredMethodsKey,
+        SimpleContextsKey,
+        InitialEntryPointsKey,
+        IsOverridableMethodKey,
+        AIDomainFactoryKey,
+        TypeProviderKey
+    ) ++ (if (isRTA) Seq(InitialInstantiatedTypesKey) else Seq.empty)
+
+    override def start(p: SomeProject, ps: PropertyStore, i: Null): FPCFAnalysis = {
+        val analysis =
+            new BulkSynchronousCallGraphAnalysis(p, isRTA, NumberOfThreadsForCPUBoundTasks)
+        ps.scheduleEagerComputationForEntity(p)(analysis.analyze)
+        analysis
+    }
+
+    override def uses: Set[PropertyBounds] = Set.empty
+
+    override def derivesEagerly: Set[PropertyBounds] =
+        if (isRTA) PropertyBounds.finalPs(Callees, Callers, InstantiatedTypes)
+        else PropertyBounds.finalPs(Callees, Callers)
+
+    override def derivesCollaboratively: Set[PropertyBounds] = Set.empty
+}
+
+/**
+ * Schedules the [[BulkSynchronousCallGraphAnalysis]] to compute a CHA call graph.
+ */
+object BulkSynchronousCHACallGraphAnalysisScheduler
+    extends BulkSynchronousCallGraphAnalysisScheduler {
+
+    override protected[this] val isRTA: Boolean = false
+}
+
+/**
+ * Schedules the [[BulkSynchronousCallGraphAnalysis]] to compute an RTA call graph.
+ */
+object BulkSynchronousRTACallGraphAnalysisScheduler
+    extends BulkSynchronousCallGraphAnalysisScheduler {
+
+    override protected[this] val isRTA: Boolean = true
+}
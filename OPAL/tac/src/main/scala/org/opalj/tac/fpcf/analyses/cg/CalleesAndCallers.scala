@@ -24,7 +24,7 @@ import org.opalj.br.fpcf.properties.Context
 import org.opalj.tac.fpcf.properties.cg.Callees
 import org.opalj.tac.fpcf.properties.cg.Callers
 import org.opalj.tac.fpcf.properties.cg.CallersOnlyWithConcreteCallers
-import org.opalj.tac.fpcf.properties.cg.ConcreteCallees
+import org.opalj.tac.fpcf.properties.cg.CompactCallees
 import org.opalj.tac.fpcf.properties.cg.NoCallees
 import org.opalj.tac.fpcf.properties.cg.OnlyVMLevelCallers
 
@@ -84,7 +84,7 @@ sealed trait CalleesAndCallers {
             case _: EPK[_, _] =>
                 Some(InterimEUBP(
                     callerContext.method,
-                    ConcreteCallees(
+                    CompactCallees(
                         callerContext,
                         directCallees, indirectCallees,
                         incompleteCallSites,
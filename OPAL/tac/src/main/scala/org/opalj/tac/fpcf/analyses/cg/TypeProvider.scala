@@ -148,6 +148,22 @@ abstract class TypeProvider(val project: SomeProject) {
         additionalTypes: Set[ReferenceType] = Set.empty
     )(
         handleAllocation: (ReferenceType, Context, Int) => Unit
+    ): Unit = {
+        foreachLocalAllocation(use, context, stmts)(handleAllocation)
+    }
+
+    /**
+     * Handles the allocations that are local to the given method, i.e., the allocations and
+     * constants that directly define the given use. All other definitions are reported as a single
+     * allocation with [[org.opalj.br.fpcf.properties.NoContext]].
+     * Does not require any type information and thus never introduces dependencies.
+     */
+    final def foreachLocalAllocation(
+        use:     V,
+        context: Context,
+        stmts:   Array[Stmt[V]]
+    )(
+        handleAllocation: (ReferenceType, Context, Int) => Unit
     ): Unit = {
         var hasUnknownAllocation = false
         use.definedBy.foreach { index =>
@@ -38,6 +38,13 @@ trait TypeProviderState extends AnalysisState {
         mutable.Map.empty
     }
 
+    /**
+     * If `true`, allocation sites are only resolved from the definition sites local to the
+     * analyzed method (see [[TypeProvider.foreachLocalAllocation]]), i.e., without introducing
+     * dependencies to type information.
+     */
+    def resolvesAllocationsLocally: Boolean = false
+
     final def addDependency(
         depender: Entity,
         dependee: EOptionP[Entity, Property]
@@ -0,0 +1,35 @@
+/* BSD 2-Clause License - see OPAL/LICENSE for details. */
+package org.opalj
+package tac
+package fpcf
+package analyses
+package cg
+package reflection
+
+import java.util.concurrent.ConcurrentHashMap
+
+import org.opalj.br.Method
+import org.opalj.br.ReferenceType
+import org.opalj.br.analyses.ProjectInformationKey
+import org.opalj.br.analyses.ProjectInformationKeys
+import org.opalj.br.analyses.SomeProject
+
+/**
+ * The [[org.opalj.br.analyses.ProjectInformationKey]] to retrieve the cache of the types that
+ * have been resolved for `Class.forName` (see [[TypesUtil]]). The cache maps the definition site
+ * of a String constant (the method and the pc of the defining instruction) to the array type or
+ * the object type with the respective name, or to `None` if the project does not contain a class
+ * file for it. Hence, the cache is bounded by the number of String constants that are passed to
+ * `Class.forName`.
+ */
+object ForNameTypesKey
+    extends ProjectInformationKey[ConcurrentHashMap[(Method, Int), Option[ReferenceType]], Nothing] {
+
+    override def requirements(project: SomeProject): ProjectInformationKeys = Seq.empty
+
+    override def compute(
+        project: SomeProject
+    ): ConcurrentHashMap[(Method, Int), Option[ReferenceType]] = {
+        new ConcurrentHashMap
+    }
+}
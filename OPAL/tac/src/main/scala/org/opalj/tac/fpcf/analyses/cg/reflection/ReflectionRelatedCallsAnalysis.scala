@@ -7,8 +7,13 @@ package cg
 package reflection
 
 import scala.language.existentials
+
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.LongAdder
+
 import org.opalj.log.Error
 import org.opalj.log.Info
+import org.opalj.log.OPALLogger
 import org.opalj.log.OPALLogger.logOnce
 import org.opalj.collection.immutable.IntTrieSet
 import org.opalj.collection.immutable.UIDSet
@@ -54,6 +59,7 @@ import org.opalj.tac.fpcf.properties.TACAI
 import org.opalj.tac.fpcf.properties.TheTACAI
 
 import scala.collection.immutable.ArraySeq
+import scala.jdk.CollectionConverters._
 
 sealed trait ReflectionAnalysis extends TACAIBasedAPIBasedAnalysis {
 
@@ -77,6 +83,100 @@ sealed trait ReflectionAnalysis extends TACAIBasedAPIBasedAnalysis {
         activated
     }
 
+    /**
+     * If `true` (performance mode), the arguments of reflective calls are only resolved from the
+     * method containing the call site, i.e., without depending on points-to or type information.
+     */
+    final val ResolvesAllocationsLocally: Boolean = {
+        val mode = try {
+            project.config.getString(ReflectionRelatedCallsAnalysis.ModeConfigKey)
+        } catch {
+            case t: Throwable =>
+                logOnce(Error(
+                    "analysis configuration - reflection analysis",
+                    s"couldn't read: ${ReflectionRelatedCallsAnalysis.ModeConfigKey}",
+                    t
+                ))
+                "precision"
+        }
+
+        logOnce(Info(
+            "analysis configuration",
+            s"reflection analysis uses $mode mode"
+        ))
+        mode == "performance"
+    }
+
+    /**
+     * The maximum number of continuations per call site; if the budget is exceeded, the call site
+     * is marked as incomplete. `0` means that the number of continuations is not limited.
+     */
+    final val CallSiteBudget: Int = {
+        try {
+            project.config.getInt(ReflectionRelatedCallsAnalysis.CallSiteBudgetConfigKey)
+        } catch {
+            case t: Throwable =>
+                logOnce(Error(
+                    "analysis configuration - reflection analysis",
+                    s"couldn't read: ${ReflectionRelatedCallsAnalysis.CallSiteBudgetConfigKey}",
+                    t
+                ))
+                0
+        }
+    }
+
+    final val ContinuationMetrics: Option[ConcurrentHashMap[(DeclaredMethod, Int), LongAdder]] = {
+        val activated = try {
+            project.config.getBoolean(ReflectionRelatedCallsAnalysis.ContinuationMetricsConfigKey)
+        } catch {
+            case t: Throwable =>
+                logOnce(Error(
+                    "analysis configuration - reflection analysis",
+                    s"couldn't read: ${ReflectionRelatedCallsAnalysis.ContinuationMetricsConfigKey}",
+                    t
+                ))
+                false
+        }
+        if (activated) Some(new ConcurrentHashMap) else None
+    }
+
+    def newState(
+        callContext: ContextType,
+        callPC:      Int,
+        tac:         TACode[TACMethodParameter, V]
+    ): ReflectionState[ContextType] = {
+        new ReflectionState[ContextType](
+            callContext,
+            FinalEP(callContext.method.definedMethod, TheTACAI(tac)),
+            callPC,
+            ResolvesAllocationsLocally
+        )
+    }
+
+    /**
+     * Registers a continuation for the call site of the given state. If this exceeds the
+     * [[CallSiteBudget]], the call site is handled by the given failure handler, i.e., as in the
+     * case of unknown arguments (using the high soundness mode if it is activated), and all
+     * dependencies of the state are abandoned.
+     */
+    def exceedsCallSiteBudget(
+        state: ReflectionState[ContextType]
+    )(failure: => Unit): Boolean = {
+        val continuations = state.countContinuation()
+        if (ContinuationMetrics.isDefined) {
+            ContinuationMetrics.get.computeIfAbsent(
+                (state.callContext.method, state.callPC), _ => new LongAdder
+            ).increment()
+        }
+        if (CallSiteBudget > 0 && continuations > CallSiteBudget) {
+            failure
+            state.abandonDependencies()
+            true
+        } else {
+            false
+        }
+    }
+
     def constructorReceiver(pc: Int)(constructor: Method): Some[(ValueInformation, IntTrieSet)] = {
         Some((
             ASObjectValue(isNull = No, isPrecise = false, constructor.classFile.thisType),
@@ -111,8 +211,9 @@ class ClassForNameAnalysis private[analyses] (
     private class State(
             val stmts:       Array[Stmt[V]],
             loadedClassesUB: UIDSet[ObjectType],
-            callContext:     ContextType
-    ) extends CGState[ContextType](callContext, null) {
+            callContext:     ContextType,
+            callPC:          Int
+    ) extends ReflectionState[ContextType](callContext, null, callPC, ResolvesAllocationsLocally) {
         private[this] var _loadedClassesUB: UIDSet[ObjectType] = loadedClassesUB
         private[this] var _newLoadedClasses: UIDSet[ObjectType] = UIDSet.empty
 
@@ -159,7 +260,7 @@ class ClassForNameAnalysis private[analyses] (
         isDirect:        Boolean
     ): ProperPropertyComputationResult = {
         implicit val incompleteCallSites: IncompleteCallSites = new IncompleteCallSites {}
-        implicit val state: State = new State(tac.stmts, loadedClassesUB(), callerContext)
+        implicit val state: State = new State(tac.stmts, loadedClassesUB(), callerContext, callPC)
 
         val className = if (params.nonEmpty) params(classNameIndex) else None
 
@@ -229,12 +330,16 @@ class ClassForNameAnalysis private[analyses] (
         implicit val incompleteCallSites: IncompleteCallSites = new IncompleteCallSites {}
         implicit val _state: State = state
 
+        if (exceedsCallSiteBudget(state)(failure(state.callPC)))
+            return returnResult(className, incompleteCallSites);
+
         AllocationsUtil.continuationForAllocation[Int, ContextType](
             eps, state.callContext, _ => (className, state.stmts),
             _.isInstanceOf[Int], callPC => failure(callPC)
-        ) { (callPC, _, allocationIndex, stmts) =>
+        ) { (callPC, allocationContext, allocationIndex, stmts) =>
                 val classOpt = TypesUtil.getPossibleForNameClass(
-                    allocationIndex, stmts, project, onlyObjectTypes = false
+                    allocationContext.method.definedMethod, allocationIndex, stmts, project,
+                    onlyObjectTypes = false
                 )
                 if (classOpt.isDefined) state.addNewLoadedClasses(classOpt)
                 else failure(callPC)
@@ -284,9 +389,7 @@ class ClassNewInstanceAnalysis private[analyses] (
         isDirect:        Boolean
     ): ProperPropertyComputationResult = {
         implicit val indirectCalls: IndirectCalls = new IndirectCalls()
-        implicit val state: CGState[ContextType] = new CGState[ContextType](
-            callerContext, FinalEP(callerContext.method.definedMethod, TheTACAI(tac))
-        )
+        implicit val state: ReflectionState[ContextType] = newState(callerContext, callPC, tac)
 
         if (receiverOption.isDefined) {
             handleNewInstance(callerContext, callPC, receiverOption.get.asVar, tac.stmts)
@@ -299,7 +402,7 @@ class ClassNewInstanceAnalysis private[analyses] (
 
     def returnResult(
         classRef: V, indirectCalls: IndirectCalls
-    )(implicit state: CGState[ContextType]): ProperPropertyComputationResult = {
+    )(implicit state: ReflectionState[ContextType]): ProperPropertyComputationResult = {
         val results = indirectCalls.partialResults(state.callContext)
         if (state.hasOpenDependencies)
             Results(
@@ -311,10 +414,13 @@ class ClassNewInstanceAnalysis private[analyses] (
     }
 
     private[this] def c(
-        classRef: V, state: CGState[ContextType]
+        classRef: V, state: ReflectionState[ContextType]
     )(eps: SomeEPS): ProperPropertyComputationResult = {
         implicit val indirectCalls: IndirectCalls = new IndirectCalls()
-        implicit val _state: CGState[ContextType] = state
+        implicit val _state: ReflectionState[ContextType] = state
+
+        if (exceedsCallSiteBudget(state)(failure(state.callPC)))
+            return returnResult(classRef, indirectCalls);
 
         AllocationsUtil.continuationForAllocation[Int, ContextType](
             eps, state.callContext, _ => (classRef, state.tac.stmts),
@@ -341,9 +447,10 @@ class ClassNewInstanceAnalysis private[analyses] (
         AllocationsUtil.continuationForAllocation[(Int, V), ContextType](
             eps, state.callContext, data => (data._2, state.tac.stmts),
             _.isInstanceOf[(_, _)], data => failure(data._1)
-        ) { (data, _, allocationIndex, stmts) =>
+        ) { (data, allocationContext, allocationIndex, stmts) =>
                 val classOpt = TypesUtil.getPossibleForNameClass(
-                    allocationIndex, stmts, project, onlyObjectTypes = true
+                    allocationContext.method.definedMethod, allocationIndex, stmts, project,
+                    onlyObjectTypes = true
                 )
 
                 val matchers = Set(
@@ -373,7 +480,7 @@ class ClassNewInstanceAnalysis private[analyses] (
         callPC:      Int,
         classExpr:   V,
         stmts:       Array[Stmt[V]]
-    )(implicit indirectCalls: IndirectCalls, state: CGState[ContextType]): Unit = {
+    )(implicit indirectCalls: IndirectCalls, state: ReflectionState[ContextType]): Unit = {
 
         val matchers = Set(
             MatcherUtil.constructorMatcher,
@@ -396,7 +503,7 @@ class ClassNewInstanceAnalysis private[analyses] (
 
     private[this] def failure(
         callPC: Int
-    )(implicit indirectCalls: IndirectCalls, state: CGState[ContextType]): Unit = {
+    )(implicit indirectCalls: IndirectCalls, state: ReflectionState[ContextType]): Unit = {
         if (HighSoundnessMode) {
             val matchers: Set[MethodMatcher] = Set(
                 MatcherUtil.constructorMatcher,
@@ -435,9 +542,7 @@ class ConstructorNewInstanceAnalysis private[analyses] (
     ): ProperPropertyComputationResult = {
         implicit val indirectCalls: IndirectCalls = new IndirectCalls()
 
-        implicit val state: CGState[ContextType] = new CGState[ContextType](
-            callerContext, FinalEP(callerContext.method.definedMethod, TheTACAI(tac))
-        )
+        implicit val state: ReflectionState[ContextType] = newState(callerContext, callPC, tac)
 
         if (receiverOption.isDefined) {
             handleConstructorNewInstance(
@@ -452,7 +557,7 @@ class ConstructorNewInstanceAnalysis private[analyses] (
 
     def returnResult(
         constructor: V, indirectCalls: IndirectCalls
-    )(implicit state: CGState[ContextType]): ProperPropertyComputationResult = {
+    )(implicit state: ReflectionState[ContextType]): ProperPropertyComputationResult = {
         val results = indirectCalls.partialResults(state.callContext)
         if (state.hasOpenDependencies)
             Results(
@@ -466,9 +571,14 @@ class ConstructorNewInstanceAnalysis private[analyses] (
     private type constructorDependerType = (Int, Seq[Option[(ValueInformation, IntTrieSet)]], Set[MethodMatcher])
     private type classDependerType = (Int, Seq[Option[(ValueInformation, IntTrieSet)]], Set[MethodMatcher], V, Array[Stmt[V]])
 
-    def c(constructor: V, state: CGState[ContextType])(eps: SomeEPS): ProperPropertyComputationResult = {
+    def c(constructor: V, state: ReflectionState[ContextType])(eps: SomeEPS): ProperPropertyComputationResult = {
         implicit val indirectCalls: IndirectCalls = new IndirectCalls()
-        implicit val _state: CGState[ContextType] = state
+        implicit val _state: ReflectionState[ContextType] = state
+
+        if (exceedsCallSiteBudget(state)(
+            failure(state.callPC, Set(MatcherUtil.constructorMatcher))
+        ))
+            return returnResult(constructor, indirectCalls);
 
         AllocationsUtil.continuationForAllocation[constructorDependerType, ContextType](
             eps, state.callContext, _ => (constructor, state.tac.stmts),
@@ -510,9 +620,10 @@ class ConstructorNewInstanceAnalysis private[analyses] (
         AllocationsUtil.continuationForAllocation[(classDependerType, V), ContextType](
             eps, state.callContext, data => (data._2, data._1._5),
             _.isInstanceOf[(_, _)], data => failure(data._1._1, data._1._3)
-        ) { (data, _, allocationIndex, stmts) =>
+        ) { (data, allocationContext, allocationIndex, stmts) =>
                 val classOpt = TypesUtil.getPossibleForNameClass(
-                    allocationIndex, stmts, project, onlyObjectTypes = true
+                    allocationContext.method.definedMethod, allocationIndex, stmts, project,
+                    onlyObjectTypes = true
                 )
 
                 val matchers = data._1._3 +
@@ -544,7 +655,7 @@ class ConstructorNewInstanceAnalysis private[analyses] (
         constructor:       V,
         newInstanceParams: Seq[Option[Expr[V]]],
         stmts:             Array[Stmt[V]]
-    )(implicit state: CGState[ContextType], indirectCalls: IndirectCalls): Unit = {
+    )(implicit state: ReflectionState[ContextType], indirectCalls: IndirectCalls): Unit = {
 
         val actualParamsNewInstanceOpt =
             if (newInstanceParams.nonEmpty && newInstanceParams.head.isDefined)
@@ -595,7 +706,7 @@ class ConstructorNewInstanceAnalysis private[analyses] (
         actualParams:       Seq[Option[(ValueInformation, IntTrieSet)]],
         baseMatchers:       Set[MethodMatcher],
         stmts:              Array[Stmt[V]]
-    )(implicit indirectCalls: IndirectCalls, state: CGState[ContextType]): Set[MethodMatcher] = {
+    )(implicit indirectCalls: IndirectCalls, state: ReflectionState[ContextType]): Set[MethodMatcher] = {
         var matchers = baseMatchers
         stmts(constructorDefSite).asAssignment.expr match {
             case call @ VirtualFunctionCall(_, ObjectType.Class, _, "getConstructor" | "getDeclaredConstructor", _, receiver, params) =>
@@ -639,7 +750,7 @@ class ConstructorNewInstanceAnalysis private[analyses] (
 
     private[this] def failure(
         callPC: Int, baseMatchers: Set[MethodMatcher]
-    )(implicit indirectCalls: IndirectCalls, state: CGState[ContextType]): Unit = {
+    )(implicit indirectCalls: IndirectCalls, state: ReflectionState[ContextType]): Unit = {
         if (HighSoundnessMode) {
             addCalls(
                 state.callContext, callPC,
@@ -678,9 +789,7 @@ class MethodInvokeAnalysis private[analyses] (
     ): ProperPropertyComputationResult = {
         implicit val indirectCalls: IndirectCalls = new IndirectCalls()
 
-        implicit val state: CGState[ContextType] = new CGState[ContextType](
-            callerContext, FinalEP(callerContext.method.definedMethod, TheTACAI(tac))
-        )
+        implicit val state: ReflectionState[ContextType] = newState(callerContext, callPC, tac)
 
         if (receiverOption.isDefined) {
             handleMethodInvoke(callerContext, callPC, receiverOption.get.asVar, params, tac.stmts)
@@ -693,7 +802,7 @@ class MethodInvokeAnalysis private[analyses] (
 
     def returnResult(
         methodVar: V, indirectCalls: IndirectCalls
-    )(implicit state: CGState[ContextType]): ProperPropertyComputationResult = {
+    )(implicit state: ReflectionState[ContextType]): ProperPropertyComputationResult = {
         val results = indirectCalls.partialResults(state.callContext)
         if (state.hasOpenDependencies)
             Results(
@@ -708,9 +817,14 @@ class MethodInvokeAnalysis private[analyses] (
     private type nameDependerType = (Int, Option[(ValueInformation, IntTrieSet)], Seq[Option[(ValueInformation, IntTrieSet)]], Set[MethodMatcher], V, Array[Stmt[V]], V, ContextType)
     private type classDependerType = (Int, Option[(ValueInformation, IntTrieSet)], Seq[Option[(ValueInformation, IntTrieSet)]], Set[MethodMatcher], V, Array[Stmt[V]])
 
-    def c(methodVar: V, state: CGState[ContextType])(eps: SomeEPS): ProperPropertyComputationResult = {
+    def c(methodVar: V, state: ReflectionState[ContextType])(eps: SomeEPS): ProperPropertyComputationResult = {
         implicit val indirectCalls: IndirectCalls = new IndirectCalls()
-        implicit val _state: CGState[ContextType] = state
+        implicit val _state: ReflectionState[ContextType] = state
+
+        if (exceedsCallSiteBudget(state)(
+            failure(state.callPC, state.actualReceiver, state.actualParams, Set.empty)
+        ))
+            return returnResult(methodVar, indirectCalls);
 
         AllocationsUtil.continuationForAllocation[methodDependerType, ContextType](
             eps, state.callContext, _ => (methodVar, state.tac.stmts),
@@ -778,9 +892,10 @@ class MethodInvokeAnalysis private[analyses] (
         AllocationsUtil.continuationForAllocation[(classDependerType, V), ContextType](
             eps, state.callContext, data => (data._2, data._1._6),
             _.isInstanceOf[(_, _)], data => failure(data._1._1, data._1._2, data._1._3, data._1._4)
-        ) { (data, _, allocationIndex, stmts) =>
+        ) { (data, allocationContext, allocationIndex, stmts) =>
                 val classOpt = TypesUtil.getPossibleForNameClass(
-                    allocationIndex, stmts, project, onlyObjectTypes = false
+                    allocationContext.method.definedMethod, allocationIndex, stmts, project,
+                    onlyObjectTypes = false
                 )
 
                 val matchers = data._1._4 +
@@ -808,7 +923,7 @@ class MethodInvokeAnalysis private[analyses] (
         method:       V,
         methodParams: Seq[Option[Expr[V]]],
         stmts:        Array[Stmt[V]]
-    )(implicit state: CGState[ContextType], indirectCalls: IndirectCalls): Unit = {
+    )(implicit state: ReflectionState[ContextType], indirectCalls: IndirectCalls): Unit = {
         val (methodInvokeReceiver, methodInvokeActualParamsOpt) = if (methodParams.size == 2) {
             (
                 methodParams.head.map(_.asVar),
@@ -837,6 +952,8 @@ class MethodInvokeAnalysis private[analyses] (
 
         val depender: methodDependerType =
             (callPC, persistentReceiver, persistentActualParams, baseMatchers)
+        state.actualReceiver = persistentReceiver
+        state.actualParams = persistentActualParams
 
         AllocationsUtil.handleAllocations(
             method, callContext, depender, state.tac.stmts, _ eq ObjectType.Method,
@@ -863,7 +980,7 @@ class MethodInvokeAnalysis private[analyses] (
         actualParams:   Seq[Option[(ValueInformation, IntTrieSet)]],
         baseMatchers:   Set[MethodMatcher],
         stmts:          Array[Stmt[V]]
-    )(implicit indirectCalls: IndirectCalls, state: CGState[ContextType]): Set[MethodMatcher] = {
+    )(implicit indirectCalls: IndirectCalls, state: ReflectionState[ContextType]): Set[MethodMatcher] = {
         var matchers = baseMatchers
         stmts(methodDefSite).asAssignment.expr match {
             case call @ VirtualFunctionCall(_, ObjectType.Class, _, "getDeclaredMethod" | "getMethod", _, receiver, params) =>
@@ -928,7 +1045,7 @@ class MethodInvokeAnalysis private[analyses] (
         receiver:     Option[(ValueInformation, IntTrieSet)],
         params:       Seq[Option[(ValueInformation, IntTrieSet)]],
         baseMatchers: Set[MethodMatcher]
-    )(implicit indirectCalls: IndirectCalls, state: CGState[ContextType]): Unit = {
+    )(implicit indirectCalls: IndirectCalls, state: ReflectionState[ContextType]): Unit = {
         if (HighSoundnessMode) {
             addCalls(
                 state.callContext, callPC,
@@ -959,9 +1076,7 @@ class MethodHandleInvokeAnalysis private[analyses] (
     ): ProperPropertyComputationResult = {
         implicit val indirectCalls: IndirectCalls = new IndirectCalls()
 
-        implicit val state: CGState[ContextType] = new CGState[ContextType](
-            callerContext, FinalEP(callerContext.method.definedMethod, TheTACAI(tac))
-        )
+        implicit val state: ReflectionState[ContextType] = newState(callerContext, callPC, tac)
 
         if (receiverOption.isDefined) {
             val descriptorOpt = if (isDirect && apiMethod.name == "invokeExact") {
@@ -990,7 +1105,7 @@ class MethodHandleInvokeAnalysis private[analyses] (
 
     def returnResult(
         methodHandle: V, indirectCalls: IndirectCalls
-    )(implicit state: CGState[ContextType]): ProperPropertyComputationResult = {
+    )(implicit state: ReflectionState[ContextType]): ProperPropertyComputationResult = {
         val results = indirectCalls.partialResults(state.callContext)
         if (state.hasOpenDependencies)
             Results(
@@ -1005,9 +1120,14 @@ class MethodHandleInvokeAnalysis private[analyses] (
     private type nameDependerType = (Int, Boolean, Seq[Option[(ValueInformation, IntTrieSet)]], Set[MethodMatcher], V, Array[Stmt[V]], V, ContextType)
     private type classDependerType = (Int, Boolean, Seq[Option[(ValueInformation, IntTrieSet)]], Set[MethodMatcher], V, Array[Stmt[V]])
 
-    def c(methodHandle: V, state: CGState[ContextType])(eps: SomeEPS): ProperPropertyComputationResult = {
+    def c(methodHandle: V, state: ReflectionState[ContextType])(eps: SomeEPS): ProperPropertyComputationResult = {
         implicit val indirectCalls: IndirectCalls = new IndirectCalls()
-        implicit val _state: CGState[ContextType] = state
+        implicit val _state: ReflectionState[ContextType] = state
+
+        if (exceedsCallSiteBudget(state)(
+            failure(state.callPC, state.actualParams, Set.empty)
+        ))
+            return returnResult(methodHandle, indirectCalls);
 
         AllocationsUtil.continuationForAllocation[methodHandleDependerType, ContextType](
             eps, state.callContext, _ => (methodHandle, state.tac.stmts),
@@ -1076,9 +1196,10 @@ class MethodHandleInvokeAnalysis private[analyses] (
         AllocationsUtil.continuationForAllocation[(classDependerType, V), ContextType](
             eps, state.callContext, data => (data._2, data._1._6),
             _.isInstanceOf[(_, _)], data => failure(data._1._1, data._1._3, data._1._4)
-        ) { (data, _, allocationIndex, stmts) =>
+        ) { (data, allocationContext, allocationIndex, stmts) =>
                 val classOpt = TypesUtil.getPossibleForNameClass(
-                    allocationIndex, stmts, project, onlyObjectTypes = false
+                    allocationContext.method.definedMethod, allocationIndex, stmts, project,
+                    onlyObjectTypes = false
                 ).map { tpe =>
                     if (data._1._2) project.classHierarchy.allSubtypes(tpe.asObjectType, true)
                     else Set(if (tpe.isObjectType) tpe.asObjectType else ObjectType.Object)
@@ -1107,7 +1228,7 @@ class MethodHandleInvokeAnalysis private[analyses] (
         callPC:       Int,
         params:       Seq[Option[(ValueInformation, IntTrieSet)]],
         baseMatchers: Set[MethodMatcher]
-    )(implicit indirectCalls: IndirectCalls, state: CGState[ContextType]): Unit = {
+    )(implicit indirectCalls: IndirectCalls, state: ReflectionState[ContextType]): Unit = {
         if (HighSoundnessMode) {
             addCalls(state.callContext, callPC, baseMatchers + AllMethodsMatcher, params)
         } else {
@@ -1123,7 +1244,7 @@ class MethodHandleInvokeAnalysis private[analyses] (
         descriptorOpt:          Option[MethodDescriptor],
         isSignaturePolymorphic: Boolean,
         stmts:                  Array[Stmt[V]]
-    )(implicit state: CGState[ContextType], indirectCalls: IndirectCalls): Unit = {
+    )(implicit state: ReflectionState[ContextType], indirectCalls: IndirectCalls): Unit = {
         // IMPROVE: for signature polymorphic calls, we could also use the method descriptor (return type)
         val actualInvokeParamsOpt =
             if (isSignaturePolymorphic) Some(invokeParams.map(_.map(_.asVar)))
@@ -1146,6 +1267,7 @@ class MethodHandleInvokeAnalysis private[analyses] (
 
         val depender: methodHandleDependerType =
             (callPC, descriptorOpt, actualInvokeParamsOpt, persistentActualParams, baseMatchers)
+        state.actualParams = persistentActualParams
 
         AllocationsUtil.handleAllocations(
             methodHandle, callContext, depender, state.tac.stmts,
@@ -1176,7 +1298,7 @@ class MethodHandleInvokeAnalysis private[analyses] (
         persistentActualParams: Seq[Option[(ValueInformation, IntTrieSet)]],
         baseMatchers:           Set[MethodMatcher],
         stmts:                  Array[Stmt[V]]
-    )(implicit indirectCalls: IndirectCalls, state: CGState[ContextType]): Set[MethodMatcher] = {
+    )(implicit indirectCalls: IndirectCalls, state: ReflectionState[ContextType]): Set[MethodMatcher] = {
         var matchers = baseMatchers
 
         val definition = stmts(methodHandleDefSite).asAssignment.expr
@@ -1343,6 +1465,24 @@ object ReflectionRelatedCallsAnalysis {
         "org.opalj.fpcf.analyses.cg.reflection.ReflectionRelatedCallsAnalysis.highSoundness"
     }
 
+    final val ModeConfigKey = {
+        "org.opalj.fpcf.analyses.cg.reflection.ReflectionRelatedCallsAnalysis.mode"
+    }
+
+    final val CallSiteBudgetConfigKey = {
+        "org.opalj.fpcf.analyses.cg.reflection.ReflectionRelatedCallsAnalysis.callSiteBudget"
+    }
+
+    final val ContinuationMetricsConfigKey = {
+        "org.opalj.fpcf.analyses.cg.reflection.ReflectionRelatedCallsAnalysis.continuationMetrics"
+    }
+
+    /**
+     * The number of call sites with the most continuations that are reported if the
+     * continuation metrics are collected.
+     */
+    final val ReportedCallSites = 10
+
 }
 
 /**
@@ -1357,10 +1497,10 @@ class ReflectionRelatedCallsAnalysis private[analyses] (
         final val project: SomeProject
 ) extends FPCFAnalysis {
 
-    def process(p: SomeProject): PropertyComputationResult = {
+    private[reflection] val analyses: List[ReflectionAnalysis] = {
         val declaredMethods = project.get(DeclaredMethodsKey)
 
-        val analyses = List(
+        List(
             /*
              * Class.forName
              */
@@ -1465,15 +1605,34 @@ class ReflectionRelatedCallsAnalysis private[analyses] (
                 isSignaturePolymorphic = false
             )
         )
+    }
 
+    def process(p: SomeProject): PropertyComputationResult = {
         Results(analyses.map(_.registerAPIMethod()))
     }
+
+    /**
+     * Returns the call sites of reflective API methods with the most continuations, if the
+     * continuation metrics are collected.
+     */
+    def continuationMetrics: Option[Seq[(DeclaredMethod, Int, DeclaredMethod, Long)]] = {
+        if (analyses.forall(_.ContinuationMetrics.isEmpty)) {
+            None
+        } else {
+            val callSites = for {
+                analysis <- analyses
+                metrics <- analysis.ContinuationMetrics.iterator
+                entry <- metrics.entrySet().iterator().asScala
+            } yield (entry.getKey._1, entry.getKey._2, analysis.apiMethod, entry.getValue.sum())
+            Some(callSites.sortBy(-_._4).take(ReflectionRelatedCallsAnalysis.ReportedCallSites))
+        }
+    }
 }
 
 object ReflectionRelatedCallsAnalysisScheduler extends BasicFPCFEagerAnalysisScheduler {
 
     override def requiredProjectInformation: ProjectInformationKeys =
-        Seq(DeclaredMethodsKey, ProjectIndexKey, TypeProviderKey)
+        Seq(DeclaredMethodsKey, ProjectIndexKey, TypeProviderKey, ForNameTypesKey)
 
     override def uses: Set[PropertyBounds] = PropertyBounds.ubs(
         Callers,
@@ -1498,5 +1657,21 @@ object ReflectionRelatedCallsAnalysisScheduler extends BasicFPCFEagerAnalysisSch
         analysis
     }
 
+    override def afterPhaseCompletion(
+        p:        SomeProject,
+        ps:       PropertyStore,
+        analysis: FPCFAnalysis
+    ): Unit = {
+        analysis.asInstanceOf[ReflectionRelatedCallsAnalysis].continuationMetrics foreach { callSites =>
+            OPALLogger.info(
+                "analysis progress",
+                callSites.map {
+                    case (caller, pc, apiMethod, continuations) =>
+                        s"${caller.toJava} (pc $pc, ${apiMethod.name}): $continuations"
+                }.mkString("reflection analysis continuations per call site:\n\t", "\n\t", "")
+            )(p.logContext)
+        }
+    }
+
     override def derivesEagerly: Set[PropertyBounds] = Set.empty
 }
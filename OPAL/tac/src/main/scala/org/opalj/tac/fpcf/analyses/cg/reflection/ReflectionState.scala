@@ -0,0 +1,55 @@
+/* BSD 2-Clause License - see OPAL/LICENSE for details. */
+package org.opalj
+package tac
+package fpcf
+package analyses
+package cg
+package reflection
+
+import org.opalj.collection.immutable.IntTrieSet
+import org.opalj.fpcf.EOptionP
+import org.opalj.value.ValueInformation
+import org.opalj.br.Method
+import org.opalj.br.fpcf.properties.Context
+import org.opalj.tac.fpcf.properties.TACAI
+
+/**
+ * State of the analysis of a single call site of a reflective API method.
+ *
+ * Counts the continuations that are executed for the call site so that analyses can bound the
+ * work spent on it (see [[ReflectionAnalysis.exceedsCallSiteBudget]]). Once the dependencies
+ * have been abandoned, the state no longer reports any open dependencies. The (persistent) actual
+ * receiver and parameters of the reflective call are recorded, if they are known, to handle the
+ * call site in high soundness mode if the budget is exceeded.
+ *
+ * @param resolvesAllocationsLocally If `true`, allocation sites (e.g., of class names) are only
+ *                                   resolved from the method containing the call site.
+ */
+class ReflectionState[ContextType <: Context](
+        callContext:                             ContextType,
+        tacDependee:                             EOptionP[Method, TACAI],
+        val callPC:                              Int,
+        override val resolvesAllocationsLocally: Boolean
+) extends CGState[ContextType](callContext, tacDependee) {
+
+    private[this] var _continuations: Int = 0
+    private[this] var _abandoned: Boolean = false
+
+    var actualReceiver: Option[(ValueInformation, IntTrieSet)] = None
+    var actualParams: Seq[Option[(ValueInformation, IntTrieSet)]] = Seq.empty
+
+    /**
+     * Registers another continuation for the call site and returns the number of continuations
+     * executed so far.
+     */
+    def countContinuation(): Int = {
+        _continuations += 1
+        _continuations
+    }
+
+    def abandonDependencies(): Unit = _abandoned = true
+
+    def hasAbandonedDependencies: Boolean = _abandoned
+
+    override def hasOpenDependencies: Boolean = !_abandoned && super.hasOpenDependencies
+}
@@ -9,6 +9,7 @@ package reflection
 import org.opalj.fpcf.Entity
 import org.opalj.fpcf.PropertyStore
 import org.opalj.br.BaseType
+import org.opalj.br.Method
 import org.opalj.br.MethodDescriptor
 import org.opalj.br.ObjectType
 import org.opalj.br.ReferenceType
@@ -29,16 +30,8 @@ object TypesUtil {
         onlyObjectTypes: Boolean
     ): Option[Set[ObjectType]] = {
         StringUtil.getPossibleStrings(className, stmts).map(_.flatMap { cls =>
-            try {
-                val tpe = ReferenceType(cls.replace('.', '/'))
-                if (tpe.isArrayType)
-                    if (onlyObjectTypes) None
-                    else Some(ObjectType.Object)
-                else Some(tpe.asObjectType)
-            } catch {
-                case _: Exception => None
-            }
-        }.filter(project.classFile(_).isDefined))
+            getForNameClass(cls, project, onlyObjectTypes)
+        })
     }
 
     /**
@@ -63,39 +56,100 @@ object TypesUtil {
         state:        TypeProviderState,
         ps:           PropertyStore
     ): Set[ObjectType] = {
-        StringUtil.getPossibleStrings(className, context, depender, stmts, failure).flatMap { cls =>
-            try {
-                val tpe = ReferenceType(cls.replace('.', '/'))
-                if (tpe.isArrayType)
-                    if (onlyObjectTypes) None
-                    else Some(ObjectType.Object)
-                else Some(tpe.asObjectType)
-            } catch {
-                case _: Exception => None
-            }
-        }.filter(project.classFile(_).isDefined)
+        var classes = Set.empty[ObjectType]
+
+        AllocationsUtil.handleAllocations(
+            className, context, depender, stmts, _ eq ObjectType.String, failure
+        ) { (allocationContext, defSite, _stmts) =>
+            val allocationMethod = allocationContext.method.definedMethod
+            val tpeOpt = getForNameType(allocationMethod, defSite, _stmts, project)
+            if (tpeOpt eq null)
+                failure()
+            else
+                classes ++= toForNameClass(tpeOpt, project, onlyObjectTypes)
+        }
+
+        classes
     }
 
     /**
-     * Returns class that may be loaded by an invocation of Class.forName with the given String.
+     * Returns class that may be loaded by an invocation of Class.forName with the String defined
+     * at the given definition site of the given method.
      */
     def getPossibleForNameClass(
+        method:           Method,
         classNameDefSite: Int,
         stmts:            Array[Stmt[V]],
         project:          SomeProject,
         onlyObjectTypes:  Boolean
     ): Option[ObjectType] = {
-        StringUtil.getString(classNameDefSite, stmts).flatMap { cls =>
-            try {
-                val tpe = ReferenceType(cls.replace('.', '/'))
-                if (tpe.isArrayType)
-                    if (onlyObjectTypes) None
-                    else Some(ObjectType.Object)
-                else Some(tpe.asObjectType)
-            } catch {
-                case _: Exception => None
+        val tpeOpt = getForNameType(method, classNameDefSite, stmts, project)
+        if (tpeOpt eq null) None
+        else toForNameClass(tpeOpt, project, onlyObjectTypes)
+    }
+
+    /**
+     * Returns the type that is loaded by an invocation of Class.forName with the String constant
+     * defined at the given definition site of the given method, `None` if the project does not
+     * contain the class, or `null` if the definition site does not define a String constant.
+     * The types are cached per program counter of the definition site (see [[ForNameTypesKey]]).
+     */
+    private[this] def getForNameType(
+        method:           Method,
+        classNameDefSite: Int,
+        stmts:            Array[Stmt[V]],
+        project:          SomeProject
+    ): Option[ReferenceType] = {
+        // unlike the index of the defining statement, the pc does not depend on the
+        // three-address code the caller is working with
+        project.get(ForNameTypesKey).computeIfAbsent(
+            (method, stmts(classNameDefSite).pc),
+            _ => {
+                val className = StringUtil.getString(classNameDefSite, stmts)
+                className.map(resolveForNameType(_, project)).orNull
             }
-        }.filter(project.classFile(_).isDefined)
+        )
+    }
+
+    /**
+     * Returns the type that is loaded by an invocation of Class.forName with the given class
+     * name or `None` if the project does not contain the class.
+     */
+    private[this] def resolveForNameType(
+        className: String,
+        project:   SomeProject
+    ): Option[ReferenceType] = {
+        try {
+            val tpe = ReferenceType(className.replace('.', '/'))
+            if (tpe.isArrayType || project.classFile(tpe.asObjectType).isDefined) Some(tpe)
+            else None
+        } catch {
+            case _: Exception => None
+        }
+    }
+
+    /**
+     * Returns the class that is loaded by an invocation of Class.forName with the given class
+     * name if the project contains it.
+     */
+    def getForNameClass(
+        className:       String,
+        project:         SomeProject,
+        onlyObjectTypes: Boolean
+    ): Option[ObjectType] = {
+        toForNameClass(resolveForNameType(className, project), project, onlyObjectTypes)
+    }
+
+    private[this] def toForNameClass(
+        tpeOpt:          Option[ReferenceType],
+        project:         SomeProject,
+        onlyObjectTypes: Boolean
+    ): Option[ObjectType] = {
+        if (tpeOpt.isEmpty) None
+        else if (tpeOpt.get.isArrayType)
+            if (onlyObjectTypes) None
+            else Some(ObjectType.Object).filter(project.classFile(_).isDefined)
+        else Some(tpeOpt.get.asObjectType)
     }
 
     /**
@@ -291,12 +291,15 @@ class InstantiatedTypesAnalysisScheduler(
         // ObjectType. Arrays of primitive types can be ignored.
         val seenArrayTypes = UIDSet.newBuilder[ArrayType]
 
+        // Entities that are initialized with the same types share their type set
+        val emptyTypeSet = InstantiatedTypes.empty()
+
         def initialize(setEntity: TypeSetEntity, types: UIDSet[ReferenceType]): Unit = {
             ps.preInitialize(setEntity, InstantiatedTypes.key) {
                 case UBP(typeSet) =>
                     InterimEUBP(setEntity, typeSet.updated(types))
                 case _: EPK[_, _] =>
-                    InterimEUBP(setEntity, InstantiatedTypes(types))
+                    InterimEUBP(setEntity, emptyTypeSet.updated(types))
                 case eps =>
                     sys.error(s"unexpected property: $eps")
             }
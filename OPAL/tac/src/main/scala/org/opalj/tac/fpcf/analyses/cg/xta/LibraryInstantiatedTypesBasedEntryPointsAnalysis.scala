@@ -6,8 +6,6 @@ package analyses
 package cg
 package xta
 
-import java.util.concurrent.ConcurrentHashMap
-
 import org.opalj.fpcf.EOptionP
 import org.opalj.fpcf.EPK
 import org.opalj.fpcf.InterimEP
@@ -55,8 +53,8 @@ class LibraryInstantiatedTypesBasedEntryPointsAnalysis private[analyses] (
 ) extends FPCFAnalysis {
 
     val declaredMethods: DeclaredMethods = project.get(DeclaredMethodsKey)
-    // TODO: Use a Scala set
-    private val globallySeenTypes = new ConcurrentHashMap[ObjectType, Boolean]()
+    // the ids of the types that have already been processed
+    private val globallySeenTypes = new AtomicBitSet
 
     def analyze(se: TypeSetEntity): PropertyComputationResult = {
         val instantiatedTypes: EOptionP[TypeSetEntity, InstantiatedTypes] =
@@ -108,8 +106,7 @@ class LibraryInstantiatedTypesBasedEntryPointsAnalysis private[analyses] (
 
     def analyzeTypes(types: Iterator[ReferenceType]): Iterator[DeclaredMethod] = {
         types.flatMap {
-            case ot: ObjectType if !globallySeenTypes.containsKey(ot) =>
-                globallySeenTypes.put(ot, true)
+            case ot: ObjectType if globallySeenTypes.add(ot.id) =>
                 project.classFile(ot).map { cf =>
                     cf.methodsWithBody.filter(m => !m.isStatic && m.isPublic)
                 }.getOrElse(Iterator.empty)
@@ -8,6 +8,10 @@ package xta
 
 import scala.jdk.CollectionConverters._
 
+import java.util.IdentityHashMap
+import java.util.concurrent.ConcurrentHashMap
+
+import org.opalj.log.OPALLogger
 import org.opalj.br.Code
 import org.opalj.br.DeclaredMethod
 import org.opalj.br.Field
@@ -23,6 +27,7 @@ import org.opalj.tac.fpcf.properties.cg.Callers
 import org.opalj.tac.fpcf.properties.cg.InstantiatedTypes
 import org.opalj.br.instructions.CHECKCAST
 import org.opalj.collection.immutable.UIDSet
+import org.opalj.collection.mutable.FixedSizeBitSet
 import org.opalj.fpcf.EPS
 import org.opalj.fpcf.EUBP
 import org.opalj.fpcf.Entity
@@ -399,7 +404,22 @@ final class TypePropagationAnalysis private[analyses] (
         }
     }
 
+    // For filter types that are project types, an object type only matches if it is known to be a
+    // subtype of the filter type. Hence, the matching object types are precomputed once per
+    // filter type.
+    private[this] val projectTypeFilters: ConcurrentHashMap[ObjectType, SubtypeIds] =
+        new ConcurrentHashMap()
+
     private def candidateMatchesTypeFilter(candidateType: ReferenceType, filterType: ReferenceType): Boolean = {
+        if (candidateType.isObjectType && filterType.isObjectType && (filterType ne ObjectType.Object) &&
+            project.isProjectType(filterType.asObjectType)) {
+            val subtypeIds = projectTypeFilters.computeIfAbsent(
+                filterType.asObjectType,
+                ft => new SubtypeIds(classHierarchy.allSubtypes(ft, reflexive = true))
+            )
+            return subtypeIds.contains(candidateType.asObjectType);
+        }
+
         val answer = classHierarchy.isASubtypeOf(candidateType, filterType)
 
         if (answer.isYesOrNo) {
@@ -484,6 +504,35 @@ final class TypePropagationAnalysis private[analyses] (
     }
 }
 
+/**
+ * The ids of a (non-empty) set of object types, e.g., all subtypes of a given type.
+ */
+private[xta] final class SubtypeIds(types: Iterable[ObjectType]) {
+
+    private[this] val maxId: Int = types.iterator.map(_.id).max
+
+    private[this] val ids: FixedSizeBitSet = {
+        val ids = FixedSizeBitSet.create(maxId)
+        types.foreach(t => ids += t.id)
+        ids
+    }
+
+    def contains(t: ObjectType): Boolean = {
+        val id = t.id
+        id <= maxId && ids.contains(id)
+    }
+}
+
+object TypePropagationAnalysis {
+
+    /**
+     * If `true`, the number of type set entities and of the distinct type sets they share is
+     * logged after each phase.
+     */
+    final val typeSetSharingStatisticsConfigKey =
+        "org.opalj.fpcf.analyses.cg.xta.TypePropagationAnalysis.typeSetSharingStatistics"
+}
+
 final class TypePropagationAnalysisScheduler(
         val selectSetEntity: TypeSetEntitySelector
 ) extends BasicFPCFTriggeredAnalysisScheduler {
@@ -502,6 +551,29 @@ final class TypePropagationAnalysisScheduler(
         analysis
     }
 
+    override def afterPhaseCompletion(
+        p:        SomeProject,
+        ps:       PropertyStore,
+        analysis: FPCFAnalysis
+    ): Unit = {
+        if (p.config.getBoolean(TypePropagationAnalysis.typeSetSharingStatisticsConfigKey))
+            logTypeSetSharing(p, ps)
+    }
+
+    // Reports to what extent the type sets are shared between the type set entities
+    private[this] def logTypeSetSharing(p: SomeProject, ps: PropertyStore): Unit = {
+        val typeSets = ps.entities(InstantiatedTypes.key).map(_.ub).toList
+        val distinctTypeSets = new IdentityHashMap[InstantiatedTypes, InstantiatedTypes]()
+        typeSets.foreach(typeSet => distinctTypeSets.put(typeSet, typeSet))
+        OPALLogger.info(
+            "analysis progress",
+            s"type propagation: ${typeSets.size} type set entities with "+
+                s"${typeSets.iterator.map(_.numElements.toLong).sum} types share "+
+                s"${distinctTypeSets.size} type sets with "+
+                s"${distinctTypeSets.keySet.iterator.asScala.map(_.numElements.toLong).sum} types"
+        )(p.logContext)
+    }
+
     override def uses: Set[PropertyBounds] = PropertyBounds.ubs(InstantiatedTypes, Callees, TACAI)
 
     override def derivesEagerly: Set[PropertyBounds] = Set.empty
@@ -110,7 +110,7 @@ trait AbstractEscapeAnalysis extends FPCFAnalysis {
      * with definition site defSite.
      * It might set the mostRestrictiveProperty.
      */
-    private[this] def checkStmtForEscape(
+    protected[this] def checkStmtForEscape(
         stmt: Stmt[V]
     )(implicit context: AnalysisContext, state: AnalysisState): Unit = {
         (stmt.astID: @switch) match {
@@ -21,7 +21,8 @@ import org.opalj.tac.common.DefinitionSiteLike
  * [[AbstractEscapeAnalysis]].
  * This state contains a set of [[org.opalj.fpcf.EOptionP]]s from which the resulting escape
  * state depends. In addition to this, it holds the current most restrictive escape state
- * applicable.
+ * applicable. The states of several entities can share their dependencies by overriding the
+ * methods handling the dependees (see [[BatchedEscapeAnalysisState]]).
  *
  * @author Florian Kuebler
  */
@@ -56,7 +57,7 @@ trait AbstractEscapeAnalysisState {
     /**
      * Adds an entity property pair (or epk) into the set of dependees.
      */
-    @inline private[escape] final def addDependency(eOptionP: EOptionP[Entity, Property]): Unit = {
+    @inline private[escape] def addDependency(eOptionP: EOptionP[Entity, Property]): Unit = {
         assert(!_dependees.contains(eOptionP.e))
         _dependees += eOptionP.e -> eOptionP
         _dependeesSet += eOptionP
@@ -66,7 +67,7 @@ trait AbstractEscapeAnalysisState {
      * Removes the entity property pair (or epk) that correspond to the given ep from the set of
      * dependees.
      */
-    @inline private[escape] final def removeDependency(
+    @inline private[escape] def removeDependency(
         ep: EOptionP[Entity, Property]
     ): Unit = {
         assert(_dependees.contains(ep.e))
@@ -78,27 +79,27 @@ trait AbstractEscapeAnalysisState {
     /**
      * Do we already registered a dependency to that entity?
      */
-    @inline private[escape] final def containsDependency(
+    @inline private[escape] def containsDependency(
         ep: EOptionP[Entity, Property]
     ): Boolean = {
         _dependees.contains(ep.e)
     }
 
-    @inline private[escape] final def getDependency(e: Entity): EOptionP[Entity, Property] = {
+    @inline private[escape] def getDependency(e: Entity): EOptionP[Entity, Property] = {
         _dependees(e)
     }
 
     /**
      * The set of open dependees.
      */
-    private[escape] final def dependees: Set[SomeEOptionP] = {
+    private[escape] def dependees: Set[SomeEOptionP] = {
         _dependeesSet
     }
 
     /**
      * Are there any dependees?
      */
-    private[escape] final def hasDependees: Boolean = _dependees.nonEmpty
+    private[escape] def hasDependees: Boolean = _dependees.nonEmpty
 
     /**
      * The currently most restrictive escape property. It can get even more restrictive during the
@@ -211,7 +211,11 @@ trait AbstractInterProceduralEscapeAnalysis extends AbstractEscapeAnalysis {
         }
     }
 
-    private[this] def handleEscapeState(
+    /**
+     * Handles the escape state of the formal parameter (of a callee) to which the entity is
+     * passed; dependencies to the escape states are updated by the continuation [[c]].
+     */
+    protected[this] def handleEscapeState(
         fp:            (Context, VirtualFormalParameter),
         hasAssignment: Boolean
     )(
@@ -0,0 +1,655 @@
+/* BSD 2-Clause License - see OPAL/LICENSE for details. */
+package org.opalj
+package tac
+package fpcf
+package analyses
+package escape
+
+import scala.annotation.switch
+import scala.collection.immutable.ArraySeq
+import scala.collection.immutable.IntMap
+
+import org.opalj.fpcf.Entity
+import org.opalj.fpcf.EOptionP
+import org.opalj.fpcf.FinalP
+import org.opalj.fpcf.InterimResult
+import org.opalj.fpcf.InterimUBP
+import org.opalj.fpcf.ProperPropertyComputationResult
+import org.opalj.fpcf.Property
+import org.opalj.fpcf.PropertyBounds
+import org.opalj.fpcf.PropertyStore
+import org.opalj.fpcf.Result
+import org.opalj.fpcf.SomeEOptionP
+import org.opalj.fpcf.SomeEPS
+import org.opalj.fpcf.UBP
+import org.opalj.br.DefinedMethod
+import org.opalj.br.Method
+import org.opalj.br.analyses.DeclaredMethodsKey
+import org.opalj.br.analyses.ProjectInformationKeys
+import org.opalj.br.analyses.SomeProject
+import org.opalj.br.analyses.VirtualFormalParameter
+import org.opalj.br.analyses.VirtualFormalParametersKey
+import org.opalj.br.analyses.cg.IsOverridableMethodKey
+import org.opalj.br.fpcf.BasicFPCFEagerAnalysisScheduler
+import org.opalj.br.fpcf.BasicFPCFLazyAnalysisScheduler
+import org.opalj.br.fpcf.FPCFAnalysis
+import org.opalj.br.fpcf.FPCFAnalysisScheduler
+import org.opalj.br.fpcf.properties.AtMost
+import org.opalj.br.fpcf.properties.Context
+import org.opalj.br.fpcf.properties.EscapeInCallee
+import org.opalj.br.fpcf.properties.EscapeProperty
+import org.opalj.br.fpcf.properties.EscapeViaAbnormalReturn
+import org.opalj.br.fpcf.properties.EscapeViaHeapObject
+import org.opalj.br.fpcf.properties.EscapeViaParameter
+import org.opalj.br.fpcf.properties.EscapeViaParameterAndAbnormalReturn
+import org.opalj.br.fpcf.properties.EscapeViaReturn
+import org.opalj.br.fpcf.properties.EscapeViaStaticField
+import org.opalj.br.fpcf.properties.GlobalEscape
+import org.opalj.br.fpcf.properties.NoEscape
+import org.opalj.br.fpcf.properties.SimpleContext
+import org.opalj.br.fpcf.properties.SimpleContexts
+import org.opalj.br.fpcf.properties.SimpleContextsKey
+import org.opalj.br.instructions.ANEWARRAY
+import org.opalj.br.instructions.MULTIANEWARRAY
+import org.opalj.br.instructions.NEW
+import org.opalj.br.instructions.NEWARRAY
+import org.opalj.ai.ValueOrigin
+import org.opalj.tac.cg.TypeProviderKey
+import org.opalj.tac.common.DefinitionSite
+import org.opalj.tac.common.DefinitionSiteLike
+import org.opalj.tac.common.DefinitionSites
+import org.opalj.tac.common.DefinitionSitesKey
+import org.opalj.tac.fpcf.analyses.cg.TypeProvider
+import org.opalj.tac.fpcf.properties.MethodEscapeSummary
+import org.opalj.tac.fpcf.properties.TACAI
+import org.opalj.tac.fpcf.properties.cg.Callees
+import org.opalj.tac.fpcf.properties.cg.Callers
+import org.opalj.tac.fpcf.properties.cg.NoCallers
+
+/**
+ * The state of a formal parameter or an allocation site analyzed by the
+ * [[BatchedEscapeAnalysis]]; the dependencies are shared by all entities of the method and are
+ * held by its [[BatchedEscapeAnalysisMethodState]].
+ */
+class BatchedEscapeAnalysisState extends InterProceduralEscapeAnalysisState {
+
+    private[escape] var analysisContext: InterProceduralEscapeAnalysisContext = _
+
+    private[escape] var methodState: BatchedEscapeAnalysisMethodState = _
+
+    override private[escape] def addDependency(eOptionP: EOptionP[Entity, Property]): Unit = {
+        methodState.addDependency(eOptionP)
+    }
+
+    override private[escape] def removeDependency(ep: EOptionP[Entity, Property]): Unit = {
+        methodState.removeDependency(ep.e)
+    }
+
+    override private[escape] def containsDependency(ep: EOptionP[Entity, Property]): Boolean = {
+        methodState.getDependency(ep.e).isDefined
+    }
+
+    override private[escape] def getDependency(e: Entity): EOptionP[Entity, Property] = {
+        methodState.getDependency(e).get
+    }
+
+    override private[escape] def dependees: Set[SomeEOptionP] = methodState.dependees
+
+    override private[escape] def hasDependees: Boolean = methodState.hasDependees
+}
+
+/**
+ * The state of the [[BatchedEscapeAnalysis]] of one method; it holds the states of all analyzed
+ * entities of the method and their dependencies.
+ *
+ * @param entity          The entity for which the result is computed: either the method's
+ *                        context (whose [[MethodEscapeSummary]] is computed) or the single
+ *                        analyzed entity (whose [[EscapeProperty]] is computed).
+ */
+class BatchedEscapeAnalysisMethodState(
+        val entity:  Entity,
+        val context: Context,
+        val method:  Method
+) {
+
+    // we have dependencies to the tac of the method, the callees of the method and the
+    // summaries of the callees' contexts, i.e. different entities for each property kind
+    private[this] var _dependees = Map.empty[Entity, SomeEOptionP]
+
+    private[this] var _entities: List[BatchedEscapeAnalysisState] = Nil
+
+    private[this] var _parameters = IntMap.empty[BatchedEscapeAnalysisState]
+
+    private[this] var _allocationSites = IntMap.empty[BatchedEscapeAnalysisState]
+
+    private[this] var _tacai: Option[TACode[TACMethodParameter, V]] = None
+
+    private[this] var _parameterEscapesOfPass: List[EscapeProperty] = Nil
+
+    private[this] var _readsOwnEscapes: Boolean = false
+
+    /** Is the summary of the method, i.e., of all of its entities, computed? */
+    final val computesSummary: Boolean = entity == context
+
+    private[escape] def addEntity(
+        entityContext: InterProceduralEscapeAnalysisContext,
+        state:         BatchedEscapeAnalysisState
+    ): Unit = {
+        state.analysisContext = entityContext
+        state.methodState = this
+        _entities ::= state
+        entityContext.entity._2 match {
+            case fp: VirtualFormalParameter => _parameters += ((fp.origin, state))
+            case ds: DefinitionSite         => _allocationSites += ((ds.pc, state))
+            case _                          =>
+        }
+    }
+
+    private[escape] def entities: List[BatchedEscapeAnalysisState] = _entities
+
+    private[escape] def updateTACAI(tacai: TACode[TACMethodParameter, V]): Unit = {
+        _tacai = Some(tacai)
+        _entities.foreach(state => state.updateTACAI(tacai)(state.analysisContext))
+    }
+
+    private[escape] def tacai: Option[TACode[TACMethodParameter, V]] = _tacai
+
+    /**
+     * The current escape state of the formal parameter with the given origin; parameters of
+     * base types are not analyzed.
+     */
+    private[escape] def escapeOfParameter(origin: Int): EscapeProperty = {
+        _readsOwnEscapes = true
+        parameterEscape(origin)
+    }
+
+    private[this] def parameterEscape(origin: Int): EscapeProperty = {
+        _parameters.get(origin).map(_.mostRestrictiveProperty).getOrElse(AtMost(NoEscape))
+    }
+
+    private[this] def parameterEscapes: List[EscapeProperty] = {
+        _parameters.valuesIterator.map(_.mostRestrictiveProperty).toList
+    }
+
+    /** Starts a pass over the uses of all entities. */
+    private[escape] def startPass(): Unit = {
+        _readsOwnEscapes = false
+        _parameterEscapesOfPass = parameterEscapes
+    }
+
+    /**
+     * Is another pass required, because an escape state of a parameter changed that may have
+     * been read (for a recursive call) during the last pass?
+     */
+    private[escape] def requiresAnotherPass: Boolean = {
+        _readsOwnEscapes && parameterEscapes != _parameterEscapesOfPass
+    }
+
+    private[escape] def addDependency(eOptionP: SomeEOptionP): Unit = {
+        assert(!_dependees.contains(eOptionP.e))
+        _dependees += eOptionP.e -> eOptionP
+    }
+
+    private[escape] def removeDependency(e: Entity): Unit = _dependees -= e
+
+    /** Replaces the dependency to the given eps' entity, which is removed if the eps is final. */
+    private[escape] def updateDependency(eps: SomeEPS): Unit = {
+        if (eps.isFinal) _dependees -= eps.e
+        else _dependees += eps.e -> eps
+    }
+
+    private[escape] def getDependency(e: Entity): Option[SomeEOptionP] = _dependees.get(e)
+
+    private[escape] def dependees: Set[SomeEOptionP] = _dependees.valuesIterator.toSet
+
+    private[escape] def hasDependees: Boolean = _dependees.nonEmpty
+
+    /** The current escape state of the single analyzed entity. */
+    private[escape] def escapeOfEntity: EscapeProperty = _entities.head.mostRestrictiveProperty
+
+    /** The summary of the current escape states. */
+    private[escape] def summary: MethodEscapeSummary = {
+        MethodEscapeSummary(
+            ArraySeq.tabulate(method.descriptor.parametersCount + 1)(i => parameterEscape(-i - 1)),
+            _allocationSites.transform((_, state) => state.mostRestrictiveProperty)
+        )
+    }
+}
+
+/**
+ * A flow-sensitive inter-procedural escape analysis that computes the escape states of all
+ * formal parameters and allocation sites of a method at once, i.e., its [[MethodEscapeSummary]].
+ *
+ * The rules are the ones of the [[InterProceduralEscapeAnalysis]]. However, all entities of a
+ * method share their dependencies, i.e., the method's TAC,
+ * [[org.opalj.tac.fpcf.properties.cg.Callees]] and the callees' (compact) summaries are each a
+ * single dependency – instead of dependencies to the escape states of the callees' individual
+ * formal parameters – and the method has only one continuation, which checks the uses of all
+ * entities again. Recursive calls of the method itself are resolved locally using the current
+ * escape states of its parameters.
+ *
+ * The [[org.opalj.br.fpcf.properties.EscapeProperty]] of the individual entities is derived from
+ * the summaries (see [[LazyBatchedEscapePropertyAnalysis]]).
+ */
+class BatchedEscapeAnalysis private[analyses] (
+        final val project: SomeProject
+) extends DefaultEscapeAnalysis
+    with AbstractInterProceduralEscapeAnalysis
+    with ConstructorSensitiveEscapeAnalysis
+    with ConfigurationBasedConstructorEscapeAnalysis
+    with SimpleFieldAwareEscapeAnalysis
+    with ExceptionAwareEscapeAnalysis {
+
+    override type AnalysisContext = InterProceduralEscapeAnalysisContext
+    override type AnalysisState = BatchedEscapeAnalysisState
+
+    private[this] val isMethodOverridable: Method => Answer = project.get(IsOverridableMethodKey)
+    private[this] val simpleContexts: SimpleContexts = project.get(SimpleContextsKey)
+    private[this] val definitionSites: DefinitionSites = project.get(DefinitionSitesKey)
+
+    def determineEscapeSummary(e: Entity): ProperPropertyComputationResult = {
+        val context = e.asInstanceOf[Context]
+        context.method match {
+            // if the underlying method is inherited, we avoid recomputation and use the
+            // summary of the method for its defining class
+            case dm: DefinedMethod if context.isInstanceOf[SimpleContext] &&
+                dm.declaringClassType != dm.definedMethod.classFile.thisType =>
+                val base = simpleContexts(declaredMethods(dm.definedMethod))
+                handleSummaryOfBase(context, propertyStore(base, MethodEscapeSummary.key))
+
+            case dm: DefinedMethod if dm.definedMethod.body.isEmpty =>
+                val parametersCount = dm.descriptor.parametersCount
+                Result(
+                    context,
+                    MethodEscapeSummary.withUniformEscape(parametersCount, AtMost(NoEscape))
+                )
+
+            case dm: DefinedMethod =>
+                val method = dm.definedMethod
+                implicit val methodState: BatchedEscapeAnalysisMethodState =
+                    new BatchedEscapeAnalysisMethodState(context, context, method)
+                val fps = virtualFormalParameters(dm)
+                (-1 to -method.descriptor.parametersCount - 1 by -1).foreach { origin =>
+                    val fp = fps(-origin - 1)
+                    // parameters of base types are not considered
+                    if ((fp ne null) && (origin == -1 ||
+                        method.descriptor.parameterType(-origin - 2).isReferenceType))
+                        addEntity((context, fp), origin)
+                }
+                method.body.get.iterate { (pc, instruction) =>
+                    if (isAllocation(instruction.opcode))
+                        addEntity((context, definitionSites(method, pc)), pc)
+                }
+                analyze()
+
+            case _ =>
+                throw new IllegalArgumentException(s"$e is unsupported")
+        }
+    }
+
+    private[this] def handleSummaryOfBase(
+        context:  Context,
+        eOptionP: SomeEOptionP
+    ): ProperPropertyComputationResult = eOptionP match {
+        case FinalP(summary) =>
+            Result(context, summary)
+
+        case InterimUBP(summary: MethodEscapeSummary) =>
+            InterimResult.forUB(context, summary, Set(eOptionP), handleSummaryOfBase(context, _))
+
+        case _ =>
+            val parametersCount = context.method.descriptor.parametersCount
+            InterimResult.forUB(
+                context,
+                MethodEscapeSummary.withUniformEscape(parametersCount, NoEscape),
+                Set(eOptionP),
+                handleSummaryOfBase(context, _)
+            )
+    }
+
+    /** Derives the escape state of the formal parameter from the summary of its method. */
+    override protected[this] def determineEscapeOfFP(
+        fp: (Context, VirtualFormalParameter)
+    ): ProperPropertyComputationResult = {
+        val origin = fp._2.origin
+        projectSummary(fp, propertyStore(fp._1, MethodEscapeSummary.key))(_.parameterEscape(origin))
+    }
+
+    /**
+     * Derives the escape state of an allocation site from the summary of its method; other
+     * definition sites (e.g., the ones of calls or the ones without some of their uses) are not
+     * part of the summary and are analyzed individually.
+     */
+    override protected[this] def determineEscapeOfDS(
+        dsl: (Context, DefinitionSiteLike)
+    ): ProperPropertyComputationResult = dsl._2 match {
+        case ds: DefinitionSite if isAllocation(ds.method.body.get.instructions(ds.pc).opcode) =>
+            projectSummary(dsl, propertyStore(dsl._1, MethodEscapeSummary.key)) {
+                _.allocationSiteEscape(ds.pc)
+            }
+
+        case ds =>
+            implicit val methodState: BatchedEscapeAnalysisMethodState =
+                new BatchedEscapeAnalysisMethodState(dsl, dsl._1, ds.method)
+            addEntity(dsl, ds.pc)
+            analyze()
+    }
+
+    private[this] def projectSummary(
+        e:        Entity,
+        eOptionP: SomeEOptionP
+    )(
+        escape: MethodEscapeSummary => EscapeProperty
+    ): ProperPropertyComputationResult = eOptionP match {
+        case FinalP(summary: MethodEscapeSummary) =>
+            Result(e, escape(summary))
+
+        case InterimUBP(summary: MethodEscapeSummary) =>
+            val ub = escape(summary)
+            if (ub.isBottom)
+                Result(e, ub)
+            else
+                InterimResult(e, GlobalEscape, ub, Set(eOptionP), projectSummary(e, _)(escape))
+
+        case _ =>
+            InterimResult(e, GlobalEscape, NoEscape, Set(eOptionP), projectSummary(e, _)(escape))
+    }
+
+    @inline private[this] def isAllocation(opcode: Int): Boolean = (opcode: @switch) match {
+        case NEW.opcode | NEWARRAY.opcode | ANEWARRAY.opcode | MULTIANEWARRAY.opcode => true
+        case _ => false
+    }
+
+    private[this] def addEntity(
+        entity:    (Context, Entity),
+        defSitePC: Int
+    )(implicit methodState: BatchedEscapeAnalysisMethodState): Unit = {
+        methodState.addEntity(createContext(entity, defSitePC, methodState.method), createState)
+    }
+
+    /**
+     * Retrieves the TAC and checks the uses of all entities of the method if it is available.
+     */
+    private[this] def analyze()(
+        implicit
+        methodState: BatchedEscapeAnalysisMethodState
+    ): ProperPropertyComputationResult = {
+        val tacai = propertyStore(methodState.method, TACAI.key)
+        if (tacai.isRefinable)
+            methodState.addDependency(tacai)
+        if (tacai.hasUBP && tacai.ub.tac.isDefined) {
+            methodState.updateTACAI(tacai.ub.tac.get)
+            analyzeEntities()
+        } else {
+            batchedResult
+        }
+    }
+
+    /**
+     * Checks the uses of all entities of the method; further passes are only required if the
+     * escape state of a parameter that is passed to a recursive call has changed.
+     */
+    private[this] def analyzeEntities()(
+        implicit
+        methodState: BatchedEscapeAnalysisMethodState
+    ): ProperPropertyComputationResult = {
+        val stmts = methodState.tacai.get.stmts
+        do {
+            methodState.startPass()
+            methodState.entities.foreach { state =>
+                state.uses.foreach { use =>
+                    checkStmtForEscape(stmts(use))(state.analysisContext, state)
+                }
+            }
+        } while (methodState.requiresAnotherPass)
+        batchedResult
+    }
+
+    override protected[this] def handleEscapeState(
+        fp:            (Context, VirtualFormalParameter),
+        hasAssignment: Boolean
+    )(implicit state: AnalysisState): Unit = {
+        val escape = escapeOfCalleeParameter(fp) match {
+            case Some((escape, isFinal)) => escapeViaCall(escape, isFinal, hasAssignment)
+            case None                    => EscapeInCallee
+        }
+        state.meetMostRestrictive(escape)
+    }
+
+    override protected[this] def handleThisLocalOfCallee(
+        fpEntity: (Context, VirtualFormalParameter)
+    )(implicit context: AnalysisContext, state: AnalysisState): Unit = {
+        escapeOfCalleeParameter(fpEntity) match {
+            case Some((escape, isFinal)) =>
+                state.meetMostRestrictive(escapeViaConstructor(escape, isFinal))
+            case None => // result not yet finished
+        }
+    }
+
+    /**
+     * The escape state of the formal parameter of a callee and whether it is final; the escape
+     * states of the method's own parameters are used for recursive calls.
+     */
+    private[this] def escapeOfCalleeParameter(
+        fp: (Context, VirtualFormalParameter)
+    )(implicit state: AnalysisState): Option[(EscapeProperty, Boolean)] = {
+        val methodState = state.methodState
+        val (callee, parameter) = fp
+        if (methodState.computesSummary && callee == methodState.context) {
+            Some((methodState.escapeOfParameter(parameter.origin), true))
+        } else {
+            val summaryEP = methodState.getDependency(callee).getOrElse {
+                val summaryEP = propertyStore(callee, MethodEscapeSummary.key)
+                if (summaryEP.isRefinable)
+                    methodState.addDependency(summaryEP)
+                summaryEP
+            }
+            summaryEP match {
+                case FinalP(summary: MethodEscapeSummary) =>
+                    Some((summary.parameterEscape(parameter.origin), true))
+                case InterimUBP(summary: MethodEscapeSummary) =>
+                    Some((summary.parameterEscape(parameter.origin), false))
+                case _ =>
+                    None
+            }
+        }
+    }
+
+    /**
+     * The escape state of an entity that is passed to a parameter with the given escape state;
+     * the same as the one derived by [[AbstractInterProceduralEscapeAnalysis]].
+     */
+    private[this] def escapeViaCall(
+        escape:        EscapeProperty,
+        isFinal:       Boolean,
+        hasAssignment: Boolean
+    ): EscapeProperty = escape match {
+        case NoEscape | EscapeInCallee => EscapeInCallee
+        case GlobalEscape | EscapeViaStaticField | EscapeViaHeapObject if isFinal => escape
+        case EscapeViaReturn if !hasAssignment => EscapeInCallee
+        case _ => AtMost(EscapeInCallee)
+    }
+
+    /**
+     * The escape state of an object whose this local has the given escape in the constructor;
+     * the same as the one derived by [[ConstructorSensitiveEscapeAnalysis]].
+     */
+    private[this] def escapeViaConstructor(
+        escape:  EscapeProperty,
+        isFinal: Boolean
+    ): EscapeProperty = escape match {
+        case NoEscape                                => NoEscape
+        case EscapeInCallee | AtMost(EscapeInCallee) => escape
+        case GlobalEscape | EscapeViaStaticField | EscapeViaHeapObject if isFinal =>
+            escape
+        case EscapeViaParameter | EscapeViaAbnormalReturn |
+            EscapeViaParameterAndAbnormalReturn | AtMost(NoEscape) | AtMost(EscapeViaParameter) |
+            AtMost(EscapeViaAbnormalReturn) | AtMost(EscapeViaParameterAndAbnormalReturn) =>
+            AtMost(NoEscape)
+        case _ if !isFinal =>
+            AtMost(NoEscape)
+        case _ =>
+            throw new UnknownError(s"unexpected escape property ($escape) for constructors")
+    }
+
+    private[this] def batchedResult(
+        implicit
+        methodState: BatchedEscapeAnalysisMethodState
+    ): ProperPropertyComputationResult = {
+        if (methodState.computesSummary) {
+            if (methodState.hasDependees)
+                InterimResult.forUB(
+                    methodState.context,
+                    methodState.summary,
+                    methodState.dependees,
+                    continuation
+                )
+            else
+                Result(methodState.context, methodState.summary)
+        } else {
+            val escape = methodState.escapeOfEntity
+            if (!methodState.hasDependees || escape.isBottom)
+                Result(methodState.entity, escape)
+            else
+                InterimResult(
+                    methodState.entity,
+                    GlobalEscape,
+                    escape,
+                    methodState.dependees,
+                    continuation
+                )
+        }
+    }
+
+    /**
+     * The continuation of the analysis of a method; every update checks the uses of all
+     * entities again.
+     */
+    private[this] def continuation(
+        someEPS: SomeEPS
+    )(implicit methodState: BatchedEscapeAnalysisMethodState): ProperPropertyComputationResult = {
+        methodState.updateDependency(someEPS)
+        someEPS match {
+            case UBP(tacai: TACAI) =>
+                if (tacai.tac.isDefined) {
+                    methodState.updateTACAI(tacai.tac.get)
+                    analyzeEntities()
+                } else {
+                    batchedResult
+                }
+
+            case UBP(_: Callees | _: MethodEscapeSummary) =>
+                analyzeEntities()
+
+            case _ =>
+                throw new UnknownError(s"unhandled property (${someEPS.ub} for ${someEPS.e}")
+        }
+    }
+
+    override def createContext(
+        entity:       (Context, Entity),
+        defSitePC:    ValueOrigin,
+        targetMethod: Method
+    ): InterProceduralEscapeAnalysisContext = new InterProceduralEscapeAnalysisContext(
+        entity,
+        defSitePC,
+        targetMethod,
+        declaredMethods,
+        virtualFormalParameters,
+        project,
+        propertyStore,
+        isMethodOverridable
+    )
+
+    override def createState: BatchedEscapeAnalysisState = new BatchedEscapeAnalysisState()
+}
+
+sealed trait BatchedEscapeAnalysisScheduler extends FPCFAnalysisScheduler {
+
+    override def requiredProjectInformation: ProjectInformationKeys = Seq(
+        DeclaredMethodsKey,
+        VirtualFormalParametersKey,
+        IsOverridableMethodKey,
+        TypeProviderKey,
+        SimpleContextsKey,
+        DefinitionSitesKey
+    )
+
+    def derivedProperty: PropertyBounds = PropertyBounds.ub(MethodEscapeSummary)
+
+    override def uses: Set[PropertyBounds] = Set(
+        PropertyBounds.ub(TACAI),
+        PropertyBounds.ub(Callees),
+        PropertyBounds.ub(MethodEscapeSummary)
+    )
+}
+
+/**
+ * Computes the [[MethodEscapeSummary]] of all contexts of all reachable methods.
+ */
+object EagerBatchedEscapeAnalysis
+    extends BatchedEscapeAnalysisScheduler
+    with BasicFPCFEagerAnalysisScheduler {
+
+    override def start(p: SomeProject, ps: PropertyStore, unused: Null): FPCFAnalysis = {
+        val analysis = new BatchedEscapeAnalysis(p)
+
+        val declaredMethods = p.get(DeclaredMethodsKey)
+        implicit val typeProvider: TypeProvider = p.get(TypeProviderKey)
+
+        val methods = declaredMethods.declaredMethods
+        val callersProperties = ps(methods.to(Iterable), Callers)
+        assert(callersProperties.forall(_.isFinal))
+
+        val contexts = callersProperties.iterator.filterNot(_.asFinal.p == NoCallers).flatMap {
+            callers =>
+                callers.e match {
+                    case dm: DefinedMethod => callers.ub.calleeContexts(dm).iterator
+                    case _                 => Iterator.empty
+                }
+        }
+
+        ps.scheduleEagerComputationsForEntities(contexts)(analysis.determineEscapeSummary)
+        analysis
+    }
+
+    override def derivesEagerly: Set[PropertyBounds] = Set(derivedProperty)
+
+    override def uses: Set[PropertyBounds] = super.uses + PropertyBounds.finalP(Callers)
+
+    override def derivesCollaboratively: Set[PropertyBounds] = Set.empty
+}
+
+object LazyBatchedEscapeAnalysis
+    extends BatchedEscapeAnalysisScheduler
+    with BasicFPCFLazyAnalysisScheduler {
+
+    override def register(p: SomeProject, ps: PropertyStore, unused: Null): FPCFAnalysis = {
+        val analysis = new BatchedEscapeAnalysis(p)
+        ps.registerLazyPropertyComputation(MethodEscapeSummary.key, analysis.determineEscapeSummary)
+        analysis
+    }
+
+    override def derivesLazily: Some[PropertyBounds] = Some(derivedProperty)
+}
+
+/**
+ * Derives the [[org.opalj.br.fpcf.properties.EscapeProperty]] of formal parameters and definition
+ * sites lazily from the [[MethodEscapeSummary]] of their method; scheduled together with the
+ * [[EagerBatchedEscapeAnalysis]] or the [[LazyBatchedEscapeAnalysis]], it replaces the
+ * [[LazyInterProceduralEscapeAnalysis]] for the clients of the individual escape states.
+ */
+object LazyBatchedEscapePropertyAnalysis
+    extends BatchedEscapeAnalysisScheduler
+    with BasicFPCFLazyAnalysisScheduler {
+
+    override def derivedProperty: PropertyBounds = PropertyBounds.lub(EscapeProperty)
+
+    override def register(p: SomeProject, ps: PropertyStore, unused: Null): FPCFAnalysis = {
+        val analysis = new BatchedEscapeAnalysis(p)
+        ps.registerLazyPropertyComputation(EscapeProperty.key, analysis.determineEscape)
+        analysis
+    }
+
+    override def derivesLazily: Some[PropertyBounds] = Some(derivedProperty)
+}
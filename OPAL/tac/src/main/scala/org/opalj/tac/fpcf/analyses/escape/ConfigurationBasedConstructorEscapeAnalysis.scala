@@ -9,6 +9,7 @@ import net.ceedubs.ficus.Ficus._
 import net.ceedubs.ficus.readers.ArbitraryTypeReader._
 
 import org.opalj.br.ObjectType
+import org.opalj.br.analyses.SomeProject
 import org.opalj.br.fpcf.properties.EscapeProperty
 
 /**
@@ -22,25 +23,8 @@ trait ConfigurationBasedConstructorEscapeAnalysis extends AbstractEscapeAnalysis
 
     override type AnalysisContext <: AbstractEscapeAnalysisContext
 
-    private[this] case class PredefinedResult(object_type: String, escape_of_this: String)
-
-    private[this] val ConfigKey = {
-        "org.opalj.fpcf.analyses.ConfigurationBasedConstructorEscapeAnalysis.constructors"
-    }
-
-    /**
-     * Statically loads the configuration and gets the escape property objects via reflection.
-     *
-     * @note The reflective code assumes that every [[EscapeProperty]] is an object and not a class.
-     */
     private[this] val predefinedConstructors: Map[ObjectType, EscapeProperty] = {
-        project.config.as[Seq[PredefinedResult]](ConfigKey).map { r =>
-            import scala.reflect.runtime._
-            val rootMirror = universe.runtimeMirror(getClass.getClassLoader)
-            val module = rootMirror.staticModule(r.escape_of_this)
-            val property = rootMirror.reflectModule(module).instance.asInstanceOf[EscapeProperty]
-            (ObjectType(r.object_type), property)
-        }.toMap
+        ConfigurationBasedConstructorEscapeAnalysis.predefinedConstructors(project)
     }
 
     protected[this] abstract override def handleThisLocalOfConstructor(
@@ -61,3 +45,28 @@ trait ConfigurationBasedConstructorEscapeAnalysis extends AbstractEscapeAnalysis
     }
 }
 
+object ConfigurationBasedConstructorEscapeAnalysis {
+
+    private[this] case class PredefinedResult(object_type: String, escape_of_this: String)
+
+    private[this] val ConfigKey = {
+        "org.opalj.fpcf.analyses.ConfigurationBasedConstructorEscapeAnalysis.constructors"
+    }
+
+    /**
+     * Statically loads the configuration and gets the escape property objects via reflection.
+     *
+     * @note The reflective code assumes that every [[EscapeProperty]] is an object and not a class.
+     */
+    private[escape] def predefinedConstructors(
+        project: SomeProject
+    ): Map[ObjectType, EscapeProperty] = {
+        project.config.as[Seq[PredefinedResult]](ConfigKey).map { r =>
+            import scala.reflect.runtime._
+            val rootMirror = universe.runtimeMirror(getClass.getClassLoader)
+            val module = rootMirror.staticModule(r.escape_of_this)
+            val property = rootMirror.reflectModule(module).instance.asInstanceOf[EscapeProperty]
+            (ObjectType(r.object_type), property)
+        }.toMap
+    }
+}
@@ -77,15 +77,28 @@ trait ConstructorSensitiveEscapeAnalysis extends AbstractEscapeAnalysis {
                         ),
                             fp
                     )
-                if (fpEntity != context.entity) {
-                    val escapeState = context.propertyStore(fpEntity, EscapeProperty.key)
-                    if (!state.containsDependency(escapeState))
-                        handleEscapeState(escapeState)
-                }
+                if (fpEntity != context.entity)
+                    handleThisLocalOfCallee(fpEntity)
             case /* unknown method */ _ => state.meetMostRestrictive(AtMost(NoEscape))
         }
     }
 
+    /**
+     * Handles the escape state of the this local of the called constructor; dependencies to the
+     * escape states are updated by the continuation [[c]].
+     */
+    protected[this] def handleThisLocalOfCallee(
+        fpEntity: (Context, VirtualFormalParameter)
+    )(
+        implicit
+        context: AnalysisContext,
+        state:   AnalysisState
+    ): Unit = {
+        val escapeState = context.propertyStore(fpEntity, EscapeProperty.key)
+        if (!state.containsDependency(escapeState))
+            handleEscapeState(escapeState)
+    }
+
     private[this] def handleEscapeState(
         eOptionP: EOptionP[Entity, Property]
     )(
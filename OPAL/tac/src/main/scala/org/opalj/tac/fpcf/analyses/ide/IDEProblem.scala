@@ -0,0 +1,208 @@
+/* BSD 2-Clause License - see OPAL/LICENSE for details. */
+package org.opalj
+package tac
+package fpcf
+package analyses
+package ide
+
+import org.opalj.br.DeclaredMethod
+import org.opalj.br.fpcf.properties.Context
+import org.opalj.tac.fpcf.properties.IFDSProperty
+
+/**
+ * A function that describes how the value of a fact changes along an edge of the exploded
+ * supergraph of an [[IDEProblem]].
+ *
+ * Edge functions have to be immutable and have to implement `equals` (and `hashCode`) such that
+ * equal functions are recognized; otherwise, the [[IDESolver]] does not terminate. Furthermore,
+ * the lattice of the edge functions of a problem must have a finite height.
+ */
+trait EdgeFunction[Value] {
+
+    def apply(value: Value): Value
+
+    /**
+     * The function that first applies this function and then the given function.
+     */
+    def andThen(second: EdgeFunction[Value]): EdgeFunction[Value]
+
+    /**
+     * The meet of this function and the given function, i.e., the function whose result is
+     * the meet of the results of both functions.
+     */
+    def meet(other: EdgeFunction[Value]): EdgeFunction[Value]
+}
+
+object EdgeFunction {
+
+    def identity[Value]: EdgeFunction[Value] = IdentityEdgeFunction.asInstanceOf[EdgeFunction[Value]]
+}
+
+/**
+ * The identity function; it is the edge function of all edges for which the problem does not
+ * define a function.
+ */
+case object IdentityEdgeFunction extends EdgeFunction[Any] {
+
+    override def apply(value: Any): Any = value
+
+    override def andThen(second: EdgeFunction[Any]): EdgeFunction[Any] = second
+
+    override def meet(other: EdgeFunction[Any]): EdgeFunction[Any] = {
+        if (other eq this) this else other.meet(this)
+    }
+}
+
+/**
+ * An IDE problem, i.e., an IFDS problem whose facts additionally carry a value from a lattice
+ * of finite height. The problem is solved by the [[IDESolver]].
+ *
+ * The flow functions are distributive, i.e., they are defined for a single fact. Null facts
+ * ([[AbstractIFDSNullFact]]) are always propagated along normal, call and call-to-return edges
+ * and do not have to be returned by the respective flow functions.
+ *
+ * @tparam IFDSFact The type of the facts.
+ * @tparam Value The type of the values of the facts.
+ */
+trait IDEProblem[IFDSFact <: AbstractIFDSFact, Value] {
+
+    /**
+     * Creates the property for one method-fact pair; the [[IDESolver]] stores the result for
+     * each method-fact pair for which the method was analyzed.
+     *
+     * @param result Maps each exit statement to the facts valid after the exit statement and
+     *               their values.
+     */
+    def createIDEPropertyValue(result: Map[Statement, Map[IFDSFact, Value]]): IFDSProperty[IFDSFact]
+
+    /**
+     * The entry points of the problem and the facts that hold at their beginning.
+     */
+    val entryPoints: Map[DeclaredMethod, IFDSFact]
+
+    /**
+     * The value of the fact of an entry point.
+     */
+    def entryValue(method: DeclaredMethod, fact: IFDSFact): Value
+
+    /**
+     * The greatest element of the lattice of values.
+     */
+    def top: Value
+
+    def meet(value1: Value, value2: Value): Value
+
+    /**
+     * `true` if the problem is a backward problem. In this case, the methods are analyzed from
+     * their exit statements to their first statement: the facts of the entry points hold after
+     * the exit statements, the flow functions map the facts that hold after a statement to the
+     * facts that hold before it, `successor` is the statement that is analyzed next (i.e., a
+     * control-flow predecessor) and the results are the facts that hold before the first
+     * statement of the methods.
+     */
+    def isBackward: Boolean = false
+
+    /**
+     * The facts valid before `successor` if `in` held before the normal statement `statement`.
+     */
+    def normalFlow(statement: Statement, successor: Statement, in: IFDSFact): Set[IFDSFact]
+
+    /**
+     * The facts valid at the beginning of the callee if `in` held before the call statement.
+     */
+    def callFlow(call: Statement, calleeContext: Context, in: IFDSFact): Set[IFDSFact]
+
+    /**
+     * The facts valid before `successor` in the caller if `in` held after the statement `exit`
+     * of the callee. `exit` is either a return statement (and `successor` follows the call
+     * statement in the normal control flow) or a statement that throws an exception (and
+     * `successor` is an exception handler or the abnormal exit of the caller).
+     */
+    def returnFlow(
+        call:          Statement,
+        calleeContext: Context,
+        exit:          Statement,
+        successor:     Statement,
+        in:            IFDSFact
+    ): Set[IFDSFact]
+
+    /**
+     * The facts valid before `successor` if `in` held before the call, independently of
+     * the callees.
+     */
+    def callToReturnFlow(call: Statement, successor: Statement, in: IFDSFact): Set[IFDSFact]
+
+    /**
+     * The facts valid before `successor` if `in` held before the call of the native callee,
+     * excluding the call-to-return flow.
+     */
+    def nativeCall(
+        call:          Statement,
+        calleeContext: Context,
+        successor:     Statement,
+        in:            IFDSFact
+    ): Set[IFDSFact]
+
+    def normalEdgeFunction(
+        statement: Statement,
+        successor: Statement,
+        in:        IFDSFact,
+        out:       IFDSFact
+    ): EdgeFunction[Value] = EdgeFunction.identity
+
+    def callEdgeFunction(
+        call:          Statement,
+        calleeContext: Context,
+        in:            IFDSFact,
+        out:           IFDSFact
+    ): EdgeFunction[Value] = EdgeFunction.identity
+
+    def returnEdgeFunction(
+        call:          Statement,
+        calleeContext: Context,
+        exit:          Statement,
+        successor:     Statement,
+        in:            IFDSFact,
+        out:           IFDSFact
+    ): EdgeFunction[Value] = EdgeFunction.identity
+
+    def callToReturnEdgeFunction(
+        call:      Statement,
+        successor: Statement,
+        in:        IFDSFact,
+        out:       IFDSFact
+    ): EdgeFunction[Value] = EdgeFunction.identity
+
+    def nativeCallEdgeFunction(
+        call:          Statement,
+        calleeContext: Context,
+        successor:     Statement,
+        in:            IFDSFact,
+        out:           IFDSFact
+    ): EdgeFunction[Value] = EdgeFunction.identity
+}
+
+/**
+ * An IFDS problem that is solved by the [[IDESolver]]; the facts do not carry values.
+ */
+trait IFDSProblem[IFDSFact <: AbstractIFDSFact] extends IDEProblem[IFDSFact, Unit] {
+
+    /**
+     * Creates the property for one method-fact pair.
+     *
+     * @param result Maps each exit statement to the facts valid after the exit statement.
+     */
+    def createPropertyValue(result: Map[Statement, Set[IFDSFact]]): IFDSProperty[IFDSFact]
+
+    final override def createIDEPropertyValue(
+        result: Map[Statement, Map[IFDSFact, Unit]]
+    ): IFDSProperty[IFDSFact] = {
+        createPropertyValue(result.map { case (statement, facts) => statement -> facts.keySet })
+    }
+
+    final override def entryValue(method: DeclaredMethod, fact: IFDSFact): Unit = ()
+
+    final override def top: Unit = ()
+
+    final override def meet(value1: Unit, value2: Unit): Unit = ()
+}
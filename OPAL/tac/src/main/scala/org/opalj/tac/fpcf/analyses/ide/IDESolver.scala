@@ -0,0 +1,666 @@
+/* BSD 2-Clause License - see OPAL/LICENSE for details. */
+package org.opalj
+package tac
+package fpcf
+package analyses
+package ide
+
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.atomic.AtomicReferenceArray
+
+import scala.annotation.tailrec
+import scala.jdk.CollectionConverters._
+import scala.reflect.ClassTag
+
+import scala.collection.mutable.ArrayBuffer
+
+import org.opalj.log.OPALLogger
+import org.opalj.log.OPALLogger.logOnce
+import org.opalj.log.Warn
+import org.opalj.concurrent.NumberOfThreadsForCPUBoundTasks
+import org.opalj.concurrent.parForeachArrayElement
+import org.opalj.fpcf.FinalP
+import org.opalj.fpcf.ProperPropertyComputationResult
+import org.opalj.fpcf.PropertyBounds
+import org.opalj.fpcf.PropertyComputationResult
+import org.opalj.fpcf.PropertyStore
+import org.opalj.fpcf.Result
+import org.opalj.fpcf.Results
+import org.opalj.br.analyses.DeclaredMethodsKey
+import org.opalj.br.analyses.ProjectInformationKeys
+import org.opalj.br.analyses.SomeProject
+import org.opalj.br.cfg.CFG
+import org.opalj.br.cfg.CFGNode
+import org.opalj.br.fpcf.BasicFPCFEagerAnalysisScheduler
+import org.opalj.br.fpcf.FPCFAnalysis
+import org.opalj.br.fpcf.properties.Context
+import org.opalj.tac.cg.TypeProviderKey
+import org.opalj.tac.fpcf.analyses.AbstractIFDSAnalysis.V
+import org.opalj.tac.fpcf.analyses.cg.TypeProvider
+import org.opalj.tac.fpcf.properties.IFDSPropertyMetaInformation
+import org.opalj.tac.fpcf.properties.TACAI
+import org.opalj.tac.fpcf.properties.TheTACAI
+import org.opalj.tac.fpcf.properties.cg.Callees
+import org.opalj.tac.fpcf.properties.cg.NoCallees
+
+/**
+ * Solves an [[IDEProblem]] (or an [[IFDSProblem]]) using the tabulation algorithm of Sagiv,
+ * Reps and Horwitz on the final 3-address code and the final call graph, i.e., without using
+ * the fixpoint computations of the property store.
+ *
+ * In the first phase, the jump functions of the path edges (from a fact at the beginning of a
+ * method to a fact before a statement of the method) and the end summaries of the methods are
+ * computed. The path edges are processed in rounds: all path edges whose jump functions changed
+ * in the previous round are processed in parallel. The jump functions, end summaries and
+ * incoming call edges are stored in concurrent hash maps per method. A new end summary is
+ * applied to all recorded call sites of the callee and a call site applies all end summaries
+ * recorded for the callee; hence, no summary is missed even if both happen concurrently.
+ *
+ * In the second phase, the values of the facts at the beginning of the methods are computed by
+ * propagating the values of the entry points along the call edges (again in rounds). Finally,
+ * the facts and values after the exit statements are stored in the property store as final
+ * results for each analyzed method-fact pair, i.e., the results can be used like those of an
+ * [[AbstractIFDSAnalysis]].
+ *
+ * For backward problems ([[IDEProblem.isBackward]]), the path edges start at the exit statements
+ * of a method and are propagated to the predecessors of the statements; the end summaries are the
+ * facts that hold before the first statement.
+ *
+ * @note The 3-address code of the analyzed methods (TACAI) and the call graph (Callees) have
+ *       to be final when the solver runs, e.g., the solver is scheduled in a phase after the
+ *       call graph was computed. Methods without final 3-address code are not analyzed.
+ */
+class IDESolver[IFDSFact <: AbstractIFDSFact, Value] private[ide] (
+        final val project:              SomeProject,
+        final val problem:              IDEProblem[IFDSFact, Value],
+        final val parallelizationLevel: Int
+) extends FPCFAnalysis {
+
+    private[this] type State = MethodState[IFDSFact, Value]
+    private[this] type Function = EdgeFunction[Value]
+
+    private[this] implicit val typeProvider: TypeProvider = project.get(TypeProviderKey)
+
+    private[this] val isBackward = problem.isBackward
+
+    // Marks statements that are not calls in the callee cache of the method states
+    private[this] val NotACall = new Array[Context](0)
+
+    private[this] val methodStates = new ConcurrentHashMap[Context, Option[State]]()
+
+    private[this] val changedPathEdges = new ConcurrentLinkedQueue[(State, PathEdge[IFDSFact])]()
+    private[this] val changedStartValues = new ConcurrentLinkedQueue[(State, IFDSFact)]()
+
+    def analyze(p: SomeProject): PropertyComputationResult = {
+        val entryPoints = problem.entryPoints.iterator.flatMap {
+            case (method, fact) =>
+                methodState(typeProvider.newContext(method)).map(state => (state, method, fact))
+        }.toArray
+
+        // Phase 1: the jump functions and end summaries
+        entryPoints.foreach {
+            case (state, _, fact) => start(state, fact)
+        }
+        val pathEdgeRounds = processInRounds(changedPathEdges) {
+            case (state, pathEdge) => processPathEdge(state, pathEdge)
+        }
+
+        // Phase 2: the values at the beginning of the methods
+        entryPoints.foreach {
+            case (state, method, fact) =>
+                updateStartValue(state, fact, problem.entryValue(method, fact))
+        }
+        val valueRounds = processInRounds(changedStartValues) {
+            case (state, fact) => propagateStartValue(state, fact)
+        }
+
+        val states = methodStates.values.iterator.asScala.flatten.toArray
+        OPALLogger.info(
+            "analysis progress",
+            s"IDE solver: ${states.length} methods analyzed; "+
+                s"jump functions computed in $pathEdgeRounds rounds, values in $valueRounds rounds"
+        )
+
+        val results = new ConcurrentLinkedQueue[ProperPropertyComputationResult]()
+        parForeachArrayElement(states, parallelizationLevel) { state =>
+            state.startValues.forEach { (source, startValue) =>
+                results.add(createResult(state, source, startValue))
+            }
+        }
+        Results(results.asScala)
+    }
+
+    /**
+     * The facts that hold before (for backward problems: after) the given statement and their
+     * values.
+     *
+     * @note Only available after the solver has finished.
+     */
+    def valuesBefore(statement: Statement): Map[IFDSFact, Value] = {
+        var values = Map.empty[IFDSFact, Value]
+        methodStates.getOrDefault(statement.context, None).foreach { state =>
+            state.jumpFunctions.forEach { (pathEdge, function) =>
+                if (pathEdge.index == statement.index) {
+                    val startValue = state.startValues.getOrDefault(pathEdge.source, problem.top)
+                    val value = function(startValue)
+                    values = values.updated(
+                        pathEdge.target,
+                        values.get(pathEdge.target).map(problem.meet(_, value)).getOrElse(value)
+                    )
+                }
+            }
+        }
+        values
+    }
+
+    private[this] def createResult(
+        state:      State,
+        source:     IFDSFact,
+        startValue: Value
+    ): ProperPropertyComputationResult = {
+        var result = Map.empty[Statement, Map[IFDSFact, Value]]
+        val summaries = state.endSummaries.get(source)
+        if (summaries ne null) {
+            summaries.forEach { (exitFact, summary) =>
+                val exit = state.statements(exitFact.index)
+                val facts = result.getOrElse(exit, Map.empty[IFDSFact, Value])
+                result = result.updated(exit, facts.updated(exitFact.fact, summary(startValue)))
+            }
+        }
+        Result((state.context, source), problem.createIDEPropertyValue(result))
+    }
+
+    private[this] def processInRounds[T <: AnyRef: ClassTag](
+        queue: ConcurrentLinkedQueue[T]
+    )(
+        f: T => Unit
+    ): Int = {
+        var rounds = 0
+        var elements = drain(queue)
+        while (elements.nonEmpty) {
+            parForeachArrayElement(elements, parallelizationLevel)(f)
+            elements = drain(queue)
+            rounds += 1
+        }
+        rounds
+    }
+
+    private[this] def drain[T <: AnyRef: ClassTag](
+        queue: ConcurrentLinkedQueue[T]
+    ): Array[T] = {
+        val elements = ArrayBuffer.empty[T]
+        var next = queue.poll()
+        while (next ne null) {
+            elements += next
+            next = queue.poll()
+        }
+        elements.toArray
+    }
+
+    private[this] def methodState(context: Context): Option[State] = {
+        var state = methodStates.get(context)
+        if (state eq null) {
+            state = createMethodState(context)
+            val otherState = methodStates.putIfAbsent(context, state)
+            if (otherState ne null)
+                state = otherState
+        }
+        state
+    }
+
+    private[this] def createMethodState(context: Context): Option[State] = {
+        val method = context.method
+        if (!method.hasSingleDefinedMethod || method.definedMethod.body.isEmpty)
+            return None;
+
+        propertyStore(method.definedMethod, TACAI.key) match {
+            case FinalP(TheTACAI(tac)) =>
+                val callees = propertyStore(method, Callees.key) match {
+                    case FinalP(callees) => callees
+                    case _               => NoCallees
+                }
+                Some(new MethodState(context, tac.stmts, tac.cfg, callees))
+
+            case _ =>
+                logOnce(Warn(
+                    "analysis configuration",
+                    "the IDE solver requires the final 3-address code of the analyzed methods"
+                ))
+                None
+        }
+    }
+
+    /**
+     * The callees of the statement at `index` or `NotACall` if the statement is not a call.
+     */
+    private[this] def calleesOf(state: State, index: Int): Array[Context] = {
+        var callees = state.calleeContexts.get(index)
+        if (callees eq null) {
+            val stmt = state.code(index)
+            val isCall = stmt.astID match {
+                case StaticMethodCall.ASTID | NonVirtualMethodCall.ASTID | VirtualMethodCall.ASTID =>
+                    true
+                case Assignment.ASTID => isFunctionCall(stmt.asAssignment.expr)
+                case ExprStmt.ASTID   => isFunctionCall(stmt.asExprStmt.expr)
+                case _                => false
+            }
+            callees =
+                if (isCall) state.callees.callees(state.context, stmt.pc).toArray
+                else NotACall
+            // Concurrent computations of the callees compute the same callees
+            state.calleeContexts.set(index, callees)
+        }
+        callees
+    }
+
+    private[this] def isFunctionCall(expr: Expr[V]): Boolean = expr.astID match {
+        case StaticFunctionCall.ASTID | NonVirtualFunctionCall.ASTID | VirtualFunctionCall.ASTID =>
+            true
+        case _ =>
+            false
+    }
+
+    /**
+     * Calls `f` for each statement that is analyzed after the statement at `index`, i.e., for
+     * each successor or, for backward problems, each predecessor. The flag `isEnd` is `true` if
+     * the next statement is an artificial exit statement (the artificial entry statement) of the
+     * method; `isNormal` is `false` if the next statement is only reached if an exception is
+     * thrown.
+     */
+    private[this] def foreachNext(
+        state: State,
+        index: Int
+    )(
+        f: (Statement, Boolean, Boolean) => Unit
+    ): Unit = {
+        val basicBlock = state.cfg.bb(index)
+        if (isBackward) {
+            if (index > basicBlock.startPC)
+                f(state.statements(index - 1), false, true)
+            else {
+                basicBlock.predecessors.foreach { predecessor =>
+                    if (predecessor.isBasicBlock)
+                        f(state.statements(predecessor.asBasicBlock.endPC), false, true)
+                    else if (predecessor.isCatchNode) predecessor.predecessors.foreach { node =>
+                        f(state.statements(node.asBasicBlock.endPC), false, false)
+                    }
+                }
+                if (index == 0)
+                    f(state.entry, true, true)
+            }
+        } else if (index < basicBlock.endPC)
+            f(state.statements(index + 1), false, true)
+        else basicBlock.successors.foreach { successor =>
+            f(
+                firstStatement(state, successor),
+                successor.isExitNode,
+                successor.isBasicBlock || successor.isNormalReturnExitNode
+            )
+        }
+    }
+
+    @tailrec private[this] def firstStatement(state: State, node: CFGNode): Statement = {
+        if (node.isBasicBlock)
+            state.statements(node.asBasicBlock.startPC)
+        else if (node.isCatchNode)
+            firstStatement(state, node.successors.head)
+        else if (node.isNormalReturnExitNode)
+            state.normalExit
+        else
+            state.abnormalExit
+    }
+
+    private[this] def withNullFact(in: IFDSFact, out: Set[IFDSFact]): Set[IFDSFact] = {
+        if (in.isInstanceOf[AbstractIFDSNullFact]) out + in else out
+    }
+
+    private[this] def compose(first: Function, second: Function): Function = {
+        if (second eq IdentityEdgeFunction) first else first.andThen(second)
+    }
+
+    /**
+     * Meets the function stored for the given key with the given function; returns `true` if
+     * the stored function changed.
+     */
+    private[this] def updateFunction[K](
+        functions: ConcurrentHashMap[K, Function],
+        key:       K,
+        function:  Function
+    ): Boolean = {
+        var oldFunction = functions.putIfAbsent(key, function)
+        while (oldFunction ne null) {
+            val newFunction = oldFunction.meet(function)
+            if (newFunction == oldFunction)
+                return false;
+            if (functions.replace(key, oldFunction, newFunction))
+                return true;
+            oldFunction = functions.get(key)
+        }
+        true
+    }
+
+    private[this] def addTo[K, T](
+        sets:    ConcurrentHashMap[K, java.util.Set[T]],
+        key:     K,
+        element: T
+    ): Unit = {
+        var set = sets.get(key)
+        if (set eq null)
+            set = sets.computeIfAbsent(key, _ => ConcurrentHashMap.newKeySet[T]())
+        set.add(element)
+    }
+
+    /**
+     * Starts the analysis of the method for the given fact, i.e., propagates the fact to itself
+     * at the first statement (at the exit statements for backward problems).
+     */
+    private[this] def start(state: State, fact: IFDSFact): Unit = {
+        if (isBackward)
+            state.exitIndices.foreach(propagate(state, fact, _, fact, EdgeFunction.identity))
+        else
+            propagate(state, fact, 0, fact, EdgeFunction.identity)
+    }
+
+    private[this] def propagate(
+        state:    State,
+        source:   IFDSFact,
+        index:    Int,
+        target:   IFDSFact,
+        function: Function
+    ): Unit = {
+        val pathEdge = PathEdge(source, index, target)
+        if (updateFunction(state.jumpFunctions, pathEdge, function))
+            changedPathEdges.add((state, pathEdge))
+    }
+
+    /**
+     * Propagates the fact `target` from the statement at `index` to the next statement; if the
+     * next statement is the end of the method, the fact is added to the end summaries instead.
+     */
+    private[this] def propagateToNext(
+        state:    State,
+        source:   IFDSFact,
+        index:    Int,
+        next:     Statement,
+        isEnd:    Boolean,
+        target:   IFDSFact,
+        function: Function
+    ): Unit = {
+        if (isEnd)
+            addEndSummary(state, source, ExitFact(index, target), function)
+        else
+            propagate(state, source, next.index, target, function)
+    }
+
+    private[this] def processPathEdge(state: State, pathEdge: PathEdge[IFDSFact]): Unit = {
+        val function = state.jumpFunctions.get(pathEdge)
+        val PathEdge(source, index, fact) = pathEdge
+        val statement = state.statements(index)
+        val callees = calleesOf(state, index)
+        if (callees eq NotACall) {
+            foreachNext(state, index) { (next, isEnd, _) =>
+                withNullFact(fact, problem.normalFlow(statement, next, fact)).foreach { target =>
+                    val edgeFunction = problem.normalEdgeFunction(statement, next, fact, target)
+                    propagateToNext(
+                        state, source, index, next, isEnd, target, compose(function, edgeFunction)
+                    )
+                }
+            }
+        } else {
+            processCall(state, source, statement, fact, function, callees)
+        }
+    }
+
+    private[this] def processCall(
+        state:    State,
+        source:   IFDSFact,
+        call:     Statement,
+        fact:     IFDSFact,
+        function: Function,
+        callees:  Array[Context]
+    ): Unit = {
+        val index = call.index
+        foreachNext(state, index) { (next, isEnd, _) =>
+            withNullFact(fact, problem.callToReturnFlow(call, next, fact)).foreach { target =>
+                val edgeFunction = problem.callToReturnEdgeFunction(call, next, fact, target)
+                propagateToNext(
+                    state, source, index, next, isEnd, target, compose(function, edgeFunction)
+                )
+            }
+        }
+
+        callees.foreach { calleeContext =>
+            val callee = calleeContext.method
+            if (callee.hasSingleDefinedMethod && callee.definedMethod.isNative) {
+                foreachNext(state, index) { (next, isEnd, _) =>
+                    problem.nativeCall(call, calleeContext, next, fact).foreach { target =>
+                        val edgeFunction =
+                            problem.nativeCallEdgeFunction(call, calleeContext, next, fact, target)
+                        propagateToNext(
+                            state, source, index, next, isEnd, target, compose(function, edgeFunction)
+                        )
+                    }
+                }
+            } else methodState(calleeContext).foreach { calleeState =>
+                withNullFact(fact, problem.callFlow(call, calleeContext, fact)).foreach { calleeFact =>
+                    val callEdgeFunction =
+                        problem.callEdgeFunction(call, calleeContext, fact, calleeFact)
+                    addTo(
+                        state.callEdges,
+                        source,
+                        CallEdge(index, fact, calleeState, calleeFact, callEdgeFunction)
+                    )
+                    val incomingEdge = IncomingEdge(state, index, source, fact, callEdgeFunction)
+                    // The incoming edge has to be recorded before the end summaries are read
+                    addTo(calleeState.incomingEdges, calleeFact, incomingEdge)
+                    start(calleeState, calleeFact)
+                    val summaries = calleeState.endSummaries.get(calleeFact)
+                    if (summaries ne null) {
+                        summaries.forEach { (exitFact, summary) =>
+                            applySummary(incomingEdge, calleeState, exitFact, summary)
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private[this] def addEndSummary(
+        state:    State,
+        source:   IFDSFact,
+        exitFact: ExitFact[IFDSFact],
+        function: Function
+    ): Unit = {
+        var summaries = state.endSummaries.get(source)
+        if (summaries eq null)
+            summaries = state.endSummaries.computeIfAbsent(source, _ => new ConcurrentHashMap())
+        // The end summary has to be updated before the incoming edges are read
+        if (updateFunction(summaries, exitFact, function)) {
+            val incomingEdges = state.incomingEdges.get(source)
+            if (incomingEdges ne null) {
+                val summary = summaries.get(exitFact)
+                incomingEdges.forEach(applySummary(_, state, exitFact, summary))
+            }
+        }
+    }
+
+    private[this] def applySummary(
+        incomingEdge: IncomingEdge[IFDSFact, Value],
+        calleeState:  State,
+        exitFact:     ExitFact[IFDSFact],
+        summary:      Function
+    ): Unit = {
+        val caller = incomingEdge.caller
+        val callIndex = incomingEdge.callIndex
+        val call = caller.statements(callIndex)
+        val calleeContext = calleeState.context
+        val exit = calleeState.statements(exitFact.index)
+        val isNormalExit =
+            exit.stmt.astID == Return.ASTID || exit.stmt.astID == ReturnValue.ASTID
+        val callerFunction = caller.jumpFunctions.get(
+            PathEdge(incomingEdge.callerSource, callIndex, incomingEdge.callFact)
+        )
+        val function = compose(compose(callerFunction, incomingEdge.callEdgeFunction), summary)
+
+        foreachNext(caller, callIndex) { (next, isEnd, isNormal) =>
+            // For backward problems, the end of the callee is reached from all successors
+            if (isBackward || isNormal == isNormalExit) {
+                problem.returnFlow(call, calleeContext, exit, next, exitFact.fact).foreach {
+                    target =>
+                        val edgeFunction = problem.returnEdgeFunction(
+                            call, calleeContext, exit, next, exitFact.fact, target
+                        )
+                        propagateToNext(
+                            caller, incomingEdge.callerSource, callIndex, next, isEnd, target,
+                            compose(function, edgeFunction)
+                        )
+                }
+            }
+        }
+    }
+
+    /**
+     * Meets the value of the fact at the beginning of the method with the given value.
+     */
+    private[this] def updateStartValue(state: State, fact: IFDSFact, value: Value): Unit = {
+        var oldValue = state.startValues.putIfAbsent(fact, value)
+        var isUpdated = oldValue == null
+        while (!isUpdated) {
+            val newValue = problem.meet(oldValue, value)
+            if (newValue == oldValue)
+                return ;
+            isUpdated = state.startValues.replace(fact, oldValue, newValue)
+            if (!isUpdated)
+                oldValue = state.startValues.get(fact)
+        }
+        changedStartValues.add((state, fact))
+    }
+
+    private[this] def propagateStartValue(state: State, source: IFDSFact): Unit = {
+        val callEdges = state.callEdges.get(source)
+        if (callEdges ne null) {
+            val value = state.startValues.get(source)
+            callEdges.forEach { callEdge =>
+                val function = state.jumpFunctions.get(
+                    PathEdge(source, callEdge.callIndex, callEdge.callFact)
+                )
+                updateStartValue(
+                    callEdge.callee,
+                    callEdge.calleeFact,
+                    callEdge.callEdgeFunction(function(value))
+                )
+            }
+        }
+    }
+}
+
+/**
+ * The fact `target` holds before the statement at `index` if the fact `source` held at the
+ * beginning of the method (after the statement and at the end of the method for backward
+ * problems).
+ */
+private[ide] final case class PathEdge[IFDSFact](source: IFDSFact, index: Int, target: IFDSFact)
+
+/**
+ * The fact `fact` holds after the exit statement at `index` (before the first statement if
+ * `index` is 0 and the problem is a backward problem).
+ */
+private[ide] final case class ExitFact[IFDSFact](index: Int, fact: IFDSFact)
+
+/**
+ * The call statement at `callIndex` of `caller` is reached with the fact `callFact` if the fact
+ * `callerSource` held at the beginning of the caller.
+ */
+private[ide] final case class IncomingEdge[IFDSFact <: AbstractIFDSFact, Value](
+        caller:           MethodState[IFDSFact, Value],
+        callIndex:        Int,
+        callerSource:     IFDSFact,
+        callFact:         IFDSFact,
+        callEdgeFunction: EdgeFunction[Value]
+)
+
+/**
+ * The fact `calleeFact` holds at the beginning of `callee` if the fact `callFact` held before
+ * the call statement at `callIndex`.
+ */
+private[ide] final case class CallEdge[IFDSFact <: AbstractIFDSFact, Value](
+        callIndex:        Int,
+        callFact:         IFDSFact,
+        callee:           MethodState[IFDSFact, Value],
+        calleeFact:       IFDSFact,
+        callEdgeFunction: EdgeFunction[Value]
+)
+
+/**
+ * The tables of the [[IDESolver]] for one method (in one context). All tables are keyed by the
+ * fact at the beginning of the method.
+ */
+private[ide] final class MethodState[IFDSFact <: AbstractIFDSFact, Value](
+        val context: Context,
+        val code:    Array[Stmt[V]],
+        val cfg:     CFG[Stmt[V], TACStmts[V]],
+        val callees: Callees
+) {
+
+    val statements: Array[Statement] = Array.tabulate(code.length) { index =>
+        Statement(context, cfg.bb(index), code(index), index, code, cfg)
+    }
+
+    val normalExit: Statement = Statement(context, cfg.normalReturnNode, null, 0, code, cfg)
+
+    val abnormalExit: Statement = Statement(context, cfg.abnormalReturnNode, null, 0, code, cfg)
+
+    // The artificial statement before the first statement, i.e., the end of backward problems
+    val entry: Statement = Statement(context, cfg.startBlock, null, -1, code, cfg)
+
+    // The indices of the statements after which the method may be left
+    val exitIndices: Array[Int] =
+        cfg.allBBs.filter(_.successors.exists(_.isExitNode)).map(_.endPC).toArray
+
+    // The callees of each statement; computed on demand
+    val calleeContexts = new AtomicReferenceArray[Array[Context]](code.length)
+
+    val jumpFunctions = new ConcurrentHashMap[PathEdge[IFDSFact], EdgeFunction[Value]]()
+
+    val endSummaries =
+        new ConcurrentHashMap[IFDSFact, ConcurrentHashMap[ExitFact[IFDSFact], EdgeFunction[Value]]]()
+
+    val incomingEdges =
+        new ConcurrentHashMap[IFDSFact, java.util.Set[IncomingEdge[IFDSFact, Value]]]()
+
+    val callEdges = new ConcurrentHashMap[IFDSFact, java.util.Set[CallEdge[IFDSFact, Value]]]()
+
+    val startValues = new ConcurrentHashMap[IFDSFact, Value]()
+}
+
+/**
+ * Schedules an [[IDESolver]] for the problem created by [[createProblem]]. The solver has to be
+ * scheduled in a phase after the call graph was computed.
+ */
+abstract class IDESolverScheduler[IFDSFact <: AbstractIFDSFact, Value]
+    extends BasicFPCFEagerAnalysisScheduler {
+
+    /**
+     * The property of the results, i.e., of the properties created by the problem's
+     * [[IDEProblem.createIDEPropertyValue]].
+     */
+    def property: IFDSPropertyMetaInformation[IFDSFact]
+
+    def createProblem(p: SomeProject): IDEProblem[IFDSFact, Value]
+
+    override def requiredProjectInformation: ProjectInformationKeys =
+        Seq(DeclaredMethodsKey, TypeProviderKey)
+
+    override def start(p: SomeProject, ps: PropertyStore, i: Null): FPCFAnalysis = {
+        val solver = new IDESolver(p, createProblem(p), NumberOfThreadsForCPUBoundTasks)
+        ps.scheduleEagerComputationForEntity(p)(solver.analyze)
+        solver
+    }
+
+    override def uses: Set[PropertyBounds] = PropertyBounds.finalPs(TACAI, Callees)
+
+    override def derivesEagerly: Set[PropertyBounds] = Set(PropertyBounds.finalP(property))
+
+    override def derivesCollaboratively: Set[PropertyBounds] = Set.empty
+}
@@ -7,6 +7,7 @@ package pointsto
 
 import scala.collection.mutable.ArrayBuffer
 
+import org.opalj.log.OPALLogger
 import org.opalj.log.OPALLogger.logOnce
 import org.opalj.log.Warn
 import org.opalj.collection.immutable.IntTrieSet
@@ -63,6 +64,16 @@ import org.opalj.tac.fpcf.properties.TACAI
  */
 trait AbstractPointsToAnalysis extends PointsToAnalysisBase with ReachableMethodAnalysis {
 
+    /**
+     * The cycles formed by the unfiltered copy edges between points-to entities; `None` if
+     * cycle elimination is disabled.
+     */
+    private[pointsto] val copyCycles: Option[CopyCycles] =
+        if (project.config.getBoolean(AbstractPointsToAnalysis.cycleEliminationConfigKey))
+            Some(new CopyCycles())
+        else
+            None
+
     override def processMethod(
         callContext: ContextType, tacEP: EPS[Method, TACAI]
     ): ProperPropertyComputationResult = {
@@ -544,10 +555,104 @@ trait AbstractPointsToAnalysis extends PointsToAnalysisBase with ReachableMethod
 
                 Results(results)
 
+            case UBP(newDependeePointsTo: PointsToSet @unchecked) if copyCycles.isDefined &&
+                (dependees(eps.toEPK)._2 eq PointsToSetLike.noFilter) =>
+                continuationForCopyEdge(e, dependees, state, copyCycles.get)(
+                    eps, newDependeePointsTo
+                )
+
             case _ => super.continuationForShared(e, dependees, state)(eps)
         }
     }
 
+    /**
+     * Handles an update of the points-to set of an entity that is copied to `e` without
+     * filtering. If such a copy edge is part of a cycle, all entities of the cycle will have
+     * the same points-to set. Hence, the members of a cycle are merged into its representative:
+     * a copy edge between two members that are not the representative is replaced by an edge
+     * from the source to the representative and an edge from the representative to `e` (see
+     * [[CopyCycles]]).
+     */
+    private[this] def continuationForCopyEdge(
+        e:          Entity,
+        dependees:  Map[SomeEPK, (SomeEOptionP, ReferenceType => Boolean)],
+        state:      State,
+        copyCycles: CopyCycles
+    )(
+        eps:                 SomeEPS,
+        newDependeePointsTo: PointsToSet
+    ): ProperPropertyComputationResult = {
+        val dependee = eps.e
+        copyCycles.addCopyEdge(dependee, e)
+
+        val cycle = copyCycles.cycleOf(e)
+        val isCycleEdge = (cycle ne null) && cycle.members.contains(dependee)
+        if (isCycleEdge && dependee != cycle.representative && e != cycle.representative) {
+            val representative = cycle.representative
+            var results: Seq[ProperPropertyComputationResult] = Seq.empty
+
+            if (copyCycles.addRepresentativeEdge(dependee, representative)) {
+                // the representative takes over the dependency on the dependee
+                var representativeDependees =
+                    Map.empty[SomeEPK, (SomeEOptionP, ReferenceType => Boolean)]
+                if (eps.isRefinable)
+                    representativeDependees += eps.toEPK -> ((eps, PointsToSetLike.noFilter))
+                results ++= createPartialResults(
+                    representative,
+                    newDependeePointsTo,
+                    representativeDependees,
+                    { _.included(newDependeePointsTo) },
+                    true
+                )(state)
+            }
+
+            if (copyCycles.addRepresentativeEdge(representative, e)) {
+                // The dependency is registered using the EPK; the property store immediately
+                // passes the current points-to set of the representative to the continuation.
+                val representativeEPK = EPK(representative, pointsToPropertyKey)
+                results ++= createPartialResults(
+                    e,
+                    emptyPointsToSet,
+                    Map(representativeEPK -> ((representativeEPK, PointsToSetLike.noFilter))),
+                    identity,
+                    true
+                )(state)
+            }
+
+            // the edge itself is dropped
+            copyCycles.incrementRedirectedEdges()
+            val remainingDependees = dependees - eps.toEPK
+            if (remainingDependees.nonEmpty) {
+                results +:= InterimPartialResult(
+                    remainingDependees.valuesIterator.map(_._1).toSet,
+                    continuationForShared(e, remainingDependees, state)
+                )
+            }
+
+            Results(results)
+        } else {
+            val results = createPartialResults(
+                e,
+                newDependeePointsTo,
+                updatedDependees(eps, dependees),
+                { old =>
+                    val newPointsTo = updatedPointsToSet(old, newDependeePointsTo, eps, dependees)
+                    // lazy cycle detection: if the target has as many elements as the source,
+                    // both are likely to be equal, which is an indicator of a cycle; the search
+                    // only uses the recorded copy edges
+                    if (!isCycleEdge &&
+                        newPointsTo.numElements == newDependeePointsTo.numElements &&
+                        copyCycles.shouldCheckEdge(dependee, e))
+                        copyCycles.searchCycle(dependee, e)
+                    newPointsTo
+                },
+                true
+            )(state)
+
+            Results(results)
+        }
+    }
+
     def continuationForCallees(
         oldCalleeEOptP: EOptionP[DeclaredMethod, Callees],
         state:          State
@@ -632,8 +737,27 @@ trait AbstractPointsToAnalysisScheduler extends FPCFTriggeredAnalysisScheduler {
         p:        SomeProject,
         ps:       PropertyStore,
         analysis: FPCFAnalysis
-    ): Unit = {}
+    ): Unit = {
+        analysis.asInstanceOf[AbstractPointsToAnalysis].copyCycles foreach { copyCycles =>
+            OPALLogger.info(
+                "analysis progress",
+                copyCycles.statistics.map(s => s"${s._1}: ${s._2}").mkString(
+                    s"${analysis.getClass.getSimpleName} copy cycles: ", ", ", ""
+                )
+            )(p.logContext)
+        }
+    }
 
     override def triggeredBy: PropertyKind = Callers
 }
 
+object AbstractPointsToAnalysis {
+
+    /**
+     * If `true`, cycles of unfiltered copy edges between points-to entities are detected and
+     * the entities of a cycle are merged into one representative.
+     */
+    final val cycleEliminationConfigKey =
+        "org.opalj.fpcf.analyses.PointsToAnalysis.cycleElimination"
+}
+
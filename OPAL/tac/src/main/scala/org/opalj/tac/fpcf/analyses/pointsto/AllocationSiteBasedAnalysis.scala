@@ -18,6 +18,9 @@ import org.opalj.br.ObjectType.StringId
 import org.opalj.br.fpcf.properties.pointsto.allocationSiteToLong
 import org.opalj.br.ObjectType
 import org.opalj.br.ReferenceType
+import org.opalj.br.fpcf.properties.pointsto.AllocationSiteIndices
+import org.opalj.br.fpcf.properties.pointsto.AllocationSiteIndicesKey
+import org.opalj.br.fpcf.properties.pointsto.AllocationSitePointsToBitSet
 import org.opalj.br.fpcf.properties.pointsto.AllocationSitePointsToSet1
 import org.opalj.br.fpcf.properties.pointsto.NoAllocationSites
 import org.opalj.br.fpcf.properties.pointsto.AllocationSite
@@ -33,6 +36,7 @@ import org.opalj.tac.fpcf.analyses.pointsto.AllocationSiteBasedAnalysis.mergeStr
 import org.opalj.tac.fpcf.analyses.pointsto.AllocationSiteBasedAnalysis.stringBufferPointsToSet
 import org.opalj.tac.fpcf.analyses.pointsto.AllocationSiteBasedAnalysis.stringBuilderPointsToSet
 import org.opalj.tac.fpcf.analyses.pointsto.AllocationSiteBasedAnalysis.stringConstPointsToSet
+import org.opalj.tac.fpcf.analyses.pointsto.AllocationSiteBasedAnalysis.useBitSetsConfigKey
 
 trait AllocationSiteBasedAnalysis extends AbstractPointsToBasedAnalysis {
 
@@ -44,6 +48,9 @@ trait AllocationSiteBasedAnalysis extends AbstractPointsToBasedAnalysis {
     val mergeStringConstants: Boolean = project.config.getBoolean(mergeStringConstsConfigKey)
     val mergeClassConstants: Boolean = project.config.getBoolean(mergeClassConstsConfigKey)
     val mergeExceptions: Boolean = project.config.getBoolean(mergeExceptionsConfigKey)
+    val useBitSets: Boolean = project.config.getBoolean(useBitSetsConfigKey)
+    val allocationSiteIndices: AllocationSiteIndices =
+        if (useBitSets) project.get(AllocationSiteIndicesKey) else null
 
     override protected[this] def createPointsToSet(
         pc:            Int,
@@ -51,6 +58,22 @@ trait AllocationSiteBasedAnalysis extends AbstractPointsToBasedAnalysis {
         allocatedType: ReferenceType,
         isConstant:    Boolean,
         isEmptyArray:  Boolean       = false
+    ): AllocationSitePointsToSet = {
+        val pointsToSet = createAllocationSitePointsToSet(
+            pc, callContext, allocatedType, isConstant, isEmptyArray
+        )
+        if (useBitSets)
+            AllocationSitePointsToBitSet(pointsToSet, allocationSiteIndices)
+        else
+            pointsToSet
+    }
+
+    private[this] def createAllocationSitePointsToSet(
+        pc:            Int,
+        callContext:   ContextType,
+        allocatedType: ReferenceType,
+        isConstant:    Boolean,
+        isEmptyArray:  Boolean
     ): AllocationSitePointsToSet = {
         @inline def createNewPointsToSet(): AllocationSitePointsToSet = {
             val as = allocationSiteToLong(callContext, pc, allocatedType, isEmptyArray)
@@ -125,6 +148,11 @@ object AllocationSiteBasedAnalysis {
     val mergeStringConstsConfigKey: String = configPrefix+"mergeStringConstants"
     val mergeClassConstsConfigKey: String = configPrefix+"mergeClassConstants"
     val mergeExceptionsConfigKey: String = configPrefix+"mergeExceptions"
+    /**
+     * If `true`, the points-to sets are represented as bit sets over dense allocation site
+     * indices (see [[org.opalj.br.fpcf.properties.pointsto.AllocationSitePointsToBitSet]]).
+     */
+    val useBitSetsConfigKey: String = configPrefix+"useBitSets"
 
     // TODO: Create merged pointsTo allocation site
     val stringBuilderPointsToSet: AllocationSitePointsToSet =
@@ -0,0 +1,151 @@
+/* BSD 2-Clause License - see OPAL/LICENSE for details. */
+package org.opalj
+package tac
+package fpcf
+package analyses
+package pointsto
+
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicLong
+
+import scala.collection.mutable
+
+import org.opalj.fpcf.Entity
+
+/**
+ * A set of points-to entities that (transitively) copy their points-to sets into each other
+ * without filtering; hence, all members eventually have the same points-to set.
+ *
+ * @param representative The member that collects the points-to sets of all members and
+ *        propagates them to all other members.
+ */
+private[pointsto] final class CopyCycle(val representative: Entity, val members: Set[Entity])
+
+/**
+ * Records the unfiltered copy edges between the points-to entities (i.e., an entity whose
+ * points-to set includes the points-to set of another entity) and detects the cycles
+ * formed by them using lazy cycle detection: a cycle is only searched for when an update
+ * along a copy edge leads to a points-to set with the same number of elements as the source's
+ * points-to set, and each edge is checked at most once.
+ *
+ * The members of a cycle are merged into one representative: the points-to analysis replaces
+ * the copy edges between two members that are not the representative by an edge from the
+ * source to the representative and an edge from the representative to the target. Hence,
+ * new elements that enter a cycle are propagated in at most two steps to all members, and
+ * every member is updated once instead of once per incoming copy edge of the cycle.
+ * (The property store does not support merging entities; hence, every member still has
+ * its own points-to set.)
+ *
+ * ==Thread Safety==
+ * This class is thread-safe.
+ *
+ * @param maxSearchedEntities The maximum number of entities that are traversed when searching
+ *        for a cycle; if the limit is reached, the search is aborted.
+ */
+private[pointsto] class CopyCycles(val maxSearchedEntities: Int = 10000) {
+
+    private[this] val successors = new ConcurrentHashMap[Entity, Set[Entity]]()
+    private[this] val cycles = new ConcurrentHashMap[Entity, CopyCycle]()
+    private[this] val checkedEdges = ConcurrentHashMap.newKeySet[(Entity, Entity)]()
+    private[this] val representativeEdges = ConcurrentHashMap.newKeySet[(Entity, Entity)]()
+
+    private[this] val detectedCycles = new AtomicLong(0)
+    private[this] val redirectedEdges = new AtomicLong(0)
+
+    def addCopyEdge(source: Entity, target: Entity): Unit = {
+        successors.compute(
+            source,
+            (_, targets) => if (targets eq null) Set(target) else targets + target
+        )
+    }
+
+    /** The cycle the given entity belongs to; `null` if the entity is not part of a cycle. */
+    def cycleOf(e: Entity): CopyCycle = cycles.get(e)
+
+    /**
+     * Returns `true` exactly once per edge; i.e., if no cycle was searched for using the given
+     * edge before.
+     */
+    def shouldCheckEdge(source: Entity, target: Entity): Boolean = {
+        checkedEdges.add((source, target))
+    }
+
+    /**
+     * Returns `true` exactly once per edge; i.e., if the edge from a member of a cycle to its
+     * representative or from the representative to a member was not created before.
+     */
+    def addRepresentativeEdge(source: Entity, target: Entity): Boolean = {
+        representativeEdges.add((source, target))
+    }
+
+    /**
+     * Searches for a cycle that contains the (recorded) copy edge from `source` to `target`.
+     * If a cycle is found, it is merged with all cycles that overlap with it and the new cycle
+     * is returned; `null` otherwise.
+     */
+    def searchCycle(source: Entity, target: Entity): CopyCycle = {
+        // 1. collect all entities reachable from the target
+        val reachable = mutable.HashSet(target)
+        val predecessors = mutable.HashMap.empty[Entity, List[Entity]]
+        var worklist = List(target)
+        while (worklist.nonEmpty && reachable.size < maxSearchedEntities) {
+            val e = worklist.head
+            worklist = worklist.tail
+            val targets = successors.get(e)
+            if (targets ne null) targets foreach { t =>
+                predecessors.update(t, e :: predecessors.getOrElse(t, Nil))
+                if (reachable.add(t)) worklist ::= t
+            }
+        }
+        if (worklist.nonEmpty || !reachable.contains(source))
+            return null;
+
+        // 2. the cycle consists of all reachable entities that reach the source
+        val members = mutable.HashSet(source)
+        worklist = List(source)
+        while (worklist.nonEmpty) {
+            val e = worklist.head
+            worklist = worklist.tail
+            predecessors.getOrElse(e, Nil) foreach { p => if (members.add(p)) worklist ::= p }
+        }
+
+        detectedCycles.incrementAndGet()
+        mergeCycle(target, members.toSet)
+    }
+
+    /**
+     * Merges the given members with the members of all overlapping cycles; the representative
+     * of the largest overlapping cycle is kept to keep the already redirected edges valid.
+     */
+    private[this] def mergeCycle(target: Entity, members: Set[Entity]): CopyCycle = synchronized {
+        var allMembers = members
+        var representative = target
+        var representativeCycleSize = 0
+        members foreach { m =>
+            val cycle = cycles.get(m)
+            if (cycle ne null) {
+                allMembers ++= cycle.members
+                if (cycle.members.size > representativeCycleSize) {
+                    representative = cycle.representative
+                    representativeCycleSize = cycle.members.size
+                }
+            }
+        }
+        val cycle = new CopyCycle(representative, allMembers)
+        allMembers foreach { m => cycles.put(m, cycle) }
+        cycle
+    }
+
+    def incrementRedirectedEdges(): Unit = redirectedEdges.incrementAndGet()
+
+    /**
+     * The number of detected cycles, the number of entities that are part of a cycle and the
+     * number of copy edges between members of a cycle that were replaced by edges to and from
+     * the representative.
+     */
+    def statistics: Map[String, Long] = Map(
+        "detected cycles" -> detectedCycles.get,
+        "entities in cycles" -> cycles.size.toLong,
+        "redirected copy edges" -> redirectedEdges.get
+    )
+}
@@ -26,6 +26,7 @@ import org.opalj.fpcf.Result
 import org.opalj.fpcf.SomeEOptionP
 import org.opalj.fpcf.SomeEPS
 import org.opalj.fpcf.UBP
+import org.opalj.log.OPALLogger
 import org.opalj.value.ASObjectValue
 import org.opalj.br.ComputationalTypeReference
 import org.opalj.br.DeclaredMethod
@@ -955,7 +956,7 @@ trait L2PurityAnalysisScheduler extends FPCFAnalysisScheduler {
     final def derivedProperty: PropertyBounds = PropertyBounds.lub(Purity)
 
     override def requiredProjectInformation: ProjectInformationKeys =
-        Seq(DeclaredMethodsKey, SimpleContextsKey, ConfiguredPurityKey)
+        Seq(DeclaredMethodsKey, SimpleContextsKey, ConfiguredPurityKey, PuritySummariesKey)
 
     override def uses: Set[PropertyBounds] = {
         Set(
@@ -976,7 +977,16 @@ trait L2PurityAnalysisScheduler extends FPCFAnalysisScheduler {
         new L2PurityAnalysis(p)
     }
 
-    override def beforeSchedule(p: SomeProject, ps: PropertyStore): Unit = {}
+    override def beforeSchedule(p: SomeProject, ps: PropertyStore): Unit = {
+        val summaries = p.get(PuritySummariesKey)
+        if (summaries.isEnabled) {
+            val seeded = summaries.seed(ps, p.get(CallGraphKey))
+            OPALLogger.info(
+                "analysis progress",
+                s"used the purity summaries of $seeded library methods from ${summaries.file.get}"
+            )(p.logContext)
+        }
+    }
 
     override def afterPhaseScheduling(ps: PropertyStore, analysis: FPCFAnalysis): Unit = {}
 
@@ -984,7 +994,16 @@ trait L2PurityAnalysisScheduler extends FPCFAnalysisScheduler {
         p:        SomeProject,
         ps:       PropertyStore,
         analysis: FPCFAnalysis
-    ): Unit = {}
+    ): Unit = {
+        val summaries = p.get(PuritySummariesKey)
+        if (summaries.isEnabled) {
+            val exported = summaries.export(ps, p.get(CallGraphKey))
+            OPALLogger.info(
+                "analysis progress",
+                s"wrote the purity summaries of $exported library methods to ${summaries.file.get}"
+            )(p.logContext)
+        }
+    }
 
 }
 
@@ -997,8 +1016,9 @@ object EagerL2PurityAnalysis extends L2PurityAnalysisScheduler with FPCFEagerAna
         p: SomeProject, ps: PropertyStore, analysis: InitializationData
     ): FPCFAnalysis = {
         val cg = p.get(CallGraphKey)
+        val summaries = p.get(PuritySummariesKey)
         val methods = cg.reachableMethods().collect {
-            case c @ Context(dm) if dm.hasSingleDefinedMethod && dm.definedMethod.body.isDefined && !analysis.configuredPurity.wasSet(dm) && ps(dm, Callers.key).ub != NoCallers =>
+            case c @ Context(dm) if dm.hasSingleDefinedMethod && dm.definedMethod.body.isDefined && !analysis.configuredPurity.wasSet(dm) && !summaries.wasSeeded(dm) && ps(dm, Callers.key).ub != NoCallers =>
                 c
         }
 
@@ -0,0 +1,326 @@
+/* BSD 2-Clause License - see OPAL/LICENSE for details. */
+package org.opalj
+package tac
+package fpcf
+package analyses
+package purity
+
+import java.net.URL
+import java.nio.charset.StandardCharsets
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.Paths
+import java.security.MessageDigest
+import java.util.concurrent.ConcurrentHashMap
+import scala.collection.mutable
+import scala.jdk.CollectionConverters._
+
+import com.typesafe.config.ConfigRenderOptions
+
+import org.opalj.collection.immutable.IntTrieSet
+import org.opalj.fpcf.FinalP
+import org.opalj.fpcf.PropertyStore
+import org.opalj.io.process
+import org.opalj.br.ClassFile
+import org.opalj.br.DeclaredMethod
+import org.opalj.br.Method
+import org.opalj.br.ObjectType
+import org.opalj.br.analyses.DeclaredMethodsKey
+import org.opalj.br.analyses.ProjectInformationKey
+import org.opalj.br.analyses.ProjectInformationKeys
+import org.opalj.br.analyses.SomeProject
+import org.opalj.br.fpcf.properties.ContextuallyPure
+import org.opalj.br.fpcf.properties.ContextuallySideEffectFree
+import org.opalj.br.fpcf.properties.DContextuallyPure
+import org.opalj.br.fpcf.properties.DContextuallySideEffectFree
+import org.opalj.br.fpcf.properties.ImpureByAnalysis
+import org.opalj.br.fpcf.properties.ImpureByLackOfInformation
+import org.opalj.br.fpcf.properties.Purity
+import org.opalj.br.fpcf.properties.SimpleContextsKey
+import org.opalj.br.fpcf.properties.VirtualMethodPurity
+import org.opalj.tac.cg.CallGraph
+
+/**
+ * The final [[Purity]] and [[VirtualMethodPurity]] of library methods computed by a previous
+ * run of the purity analysis. Library jars rarely change; hence, their methods' purity can be
+ * reused instead of being recomputed on every run. The summaries are stored in the file
+ * configured using `org.opalj.fpcf.analyses.L2PurityAnalysis.summaries` (no summaries are used
+ * if no file is configured) and are only used if their key matches the current run: the key is
+ * the SHA-256 hash of the hashes of all library jars (class files) and of the configuration of
+ * the analyses and the call graph. Within a file, the summaries are keyed by the methods'
+ * signatures.
+ *
+ * The purity of a library method is only summarized if the method cannot (transitively) call a
+ * project method or a method with an incomplete call site; the virtual method purity is,
+ * additionally, only summarized if the declaring class has no subtype in the project. All
+ * conditions are checked w.r.t. the current call graph when the summaries are exported and when
+ * they are used.
+ */
+class PuritySummaries private[purity] (val project: SomeProject) {
+
+    private[this] val declaredMethods = project.get(DeclaredMethodsKey)
+    private[this] val simpleContexts = project.get(SimpleContextsKey)
+
+    /** The file from which the summaries are read and to which they are written; if any. */
+    val file: Option[Path] = {
+        val fileName = project.config.getString(PuritySummaries.ConfigKey)
+        if (fileName.isEmpty) None else Some(Paths.get(fileName))
+    }
+
+    def isEnabled: Boolean = file.isDefined
+
+    /** The hashes of the class files' containers (jars); `None` if the jar can't be read. */
+    private[this] val containerHashes = new ConcurrentHashMap[String, Option[String]]()
+
+    /**
+     * The key of the summaries of this project's library and configuration; `None` if a library
+     * jar can't be read, i.e., if no summaries can be used.
+     */
+    lazy val key: Option[String] = {
+        val libraryHashes = project.allLibraryClassFiles.iterator.map(containerHash).toSet
+        if (libraryHashes.contains(None)) {
+            None
+        } else {
+            val config = project.config.withoutPath(PuritySummaries.ConfigKey)
+            val renderOptions = ConfigRenderOptions.concise()
+            val configValues = PuritySummaries.RelevantConfigPaths.filter(config.hasPath).map {
+                path => path+"="+config.getValue(path).render(renderOptions)
+            }
+            Some(hash(libraryHashes.flatten.toList.sorted ++ configValues))
+        }
+    }
+
+    /**
+     * The summaries read from the file: method signature -> (purity, virtual method purity);
+     * the first line of the file contains the key and each following line consists of the class,
+     * the name, the descriptor, the purity and the virtual method purity separated by tabs.
+     */
+    private[this] lazy val summaries: Map[String, (String, String)] = file match {
+        case Some(path) if key.isDefined && Files.exists(path) =>
+            val lines = Files.readAllLines(path, StandardCharsets.UTF_8).asScala.toList
+            if (lines.headOption.contains(PuritySummaries.KeyPrefix + key.get)) {
+                lines.tail.filterNot(line => line.isEmpty || line.startsWith("#")).map { line =>
+                    val e = line.split('\t')
+                    (e.slice(0, 3).mkString("\t"), (e(3), e(4)))
+                }.toMap
+            } else {
+                Map.empty
+            }
+        case _ =>
+            Map.empty
+    }
+
+    private[this] val seeded = ConcurrentHashMap.newKeySet[DeclaredMethod]()
+
+    /**
+     * Returns `true` iff the purity of the given method was set using the summaries, i.e.,
+     * it must not be analyzed.
+     */
+    def wasSeeded(dm: DeclaredMethod): Boolean = seeded.contains(dm)
+
+    /**
+     * Sets the purity (and the virtual method purity) of all library methods that are summarized.
+     * Has to be called before any analysis is scheduled; returns the number of seeded methods.
+     */
+    def seed(ps: PropertyStore, cg: CallGraph): Int = {
+        if (summaries.isEmpty)
+            return 0;
+
+        foreachSummarizableMethod(cg) { (cf, m, hasProjectSubtypes) =>
+            summaries.get(signature(cf, m)).foreach { summary =>
+                val (purityName, virtualPurityName) = summary
+                val dm = declaredMethods(m)
+                val context = simpleContexts(dm)
+                PuritySummaries.purity(purityName).foreach { purity =>
+                    ps.set(context, purity)
+                    seeded.add(dm)
+                }
+                if (!hasProjectSubtypes) {
+                    PuritySummaries.purity(virtualPurityName).foreach { purity =>
+                        ps.set(dm, purity.aggregatedProperty)
+                    }
+                }
+            }
+        }
+        seeded.size
+    }
+
+    /**
+     * Writes the final purities of all summarizable library methods to the summaries file
+     * (replacing the summaries of other libraries or configurations). Returns the number of
+     * exported methods; nothing is exported if a library jar can't be read.
+     */
+    def export(ps: PropertyStore, cg: CallGraph): Int = {
+        if (key.isEmpty)
+            return 0;
+
+        val lines = mutable.ArrayBuffer.empty[String]
+        foreachSummarizableMethod(cg) { (cf, m, hasProjectSubtypes) =>
+            val dm = declaredMethods(m)
+            ps.get(simpleContexts(dm), Purity.key) match {
+                case Some(FinalP(purity)) =>
+                    val virtualPurity = ps.get(dm, VirtualMethodPurity.key) match {
+                        case Some(FinalP(vp)) if !hasProjectSubtypes =>
+                            PuritySummaries.nameOf(vp.individualProperty)
+                        case _ =>
+                            "-"
+                    }
+                    val purityName = PuritySummaries.nameOf(purity)
+                    lines += s"${signature(cf, m)}\t$purityName\t$virtualPurity"
+                case _ =>
+            }
+        }
+
+        val header = Seq(
+            PuritySummaries.KeyPrefix + key.get,
+            "# class\tname\tdescriptor\tpurity\tvirtual method purity"
+        )
+        Files.write(file.get, (header ++ lines.sorted).asJava, StandardCharsets.UTF_8)
+        lines.size
+    }
+
+    /**
+     * Calls `f` for each library method whose purity can be summarized with whether the
+     * declaring class has subtypes in the project.
+     */
+    private[this] def foreachSummarizableMethod(
+        cg: CallGraph
+    )(
+        f: (ClassFile, Method, Boolean) => Unit
+    ): Unit = {
+        val unsummarizableMethods = methodsCallingUnsummarizableMethods(cg)
+        val typesWithProjectSubtypes = mutable.Set.empty[ObjectType]
+        project.allProjectClassFiles.foreach { cf =>
+            project.classHierarchy.allSupertypes(cf.thisType).foreach(typesWithProjectSubtypes += _)
+        }
+
+        for {
+            cf <- project.allLibraryClassFiles
+            m <- cf.methods
+            if !unsummarizableMethods.contains(declaredMethods(m))
+        } {
+            f(cf, m, typesWithProjectSubtypes.contains(cf.thisType))
+        }
+    }
+
+    /**
+     * The project methods, the reachable methods with incomplete call sites (whose callees, and
+     * hence purity, depend on the project) and all methods that can (transitively) call one of
+     * them.
+     */
+    private[this] def methodsCallingUnsummarizableMethods(
+        cg: CallGraph
+    ): mutable.Set[DeclaredMethod] = {
+        val methods = mutable.Set.empty[DeclaredMethod]
+        var worklist: List[DeclaredMethod] = Nil
+        for {
+            cf <- project.allProjectClassFiles
+            m <- cf.methods
+        } {
+            val dm = declaredMethods(m)
+            methods += dm
+            worklist ::= dm
+        }
+        cg.reachableMethods().foreach { context =>
+            val dm = context.method
+            if (!methods.contains(dm) && cg.incompleteCallSitesOf(dm).nonEmpty) {
+                methods += dm
+                worklist ::= dm
+            }
+        }
+
+        while (worklist.nonEmpty) {
+            val dm = worklist.head
+            worklist = worklist.tail
+            cg.callersOf(dm).iterator.foreach {
+                case (caller, _, _) =>
+                    if (methods.add(caller))
+                        worklist ::= caller
+            }
+        }
+        methods
+    }
+
+    private[this] def containerHash(cf: ClassFile): Option[String] = {
+        project.source(cf).flatMap { source =>
+            val url = source.toString
+            val container = url.indexOf("!/") match {
+                case -1    => url
+                case index => url.substring(0, index).stripPrefix("jar:")
+            }
+            containerHashes.computeIfAbsent(container, c => hashOfContainer(c))
+        }
+    }
+
+    private[this] def hashOfContainer(container: String): Option[String] = {
+        try {
+            val digest = MessageDigest.getInstance("SHA-256")
+            process(new URL(container).openStream()) { in =>
+                val buffer = new Array[Byte](1 << 16)
+                var read = in.read(buffer)
+                while (read != -1) {
+                    digest.update(buffer, 0, read)
+                    read = in.read(buffer)
+                }
+            }
+            Some(toHexString(digest.digest()))
+        } catch {
+            case _: Exception => None
+        }
+    }
+
+    private[this] def hash(values: Seq[String]): String = {
+        val digest = MessageDigest.getInstance("SHA-256")
+        values.foreach { value => digest.update((value+"\n").getBytes(StandardCharsets.UTF_8)) }
+        toHexString(digest.digest())
+    }
+
+    private[this] def toHexString(bytes: Array[Byte]): String = bytes.map(b => f"$b%02x").mkString
+
+    private[this] def signature(cf: ClassFile, m: Method): String = {
+        s"${cf.thisType.fqn}\t${m.name}\t${m.descriptor.toJVMDescriptor}"
+    }
+}
+
+object PuritySummaries {
+
+    final val ConfigKey = "org.opalj.fpcf.analyses.L2PurityAnalysis.summaries"
+
+    /** The paths of the configuration that the summaries depend on. */
+    final val RelevantConfigPaths = Seq(
+        "org.opalj.fpcf.analyses",
+        "org.opalj.br.analyses.cg",
+        "org.opalj.tac.cg"
+    )
+
+    /** The prefix of the first line of a summaries file, which is followed by the key. */
+    final val KeyPrefix = "# key\t"
+
+    /** The name of the given purity as understood by [[purity]]. */
+    def nameOf(purity: Purity): String = purity match {
+        case ContextuallyPure(params)            => nameOf("ContextuallyPure", params)
+        case ContextuallySideEffectFree(params)  => nameOf("ContextuallySideEffectFree", params)
+        case DContextuallyPure(params)           => nameOf("DContextuallyPure", params)
+        case DContextuallySideEffectFree(params) => nameOf("DContextuallySideEffectFree", params)
+        case _                                   => purity.toString
+    }
+
+    private[this] def nameOf(level: String, modifiedParams: IntTrieSet): String = {
+        modifiedParams.mkString(level+"{", ",", "}")
+    }
+
+    /** The purity with the given name; in contrast to `Purity(name)` including impure levels. */
+    def purity(name: String): Option[Purity] = name match {
+        case "ImpureByAnalysis"          => Some(ImpureByAnalysis)
+        case "ImpureByLackOfInformation" => Some(ImpureByLackOfInformation)
+        case _                           => Purity(name)
+    }
+}
+
+object PuritySummariesKey extends ProjectInformationKey[PuritySummaries, Nothing] {
+
+    override def requirements(project: SomeProject): ProjectInformationKeys =
+        Seq(DeclaredMethodsKey, SimpleContextsKey)
+
+    override def compute(project: SomeProject): PuritySummaries = new PuritySummaries(project)
+}
@@ -0,0 +1,69 @@
+/* BSD 2-Clause License - see OPAL/LICENSE for details. */
+package org.opalj
+package tac
+package fpcf
+package analyses
+package taint
+
+import org.opalj.br.ObjectType
+
+/**
+ * The base of an [[AccessPath]].
+ */
+sealed abstract class AccessPathBase
+
+/**
+ * The local variable defined at `definitionSite`; negative definition sites are the origins of
+ * the parameters (-1 for `this`, -2 for the first explicit parameter, ...).
+ */
+final case class LocalBase(definitionSite: Int) extends AccessPathBase
+
+final case class StaticFieldBase(declaringClass: ObjectType, name: String) extends AccessPathBase
+
+/**
+ * The value returned by the current method; only used by backward analyses.
+ */
+case object ReturnValueBase extends AccessPathBase
+
+/**
+ * An access path, i.e., a base followed by a (possibly empty) sequence of field names. The
+ * elements of arrays are represented by the pseudo field [[AccessPath.ArrayElements]].
+ *
+ * Access paths are k-limited: if a field is appended to an access path that already has `k`
+ * fields, the access path is truncated, i.e., the last field is dropped. A tainted access path
+ * also taints all its extensions; hence, truncation is sound.
+ */
+final case class AccessPath(base: AccessPathBase, fields: List[String]) {
+
+    /**
+     * The access path that is obtained if `field` is prepended to the fields of this access
+     * path and the base is replaced by `newBase`; the result has at most `k` fields.
+     */
+    def prepend(newBase: AccessPathBase, field: String, k: Int): AccessPath = {
+        AccessPath(newBase, (field :: fields).take(k))
+    }
+
+    /**
+     * The access path that is tainted if this access path is tainted and the field `field` of
+     * the base is read into `newBase`, i.e., the remaining fields if the first field is `field`
+     * or the empty path if this access path has no fields.
+     */
+    def afterRead(newBase: AccessPathBase, field: String): Option[AccessPath] = fields match {
+        case Nil                  => Some(AccessPath(newBase, Nil))
+        case `field` :: remainder => Some(AccessPath(newBase, remainder))
+        case _                    => None
+    }
+
+    def withBase(newBase: AccessPathBase): AccessPath = {
+        if (newBase == base) this else AccessPath(newBase, fields)
+    }
+
+    override def toString: String = (base.toString :: fields).mkString(".")
+}
+
+object AccessPath {
+
+    final val ArrayElements = "[]"
+
+    def apply(base: AccessPathBase): AccessPath = AccessPath(base, Nil)
+}
@@ -0,0 +1,201 @@
+/* BSD 2-Clause License - see OPAL/LICENSE for details. */
+package org.opalj
+package tac
+package fpcf
+package analyses
+package taint
+
+import org.opalj.collection.immutable.IntTrieSet
+import org.opalj.br.analyses.SomeProject
+import org.opalj.br.fpcf.properties.Context
+import org.opalj.tac.fpcf.analyses.taint.AccessPath.ArrayElements
+
+/**
+ * Computes the access paths that flow into the sinks, starting at the calls of the sinks, and
+ * reports a finding for each call of a source whose return value flows into a sink. Since the
+ * facts are only created at the calls of the sinks, the analysis is demand-driven: the code
+ * that is unrelated to the sinks does not create facts (except for the null fact).
+ *
+ * The facts of a method hold after the statement, i.e., the flow functions map the access
+ * paths that flow into a sink after a statement to those that flow into a sink before it.
+ */
+class BackwardTaintProblem(
+        project:       SomeProject,
+        configuration: TaintConfiguration
+) extends TaintProblem(project, configuration) {
+
+    override def isBackward: Boolean = true
+
+    override def normalFlow(
+        statement: Statement,
+        successor: Statement,
+        in:        TaintFact
+    ): Set[TaintFact] = {
+        in match {
+            case Tainted(path) => normalFlow(statement, path)
+            case _             => Set.empty
+        }
+    }
+
+    private[this] def normalFlow(statement: Statement, path: AccessPath): Set[TaintFact] = {
+        val stmt = statement.stmt
+        val in: Set[TaintFact] = Set(Tainted(path))
+        stmt.astID match {
+            case Assignment.ASTID if path.base == LocalBase(statement.index) =>
+                // The assigned variable is not defined before the assignment
+                val expr = stmt.asAssignment.expr
+                expr.astID match {
+                    case GetField.ASTID =>
+                        val getField = expr.asGetField
+                        readFrom(path, getField.name, definitionSites(getField.objRef))
+                    case GetStatic.ASTID =>
+                        val getStatic = expr.asGetStatic
+                        val field = StaticFieldBase(getStatic.declaringClass, getStatic.name)
+                        Set(Tainted(path.withBase(field)))
+                    case ArrayLoad.ASTID =>
+                        readFrom(path, ArrayElements, definitionSites(expr.asArrayLoad.arrayRef))
+                    case _ if expr.isVar =>
+                        withLocals(path, expr.asVar.definedBy)
+                    case _ =>
+                        // The value is computed from the used values
+                        locals(usedDefinitionSites(expr))
+                }
+
+            case PutField.ASTID =>
+                val putField = stmt.asPutField
+                if (isLocalIn(path, definitionSites(putField.objRef)))
+                    in ++ storedTo(path, putField.name, definitionSites(putField.value))
+                else
+                    in
+
+            case PutStatic.ASTID =>
+                val putStatic = stmt.asPutStatic
+                if (path.base == StaticFieldBase(putStatic.declaringClass, putStatic.name))
+                    withLocals(path, definitionSites(putStatic.value))
+                else
+                    in
+
+            case ArrayStore.ASTID =>
+                val arrayStore = stmt.asArrayStore
+                if (isLocalIn(path, definitionSites(arrayStore.arrayRef)))
+                    in ++ storedTo(path, ArrayElements, definitionSites(arrayStore.value))
+                else
+                    in
+
+            case ReturnValue.ASTID if path.base == ReturnValueBase =>
+                withLocals(path, definitionSites(stmt.asReturnValue.expr))
+
+            case _ =>
+                in
+        }
+    }
+
+    /**
+     * The facts for the objects (arrays) from which the field `field` is read if the read value
+     * flows into a sink along `path`.
+     */
+    private[this] def readFrom(
+        path:            AccessPath,
+        field:           String,
+        definitionSites: IntTrieSet
+    ): Set[TaintFact] = {
+        definitionSites.foldLeft(Set.empty[TaintFact]) { (facts, definitionSite) =>
+            facts + Tainted(path.prepend(LocalBase(definitionSite), field, k))
+        }
+    }
+
+    /**
+     * The facts for the values stored in the field `field` of an object (array) that flows
+     * into a sink along `path`.
+     */
+    private[this] def storedTo(
+        path:            AccessPath,
+        field:           String,
+        definitionSites: IntTrieSet
+    ): Set[TaintFact] = {
+        path.afterRead(path.base, field) match {
+            case Some(valuePath) => withLocals(valuePath, definitionSites)
+            case None            => Set.empty
+        }
+    }
+
+    override def callFlow(
+        call:          Statement,
+        calleeContext: Context,
+        in:            TaintFact
+    ): Set[TaintFact] = {
+        val c = asCall(call)
+        if (configuration.isTaintMethod(c))
+            return Set.empty;
+
+        in match {
+            case Tainted(AccessPath(_: StaticFieldBase, _)) =>
+                Set(in)
+
+            case Tainted(path) if path.base == LocalBase(call.index) && isAssignment(call) =>
+                Set(Tainted(path.withBase(ReturnValueBase)))
+
+            case Tainted(path) if hasMatchingParameters(c, calleeContext) =>
+                // The callee may store values in the parameters' objects
+                toCallee(c, path)
+
+            case _ =>
+                Set.empty
+        }
+    }
+
+    override def returnFlow(
+        call:          Statement,
+        calleeContext: Context,
+        exit:          Statement,
+        successor:     Statement,
+        in:            TaintFact
+    ): Set[TaintFact] = {
+        in match {
+            case Tainted(AccessPath(_: StaticFieldBase, _)) =>
+                Set(in)
+            case Tainted(path) if hasMatchingParameters(asCall(call), calleeContext) =>
+                toCaller(asCall(call), path)
+            case _ =>
+                Set.empty
+        }
+    }
+
+    override def callToReturnFlow(
+        call:      Statement,
+        successor: Statement,
+        in:        TaintFact
+    ): Set[TaintFact] = {
+        val c = asCall(call)
+        in match {
+            case TaintNullFact =>
+                if (configuration.sink(c).isDefined) {
+                    c.params.foldLeft(Set.empty[TaintFact]) { (facts, param) =>
+                        facts ++ locals(definitionSites(param))
+                    }
+                } else
+                    Set.empty
+
+            case Tainted(path) if isAssignment(call) && path.base == LocalBase(call.index) =>
+                // The return value of the call flows into a sink
+                configuration.source(c) match {
+                    case Some(source) =>
+                        report(call, source)
+                        Set.empty
+                    case None if configuration.isSanitizer(c) || hasAnalyzedCallee(call, c) =>
+                        Set.empty
+                    case None =>
+                        c.allParams.foldLeft(Set.empty[TaintFact]) { (facts, param) =>
+                            facts ++ locals(definitionSites(param))
+                        }
+                }
+
+            case Tainted(AccessPath(_: StaticFieldBase, _)) if hasAnalyzedCallee(call, c) =>
+                // Static fields are passed through the callees
+                Set.empty
+
+            case _ =>
+                Set(in)
+        }
+    }
+}
@@ -0,0 +1,186 @@
+/* BSD 2-Clause License - see OPAL/LICENSE for details. */
+package org.opalj
+package tac
+package fpcf
+package analyses
+package taint
+
+import org.opalj.br.analyses.SomeProject
+import org.opalj.br.fpcf.properties.Context
+import org.opalj.tac.fpcf.analyses.taint.AccessPath.ArrayElements
+
+/**
+ * Computes the tainted access paths starting at the calls of the sources and reports a finding
+ * for each call of a sink with a tainted parameter.
+ *
+ * Stores to instance fields and arrays are weak updates; stores to static fields are strong
+ * updates.
+ */
+class ForwardTaintProblem(
+        project:       SomeProject,
+        configuration: TaintConfiguration
+) extends TaintProblem(project, configuration) {
+
+    override def normalFlow(
+        statement: Statement,
+        successor: Statement,
+        in:        TaintFact
+    ): Set[TaintFact] = {
+        in match {
+            case Tainted(path) => normalFlow(statement, path)
+            case _             => Set.empty
+        }
+    }
+
+    private[this] def normalFlow(statement: Statement, path: AccessPath): Set[TaintFact] = {
+        val stmt = statement.stmt
+        val in: Set[TaintFact] = Set(Tainted(path))
+        stmt.astID match {
+            case Assignment.ASTID =>
+                val target = LocalBase(statement.index)
+                val expr = stmt.asAssignment.expr
+                val assignedPath = expr.astID match {
+                    case GetField.ASTID =>
+                        val getField = expr.asGetField
+                        if (isLocalIn(path, definitionSites(getField.objRef)))
+                            path.afterRead(target, getField.name)
+                        else
+                            None
+                    case GetStatic.ASTID =>
+                        val getStatic = expr.asGetStatic
+                        if (path.base == StaticFieldBase(getStatic.declaringClass, getStatic.name))
+                            Some(path.withBase(target))
+                        else
+                            None
+                    case ArrayLoad.ASTID =>
+                        if (isLocalIn(path, definitionSites(expr.asArrayLoad.arrayRef)))
+                            path.afterRead(target, ArrayElements)
+                        else
+                            None
+                    case _ if expr.isVar =>
+                        if (isLocalIn(path, expr.asVar.definedBy)) Some(path.withBase(target))
+                        else None
+                    case _ =>
+                        // The value is computed from the used values
+                        if (isLocalIn(path, usedDefinitionSites(expr))) Some(AccessPath(target))
+                        else None
+                }
+                // The previous value of the target variable (in a loop) is overwritten
+                val out = if (path.base == target) Set.empty[TaintFact] else in
+                assignedPath.map(out + Tainted(_)).getOrElse(out)
+
+            case PutField.ASTID =>
+                val putField = stmt.asPutField
+                if (isLocalIn(path, definitionSites(putField.value))) {
+                    definitionSites(putField.objRef).foldLeft(in) { (facts, definitionSite) =>
+                        facts + Tainted(path.prepend(LocalBase(definitionSite), putField.name, k))
+                    }
+                } else
+                    in
+
+            case PutStatic.ASTID =>
+                val putStatic = stmt.asPutStatic
+                val field = StaticFieldBase(putStatic.declaringClass, putStatic.name)
+                if (isLocalIn(path, definitionSites(putStatic.value)))
+                    in + Tainted(path.withBase(field))
+                else if (path.base == field)
+                    Set.empty
+                else
+                    in
+
+            case ArrayStore.ASTID =>
+                val arrayStore = stmt.asArrayStore
+                if (isLocalIn(path, definitionSites(arrayStore.value))) {
+                    definitionSites(arrayStore.arrayRef).foldLeft(in) { (facts, definitionSite) =>
+                        facts + Tainted(path.prepend(LocalBase(definitionSite), ArrayElements, k))
+                    }
+                } else
+                    in
+
+            case _ =>
+                in
+        }
+    }
+
+    override def callFlow(
+        call:          Statement,
+        calleeContext: Context,
+        in:            TaintFact
+    ): Set[TaintFact] = {
+        val c = asCall(call)
+        if (configuration.isTaintMethod(c))
+            return Set.empty;
+
+        in match {
+            case Tainted(AccessPath(_: StaticFieldBase, _)) =>
+                Set(in)
+            case Tainted(path) if hasMatchingParameters(c, calleeContext) =>
+                toCallee(c, path)
+            case _ =>
+                Set.empty
+        }
+    }
+
+    override def returnFlow(
+        call:          Statement,
+        calleeContext: Context,
+        exit:          Statement,
+        successor:     Statement,
+        in:            TaintFact
+    ): Set[TaintFact] = {
+        in match {
+            case Tainted(AccessPath(_: StaticFieldBase, _)) =>
+                Set(in)
+
+            case Tainted(path) =>
+                val c = asCall(call)
+                // Only the fields of the parameters' objects can be changed by the callee
+                val parameterFacts =
+                    if (path.fields.nonEmpty && hasMatchingParameters(c, calleeContext))
+                        toCaller(c, path)
+                    else
+                        Set.empty[TaintFact]
+                if (exit.stmt.astID == ReturnValue.ASTID && isAssignment(call) &&
+                    isLocalIn(path, definitionSites(exit.stmt.asReturnValue.expr)))
+                    parameterFacts + Tainted(path.withBase(LocalBase(call.index)))
+                else
+                    parameterFacts
+
+            case _ =>
+                Set.empty
+        }
+    }
+
+    override def callToReturnFlow(
+        call:      Statement,
+        successor: Statement,
+        in:        TaintFact
+    ): Set[TaintFact] = {
+        val c = asCall(call)
+        in match {
+            case TaintNullFact =>
+                if (isAssignment(call) && configuration.source(c).isDefined)
+                    Set(Tainted(AccessPath(LocalBase(call.index))))
+                else
+                    Set.empty
+
+            case Tainted(path) =>
+                configuration.sink(c).foreach { sink =>
+                    if (c.params.exists(param => isLocalIn(path, definitionSites(param))))
+                        report(call, sink)
+                }
+
+                if (isAssignment(call) && path.base == LocalBase(call.index)) {
+                    // The previous value of the target variable (in a loop) is overwritten
+                    Set.empty
+                } else if (hasAnalyzedCallee(call, c)) {
+                    // Static fields are passed through the callees
+                    if (path.base.isInstanceOf[StaticFieldBase]) Set.empty else Set(in)
+                } else if (isAssignment(call) && !configuration.isSanitizer(c) &&
+                    c.allParams.exists(param => isLocalIn(path, definitionSites(param)))) {
+                    Set(in, Tainted(AccessPath(LocalBase(call.index))))
+                } else
+                    Set(in)
+        }
+    }
+}
@@ -0,0 +1,34 @@
+/* BSD 2-Clause License - see OPAL/LICENSE for details. */
+package org.opalj
+package tac
+package fpcf
+package analyses
+package taint
+
+import org.opalj.br.analyses.ProjectInformationKeys
+import org.opalj.br.analyses.SomeProject
+import org.opalj.br.analyses.cg.InitialEntryPointsKey
+import org.opalj.tac.fpcf.analyses.ide.IDESolverScheduler
+import org.opalj.tac.fpcf.properties.IFDSPropertyMetaInformation
+
+/**
+ * Schedules the taint analysis that is configured in the project's configuration (see
+ * [[TaintConfiguration]]), i.e., a [[ForwardTaintProblem]] or a [[BackwardTaintProblem]] that is
+ * solved by the [[org.opalj.tac.fpcf.analyses.ide.IDESolver]]. The analysis has to be scheduled
+ * after the call graph was computed; the findings are available via the solver's problem.
+ */
+object TaintAnalysisScheduler extends IDESolverScheduler[TaintFact, Unit] {
+
+    override def property: IFDSPropertyMetaInformation[TaintFact] = TaintProperty
+
+    override def createProblem(p: SomeProject): TaintProblem = {
+        val configuration = TaintConfiguration(p.config)
+        if (configuration.isBackward)
+            new BackwardTaintProblem(p, configuration)
+        else
+            new ForwardTaintProblem(p, configuration)
+    }
+
+    override def requiredProjectInformation: ProjectInformationKeys =
+        super.requiredProjectInformation :+ InitialEntryPointsKey
+}
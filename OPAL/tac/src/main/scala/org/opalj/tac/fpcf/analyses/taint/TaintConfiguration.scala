@@ -0,0 +1,104 @@
+/* BSD 2-Clause License - see OPAL/LICENSE for details. */
+package org.opalj
+package tac
+package fpcf
+package analyses
+package taint
+
+import scala.jdk.CollectionConverters._
+
+import com.typesafe.config.Config
+
+import org.opalj.tac.fpcf.analyses.AbstractIFDSAnalysis.V
+
+/**
+ * A source, sink or sanitizer of a [[TaintConfiguration]]. A method matches all calls whose
+ * declared target has the given declaring class (in binary notation), name and descriptor; the
+ * descriptor "*" matches all descriptors.
+ */
+final case class TaintMethod(declaringClass: String, name: String, descriptor: String) {
+
+    def matches(call: Call[V]): Boolean = {
+        call.name == name &&
+            call.declaringClass.isObjectType &&
+            call.declaringClass.asObjectType.fqn == declaringClass &&
+            (descriptor == "*" || call.descriptor.toJVMDescriptor == descriptor)
+    }
+
+    override def toString: String = s"$declaringClass.$name$descriptor"
+}
+
+/**
+ * The configuration of a taint analysis.
+ *
+ * The return value of a call of a source is tainted. A finding is reported if a tainted value (or
+ * a value of which a field is tainted) is passed as an explicit parameter to a call of a sink.
+ * The return value of a call of a sanitizer is never tainted.
+ *
+ * @param isBackward If `true`, the flows are computed backward, i.e., starting at the calls of
+ *                   the sinks; otherwise, the flows are computed forward starting at the calls
+ *                   of the sources.
+ * @param accessPathLength The maximum number of fields of the tracked access paths.
+ */
+final class TaintConfiguration(
+        val isBackward:       Boolean,
+        val accessPathLength: Int,
+        val sources:          Seq[TaintMethod],
+        val sinks:            Seq[TaintMethod],
+        val sanitizers:       Seq[TaintMethod]
+) {
+
+    private[this] def byName(methods: Seq[TaintMethod]): Map[String, Seq[TaintMethod]] = {
+        methods.groupBy(_.name)
+    }
+
+    private[this] val sourcesByName = byName(sources)
+    private[this] val sinksByName = byName(sinks)
+    private[this] val sanitizersByName = byName(sanitizers)
+
+    private[this] def find(
+        methodsByName: Map[String, Seq[TaintMethod]],
+        call:          Call[V]
+    ): Option[TaintMethod] = {
+        methodsByName.get(call.name).flatMap(_.find(_.matches(call)))
+    }
+
+    def source(call: Call[V]): Option[TaintMethod] = find(sourcesByName, call)
+
+    def sink(call: Call[V]): Option[TaintMethod] = find(sinksByName, call)
+
+    def isSanitizer(call: Call[V]): Boolean = find(sanitizersByName, call).isDefined
+
+    /**
+     * `true` if the called method is a source, sink or sanitizer; the bodies of these methods
+     * are not analyzed.
+     */
+    def isTaintMethod(call: Call[V]): Boolean = {
+        source(call).isDefined || sink(call).isDefined || isSanitizer(call)
+    }
+}
+
+object TaintConfiguration {
+
+    final val ConfigKeyPrefix = "org.opalj.fpcf.analyses.taint.TaintAnalysis."
+
+    def apply(config: Config): TaintConfiguration = {
+        def methods(key: String): Seq[TaintMethod] = {
+            config.getConfigList(ConfigKeyPrefix+key).asScala.iterator.map { c =>
+                TaintMethod(c.getString("cf"), c.getString("name"), c.getString("desc"))
+            }.toSeq
+        }
+
+        val direction = config.getString(ConfigKeyPrefix+"direction")
+        if (direction != "forward" && direction != "backward")
+            throw new IllegalArgumentException(s"unknown taint analysis direction: $direction")
+
+        new TaintConfiguration(
+            direction == "backward",
+            config.getInt(ConfigKeyPrefix+"accessPathLength"),
+            methods("sources"),
+            methods("sinks"),
+            methods("sanitizers")
+        )
+    }
+}
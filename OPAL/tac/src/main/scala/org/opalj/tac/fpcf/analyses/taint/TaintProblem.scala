@@ -0,0 +1,264 @@
+/* BSD 2-Clause License - see OPAL/LICENSE for details. */
+package org.opalj
+package tac
+package fpcf
+package analyses
+package taint
+
+import java.util.concurrent.ConcurrentHashMap
+
+import scala.jdk.CollectionConverters._
+
+import org.opalj.collection.immutable.IntTrieSet
+import org.opalj.fpcf.FinalP
+import org.opalj.fpcf.PropertyKey
+import org.opalj.fpcf.PropertyStore
+import org.opalj.br.DeclaredMethod
+import org.opalj.br.analyses.DeclaredMethods
+import org.opalj.br.analyses.DeclaredMethodsKey
+import org.opalj.br.analyses.SomeProject
+import org.opalj.br.analyses.cg.InitialEntryPointsKey
+import org.opalj.br.fpcf.PropertyStoreKey
+import org.opalj.br.fpcf.properties.Context
+import org.opalj.tac.cg.TypeProviderKey
+import org.opalj.tac.fpcf.analyses.AbstractIFDSAnalysis.V
+import org.opalj.tac.fpcf.analyses.cg.TypeProvider
+import org.opalj.tac.fpcf.analyses.ide.IFDSProblem
+import org.opalj.tac.fpcf.properties.IFDSProperty
+import org.opalj.tac.fpcf.properties.IFDSPropertyMetaInformation
+import org.opalj.tac.fpcf.properties.cg.Callees
+
+sealed trait TaintFact extends AbstractIFDSFact
+
+case object TaintNullFact extends TaintFact with AbstractIFDSNullFact
+
+/**
+ * The access path `path` is tainted (forward analyses) or flows into a sink (backward analyses).
+ */
+final case class Tainted(path: AccessPath) extends TaintFact
+
+/**
+ * A flow from a source to a sink. Forward analyses report the call of the sink; backward analyses
+ * report the call of the source.
+ *
+ * @param method The method containing the reported call.
+ * @param pc The pc of the reported call.
+ * @param taintMethod The source or sink that is called.
+ */
+final case class TaintFinding(method: DeclaredMethod, pc: Int, taintMethod: TaintMethod) {
+
+    override def toString: String = s"${method.toJava}@$pc: $taintMethod"
+}
+
+/**
+ * The facts that hold after the exit statements of a method (before the first statement for
+ * backward analyses).
+ */
+final class TaintProperty(
+        val flows: Map[Statement, Set[TaintFact]]
+) extends IFDSProperty[TaintFact] {
+
+    override type Self = TaintProperty
+
+    override def key: PropertyKey[TaintProperty] = TaintProperty.key
+}
+
+object TaintProperty extends IFDSPropertyMetaInformation[TaintFact] {
+
+    override type Self = TaintProperty
+
+    final val key: PropertyKey[TaintProperty] = PropertyKey.create(
+        "TaintProperty",
+        new TaintProperty(Map.empty)
+    )
+}
+
+/**
+ * The common parts of the [[ForwardTaintProblem]] and the [[BackwardTaintProblem]].
+ *
+ * The facts are k-limited access paths ([[AccessPath]]) whose bases are the local variables of
+ * the 3-address code (identified by their definition sites), static fields or, for backward
+ * analyses, the return value. The analysis starts with the null fact at the initial entry
+ * points of the project ([[InitialEntryPointsKey]]).
+ *
+ * Calls for which no callee with a body is known (e.g., calls of library methods) are modeled
+ * conservatively: the return value is tainted if the receiver or a parameter is tainted. The
+ * bodies of sources, sinks and sanitizers are never analyzed.
+ *
+ * The findings are collected while the flow functions are evaluated and are available via
+ * [[findings]] after the solver has finished.
+ */
+abstract class TaintProblem(
+        val project:       SomeProject,
+        val configuration: TaintConfiguration
+) extends IFDSProblem[TaintFact] {
+
+    protected[this] implicit val propertyStore: PropertyStore = project.get(PropertyStoreKey)
+    protected[this] implicit val typeProvider: TypeProvider = project.get(TypeProviderKey)
+    protected[this] val declaredMethods: DeclaredMethods = project.get(DeclaredMethodsKey)
+
+    protected[this] final val k = configuration.accessPathLength
+
+    private[this] val reportedFindings = ConcurrentHashMap.newKeySet[TaintFinding]()
+
+    override def createPropertyValue(
+        result: Map[Statement, Set[TaintFact]]
+    ): IFDSProperty[TaintFact] = {
+        new TaintProperty(result)
+    }
+
+    override val entryPoints: Map[DeclaredMethod, TaintFact] = {
+        project.get(InitialEntryPointsKey).iterator.map(declaredMethods(_) -> TaintNullFact).toMap
+    }
+
+    /**
+     * The flows found so far.
+     */
+    def findings: Set[TaintFinding] = reportedFindings.asScala.toSet
+
+    protected[this] def report(call: Statement, taintMethod: TaintMethod): Unit = {
+        reportedFindings.add(TaintFinding(call.context.method, call.stmt.pc, taintMethod))
+    }
+
+    // Sources, sinks and sanitizers are modeled by the call-to-return flow
+    override def nativeCall(
+        call:          Statement,
+        calleeContext: Context,
+        successor:     Statement,
+        in:            TaintFact
+    ): Set[TaintFact] = Set.empty
+
+    protected[this] def asCall(statement: Statement): Call[V] = statement.stmt.astID match {
+        case Assignment.ASTID => statement.stmt.asAssignment.expr.asFunctionCall
+        case ExprStmt.ASTID   => statement.stmt.asExprStmt.expr.asFunctionCall
+        case _                => statement.stmt.asMethodCall
+    }
+
+    /**
+     * `true` if the value of the call is assigned to a local variable, i.e., if the call has a
+     * (relevant) return value.
+     */
+    protected[this] def isAssignment(statement: Statement): Boolean = {
+        statement.stmt.astID == Assignment.ASTID
+    }
+
+    /**
+     * `true` if the flows through the callees of the call are computed by the solver, i.e., if
+     * the called method is not a source, sink or sanitizer and some callee has a body.
+     */
+    protected[this] def hasAnalyzedCallee(statement: Statement, call: Call[V]): Boolean = {
+        !configuration.isTaintMethod(call) && (
+            propertyStore(statement.context.method, Callees.key) match {
+                case FinalP(callees) =>
+                    callees.callees(statement.context, statement.stmt.pc).exists { calleeContext =>
+                        val callee = calleeContext.method
+                        callee.hasSingleDefinedMethod && callee.definedMethod.body.isDefined
+                    }
+                case _ =>
+                    false
+            }
+        )
+    }
+
+    /**
+     * `true` if the parameters of the callee correspond to the parameters of the call; this is
+     * not the case, e.g., for some callees of reflective calls.
+     */
+    protected[this] def hasMatchingParameters(call: Call[V], calleeContext: Context): Boolean = {
+        calleeContext.method.descriptor.parametersCount == call.params.size
+    }
+
+    protected[this] def definitionSites(expr: Expr[V]): IntTrieSet = {
+        if (expr.isVar) expr.asVar.definedBy else IntTrieSet.empty
+    }
+
+    /**
+     * The definition sites of all variables used by the expression.
+     */
+    protected[this] def usedDefinitionSites(expr: Expr[V]): IntTrieSet = {
+        if (expr.isVar)
+            expr.asVar.definedBy
+        else {
+            var definitionSites = IntTrieSet.empty
+            var i = 0
+            while (i < expr.subExprCount) {
+                definitionSites ++= this.definitionSites(expr.subExpr(i))
+                i += 1
+            }
+            definitionSites
+        }
+    }
+
+    protected[this] def isLocalIn(path: AccessPath, definitionSites: IntTrieSet): Boolean = {
+        path.base match {
+            case LocalBase(definitionSite) => definitionSites.contains(definitionSite)
+            case _                         => false
+        }
+    }
+
+    /**
+     * The facts for the given access path with the bases replaced by the given local variables.
+     */
+    protected[this] def withLocals(path: AccessPath, definitionSites: IntTrieSet): Set[TaintFact] = {
+        definitionSites.foldLeft(Set.empty[TaintFact]) { (facts, definitionSite) =>
+            facts + Tainted(path.withBase(LocalBase(definitionSite)))
+        }
+    }
+
+    /**
+     * The facts for the (values of the) local variables with the given definition sites.
+     */
+    protected[this] def locals(definitionSites: IntTrieSet): Set[TaintFact] = {
+        definitionSites.foldLeft(Set.empty[TaintFact]) { (facts, definitionSite) =>
+            facts + Tainted(AccessPath(LocalBase(definitionSite)))
+        }
+    }
+
+    /**
+     * The origin of the parameter of the callee that corresponds to the element of
+     * `call.allParams` at `index`.
+     */
+    protected[this] def parameterOrigin(call: Call[V], index: Int): Int = {
+        if (call.receiverOption.isDefined) -1 - index else -2 - index
+    }
+
+    /**
+     * The index in `call.allParams` of the parameter with the given origin or -1 if there is no
+     * such parameter.
+     */
+    protected[this] def parameterIndex(call: Call[V], origin: Int): Int = {
+        val index = if (call.receiverOption.isDefined) -1 - origin else -2 - origin
+        if (index < call.allParams.size) index else -1
+    }
+
+    /**
+     * The facts in the callee for the given access path of the caller if the path's base is
+     * passed as a parameter.
+     */
+    protected[this] def toCallee(call: Call[V], path: AccessPath): Set[TaintFact] = {
+        var facts = Set.empty[TaintFact]
+        val allParams = call.allParams
+        var index = 0
+        while (index < allParams.size) {
+            if (isLocalIn(path, definitionSites(allParams(index))))
+                facts += Tainted(path.withBase(LocalBase(parameterOrigin(call, index))))
+            index += 1
+        }
+        facts
+    }
+
+    /**
+     * The facts in the caller for the given access path of the callee if the path's base is a
+     * parameter of the callee.
+     */
+    protected[this] def toCaller(call: Call[V], path: AccessPath): Set[TaintFact] = {
+        path.base match {
+            case LocalBase(origin) if origin < 0 =>
+                val index = parameterIndex(call, origin)
+                if (index >= 0) withLocals(path, definitionSites(call.allParams(index)))
+                else Set.empty
+            case _ =>
+                Set.empty
+        }
+    }
+}
@@ -0,0 +1,93 @@
+/* BSD 2-Clause License - see OPAL/LICENSE for details. */
+package org.opalj
+package tac
+package fpcf
+package properties
+
+import scala.collection.immutable.ArraySeq
+import scala.collection.immutable.IntMap
+
+import org.opalj.fpcf.Entity
+import org.opalj.fpcf.FallbackReason
+import org.opalj.fpcf.OrderedProperty
+import org.opalj.fpcf.PropertyKey
+import org.opalj.fpcf.PropertyMetaInformation
+import org.opalj.fpcf.PropertyStore
+import org.opalj.br.fpcf.properties.AtMost
+import org.opalj.br.fpcf.properties.Context
+import org.opalj.br.fpcf.properties.EscapeProperty
+import org.opalj.br.fpcf.properties.NoEscape
+
+sealed trait MethodEscapeSummaryPropertyMetaInformation extends PropertyMetaInformation {
+
+    final type Self = MethodEscapeSummary
+
+}
+
+/**
+ * The [[org.opalj.br.fpcf.properties.EscapeProperty]] of all formal parameters and all allocation
+ * sites of a method (in a specific [[org.opalj.br.fpcf.properties.Context]]).
+ *
+ * In contrast to the escape properties of the individual
+ * [[org.opalj.br.analyses.VirtualFormalParameter]]s and
+ * [[org.opalj.tac.common.DefinitionSite]]s, a caller only needs a single dependency per callee
+ * and a method is analyzed only once for all of its entities.
+ *
+ * @param parameters      The escape states of the formal parameters; the escape state of the
+ *                        parameter with the origin `o` is stored at index `-o - 1`, i.e., the
+ *                        first element is the escape state of `this`.
+ * @param allocationSites The escape states of the allocation sites by their pcs.
+ */
+case class MethodEscapeSummary(
+        parameters:      ArraySeq[EscapeProperty],
+        allocationSites: IntMap[EscapeProperty]
+) extends OrderedProperty with MethodEscapeSummaryPropertyMetaInformation {
+
+    final def key: PropertyKey[MethodEscapeSummary] = MethodEscapeSummary.key
+
+    /** The escape state of the formal parameter with the given origin. */
+    def parameterEscape(origin: Int): EscapeProperty = parameters(-origin - 1)
+
+    /**
+     * The escape state of the allocation site with the given pc; as for the escape property
+     * of an allocation site that is not analyzed, `AtMost(NoEscape)` if the site is unknown.
+     */
+    def allocationSiteEscape(pc: Int): EscapeProperty = {
+        allocationSites.getOrElse(pc, AtMost(NoEscape))
+    }
+
+    override def checkIsEqualOrBetterThan(e: Entity, other: MethodEscapeSummary): Unit = {
+        parameters.iterator.zip(other.parameters).foreach {
+            case (escape, otherEscape) => escape.checkIsEqualOrBetterThan(e, otherEscape)
+        }
+        allocationSites.foreach {
+            case (pc, escape) => escape.checkIsEqualOrBetterThan(e, other.allocationSiteEscape(pc))
+        }
+    }
+}
+
+object MethodEscapeSummary extends MethodEscapeSummaryPropertyMetaInformation {
+
+    final val Name = "opalj.MethodEscapeSummary"
+
+    /**
+     * The key associated with every [[MethodEscapeSummary]]; the fallback is a summary that,
+     * like the fallback of the [[org.opalj.br.fpcf.properties.EscapeProperty]], describes all
+     * parameters as `AtMost(NoEscape)`.
+     */
+    final lazy val key: PropertyKey[MethodEscapeSummary] =
+        PropertyKey.create[Context, MethodEscapeSummary](
+            Name,
+            (_: PropertyStore, _: FallbackReason, context: Context) => {
+                withUniformEscape(context.method.descriptor.parametersCount, AtMost(NoEscape))
+            }: MethodEscapeSummary
+        )
+
+    /**
+     * A summary of a method with the given number of (explicit) parameters without allocation
+     * sites where all parameters (including `this`) have the same escape state.
+     */
+    def withUniformEscape(parametersCount: Int, escape: EscapeProperty): MethodEscapeSummary = {
+        MethodEscapeSummary(ArraySeq.fill(parametersCount + 1)(escape), IntMap.empty)
+    }
+}
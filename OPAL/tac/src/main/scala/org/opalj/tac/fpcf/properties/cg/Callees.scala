@@ -5,7 +5,10 @@ package fpcf
 package properties
 package cg
 
+import java.util.Arrays
+
 import scala.collection.immutable.IntMap
+import scala.collection.mutable
 
 import org.opalj.collection.IntIterator
 import org.opalj.collection.immutable.IntTrieSet
@@ -420,6 +423,585 @@ object ConcreteCallees {
 
 }
 
+/**
+ * The callees of a single caller context in a compact, array-based encoding: the pcs of all call
+ * sites are stored in a sorted array and the direct and indirect callees (context ids) of the
+ * call site at `pcs(i)` are stored, sorted, in the ranges `[offsets(i), offsets(i + 1))` of the
+ * respective callee arrays. The receivers and parameters of the indirect calls are stored in
+ * arrays that are aligned with the indirect callees; equal values of a caller context are shared.
+ */
+private[cg] final class CompactCallSites(
+        val pcs:                 Array[Int],
+        val directOffsets:       Array[Int],
+        val directCallees:       Array[Int],
+        val indirectOffsets:     Array[Int],
+        val indirectCallees:     Array[Int],
+        val indirectReceivers:   Array[Option[(ValueInformation, PCs)]],
+        val indirectParameters:  Array[Seq[Option[(ValueInformation, PCs)]]],
+        val incompleteCallSites: Array[Int]
+) {
+
+    def indexOf(pc: Int): Int = Arrays.binarySearch(pcs, pc)
+
+    def direct(pc: Int): IntIterator = {
+        val index = indexOf(pc)
+        if (index < 0) IntIterator.empty
+        else IntIterator.upUntil(directOffsets(index), directOffsets(index + 1)).map(directCallees(_))
+    }
+
+    def indirect(pc: Int): IntIterator = {
+        val index = indexOf(pc)
+        if (index < 0) IntIterator.empty
+        else IntIterator.upUntil(indirectOffsets(index), indirectOffsets(index + 1)).map(indirectCallees(_))
+    }
+
+    def numCallees(pc: Int): Int = {
+        val index = indexOf(pc)
+        if (index < 0) 0
+        else directOffsets(index + 1) - directOffsets(index) +
+            indirectOffsets(index + 1) - indirectOffsets(index)
+    }
+
+    def containsDirect(pc: Int, calleeId: Int): Boolean = {
+        val index = indexOf(pc)
+        index >= 0 &&
+            Arrays.binarySearch(directCallees, directOffsets(index), directOffsets(index + 1), calleeId) >= 0
+    }
+
+    /** The index of the given indirect call in the indirect arrays or a negative value. */
+    def indirectIndexOf(pc: Int, calleeId: Int): Int = {
+        val index = indexOf(pc)
+        if (index < 0) -1
+        else Arrays.binarySearch(indirectCallees, indirectOffsets(index), indirectOffsets(index + 1), calleeId)
+    }
+
+    def isIncomplete(pc: Int): Boolean = Arrays.binarySearch(incompleteCallSites, pc) >= 0
+}
+
+private[cg] object CompactCallSites {
+
+    private[this] def mergeIndirectCallData[T](
+        old:         IntMap[IntMap[T]],
+        indirect:    IntMap[IntMap[T]],
+        description: String
+    ): IntMap[IntMap[T]] = {
+        old.unionWith(
+            indirect,
+            (_, l, r) => l.unionWith(
+                r,
+                (_, vl, vr) =>
+                    if (vl == vr) vl
+                    else throw new UnknownError(s"Incompatible $description for indirect call")
+            )
+        )
+    }
+
+    private[this] def compatible[T](value: T, other: Option[T], description: String): T = {
+        if (other.isEmpty || other.get == value) value
+        else throw new UnknownError(s"Incompatible $description for indirect call")
+    }
+
+    private[this] val NoCallSites = new CompactCallSites(
+        Array.empty, Array(0), Array.empty, Array(0), Array.empty, Array.empty, Array.empty,
+        Array.empty
+    )
+
+    private[this] val NoCalleeIds = Array.empty[Int]
+
+    private[this] def sortedCallees(callees: IntMap[IntTrieSet], pc: Int): Array[Int] = {
+        callees.get(pc) match {
+            case Some(pcCallees) =>
+                val calleeIds = pcCallees.iterator.toArray
+                Arrays.sort(calleeIds)
+                calleeIds
+            case None => NoCalleeIds
+        }
+    }
+
+    /**
+     * Stores the union of the sorted range `[from, until)` of `old` and the sorted array `added`
+     * in `target` starting at `start`; returns the index after the last stored element.
+     */
+    private[this] def mergeSorted(
+        old:    Array[Int],
+        from:   Int,
+        until:  Int,
+        added:  Array[Int],
+        target: Array[Int],
+        start:  Int
+    ): Int = {
+        var o = from
+        var a = 0
+        var t = start
+        while (o < until || a < added.length) {
+            if (a == added.length || o < until && old(o) < added(a)) {
+                target(t) = old(o)
+                o += 1
+            } else {
+                if (o < until && old(o) == added(a)) o += 1
+                target(t) = added(a)
+                a += 1
+            }
+            t += 1
+        }
+        t
+    }
+
+    /**
+     * `true` if the given call information is already contained in the given call sites; fails
+     * if it specifies other receivers or parameters for a contained indirect call.
+     */
+    private[this] def containsAll(
+        callSites:  CompactCallSites,
+        direct:     IntMap[IntTrieSet],
+        indirect:   IntMap[IntTrieSet],
+        incomplete: IntTrieSet,
+        receivers:  IntMap[IntMap[Option[(ValueInformation, PCs)]]],
+        parameters: IntMap[IntMap[Seq[Option[(ValueInformation, PCs)]]]]
+    ): Boolean = {
+        direct.forall { case (pc, callees) => callees.forall(callSites.containsDirect(pc, _)) } &&
+            indirect.forall {
+                case (pc, callees) =>
+                    callees.forall { calleeId =>
+                        val c = callSites.indirectIndexOf(pc, calleeId)
+                        c >= 0 && {
+                            compatible(
+                                callSites.indirectReceivers(c),
+                                receivers.get(pc).flatMap(_.get(calleeId)),
+                                "receivers"
+                            )
+                            compatible(
+                                callSites.indirectParameters(c),
+                                parameters.get(pc).flatMap(_.get(calleeId)),
+                                "parameters"
+                            )
+                            true
+                        }
+                    }
+            } &&
+            incomplete.forall(callSites.isIncomplete)
+    }
+
+    /**
+     * Creates the compact call sites of a caller context from the given call sites (which
+     * may be `null`) and the call information of the deltas (in the order of their creation).
+     *
+     * The (sorted) call sites are merged in a single pass with the sorted call information of the
+     * deltas; if the deltas do not add any call information, the given call sites are returned.
+     */
+    def apply(callSites: CompactCallSites, deltas: Iterator[CalleesDelta]): CompactCallSites = {
+        var direct = IntMap.empty[IntTrieSet]
+        var indirect = IntMap.empty[IntTrieSet]
+        var incomplete = IntTrieSet.empty
+        var receivers = IntMap.empty[IntMap[Option[(ValueInformation, PCs)]]]
+        var parameters = IntMap.empty[IntMap[Seq[Option[(ValueInformation, PCs)]]]]
+
+        deltas.foreach { delta =>
+            direct = direct.unionWith(delta.directCallees, (_, l, r) => l ++ r)
+            indirect = indirect.unionWith(delta.indirectCallees, (_, l, r) => l ++ r)
+            incomplete ++= delta.incompleteCallSites
+            receivers = mergeIndirectCallData(receivers, delta.indirectCallReceivers, "receivers")
+            parameters = mergeIndirectCallData(parameters, delta.indirectCallParameters, "parameters")
+        }
+
+        if ((callSites ne null) &&
+            containsAll(callSites, direct, indirect, incomplete, receivers, parameters)) {
+            callSites
+        } else {
+            merge(
+                if (callSites eq null) NoCallSites else callSites,
+                direct, indirect, incomplete, receivers, parameters
+            )
+        }
+    }
+
+    private[this] def merge(
+        old:        CompactCallSites,
+        direct:     IntMap[IntTrieSet],
+        indirect:   IntMap[IntTrieSet],
+        incomplete: IntTrieSet,
+        receivers:  IntMap[IntMap[Option[(ValueInformation, PCs)]]],
+        parameters: IntMap[IntMap[Seq[Option[(ValueInformation, PCs)]]]]
+    ): CompactCallSites = {
+        val addedPcs = (direct.keysIterator ++ indirect.keysIterator).toArray.distinct
+        Arrays.sort(addedPcs)
+
+        // the arrays are allocated with their maximum sizes and trimmed afterwards
+        val maxPcs = old.pcs.length + addedPcs.length
+        val pcs = new Array[Int](maxPcs)
+        val directOffsets = new Array[Int](maxPcs + 1)
+        val directCallees = new Array[Int](
+            old.directCallees.length + direct.valuesIterator.map(_.size).sum
+        )
+        val indirectOffsets = new Array[Int](maxPcs + 1)
+        val maxIndirectCallees =
+            old.indirectCallees.length + indirect.valuesIterator.map(_.size).sum
+        val indirectCallees = new Array[Int](maxIndirectCallees)
+        val indirectReceivers = new Array[Option[(ValueInformation, PCs)]](maxIndirectCallees)
+        val indirectParameters = new Array[Seq[Option[(ValueInformation, PCs)]]](maxIndirectCallees)
+
+        // the receivers and parameters are typically equal for all indirect callees of a call site
+        val interned = mutable.HashMap.empty[AnyRef, AnyRef]
+        def intern[T <: AnyRef](value: T): T = interned.getOrElseUpdate(value, value).asInstanceOf[T]
+
+        var i = 0 // the next call site of old
+        var j = 0 // the next added call site
+        var n = 0 // the number of merged call sites
+        var d = 0 // the number of merged direct callees
+        var k = 0 // the number of merged indirect callees
+        while (i < old.pcs.length || j < addedPcs.length) {
+            val isOld = i < old.pcs.length && (j == addedPcs.length || old.pcs(i) <= addedPcs(j))
+            val pc = if (isOld) old.pcs(i) else addedPcs(j)
+            val isAdded = j < addedPcs.length && addedPcs(j) == pc
+
+            d = mergeSorted(
+                old.directCallees,
+                if (isOld) old.directOffsets(i) else 0,
+                if (isOld) old.directOffsets(i + 1) else 0,
+                if (isAdded) sortedCallees(direct, pc) else NoCalleeIds,
+                directCallees,
+                d
+            )
+
+            val addedIndirect = if (isAdded) sortedCallees(indirect, pc) else NoCalleeIds
+            val pcReceivers = receivers.getOrElse(pc, IntMap.empty)
+            val pcParameters = parameters.getOrElse(pc, IntMap.empty)
+            var o = if (isOld) old.indirectOffsets(i) else 0
+            val oldUntil = if (isOld) old.indirectOffsets(i + 1) else 0
+            var a = 0
+            while (o < oldUntil || a < addedIndirect.length) {
+                if (a == addedIndirect.length ||
+                    o < oldUntil && old.indirectCallees(o) < addedIndirect(a)) {
+                    indirectCallees(k) = old.indirectCallees(o)
+                    indirectReceivers(k) = old.indirectReceivers(o)
+                    indirectParameters(k) = old.indirectParameters(o)
+                    o += 1
+                } else {
+                    val calleeId = addedIndirect(a)
+                    indirectCallees(k) = calleeId
+                    if (o < oldUntil && old.indirectCallees(o) == calleeId) {
+                        indirectReceivers(k) = compatible(
+                            old.indirectReceivers(o), pcReceivers.get(calleeId), "receivers"
+                        )
+                        indirectParameters(k) = compatible(
+                            old.indirectParameters(o), pcParameters.get(calleeId), "parameters"
+                        )
+                        o += 1
+                    } else {
+                        indirectReceivers(k) = intern(pcReceivers.getOrElse(calleeId, None))
+                        indirectParameters(k) = intern(pcParameters.getOrElse(calleeId, Seq.empty))
+                    }
+                    a += 1
+                }
+                k += 1
+            }
+
+            pcs(n) = pc
+            n += 1
+            directOffsets(n) = d
+            indirectOffsets(n) = k
+            if (isOld) i += 1
+            if (isAdded) j += 1
+        }
+
+        val addedIncomplete = incomplete.iterator.toArray
+        Arrays.sort(addedIncomplete)
+        val incompleteCallSites = new Array[Int](
+            old.incompleteCallSites.length + addedIncomplete.length
+        )
+        val numIncomplete = mergeSorted(
+            old.incompleteCallSites,
+            0,
+            old.incompleteCallSites.length,
+            addedIncomplete,
+            incompleteCallSites,
+            0
+        )
+
+        new CompactCallSites(
+            Arrays.copyOf(pcs, n),
+            Arrays.copyOf(directOffsets, n + 1),
+            Arrays.copyOf(directCallees, d),
+            Arrays.copyOf(indirectOffsets, n + 1),
+            Arrays.copyOf(indirectCallees, k),
+            indirectReceivers.take(k),
+            indirectParameters.take(k),
+            Arrays.copyOf(incompleteCallSites, numIncomplete)
+        )
+    }
+}
+
+/**
+ * The call information that was added to a [[CompactCallees]] object by
+ * [[Callees.updateWithCallees]] but is not yet encoded compactly.
+ */
+private[cg] final class CalleesDelta(
+        val callerContextId:        Int,
+        val directCallees:          IntMap[IntTrieSet],
+        val indirectCallees:        IntMap[IntTrieSet],
+        val incompleteCallSites:    PCs,
+        val indirectCallReceivers:  IntMap[IntMap[Option[(ValueInformation, PCs)]]],
+        val indirectCallParameters: IntMap[IntMap[Seq[Option[(ValueInformation, PCs)]]]]
+)
+
+/**
+ * Callees class that stores the callees of every caller context compactly in sorted arrays (see
+ * [[CompactCallSites]]).
+ *
+ * Updates do not copy the existing call information: new call information is recorded as a
+ * [[CalleesDelta]] and all deltas are encoded when the callees are queried for the first time
+ * or when the number of deltas exceeds [[CompactCallees.MaxDeltas]]. Hence, the repeated
+ * updates of the interim callees of a method during the call graph construction only allocate
+ * a constant amount of memory.
+ */
+final class CompactCallees private[cg] (
+        private[this] val callSites: IntMap[CompactCallSites], // Caller Context => Call Sites
+        private[this] val deltas:    List[CalleesDelta], // newest first
+        private[this] val numDeltas: Int
+) extends Callees {
+
+    @volatile private[this] var _compactCallSites: IntMap[CompactCallSites] =
+        if (deltas.isEmpty) callSites else null
+
+    private[this] def compactCallSites: IntMap[CompactCallSites] = {
+        var compactCallSites = _compactCallSites
+        if (compactCallSites eq null) {
+            compactCallSites = CompactCallees.compact(callSites, deltas)
+            _compactCallSites = compactCallSites
+        }
+        compactCallSites
+    }
+
+    private[this] def callSitesOf(callerContext: Context): CompactCallSites = {
+        compactCallSites.getOrElse(callerContext.id, null)
+    }
+
+    override def incompleteCallSites(
+        callerContext: Context
+    )(implicit propertyStore: PropertyStore): IntIterator = {
+        val callSites = callSitesOf(callerContext)
+        if (callSites eq null) IntIterator.empty
+        else IntIterator.upUntil(0, callSites.incompleteCallSites.length).map(callSites.incompleteCallSites(_))
+    }
+
+    override def isIncompleteCallSite(
+        callerContext: Context, pc: Int
+    )(implicit propertyStore: PropertyStore): Boolean = {
+        val callSites = callSitesOf(callerContext)
+        (callSites ne null) && callSites.isIncomplete(pc)
+    }
+
+    override def hasIncompleteCallSites(callerContext: Context): Boolean = {
+        val callSites = callSitesOf(callerContext)
+        (callSites ne null) && callSites.incompleteCallSites.nonEmpty
+    }
+
+    override def callees(
+        callerContext: Context,
+        pc:            Int
+    )(
+        implicit
+        propertyStore: PropertyStore,
+        typeProvider:  TypeProvider
+    ): Iterator[Context] = {
+        directCallees(callerContext, pc) ++ indirectCallees(callerContext, pc)
+    }
+
+    override def directCallees(
+        callerContext: Context,
+        pc:            Int
+    )(
+        implicit
+        propertyStore: PropertyStore,
+        typeProvider:  TypeProvider
+    ): Iterator[Context] = {
+        val callSites = callSitesOf(callerContext)
+        if (callSites eq null) Iterator.empty
+        else callSites.direct(pc).map[Context](typeProvider.contextFromId)
+    }
+
+    override def indirectCallees(
+        callerContext: Context,
+        pc:            Int
+    )(
+        implicit
+        propertyStore: PropertyStore,
+        typeProvider:  TypeProvider
+    ): Iterator[Context] = {
+        val callSites = callSitesOf(callerContext)
+        if (callSites eq null) Iterator.empty
+        else callSites.indirect(pc).map[Context](typeProvider.contextFromId)
+    }
+
+    override def numCallees(pc: Int)(implicit propertyStore: PropertyStore): Int = {
+        compactCallSites.valuesIterator.map(_.numCallees(pc)).sum
+    }
+
+    override def callerContexts(implicit typeProvider: TypeProvider): Iterator[Context] = {
+        compactCallSites.keysIterator.map(typeProvider.contextFromId)
+    }
+
+    override def callSitePCs(
+        callerContext: Context
+    )(implicit propertyStore: PropertyStore): IntIterator = {
+        val callSites = callSitesOf(callerContext)
+        if (callSites eq null) IntIterator.empty
+        else IntIterator.upUntil(0, callSites.pcs.length).map(callSites.pcs(_))
+    }
+
+    private[this] def toCallSites(
+        callerContext: Context,
+        callees:       (CompactCallSites, Int) => Iterator[Int]
+    )(implicit typeProvider: TypeProvider): IntMap[Iterator[Context]] = {
+        val callSites = callSitesOf(callerContext)
+        if (callSites eq null)
+            IntMap.empty
+        else
+            callSites.pcs.foldLeft(IntMap.empty[Iterator[Context]]) { (result, pc) =>
+                val pcCallees = callees(callSites, pc)
+                if (pcCallees.hasNext)
+                    result.updated(pc, pcCallees.map[Context](typeProvider.contextFromId))
+                else
+                    result
+            }
+    }
+
+    override def callSites(callerContext: Context)(
+        implicit
+        propertyStore: PropertyStore,
+        typeProvider:  TypeProvider
+    ): IntMap[Iterator[Context]] = {
+        toCallSites(callerContext, (callSites, pc) => callSites.direct(pc) ++ callSites.indirect(pc))
+    }
+
+    override def directCallSites(callerContext: Context)(
+        implicit
+        propertyStore: PropertyStore,
+        typeProvider:  TypeProvider
+    ): IntMap[Iterator[Context]] = {
+        toCallSites(callerContext, (callSites, pc) => callSites.direct(pc))
+    }
+
+    override def indirectCallSites(callerContext: Context)(
+        implicit
+        propertyStore: PropertyStore,
+        typeProvider:  TypeProvider
+    ): IntMap[Iterator[Context]] = {
+        toCallSites(callerContext, (callSites, pc) => callSites.indirect(pc))
+    }
+
+    override def indirectCallReceiver(
+        callerContext: Context, pc: Opcode, calleeContext: Context
+    ): Option[(ValueInformation, br.PCs)] = {
+        val callSites = callSitesOf(callerContext)
+        val index = if (callSites eq null) -1 else callSites.indirectIndexOf(pc, calleeContext.id)
+        if (index < 0) None
+        else callSites.indirectReceivers(index)
+    }
+
+    override def indirectCallParameters(
+        callerContext: Context,
+        pc:            Int,
+        calleeContext: Context
+    )(
+        implicit
+        propertyStore: PropertyStore
+    ): Seq[Option[(ValueInformation, IntTrieSet)]] = {
+        val callSites = callSitesOf(callerContext)
+        val index = if (callSites eq null) -1 else callSites.indirectIndexOf(pc, calleeContext.id)
+        if (index < 0) Seq.empty
+        else callSites.indirectParameters(index)
+    }
+
+    override def updateWithCallees(
+        callerContext:          Context,
+        directCallees:          IntMap[IntTrieSet],
+        indirectCallees:        IntMap[IntTrieSet],
+        incompleteCallSites:    br.PCs,
+        indirectCallReceivers:  IntMap[IntMap[Option[(ValueInformation, br.PCs)]]],
+        indirectCallParameters: IntMap[IntMap[Seq[Option[(ValueInformation, br.PCs)]]]]
+    ): Callees = {
+        val delta = new CalleesDelta(
+            callerContext.id,
+            directCallees,
+            indirectCallees,
+            incompleteCallSites,
+            indirectCallReceivers,
+            indirectCallParameters
+        )
+        // If the call sites are already compacted, the existing deltas are no longer needed
+        val compactCallSites = _compactCallSites
+        if (compactCallSites ne null)
+            new CompactCallees(compactCallSites, List(delta), 1)
+        else if (numDeltas < CompactCallees.MaxDeltas)
+            new CompactCallees(callSites, delta :: deltas, numDeltas + 1)
+        else
+            new CompactCallees(CompactCallees.compact(callSites, delta :: deltas), Nil, 0)
+    }
+
+    override def containsCall(callerContext: Context, pc: Int, calleeContext: Context): Boolean = {
+        containsDirectCall(callerContext, pc, calleeContext) ||
+            containsIndirectCall(callerContext, pc, calleeContext)
+    }
+
+    override def containsDirectCall(
+        callerContext: Context, pc: Int, calleeContext: Context
+    ): Boolean = {
+        val callSites = callSitesOf(callerContext)
+        (callSites ne null) && callSites.containsDirect(pc, calleeContext.id)
+    }
+
+    override def containsIndirectCall(
+        callerContext: Context, pc: Int, calleeContext: Context
+    ): Boolean = {
+        val callSites = callSitesOf(callerContext)
+        (callSites ne null) && callSites.indirectIndexOf(pc, calleeContext.id) >= 0
+    }
+}
+
+object CompactCallees {
+
+    /**
+     * The maximum number of deltas after which the call information is encoded during an
+     * update.
+     */
+    final val MaxDeltas = 32
+
+    def apply(
+        callerContext:          Context,
+        directCallees:          IntMap[PCs],
+        indirectCallees:        IntMap[PCs],
+        incompleteCallSites:    PCs,
+        indirectCallReceivers:  IntMap[IntMap[Option[(ValueInformation, PCs)]]],
+        indirectCallParameters: IntMap[IntMap[Seq[Option[(ValueInformation, PCs)]]]]
+    ): CompactCallees = {
+        val delta = new CalleesDelta(
+            callerContext.id,
+            directCallees,
+            indirectCallees,
+            incompleteCallSites,
+            indirectCallReceivers,
+            indirectCallParameters
+        )
+        new CompactCallees(IntMap.empty, List(delta), 1)
+    }
+
+    private[cg] def compact(
+        callSites: IntMap[CompactCallSites],
+        deltas:    List[CalleesDelta]
+    ): IntMap[CompactCallSites] = {
+        var result = callSites
+        deltas.reverse.groupBy(_.callerContextId).foreach {
+            case (callerContextId, contextDeltas) =>
+                result = result.updated(
+                    callerContextId,
+                    CompactCallSites(callSites.getOrElse(callerContextId, null), contextDeltas.iterator)
+                )
+        }
+        result
+    }
+}
+
 object NoCallees extends Callees {
 
     override def incompleteCallSites(
@@ -497,8 +1079,8 @@ object NoCallees extends Callees {
         incompleteCallSites:    br.PCs,
         indirectCallReceivers:  IntMap[IntMap[Option[(ValueInformation, br.PCs)]]],
         indirectCallParameters: IntMap[IntMap[Seq[Option[(ValueInformation, br.PCs)]]]]
-    ): ConcreteCallees = {
-        ConcreteCallees(
+    ): CompactCallees = {
+        CompactCallees(
             callerContext,
             directCallees,
             indirectCallees,
@@ -5,6 +5,9 @@ package fpcf
 package properties
 package cg
 
+import java.lang.ref.WeakReference
+import java.util.concurrent.ConcurrentHashMap
+
 import org.opalj.collection.immutable.UIDSet
 import org.opalj.fpcf.EOptionP
 import org.opalj.fpcf.EPK
@@ -23,6 +26,14 @@ import org.opalj.br.ReferenceType
 /**
  * Represent the set of types that have allocations reachable from the respective entry points.
  *
+ * Type sets are hash-consed along their updates: updating a type set with the same new types
+ * always yields the same (shared) type set as long as that set is still in use. Hence, entities
+ * that are initialized with the same type set (see [[InstantiatedTypes.empty]]) and receive the
+ * same types share a single type set. As [[NoInstantiatedTypes]] is shared by all projects, its
+ * updates are not shared. The order of the types of a type set extends the order of the type set
+ * it is derived from, i.e., clients may still track the types seen so far by index
+ * (see [[dropOldest]]).
+ *
  * @author Florian Kuebler
  */
 // todo code duplication in [[LoadedClasses]]
@@ -49,12 +60,65 @@ case class InstantiatedTypes private[properties] (
         }
     }
 
+    // The type sets derived from this type set, by the types that were added. The type sets are
+    // only weakly referenced to not keep type sets alive that are no longer used by any entity.
+    private[this] lazy val successors =
+        new ConcurrentHashMap[UIDSet[ReferenceType], WeakReference[InstantiatedTypes]]()
+    @volatile private[this] var successorsPurgeThreshold: Int = 16
+
+    /**
+     * Returns the type set that additionally contains the given types; returns this type set if
+     * all types are already contained.
+     */
     def updated(newTypes: IterableOnce[ReferenceType]): InstantiatedTypes = {
-        var newOrderedTypes = orderedTypes
+        val addedTypes = this.addedTypes(newTypes)
+        if (addedTypes.isEmpty) this
+        else successor(addedTypes)
+    }
+
+    protected[this] def addedTypes(newTypes: IterableOnce[ReferenceType]): UIDSet[ReferenceType] = {
+        var addedTypes = UIDSet.empty[ReferenceType]
         for { t <- newTypes.iterator if !types.contains(t) } {
-            newOrderedTypes ::= t
+            addedTypes += t
+        }
+        addedTypes
+    }
+
+    protected[this] def newSuccessor(addedTypes: UIDSet[ReferenceType]): InstantiatedTypes = {
+        // The added types are ordered by their ids to make the order of the types of the
+        // successor independent of the order in which the new types were given
+        val newOrderedTypes = addedTypes.toList.sortBy(_.id).foldLeft(orderedTypes) {
+            (orderedTypes, t) => t :: orderedTypes
+        }
+        new InstantiatedTypes(newOrderedTypes, types ++ addedTypes)
+    }
+
+    private[this] def successor(addedTypes: UIDSet[ReferenceType]): InstantiatedTypes = {
+        val successorReference = successors.get(addedTypes)
+        val cachedSuccessor = if (successorReference ne null) successorReference.get else null
+        if (cachedSuccessor ne null) {
+            cachedSuccessor
+        } else {
+            if (successors.size >= successorsPurgeThreshold) {
+                successors.values.removeIf(_.get eq null)
+                successorsPurgeThreshold = Math.max(16, 2 * successors.size)
+            }
+            // Another thread may have registered the successor concurrently; its successor is used
+            var result: InstantiatedTypes = null
+            successors.compute(
+                addedTypes,
+                (_, reference) => {
+                    if (reference ne null) result = reference.get
+                    if (result ne null) {
+                        reference
+                    } else {
+                        result = newSuccessor(addedTypes)
+                        new WeakReference(result)
+                    }
+                }
+            )
+            result
         }
-        new InstantiatedTypes(newOrderedTypes, types ++ newTypes)
     }
 
     /**
@@ -72,12 +136,16 @@ object InstantiatedTypes extends InstantiatedTypesPropertyMetaInformation {
     def apply(
         initialInstantiatedTypes: UIDSet[ReferenceType]
     ): InstantiatedTypes = {
-        new InstantiatedTypes(
-            initialInstantiatedTypes.toList,
-            initialInstantiatedTypes
-        )
+        NoInstantiatedTypes.updated(initialInstantiatedTypes)
     }
 
+    /**
+     * Returns a new empty type set; the type sets derived from it are shared, i.e., entities
+     * that are initialized with the same types should be initialized using the same empty type
+     * set.
+     */
+    def empty(): InstantiatedTypes = new InstantiatedTypes(List.empty, UIDSet.empty)
+
     final val key: PropertyKey[InstantiatedTypes] = {
         val name = "opalj.InstantiatedTypes"
         PropertyKey.create(
@@ -124,4 +192,12 @@ object InstantiatedTypes extends InstantiatedTypesPropertyMetaInformation {
     }
 }
 
-object NoInstantiatedTypes extends InstantiatedTypes(List.empty, UIDSet.empty)
+object NoInstantiatedTypes extends InstantiatedTypes(List.empty, UIDSet.empty) {
+
+    // This type set is shared by all projects; hence, it does not share its successors
+    override def updated(newTypes: IterableOnce[ReferenceType]): InstantiatedTypes = {
+        val addedTypes = this.addedTypes(newTypes)
+        if (addedTypes.isEmpty) this
+        else newSuccessor(addedTypes)
+    }
+}
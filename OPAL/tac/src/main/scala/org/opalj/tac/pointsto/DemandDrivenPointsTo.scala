@@ -0,0 +1,521 @@
+/* BSD 2-Clause License - see OPAL/LICENSE for details. */
+package org.opalj
+package tac
+package pointsto
+
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicLong
+
+import scala.collection.mutable
+
+import org.opalj.collection.immutable.IntTrieSet
+import org.opalj.fpcf.FinalP
+import org.opalj.fpcf.PropertyStore
+import org.opalj.value.ValueInformation
+import org.opalj.br.DeclaredMethod
+import org.opalj.br.Field
+import org.opalj.br.FieldType
+import org.opalj.br.Method
+import org.opalj.br.ObjectType
+import org.opalj.br.analyses.DeclaredMethods
+import org.opalj.br.analyses.DeclaredMethodsKey
+import org.opalj.br.analyses.FieldAccessInformation
+import org.opalj.br.analyses.FieldAccessInformationKey
+import org.opalj.br.analyses.SomeProject
+import org.opalj.br.analyses.cg.ClosedPackagesKey
+import org.opalj.br.analyses.cg.TypeExtensibilityKey
+import org.opalj.br.fpcf.PropertyStoreKey
+import org.opalj.tac.cg.CallGraph
+import org.opalj.tac.common.DefinitionSite
+import org.opalj.tac.common.DefinitionSites
+import org.opalj.tac.common.DefinitionSitesKey
+import org.opalj.tac.fpcf.properties.TACAI
+import org.opalj.tac.fpcf.properties.TheTACAI
+
+/**
+ * An abstract object a reference value may point to.
+ */
+sealed abstract class ObjectOrigin
+
+/**
+ * An object that is allocated (or a constant that is loaded) at the given definition site.
+ */
+case class Allocation(definitionSite: DefinitionSite) extends ObjectOrigin
+
+/**
+ * An object that is returned by a method whose code is not available (e.g., a library method
+ * if the libraries are not analyzed); the call site is the given definition site.
+ */
+case class ExternalCallResult(callSite: DefinitionSite, callee: DeclaredMethod) extends ObjectOrigin
+
+/**
+ * An object that is passed to the given method by an unknown caller (e.g., if the method is an
+ * entry point); the index of `this` is 0 and the index of the i-th parameter is i+1.
+ */
+case class ExternalParameter(method: DeclaredMethod, index: Int) extends ObjectOrigin
+
+/**
+ * An object that is defined at the given definition site, but whose origin is not tracked
+ * (e.g., an array element, a caught exception or the value of a field that may be written by
+ * code that is not part of the project).
+ */
+case class UnknownObject(definitionSite: DefinitionSite) extends ObjectOrigin
+
+/**
+ * The result of a demand-driven points-to query.
+ *
+ * @param isComplete `false` if the budget of the query was exceeded; in this case the
+ *        origins are a subset of the origins that would have been found otherwise.
+ */
+case class PointsToQueryResult(origins: Set[ObjectOrigin], isComplete: Boolean) {
+
+    /**
+     * Returns `true` if some object may have been returned by a method without code that
+     * satisfies the given predicate. If the result is not complete, `true` is returned.
+     */
+    def mayOriginateFrom(callee: DeclaredMethod => Boolean): Boolean = {
+        !isComplete || origins.exists {
+            case ExternalCallResult(_, c) => callee(c)
+            case _                        => false
+        }
+    }
+}
+
+/**
+ * Answers points-to and alias queries on demand; i.e., only the part of the program that is
+ * relevant for a query is analyzed. The analysis is a backward, field-sensitive and
+ * context-insensitive traversal of the def/use chains of the three-address code
+ * (CFL-reachability style): loads of a field are matched with the stores into the same field of
+ * an object that may alias the loaded object; parameters are resolved using the callers and the
+ * results of calls using the callees of the given call graph.
+ *
+ * Each query has a budget which limits the number of definition sites that are analyzed. If
+ * the budget is exceeded, the result is flagged as incomplete. The points-to sets of the
+ * definition sites which are completely analyzed are cached and reused by later queries.
+ * The definition sites of a cycle (e.g., a field load whose object reference is itself loaded
+ * from a field that is written using the loaded value) are analyzed iteratively until their
+ * points-to sets are stable; only the points-to set of the definition site that closes the
+ * cycle is cached.
+ *
+ * Arrays and caught exceptions are not tracked; their values are [[UnknownObject]]s. The same
+ * holds for the values of fields that may be written outside of the project (e.g., non-private
+ * fields of library types or public fields) in addition to the values written by the project.
+ * The three-address code is taken from the property store if available (e.g., after the
+ * computation of the call graph) and is computed otherwise.
+ *
+ * ==Thread Safety==
+ * This class is thread-safe; queries can be executed concurrently.
+ *
+ * @example
+ * {{{
+ * val pointsTo = new DemandDrivenPointsTo(project, project.get(RTACallGraphKey))
+ * // can the first argument of the call at pc come from HttpServletRequest.getParameter?
+ * pointsTo.pointsToOfArgument(method, pc, 1).mayOriginateFrom { callee =>
+ *     callee.name == "getParameter" &&
+ *         callee.declaringClassType.fqn == "javax/servlet/http/HttpServletRequest"
+ * }
+ * }}}
+ *
+ * @param defaultBudget The maximum number of definition sites that are analyzed per query.
+ */
+class DemandDrivenPointsTo(
+        val project:       SomeProject,
+        val callGraph:     CallGraph,
+        val defaultBudget: Int        = DemandDrivenPointsTo.DefaultBudget
+) {
+
+    type V = DUVar[ValueInformation]
+
+    private[this] type Node = (Method, Int)
+
+    private[this] implicit val declaredMethods: DeclaredMethods = project.get(DeclaredMethodsKey)
+    private[this] val definitionSites: DefinitionSites = project.get(DefinitionSitesKey)
+    private[this] val fieldAccesses: FieldAccessInformation = project.get(FieldAccessInformationKey)
+    private[this] val propertyStore: PropertyStore = project.get(PropertyStoreKey)
+    private[this] val closedPackages = project.get(ClosedPackagesKey)
+    private[this] val typeExtensibility = project.get(TypeExtensibilityKey)
+    private[this] val lazyTACAI = project.get(LazyDetachedTACAIKey)
+
+    private[this] val cache = new ConcurrentHashMap[Node, Set[ObjectOrigin]]()
+
+    private[this] val queriesCount = new AtomicLong(0)
+    private[this] val analyzedDefSitesCount = new AtomicLong(0)
+    private[this] val cacheHitsCount = new AtomicLong(0)
+
+    /**
+     * The state of a single query.
+     */
+    private[this] class Query(val budget: Int) {
+        var steps = 0
+        var isBudgetExceeded = false
+        // the depth of the definition sites that are currently analyzed
+        val inProgress = mutable.HashMap.empty[Node, Int]
+        // the smallest depth of an in-progress definition site reached by the current subtree
+        var lowLink = Int.MaxValue
+        // the origins computed so far for the definition sites of the cycles that are not closed
+        val provisionalOrigins = mutable.HashMap.empty[Node, Set[ObjectOrigin]]
+        // `true` if the provisional origins of a definition site changed in the current subtree
+        var isUpdated = false
+    }
+
+    /**
+     * The objects the values defined at the given definition sites of the given method may
+     * point to.
+     */
+    def pointsTo(
+        method:   Method,
+        defSites: IntTrieSet,
+        budget:   Int        = defaultBudget
+    ): PointsToQueryResult = {
+        queriesCount.incrementAndGet()
+        implicit val query: Query = new Query(budget)
+        val origins = pointsToOfDefSites(method, defSites)
+        analyzedDefSitesCount.addAndGet(query.steps)
+        PointsToQueryResult(origins, !query.isBudgetExceeded)
+    }
+
+    /**
+     * The objects the argument of the call with the given pc may point to; the index of the
+     * receiver is 0 and the index of the i-th parameter is i+1.
+     */
+    def pointsToOfArgument(
+        method: Method,
+        pc:     Int,
+        index:  Int,
+        budget: Int    = defaultBudget
+    ): PointsToQueryResult = {
+        val definitionSite = definitionSites(method, pc)
+        callAt(tacOf(method), pc) match {
+            case Some(call) =>
+                val arg =
+                    if (call.receiverOption.isDefined) call.allParams(index)
+                    else call.params(index - 1)
+                if (arg.isVar)
+                    pointsTo(method, arg.asVar.definedBy, budget)
+                else if (arg.isNullExpr)
+                    PointsToQueryResult(Set.empty, isComplete = true)
+                else
+                    PointsToQueryResult(Set(Allocation(definitionSite)), isComplete = true)
+            case None =>
+                // the statement at the pc is not a call; nothing is known about the argument
+                PointsToQueryResult(Set(UnknownObject(definitionSite)), isComplete = true)
+        }
+    }
+
+    /**
+     * Returns `true` if the values defined at the given definition sites may point to the same
+     * object; if a query's budget is exceeded, `true` is returned.
+     */
+    def mayAlias(
+        method1:   Method,
+        defSites1: IntTrieSet,
+        method2:   Method,
+        defSites2: IntTrieSet,
+        budget:    Int        = defaultBudget
+    ): Boolean = {
+        val pointsTo1 = pointsTo(method1, defSites1, budget)
+        val pointsTo2 = pointsTo(method2, defSites2, budget)
+        !pointsTo1.isComplete || !pointsTo2.isComplete ||
+            mayAlias(pointsTo1.origins, pointsTo2.origins)
+    }
+
+    /**
+     * The number of queries, the number of definition sites which were analyzed and the number
+     * of definition sites whose points-to sets were taken from the cache.
+     */
+    def statistics: Map[String, Long] = Map(
+        "queries" -> queriesCount.get,
+        "analyzed definition sites" -> analyzedDefSitesCount.get,
+        "cache hits" -> cacheHitsCount.get,
+        "cached definition sites" -> cache.size.toLong
+    )
+
+    // Objects which are created by unknown code may alias every object that escapes to unknown
+    // code; since escape information is not available, they may alias every object.
+    private[this] def mayAlias(origins1: Set[ObjectOrigin], origins2: Set[ObjectOrigin]): Boolean = {
+        def isUnknown(origin: ObjectOrigin): Boolean = !origin.isInstanceOf[Allocation]
+        origins1.exists(o => isUnknown(o) || origins2.contains(o)) ||
+            (origins1.nonEmpty && origins2.exists(isUnknown))
+    }
+
+    private[this] def tacOf(method: Method): TACode[TACMethodParameter, V] = {
+        propertyStore(method, TACAI.key) match {
+            case FinalP(TheTACAI(tac)) => tac
+            case _                     => lazyTACAI(method)
+        }
+    }
+
+    /**
+     * The call at the given pc or `None` if there is no call at the pc (e.g., if the pc of a call
+     * graph's call site refers to an instruction that is not a call in the three-address code).
+     */
+    private[this] def callAt(tac: TACode[TACMethodParameter, V], pc: Int): Option[Call[V]] = {
+        val index = tac.properStmtIndexForPC(pc)
+        if (index < 0) None
+        else tac.stmts(index) match {
+            case call: Call[V] @unchecked                 => Some(call)
+            case Assignment(_, _, call: Call[V] @unchecked) => Some(call)
+            case ExprStmt(_, call: Call[V] @unchecked)      => Some(call)
+            case _                                          => None
+        }
+    }
+
+    /**
+     * `true` if the given field may be written by code that is not part of the project; i.e.,
+     * if it is declared by a library type or if it is neither private nor final and accessible
+     * by code outside of the project.
+     */
+    private[this] def mayBeWrittenExternally(field: Field): Boolean = {
+        val declaringType = field.classFile.thisType
+        project.isLibraryType(declaringType) || !field.isPrivate && !field.isFinal && (
+            field.isPublic ||
+            !closedPackages.isClosed(declaringType.packageName) ||
+            field.isProtected && typeExtensibility(declaringType).isYesOrUnknown
+        )
+    }
+
+    private[this] def pointsToOfDefSites(
+        method:   Method,
+        defSites: IntTrieSet
+    )(implicit query: Query): Set[ObjectOrigin] = {
+        defSites.foldLeft(Set.empty[ObjectOrigin]) { (origins, defSite) =>
+            origins ++ pointsToOfDefSite(method, defSite)
+        }
+    }
+
+    private[this] def pointsToOfExpr(
+        method: Method,
+        expr:   Expr[V],
+        pc:     Int
+    )(implicit query: Query): Set[ObjectOrigin] = {
+        if (expr.isVar)
+            pointsToOfDefSites(method, expr.asVar.definedBy)
+        else if (expr.isNullExpr)
+            Set.empty
+        else
+            Set(Allocation(definitionSites(method, pc)))
+    }
+
+    private[this] def pointsToOfDefSite(
+        method:  Method,
+        defSite: Int
+    )(implicit query: Query): Set[ObjectOrigin] = {
+        val node = (method, defSite)
+        val cachedOrigins = cache.get(node)
+        if (cachedOrigins ne null) {
+            cacheHitsCount.incrementAndGet()
+            return cachedOrigins;
+        }
+
+        // the definition site is part of a cycle; the origins found so far are used until the
+        // computation that is already in progress is stable
+        val inProgressDepth = query.inProgress.getOrElse(node, -1)
+        if (inProgressDepth >= 0) {
+            query.lowLink = Math.min(query.lowLink, inProgressDepth)
+            return query.provisionalOrigins.getOrElse(node, Set.empty);
+        }
+
+        if (query.steps >= query.budget) {
+            query.isBudgetExceeded = true
+            return Set.empty;
+        }
+        query.steps += 1
+
+        val depth = query.inProgress.size
+        query.inProgress.put(node, depth)
+        val parentLowLink = query.lowLink
+        val parentIsUpdated = query.isUpdated
+
+        // The origins of an object reference determine which field writes are relevant; hence,
+        // the origins of a cycle's definition sites are recomputed until they are stable.
+        var origins = Set.empty[ObjectOrigin]
+        do {
+            query.lowLink = Int.MaxValue
+            query.isUpdated = false
+            origins = computePointsToOfDefSite(method, defSite)
+            if (query.lowLink <= depth &&
+                origins != query.provisionalOrigins.getOrElse(node, Set.empty)) {
+                query.provisionalOrigins.put(node, origins)
+                query.isUpdated = true
+            }
+        } while (query.lowLink == depth && query.isUpdated && !query.isBudgetExceeded)
+
+        query.inProgress.remove(node)
+        // the origins are only complete if all cycles that were reached are closed
+        if (query.lowLink >= depth) {
+            if (!query.isBudgetExceeded) cache.put(node, origins)
+            query.lowLink = parentLowLink
+            query.isUpdated = parentIsUpdated
+        } else {
+            query.lowLink = Math.min(parentLowLink, query.lowLink)
+            query.isUpdated = query.isUpdated || parentIsUpdated
+        }
+        origins
+    }
+
+    private[this] def computePointsToOfDefSite(
+        method:  Method,
+        defSite: Int
+    )(implicit query: Query): Set[ObjectOrigin] = {
+        lazy val tac = tacOf(method)
+        if (ai.isImmediateVMException(defSite)) {
+            val pc = tac.stmts(ai.pcOfImmediateVMException(defSite)).pc
+            Set(Allocation(definitionSites(method, pc)))
+        } else if (ai.isMethodExternalExceptionOrigin(defSite)) {
+            val pc = tac.stmts(ai.pcOfMethodExternalException(defSite)).pc
+            Set(UnknownObject(definitionSites(method, pc)))
+        } else if (defSite < 0) {
+            pointsToOfParameter(method, defSite)
+        } else {
+            tac.stmts(defSite) match {
+                case Assignment(pc, _, expr) => expr.astID match {
+                    case New.ASTID | NewArray.ASTID =>
+                        Set(Allocation(definitionSites(method, pc)))
+
+                    case StaticFunctionCall.ASTID | NonVirtualFunctionCall.ASTID |
+                        VirtualFunctionCall.ASTID =>
+                        pointsToOfCallResult(method, pc)
+
+                    case GetField.ASTID =>
+                        val getField = expr.asGetField
+                        pointsToOfField(
+                            method,
+                            pc,
+                            getField.declaringClass,
+                            getField.name,
+                            getField.declaredFieldType,
+                            Some(getField.objRef)
+                        )
+
+                    case GetStatic.ASTID =>
+                        val getStatic = expr.asGetStatic
+                        pointsToOfField(
+                            method,
+                            pc,
+                            getStatic.declaringClass,
+                            getStatic.name,
+                            getStatic.declaredFieldType,
+                            None
+                        )
+
+                    case _ if expr.isVar || expr.isConst =>
+                        pointsToOfExpr(method, expr, pc)
+
+                    case _ =>
+                        Set(UnknownObject(definitionSites(method, pc)))
+                }
+
+                case stmt =>
+                    Set(UnknownObject(definitionSites(method, stmt.pc)))
+            }
+        }
+    }
+
+    private[this] def pointsToOfParameter(
+        method:  Method,
+        defSite: Int
+    )(implicit query: Query): Set[ObjectOrigin] = {
+        val declaredMethod = declaredMethods(method)
+        val index = -1 - defSite
+
+        var origins = Set.empty[ObjectOrigin]
+        if (callGraph.hasCallersWithUnknownContext(declaredMethod) ||
+            callGraph.hasVMLevelCaller(declaredMethod))
+            origins += ExternalParameter(declaredMethod, index)
+
+        callGraph.callersOf(declaredMethod).iterator.foreach { callSite =>
+            val (caller, pc, isDirect) = callSite
+            if (!isDirect || !caller.hasSingleDefinedMethod) {
+                // the mapping of the arguments of indirect calls (e.g., using reflection) is
+                // unknown
+                origins += ExternalParameter(declaredMethod, index)
+            } else {
+                val callerMethod = caller.definedMethod
+                callAt(tacOf(callerMethod), pc) match {
+                    case Some(call) =>
+                        val arg =
+                            if (defSite == -1) call.receiverOption.get
+                            else call.params(-2 - defSite)
+                        origins ++= pointsToOfExpr(callerMethod, arg, pc)
+                    case None =>
+                        origins += UnknownObject(definitionSites(callerMethod, pc))
+                }
+            }
+        }
+        origins
+    }
+
+    private[this] def pointsToOfCallResult(
+        method: Method,
+        pc:     Int
+    )(implicit query: Query): Set[ObjectOrigin] = {
+        val declaredMethod = declaredMethods(method)
+
+        var origins = Set.empty[ObjectOrigin]
+        var hasCallees = false
+        callGraph.calleesOf(declaredMethod, pc).foreach { calleeContext =>
+            hasCallees = true
+            val callee = calleeContext.method
+            if (callee.hasSingleDefinedMethod && callee.definedMethod.body.isDefined) {
+                val calleeMethod = callee.definedMethod
+                tacOf(calleeMethod).stmts foreach {
+                    case ReturnValue(returnPC, expr) =>
+                        origins ++= pointsToOfExpr(calleeMethod, expr, returnPC)
+                    case _ =>
+                }
+            } else {
+                origins += ExternalCallResult(definitionSites(method, pc), callee)
+            }
+        }
+
+        if (!hasCallees || callGraph.isIncompleteCallSiteOf(declaredMethod, pc))
+            origins += UnknownObject(definitionSites(method, pc))
+        origins
+    }
+
+    /**
+     * The objects stored in the given field of the objects the given object reference may point
+     * to, or in the given static field if the object reference is `None`.
+     */
+    private[this] def pointsToOfField(
+        method:            Method,
+        pc:                Int,
+        declaringClass:    ObjectType,
+        name:              String,
+        declaredFieldType: FieldType,
+        objRef:            Option[Expr[V]]
+    )(implicit query: Query): Set[ObjectOrigin] = {
+        val fieldOption = project.resolveFieldReference(declaringClass, name, declaredFieldType)
+        if (fieldOption.isEmpty)
+            return Set(UnknownObject(definitionSites(method, pc)));
+
+        val field = fieldOption.get
+        val objRefOrigins = objRef.map(pointsToOfExpr(method, _, pc)).getOrElse(Set.empty)
+        var origins = Set.empty[ObjectOrigin]
+        if (mayBeWrittenExternally(field))
+            origins += UnknownObject(definitionSites(method, pc))
+        fieldAccesses.writeAccesses(field) foreach { writeAccess =>
+            val (writer, pcs) = writeAccess
+            val writerTAC = tacOf(writer)
+            pcs foreach { writePC =>
+                val index = writerTAC.properStmtIndexForPC(writePC)
+                if (index >= 0) writerTAC.stmts(index) match {
+                    case PutField(_, _, _, _, writeObjRef, value) if objRef.isDefined =>
+                        val writeObjRefOrigins = pointsToOfExpr(writer, writeObjRef, writePC)
+                        if (mayAlias(objRefOrigins, writeObjRefOrigins))
+                            origins ++= pointsToOfExpr(writer, value, writePC)
+                    case PutStatic(_, _, _, _, value) if objRef.isEmpty =>
+                        origins ++= pointsToOfExpr(writer, value, writePC)
+                    case _ =>
+                }
+            }
+        }
+        origins
+    }
+}
+
+object DemandDrivenPointsTo {
+
+    final val DefaultBudget = 5000
+
+}
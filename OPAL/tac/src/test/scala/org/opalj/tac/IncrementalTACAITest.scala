@@ -0,0 +1,92 @@
+/* BSD 2-Clause License - see OPAL/LICENSE for details. */
+package org.opalj
+package tac
+
+import org.junit.runner.RunWith
+import org.scalatest.funspec.AnyFunSpec
+import org.scalatest.matchers.should.Matchers
+import org.scalatestplus.junit.JUnitRunner
+
+import org.opalj.value.ValueInformation
+import org.opalj.br.Method
+import org.opalj.br.TestSupport.biProject
+import org.opalj.ai.BaseAI
+import org.opalj.ai.Domain
+import org.opalj.ai.domain.RecordDefUse
+import org.opalj.ai.domain.l0.PrimitiveTACAIDomain
+import org.opalj.ai.domain.l1.DefaultDomainWithCFGAndDefUse
+
+/**
+ * Tests that the 3-address code that is updated by the [[IncrementalTACAI]] is identical
+ * to the 3-address code that is created from scratch.
+ */
+@RunWith(classOf[JUnitRunner])
+class IncrementalTACAITest extends AnyFunSpec with Matchers {
+
+    val project = biProject("ai.jar")
+
+    def updateTAC(
+        m:              Method,
+        previousDomain: Domain with RecordDefUse,
+        domain:         Domain with RecordDefUse
+    ): (Option[AITACode[TACMethodParameter, ValueInformation]], AITACode[TACMethodParameter, ValueInformation]) = {
+        val previousAIResult = BaseAI(m, previousDomain)
+        val previousTAC = TACAI(project, m, previousAIResult)
+        val aiResult = BaseAI(m, domain)
+        val updatedTAC = IncrementalTACAI(
+            project,
+            m,
+            previousAIResult,
+            previousTAC.asInstanceOf[AITACode[TACMethodParameter, ValueInformation]],
+            aiResult
+        )
+        val tac = TACAI(project, m, aiResult).asInstanceOf[AITACode[TACMethodParameter, ValueInformation]]
+        (updatedTAC, tac)
+    }
+
+    def assertSameTAC(
+        m:          Method,
+        updatedTAC: AITACode[TACMethodParameter, ValueInformation],
+        tac:        AITACode[TACMethodParameter, ValueInformation]
+    ): Unit = {
+        // the string representation of the variables contains the values
+        val updatedStmts = updatedTAC.stmts.map(_.toString).toList
+        val stmts = tac.stmts.map(_.toString).toList
+        if (updatedStmts != stmts) {
+            fail(m.toJava(updatedStmts.zip(stmts).filter(s => s._1 != s._2).mkString("\n", "\n", "")))
+        }
+        updatedTAC.cfg.code.instructions should be theSameInstanceAs (updatedTAC.stmts)
+        updatedTAC.params should be(tac.params)
+    }
+
+    describe("updating the 3-address code incrementally") {
+
+        it("should reuse the statements if the structure of the abstract interpretation result is unchanged") {
+            project.allMethodsWithBody foreach { m =>
+                val (updatedTAC, tac) = updateTAC(
+                    m,
+                    new DefaultDomainWithCFGAndDefUse(project, m),
+                    new DefaultDomainWithCFGAndDefUse(project, m)
+                )
+                if (updatedTAC.isEmpty) fail(s"${m.toJava}: the tac was not updated")
+                assertSameTAC(m, updatedTAC.get, tac)
+            }
+        }
+
+        it("should create the same 3-address code as TACAI if the precision of the domain differs") {
+            var updatedTACs = 0
+            project.allMethodsWithBody foreach { m =>
+                val (updatedTAC, tac) = updateTAC(
+                    m,
+                    new PrimitiveTACAIDomain(project.classHierarchy, m),
+                    new DefaultDomainWithCFGAndDefUse(project, m)
+                )
+                updatedTAC foreach { updatedTAC =>
+                    updatedTACs += 1
+                    assertSameTAC(m, updatedTAC, tac)
+                }
+            }
+            info(s"updated the 3-address code of $updatedTACs methods incrementally")
+        }
+    }
+}
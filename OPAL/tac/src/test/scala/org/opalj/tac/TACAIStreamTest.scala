@@ -0,0 +1,80 @@
+/* BSD 2-Clause License - see OPAL/LICENSE for details. */
+package org.opalj
+package tac
+
+import java.util.concurrent.ConcurrentLinkedQueue
+
+import scala.jdk.CollectionConverters._
+
+import org.junit.runner.RunWith
+import org.scalatest.funspec.AnyFunSpec
+import org.scalatest.matchers.should.Matchers
+import org.scalatestplus.junit.JUnitRunner
+
+import org.opalj.br.ClassFile
+import org.opalj.br.Method
+import org.opalj.br.TestSupport.biProject
+import org.opalj.ai.domain.l1.DefaultDomainWithCFGAndDefUse
+
+/**
+ * Tests that the [[TACAIStream]] passes the 3-address code of each method exactly once
+ * to the consumer and respects the requested order.
+ */
+@RunWith(classOf[JUnitRunner])
+class TACAIStreamTest extends AnyFunSpec with Matchers {
+
+    val project = biProject("ai.jar")
+
+    describe("streaming the 3-address code") {
+
+        it("should pass the 3-address code of every method with a body exactly once") {
+            var methods = List.empty[Method]
+            TACAIStream(project, maxBufferedResults = 2) { (m, tac) =>
+                tac.stmts should not be empty
+                methods ::= m
+            }
+            methods.size should be(project.allMethodsWithBody.size)
+            methods.toSet should be(project.allMethodsWithBody.toSet)
+        }
+
+        it("should pass the 3-address code of the methods of a class en bloc") {
+            var classFiles = List.empty[ClassFile]
+            TACAIStream(project, order = TACAIStreamOrder.ByClass) { (m, _) =>
+                if (classFiles.isEmpty || (classFiles.head ne m.classFile)) {
+                    classFiles should not contain (m.classFile)
+                    classFiles ::= m.classFile
+                }
+            }
+            classFiles.size should be(project.allClassFiles.count(_.methods.exists(_.body.isDefined)))
+        }
+
+        it("should pass the 3-address code of the classes of a package en bloc") {
+            var packages = List.empty[String]
+            TACAIStream(project, order = TACAIStreamOrder.ByPackage) { (m, _) =>
+                val packageName = m.classFile.thisType.packageName
+                if (packages.isEmpty || packages.head != packageName) {
+                    packages should not contain (packageName)
+                    packages ::= packageName
+                }
+            }
+        }
+
+        it("should use the given domain factory") {
+            val methods = new ConcurrentLinkedQueue[Method]()
+            val domainFactory = (m: Method) => {
+                methods.add(m)
+                new DefaultDomainWithCFGAndDefUse(project, m)
+            }
+            TACAIStream(project, domainFactory = Some(domainFactory)) { (_, _) => }
+            methods.asScala.toSet should be(project.allMethodsWithBody.toSet)
+        }
+
+        it("should rethrow the exception thrown by the consumer") {
+            val exception = new IllegalStateException("stop")
+            val thrown = intercept[IllegalStateException] {
+                TACAIStream(project, maxBufferedResults = 1) { (_, _) => throw exception }
+            }
+            thrown should be theSameInstanceAs (exception)
+        }
+    }
+}
@@ -0,0 +1,79 @@
+/* BSD 2-Clause License - see OPAL/LICENSE for details. */
+package org.opalj
+package tac
+package cg
+
+import java.io.File
+
+import org.junit.runner.RunWith
+import org.scalatest.funspec.AnyFunSpec
+import org.scalatest.matchers.should.Matchers
+import org.scalatestplus.junit.JUnitRunner
+
+import org.opalj.fpcf.PropertyStore
+import org.opalj.br.TestSupport.biProject
+import org.opalj.br.fpcf.FPCFAnalysesManagerKey
+import org.opalj.br.fpcf.PropertyStoreKey
+import org.opalj.tac.fpcf.analyses.cg.BinaryCallGraphDeserializerScheduler
+import org.opalj.tac.fpcf.analyses.cg.RTATypeProvider
+
+/**
+ * Tests that a call graph written using [[CallGraphSerializer.writeBinaryCG]] is restored by the
+ * [[BinaryCallGraphDeserializerScheduler]].
+ */
+@RunWith(classOf[JUnitRunner])
+class BinaryCallGraphSerializationTest extends AnyFunSpec with Matchers {
+
+    def edges(cg: CallGraph): Set[(String, Int, String, Boolean)] = {
+        cg.reachableMethods().flatMap { context =>
+            val m = context.method
+            cg.calleesOf(m).flatMap {
+                case (pc, _) =>
+                    cg.directCalleesOf(m, pc).map(c => (m.toJava, pc, c.method.toJava, true)) ++
+                        cg.indirectCalleesOf(m, pc).map(c => (m.toJava, pc, c.method.toJava, false))
+            }
+        }.toSet
+    }
+
+    def incompleteCallSites(cg: CallGraph): Set[(String, Int)] = {
+        cg.reachableMethods().flatMap { context =>
+            cg.incompleteCallSitesOf(context.method).map((context.method.toJava, _))
+        }.toSet
+    }
+
+    describe("the binary call graph serialization") {
+
+        val cg = biProject("ai.jar").get(RTACallGraphKey)
+
+        val file = File.createTempFile("callgraph", ".opalcg")
+        file.deleteOnExit()
+        CallGraphSerializer.writeBinaryCG(cg, file)
+
+        val project = biProject("ai.jar")
+        implicit val ps: PropertyStore = project.get(PropertyStoreKey)
+        project.get(FPCFAnalysesManagerKey).runAll(new BinaryCallGraphDeserializerScheduler(file))
+        val restoredCG = new CallGraph()(ps, new RTATypeProvider(project))
+
+        it("should restore the reachable methods") {
+            restoredCG.reachableMethods().map(_.method.toJava).toSet should be(
+                cg.reachableMethods().map(_.method.toJava).toSet
+            )
+        }
+
+        it("should restore the callees and callers") {
+            val expectedEdges = edges(cg)
+            edges(restoredCG) should be(expectedEdges)
+            restoredCG.numEdges should be(cg.numEdges)
+        }
+
+        it("should restore the incomplete call sites") {
+            incompleteCallSites(restoredCG) should be(incompleteCallSites(cg))
+        }
+
+        it("should restore the VM-level callers") {
+            restoredCG.reachableMethods().count(c => restoredCG.hasVMLevelCaller(c.method)) should be(
+                cg.reachableMethods().count(c => cg.hasVMLevelCaller(c.method))
+            )
+        }
+    }
+}
@@ -0,0 +1,84 @@
+/* BSD 2-Clause License - see OPAL/LICENSE for details. */
+package org.opalj
+package tac
+package cg
+
+import java.net.URL
+import java.util.Collections
+
+import com.typesafe.config.Config
+import com.typesafe.config.ConfigValueFactory
+import org.junit.runner.RunWith
+import org.scalatest.funspec.AnyFunSpec
+import org.scalatest.matchers.should.Matchers
+import org.scalatestplus.junit.JUnitRunner
+
+import org.opalj.log.GlobalLogContext
+import org.opalj.br.analyses.Project
+import org.opalj.br.analyses.SomeProject
+import org.opalj.br.fpcf.PropertyStoreKey
+import org.opalj.bi.TestResources.locateTestResources
+import org.opalj.tac.fpcf.properties.cg.InstantiatedTypes
+
+/**
+ * Tests that the [[BulkSynchronousCHACallGraphKey]] and the [[BulkSynchronousRTACallGraphKey]]
+ * compute the same call graphs as the [[CHACallGraphKey]] and the [[RTACallGraphKey]].
+ */
+@RunWith(classOf[JUnitRunner])
+class BulkSynchronousCallGraphTest extends AnyFunSpec with Matchers {
+
+    // The bulk-synchronous call graph analysis does not support additional modules
+    val config: Config = BaseConfig.withValue(
+        "org.opalj.tac.cg.CallGraphKey.modules",
+        ConfigValueFactory.fromIterable(Collections.emptyList[String]())
+    )
+
+    def project(): Project[URL] =
+        Project(locateTestResources("ai.jar", "bi"), GlobalLogContext, config)
+
+    def edges(cg: CallGraph): Set[(String, Int, String)] = {
+        cg.reachableMethods().flatMap { context =>
+            val m = context.method
+            cg.calleesOf(m).flatMap {
+                case (pc, callees) => callees.map(c => (m.toJava, pc, c.method.toJava))
+            }
+        }.toSet
+    }
+
+    def incompleteCallSites(cg: CallGraph): Set[(String, Int)] = {
+        cg.reachableMethods().flatMap { context =>
+            cg.incompleteCallSitesOf(context.method).map((context.method.toJava, _))
+        }.toSet
+    }
+
+    def instantiatedTypes(project: SomeProject): Set[String] = {
+        project.get(PropertyStoreKey)(project, InstantiatedTypes.key).ub.types.map(_.toJava).toSet
+    }
+
+    def assertSameCallGraph(cg: CallGraph, expectedCG: CallGraph): Unit = {
+        cg.reachableMethods().map(_.method.toJava).toSet should be(
+            expectedCG.reachableMethods().map(_.method.toJava).toSet
+        )
+        edges(cg) should be(edges(expectedCG))
+        cg.numEdges should be(expectedCG.numEdges)
+        incompleteCallSites(cg) should be(incompleteCallSites(expectedCG))
+    }
+
+    describe("the bulk-synchronous call graph analysis") {
+
+        it("should compute the same CHA call graph as the CHACallGraphKey") {
+            val expectedCG = project().get(CHACallGraphKey)
+            val cg = project().get(BulkSynchronousCHACallGraphKey)
+            assertSameCallGraph(cg, expectedCG)
+        }
+
+        it("should compute the same RTA call graph and instantiated types as the RTACallGraphKey") {
+            val expectedProject = project()
+            val expectedCG = expectedProject.get(RTACallGraphKey)
+            val bulkSynchronousProject = project()
+            val cg = bulkSynchronousProject.get(BulkSynchronousRTACallGraphKey)
+            assertSameCallGraph(cg, expectedCG)
+            instantiatedTypes(bulkSynchronousProject) should be(instantiatedTypes(expectedProject))
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/* BSD 2-Clause License - see OPAL/LICENSE for details. */
+package org.opalj
+package tac
+package cg
+
+import org.junit.runner.RunWith
+import org.scalatest.funspec.AnyFunSpec
+import org.scalatest.matchers.should.Matchers
+import org.scalatestplus.junit.JUnitRunner
+
+import org.opalj.collection.IntIterator
+import org.opalj.br.TestSupport.biProject
+
+/**
+ * Tests that the [[FrozenCallGraph]] represents the same call graph as the [[CallGraph]] it was
+ * created from.
+ */
+@RunWith(classOf[JUnitRunner])
+class FrozenCallGraphTest extends AnyFunSpec with Matchers {
+
+    val cg = biProject("ai.jar").get(RTACallGraphKey)
+    val frozenCG = cg.freeze()
+
+    def calleeNodes(node: Int): Set[Int] = {
+        var callees = Set.empty[Int]
+        frozenCG.foreachCalleeEdge(node) { edge => callees += frozenCG.edgeTarget(edge) }
+        callees
+    }
+
+    describe("a frozen call graph") {
+
+        it("should contain all reachable methods") {
+            frozenCG.numNodes should be(cg.reachableMethods().size)
+            cg.reachableMethods().forall(c => frozenCG.context(frozenCG.node(c)) == c) should be(true)
+        }
+
+        it("should contain the same call edges") {
+            for (context <- cg.reachableMethods()) {
+                val node = frozenCG.node(context)
+                var edges = Set.empty[(Int, String, Boolean)]
+                frozenCG.foreachCalleeEdge(node) { edge =>
+                    edges += ((
+                        frozenCG.edgePC(edge),
+                        frozenCG.context(frozenCG.edgeTarget(edge)).method.toJava,
+                        frozenCG.isDirectEdge(edge)
+                    ))
+                }
+
+                val expectedEdges = cg.calleesOf(context.method).flatMap {
+                    case (pc, _) =>
+                        cg.directCalleesOf(context.method, pc).map(c => (pc, c.method.toJava, true)) ++
+                            cg.indirectCalleesOf(context.method, pc).map(c => (pc, c.method.toJava, false))
+                }.toSet
+                edges should be(expectedEdges)
+            }
+        }
+
+        it("should contain the reversed edges for the callers") {
+            var numCallerEdges = 0
+            for (node <- 0 until frozenCG.numNodes) {
+                frozenCG.foreachCallerEdge(node) { edge =>
+                    frozenCG.edgeTarget(edge) should be(node)
+                    calleeNodes(frozenCG.edgeSource(edge)) should contain(node)
+                    numCallerEdges += 1
+                }
+            }
+            numCallerEdges should be(frozenCG.numEdges)
+        }
+
+        it("should compute the transitive callees and callers") {
+            for (node <- 0 until Math.min(frozenCG.numNodes, 50)) {
+                val reachable = frozenCG.reachableFrom(IntIterator(node))
+                var expected = Set(node)
+                var worklist = List(node)
+                while (worklist.nonEmpty) {
+                    val next = worklist.head
+                    worklist = worklist.tail
+                    for (callee <- calleeNodes(next) if !expected.contains(callee)) {
+                        expected += callee
+                        worklist ::= callee
+                    }
+                }
+                reachable.cardinality() should be(expected.size)
+                expected.forall(reachable.get) should be(true)
+
+                val callers = frozenCG.reachableFrom(IntIterator(node), forward = false)
+                for (caller <- 0 until frozenCG.numNodes if callers.get(caller))
+                    frozenCG.reachableFrom(IntIterator(caller)).get(node) should be(true)
+            }
+        }
+
+        it("should compute the same strongly connected components as the sequential algorithm") {
+            val sccs = frozenCG.stronglyConnectedComponents(parallelizationLevel = 4)
+            val edgeTarget: Int => Int = frozenCG.edgeTarget
+            val expectedSCCs = org.opalj.graphs.sccs(frozenCG.numNodes, (node: Int) => {
+                IntIterator.upUntil(frozenCG.calleeEdgesStart(node), frozenCG.calleeEdgesEnd(node))
+                    .map(edgeTarget)
+            })
+            sccs.count should be(expectedSCCs.size)
+            sccs.components.map(_.toSet).toSet should be(expectedSCCs.map(_.toSet).toSet)
+        }
+    }
+}
@@ -0,0 +1,286 @@
+/* BSD 2-Clause License - see OPAL/LICENSE for details. */
+package org.opalj
+package tac
+package fpcf
+package analyses
+
+import scala.collection.{Set => SomeSet}
+
+import com.typesafe.config.ConfigValueFactory
+import org.junit.runner.RunWith
+import org.scalatest.funspec.AnyFunSpec
+import org.scalatest.matchers.should.Matchers
+import org.scalatestplus.junit.JUnitRunner
+
+import org.opalj.log.GlobalLogContext
+import org.opalj.fpcf.FinalP
+import org.opalj.fpcf.PropertyKey
+import org.opalj.fpcf.PropertyStore
+import org.opalj.br.DeclaredMethod
+import org.opalj.br.ObjectType
+import org.opalj.br.analyses.Project
+import org.opalj.br.analyses.SomeProject
+import org.opalj.br.cfg.BasicBlock
+import org.opalj.br.fpcf.FPCFAnalysesManagerKey
+import org.opalj.br.fpcf.FPCFAnalysis
+import org.opalj.br.fpcf.properties.Context
+import org.opalj.bi.TestResources.locateTestResources
+import org.opalj.tac.cg.RTACallGraphKey
+import org.opalj.tac.fpcf.analyses.AbstractIFDSAnalysis.V
+import org.opalj.tac.fpcf.analyses.IFDSBitSetFactsTest._
+import org.opalj.tac.fpcf.properties.IFDSProperty
+import org.opalj.tac.fpcf.properties.IFDSPropertyMetaInformation
+
+/**
+ * Tests that an IFDS analysis computes the same results if the facts are represented as bit sets
+ * (see [[AbstractIFDSAnalysis.bitSetFactsConfigKey]]) and if they are represented as regular sets.
+ */
+@RunWith(classOf[JUnitRunner])
+class IFDSBitSetFactsTest extends AnyFunSpec with Matchers {
+
+    /**
+     * Runs the taint analysis on the taint fixtures; returns the facts that hold after the exit
+     * statements (identified by their indexes) of the analyzed main methods.
+     */
+    def run(bitSetFacts: Boolean): Map[String, Map[Int, Set[TaintFact]]] = {
+        val config = BaseConfig.withValue(
+            AbstractIFDSAnalysis.bitSetFactsConfigKey,
+            ConfigValueFactory.fromAnyRef(bitSetFacts)
+        )
+        val project = Project(locateTestResources("taint.jar", "bi"), GlobalLogContext, config)
+        project.get(RTACallGraphKey)
+        val (ps, analyses) = project.get(FPCFAnalysesManagerKey).runAll(TaintAnalysis)
+        val analysis = analyses.collectFirst { case (_, a: TaintAnalysis) => a }.get
+        analysis.usesBitSetFacts should be(bitSetFacts)
+        analysis.entryPointsWithContexts.map { entryPoint =>
+            val flows = ps(entryPoint, Taint.key) match {
+                case FinalP(taint) => taint.flows
+                case eOptP         => fail(s"unexpected result: $eOptP")
+            }
+            entryPoint._1.method.toJava -> flows.map {
+                case (statement, facts) => statement.index -> facts.toSet
+            }
+        }.toMap
+    }
+
+    describe("an IFDS analysis") {
+
+        lazy val results = run(bitSetFacts = false)
+
+        it("should find the flows of the taint fixtures") {
+            def hasLeak(className: String): Boolean = results.exists {
+                case (method, flows) =>
+                    method.startsWith(className+"{") && flows.valuesIterator.flatten.exists {
+                        case _: Leak => true
+                        case _       => false
+                    }
+            }
+            hasLeak("taint.LeakViaField") should be(true)
+            hasLeak("taint.SafeSanitized") should be(false)
+        }
+
+        it("should compute the same results using bit sets of facts") {
+            run(bitSetFacts = true) should be(results)
+        }
+    }
+}
+
+object IFDSBitSetFactsTest {
+
+    sealed trait TaintFact extends AbstractIFDSFact
+    case class Variable(index: Int) extends TaintFact
+    case class StaticField(classType: ObjectType, name: String) extends TaintFact
+    case class InstanceField(index: Int, classType: ObjectType, name: String) extends TaintFact
+    case class Leak(classType: ObjectType, index: Int) extends TaintFact
+    case object NullFact extends TaintFact with AbstractIFDSNullFact
+
+    class Taint(val flows: Map[Statement, Set[TaintFact]]) extends IFDSProperty[TaintFact] {
+
+        override type Self = Taint
+
+        override def key: PropertyKey[Taint] = Taint.key
+    }
+
+    object Taint extends IFDSPropertyMetaInformation[TaintFact] {
+
+        override type Self = Taint
+
+        final val key: PropertyKey[Taint] = PropertyKey.create(
+            "IFDSBitSetFactsTestTaint",
+            new Taint(Map.empty)
+        )
+    }
+
+    /**
+     * A simple taint analysis, which tracks the values returned by methods named `source` to
+     * the arguments of methods named `sink` through local variables and fields; the methods of
+     * the libraries are not analyzed.
+     */
+    class TaintAnalysis(val project: SomeProject) extends AbstractIFDSAnalysis[TaintFact] {
+
+        override val propertyKey: IFDSPropertyMetaInformation[TaintFact] = Taint
+
+        override val entryPoints: Map[DeclaredMethod, TaintFact] = {
+            project.allMethodsWithBody.iterator.filter(_.name == "main").map { m =>
+                declaredMethods(m) -> (NullFact: TaintFact)
+            }.toMap
+        }
+
+        def entryPointsWithContexts: Iterator[(Context, TaintFact)] = entryPoints.iterator.map {
+            case (method, fact) => (typeProvider.newContext(method), fact)
+        }
+
+        override def createPropertyValue(result: Map[Statement, Set[TaintFact]]): Taint = {
+            new Taint(result)
+        }
+
+        override def getCallees(
+            basicBlock: BasicBlock,
+            pc:         Int
+        )(implicit state: State): SomeSet[Context] = {
+            super.getCallees(basicBlock, pc).filter { callee =>
+                callee.method.hasSingleDefinedMethod && callee.method.definedMethod.body.isDefined
+            }
+        }
+
+        private[this] def isTainted(expr: Expr[V], in: Set[TaintFact]): Boolean = {
+            expr.isVar && in.exists {
+                case Variable(index) => expr.asVar.definedBy.contains(index)
+                case _               => false
+            }
+        }
+
+        private[this] def paramToIndex(param: Int, includeThis: Boolean): Int = {
+            (if (includeThis) -1 else -2) - param
+        }
+
+        override def normalFlow(
+            statement: Statement,
+            successor: Statement,
+            in:        Set[TaintFact]
+        ): Set[TaintFact] = statement.stmt.astID match {
+            case Assignment.ASTID =>
+                val expr = statement.stmt.asAssignment.expr
+                val isTaintedValue = expr.astID match {
+                    case Var.ASTID => isTainted(expr, in)
+                    case GetStatic.ASTID =>
+                        val get = expr.asGetStatic
+                        in.contains(StaticField(get.declaringClass, get.name))
+                    case GetField.ASTID =>
+                        val get = expr.asGetField
+                        in.exists {
+                            case InstanceField(index, _, name) =>
+                                name == get.name && get.objRef.asVar.definedBy.contains(index)
+                            case _ => false
+                        }
+                    case _ => false
+                }
+                if (isTaintedValue) in + Variable(statement.index) else in
+
+            case PutStatic.ASTID =>
+                val put = statement.stmt.asPutStatic
+                if (isTainted(put.value, in)) in + StaticField(put.declaringClass, put.name)
+                else in
+
+            case PutField.ASTID =>
+                val put = statement.stmt.asPutField
+                if (isTainted(put.value, in))
+                    put.objRef.asVar.definedBy.foldLeft(in) { (facts, defSite) =>
+                        facts + InstanceField(defSite, put.declaringClass, put.name)
+                    }
+                else in
+
+            case _ => in
+        }
+
+        override def callFlow(
+            call:          Statement,
+            calleeContext: Context,
+            in:            Set[TaintFact]
+        ): Set[TaintFact] = {
+            val includeThis = !calleeContext.method.definedMethod.isStatic
+            val allParams = asCall(call.stmt).allParams
+            var facts = emptyFacts
+            in.foreach {
+                case Variable(index) =>
+                    allParams.iterator.zipWithIndex.foreach {
+                        case (param, pIndex) if param.asVar.definedBy.contains(index) =>
+                            facts += Variable(paramToIndex(pIndex, includeThis))
+                        case _ =>
+                    }
+                case InstanceField(index, classType, name) =>
+                    allParams.iterator.zipWithIndex.foreach {
+                        case (param, pIndex) if param.asVar.definedBy.contains(index) =>
+                            val formal = paramToIndex(pIndex, includeThis)
+                            facts += InstanceField(formal, classType, name)
+                        case _ =>
+                    }
+                case staticField: StaticField =>
+                    facts += staticField
+                case _ =>
+            }
+            facts
+        }
+
+        override def returnFlow(
+            call:          Statement,
+            calleeContext: Context,
+            exit:          Statement,
+            successor:     Statement,
+            in:            Set[TaintFact]
+        ): Set[TaintFact] = {
+            val callee = calleeContext.method
+            val isAssignment = call.stmt.astID == Assignment.ASTID
+            var facts = emptyFacts
+            if (callee.name == "source" && isAssignment)
+                facts += Variable(call.index)
+            val allParams = asCall(call.stmt).allParams
+            in.foreach {
+                case InstanceField(index, classType, name) if index < 0 =>
+                    val includeThis = !callee.definedMethod.isStatic
+                    allParams(paramToIndex(index, includeThis)).asVar.definedBy.foreach { defSite =>
+                        facts += InstanceField(defSite, classType, name)
+                    }
+                case Variable(index) if isAssignment && exit.stmt.astID == ReturnValue.ASTID &&
+                    exit.stmt.asReturnValue.expr.asVar.definedBy.contains(index) =>
+                    facts += Variable(call.index)
+                case fact @ (_: StaticField | _: Leak) =>
+                    facts += fact
+                case _ =>
+            }
+            facts
+        }
+
+        override def callToReturnFlow(
+            call:      Statement,
+            successor: Statement,
+            in:        Set[TaintFact]
+        ): Set[TaintFact] = {
+            val theCall = asCall(call.stmt)
+            if (theCall.name == "sink" && theCall.allParams.exists(isTainted(_, in)))
+                in + Leak(call.context.method.declaringClassType, call.index)
+            else
+                in
+        }
+
+        override def nativeCall(
+            call:          Statement,
+            calleeContext: Context,
+            successor:     Statement,
+            in:            Set[TaintFact]
+        ): Set[TaintFact] = emptyFacts
+    }
+
+    object TaintAnalysis extends IFDSAnalysis[TaintFact] {
+
+        override def property: IFDSPropertyMetaInformation[TaintFact] = Taint
+
+        override def init(p: SomeProject, ps: PropertyStore): TaintAnalysis = new TaintAnalysis(p)
+
+        override def afterPhaseScheduling(ps: PropertyStore, analysis: FPCFAnalysis): Unit = {
+            analysis.asInstanceOf[TaintAnalysis].entryPointsWithContexts.foreach {
+                ps.force(_, Taint.key)
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+/* BSD 2-Clause License - see OPAL/LICENSE for details. */
+package org.opalj
+package tac
+package fpcf
+package analyses
+
+import org.junit.runner.RunWith
+import org.scalatest.flatspec.AnyFlatSpec
+import org.scalatest.matchers.should.Matchers
+import org.scalatestplus.junit.JUnitRunner
+
+@RunWith(classOf[JUnitRunner])
+class IFDSFactSetTest extends AnyFlatSpec with Matchers {
+
+    case class Fact(value: Int) extends AbstractIFDSFact
+
+    case object NullFact extends AbstractIFDSNullFact
+
+    def facts(domain: IFDSFactDomain[AbstractIFDSFact], values: Range): Set[AbstractIFDSFact] = {
+        values.foldLeft(domain.empty: Set[AbstractIFDSFact])(_ + Fact(_))
+    }
+
+    behavior of "IFDSFactSet"
+
+    it should "behave like a regular set" in {
+        val domain = new IFDSFactDomain[AbstractIFDSFact]
+        val set1 = facts(domain, 0 until 100)
+        val set2 = facts(domain, 50 until 200)
+        val regularSet1 = (0 until 100).map(Fact).toSet[AbstractIFDSFact]
+        val regularSet2 = (50 until 200).map(Fact).toSet[AbstractIFDSFact]
+
+        set1 shouldBe a[IFDSFactSet[_]]
+        set1 should be(regularSet1)
+        set1.hashCode should be(regularSet1.hashCode)
+        (set1 ++ set2) should be(regularSet1 ++ regularSet2)
+        (set1 -- set2) should be(regularSet1 -- regularSet2)
+        (set1 ++ regularSet2) should be(regularSet1 ++ regularSet2)
+        (set1 -- regularSet2) should be(regularSet1 -- regularSet2)
+        (set1 - Fact(0)) should be(regularSet1 - Fact(0))
+        set1.contains(Fact(200)) should be(false)
+        set1.filter(_.asInstanceOf[Fact].value % 2 == 0) shouldBe a[IFDSFactSet[_]]
+    }
+
+    it should "share unchanged sets" in {
+        val domain = new IFDSFactDomain[AbstractIFDSFact]
+        val set1 = facts(domain, 0 until 100)
+        val set2 = facts(domain, 50 until 100)
+
+        (set1 ++ set2) should be theSameInstanceAs set1
+        (set2 ++ set1) should be theSameInstanceAs set1
+        (set1 + Fact(1)) should be theSameInstanceAs set1
+        (set2 -- set1).isEmpty should be(true)
+        set2.subsetOf(set1) should be(true)
+        set1.subsetOf(set2) should be(false)
+    }
+
+    it should "find the null fact" in {
+        val domain = new IFDSFactDomain[AbstractIFDSFact]
+        val set = domain.factSet(facts(domain, 0 until 10))
+        domain.nullFact(set) should be(None)
+        domain.nullFact(domain.factSet(set + NullFact)) should be(Some(NullFact))
+    }
+}
@@ -0,0 +1,85 @@
+/* BSD 2-Clause License - see OPAL/LICENSE for details. */
+package org.opalj
+package tac
+package fpcf
+package analyses
+
+import com.typesafe.config.ConfigValueFactory
+import org.junit.runner.RunWith
+import org.scalatest.funspec.AnyFunSpec
+import org.scalatest.matchers.should.Matchers
+import org.scalatestplus.junit.JUnitRunner
+
+import org.opalj.log.GlobalLogContext
+import org.opalj.fpcf.ComputationSpecification
+import org.opalj.fpcf.FinalEP
+import org.opalj.fpcf.FinalP
+import org.opalj.fpcf.par.PKECPropertyStore
+import org.opalj.br.analyses.Project
+import org.opalj.br.analyses.SomeProject
+import org.opalj.br.fpcf.FPCFAnalysesManagerKey
+import org.opalj.br.fpcf.FPCFAnalysis
+import org.opalj.br.fpcf.properties.EscapeProperty
+import org.opalj.bi.TestResources.locateTestResources
+import org.opalj.ai.fpcf.analyses.LazyTransientL0BaseAIAnalysis
+import org.opalj.ai.fpcf.properties.BaseAIResult
+import org.opalj.tac.fpcf.analyses.escape.EagerSimpleEscapeAnalysis
+import org.opalj.tac.fpcf.properties.TACAI
+import org.opalj.tac.fpcf.properties.TheTACAI
+
+/**
+ * Tests that the [[org.opalj.fpcf.par.PKECPropertyStore]] drops the results of the abstract
+ * interpretation and the three-address code, which are transient if they are computed by the
+ * [[LazyTransientL0BaseAIAnalysis]] and the [[LazyTransientL0TACAIAnalysis]], once the
+ * [[EagerSimpleEscapeAnalysis]] no longer requires them and that the escape states are the same
+ * as if the three-address code is kept.
+ */
+@RunWith(classOf[JUnitRunner])
+class TransientTACAITest extends AnyFunSpec with Matchers {
+
+    /**
+     * Runs the simple escape analysis using the given TACAI analyses; returns the project, the
+     * property store and the escape states of all entities.
+     */
+    def run(
+        tacaiAnalyses: ComputationSpecification[FPCFAnalysis]*
+    ): (SomeProject, PKECPropertyStore, Map[String, EscapeProperty]) = {
+        // the lazy computations are always evaluated by the querying thread; hence, they return
+        // final results and their properties can be dropped
+        val config = BaseConfig.withValue(
+            PKECPropertyStore.MaxEvaluationDepthKey,
+            ConfigValueFactory.fromAnyRef(Int.MaxValue)
+        )
+        val project = Project(locateTestResources("ai.jar", "bi"), GlobalLogContext, config)
+        val manager = project.get(FPCFAnalysesManagerKey)
+        val (ps, _) = manager.runAll(tacaiAnalyses :+ EagerSimpleEscapeAnalysis)
+        val escapes = ps.entities(EscapeProperty.key).collect {
+            case FinalEP(e, escape) => e.toString -> escape
+        }.toMap
+        (project, ps.asInstanceOf[PKECPropertyStore], escapes)
+    }
+
+    describe("the transient three-address code") {
+
+        lazy val (_, expectedPS, expectedEscapes) = run(LazyTACAIProvider)
+        lazy val (project, ps, escapes) =
+            run(LazyTransientL0BaseAIAnalysis, LazyTransientL0TACAIAnalysis)
+
+        it("should be dropped after the analysis") {
+            expectedPS.droppedPropertiesCount should be(0)
+
+            ps.droppedPropertiesCount should be > 0
+            ps.entities(BaseAIResult.key) should be(Symbol("Empty"))
+            ps.entities(TACAI.key) should be(Symbol("Empty"))
+        }
+
+        it("should not affect the results of the analysis") {
+            escapes should be(expectedEscapes)
+        }
+
+        it("should be recomputed on demand") {
+            val method = project.allMethodsWithBody.head
+            ps(method, TACAI.key) should matchPattern { case FinalP(_: TheTACAI) => }
+        }
+    }
+}
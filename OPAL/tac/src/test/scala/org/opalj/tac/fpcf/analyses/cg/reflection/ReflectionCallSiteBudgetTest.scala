@@ -0,0 +1,120 @@
+/* BSD 2-Clause License - see OPAL/LICENSE for details. */
+package org.opalj
+package tac
+package fpcf
+package analyses
+package cg
+package reflection
+
+import scala.collection.mutable
+
+import com.typesafe.config.Config
+import com.typesafe.config.ConfigValueFactory
+import org.junit.runner.RunWith
+import org.scalatest.funspec.AnyFunSpec
+import org.scalatest.matchers.should.Matchers
+import org.scalatestplus.junit.JUnitRunner
+
+import org.opalj.log.LogContext
+import org.opalj.log.LogMessage
+import org.opalj.log.OPALLogger
+import org.opalj.log.StandardLogContext
+import org.opalj.br.analyses.DeclaredMethodsKey
+import org.opalj.br.analyses.Project
+import org.opalj.br.analyses.SomeProject
+import org.opalj.br.fpcf.PropertyStoreKey
+import org.opalj.bi.TestResources.locateTestResources
+import org.opalj.tac.cg.RTACallGraphKey
+
+/**
+ * Tests that the reflection analyses fall back to the failure handling (and, hence, to the high
+ * soundness mode if it is activated) once a call site exceeds its continuation budget and that
+ * the continuation metrics are collected and reported.
+ */
+@RunWith(classOf[JUnitRunner])
+class ReflectionCallSiteBudgetTest extends AnyFunSpec with Matchers {
+
+    val config: Config = BaseConfig
+        .withValue(
+            ReflectionRelatedCallsAnalysis.CallSiteBudgetConfigKey,
+            ConfigValueFactory.fromAnyRef(2)
+        )
+        .withValue(ReflectionRelatedCallsAnalysis.ConfigKey, ConfigValueFactory.fromAnyRef(true))
+        .withValue(
+            ReflectionRelatedCallsAnalysis.ContinuationMetricsConfigKey,
+            ConfigValueFactory.fromAnyRef(true)
+        )
+
+    class CollectingLogger extends OPALLogger {
+        val messages: mutable.Buffer[String] = mutable.ArrayBuffer.empty[String]
+        def log(message: LogMessage)(implicit ctx: LogContext): Unit = synchronized {
+            messages += message.message
+        }
+    }
+
+    def setup(
+        logContext: LogContext
+    ): (SomeProject, ReflectionRelatedCallsAnalysis, ClassNewInstanceAnalysis) = {
+        val p = Project(locateTestResources("ai.jar", "bi"), logContext, config)
+        p.get(RTACallGraphKey) // initializes the type provider
+        val reflectionAnalysis = new ReflectionRelatedCallsAnalysis(p)
+        val analysis = reflectionAnalysis.analyses.collectFirst {
+            case a: ClassNewInstanceAnalysis => a
+        }.get
+        (p, reflectionAnalysis, analysis)
+    }
+
+    def newState(
+        p:        SomeProject,
+        analysis: ClassNewInstanceAnalysis
+    ): ReflectionState[analysis.ContextType] = {
+        val m = p.allMethodsWithBody.head
+        val tac = p.get(LazyDetachedTACAIKey)(m)
+        val context = analysis.typeProvider.newContext(p.get(DeclaredMethodsKey)(m))
+        analysis.newState(context, 0, tac)
+    }
+
+    describe("the reflection analyses") {
+
+        it("should apply the failure handling once a call site exceeds its budget") {
+            val logContext = new StandardLogContext()
+            OPALLogger.register(logContext, new CollectingLogger)
+            val (p, _, analysis) = setup(logContext)
+            val state = newState(p, analysis)
+
+            var failures = 0
+            analysis.exceedsCallSiteBudget(state)(failures += 1) should be(false)
+            analysis.exceedsCallSiteBudget(state)(failures += 1) should be(false)
+            failures should be(0)
+            state.hasAbandonedDependencies should be(false)
+
+            analysis.exceedsCallSiteBudget(state)(failures += 1) should be(true)
+            failures should be(1)
+            state.hasAbandonedDependencies should be(true)
+            state.hasOpenDependencies should be(false)
+        }
+
+        it("should collect and report the continuations per call site") {
+            val logContext = new StandardLogContext()
+            val logger = new CollectingLogger
+            OPALLogger.register(logContext, logger)
+            val (p, reflectionAnalysis, analysis) = setup(logContext)
+            val state = newState(p, analysis)
+
+            (1 to 3).foreach(_ => analysis.exceedsCallSiteBudget(state)(()))
+
+            reflectionAnalysis.continuationMetrics should be(Some(Seq(
+                (state.callContext.method, 0, analysis.apiMethod, 3L)
+            )))
+
+            ReflectionRelatedCallsAnalysisScheduler.afterPhaseCompletion(
+                p, p.get(PropertyStoreKey), reflectionAnalysis
+            )
+            val reportedCallSite = s"${state.callContext.method.toJava} (pc 0, newInstance): 3"
+            logger.messages.exists { message =>
+                message.startsWith("reflection analysis continuations per call site:") &&
+                    message.contains(reportedCallSite)
+            } should be(true)
+        }
+    }
+}
@@ -0,0 +1,182 @@
+/* BSD 2-Clause License - see OPAL/LICENSE for details. */
+package org.opalj
+package tac
+package fpcf
+package analyses
+package escape
+
+import org.junit.runner.RunWith
+import org.scalatest.funspec.AnyFunSpec
+import org.scalatest.matchers.should.Matchers
+import org.scalatestplus.junit.JUnitRunner
+
+import org.opalj.fpcf.ComputationSpecification
+import org.opalj.fpcf.Entity
+import org.opalj.fpcf.PropertyBounds
+import org.opalj.fpcf.PropertyStore
+import org.opalj.br.DeclaredMethod
+import org.opalj.br.TestSupport.biProject
+import org.opalj.br.analyses.DeclaredMethodsKey
+import org.opalj.br.analyses.ProjectInformationKeys
+import org.opalj.br.analyses.SomeProject
+import org.opalj.br.analyses.VirtualFormalParametersKey
+import org.opalj.br.fpcf.BasicFPCFEagerAnalysisScheduler
+import org.opalj.br.fpcf.DefaultFPCFAnalysis
+import org.opalj.br.fpcf.FPCFAnalysesManagerKey
+import org.opalj.br.fpcf.FPCFAnalysis
+import org.opalj.br.fpcf.PropertyStoreKey
+import org.opalj.br.fpcf.properties.Context
+import org.opalj.br.fpcf.properties.EscapeProperty
+import org.opalj.br.fpcf.properties.SimpleContextsKey
+import org.opalj.tac.cg.RTACallGraphKey
+import org.opalj.tac.cg.TypeProvider
+import org.opalj.tac.cg.TypeProviderKey
+import org.opalj.tac.common.DefinitionSite
+import org.opalj.tac.common.DefinitionSitesKey
+import org.opalj.tac.fpcf.analyses.escape.BatchedEscapeAnalysisTest._
+import org.opalj.tac.fpcf.properties.MethodEscapeSummary
+import org.opalj.tac.fpcf.properties.cg.Callers
+import org.opalj.tac.fpcf.properties.cg.NoCallers
+
+/**
+ * Tests that the [[BatchedEscapeAnalysis]] derives the same escape states for all allocation
+ * sites as the [[InterProceduralEscapeAnalysis]], that the [[LazyBatchedEscapePropertyAnalysis]]
+ * projects the same escape states of the formal parameters and allocation sites from the
+ * summaries and compares the number of continuations (i.e., of the on update computations
+ * executed by the property store) of both analyses.
+ */
+@RunWith(classOf[JUnitRunner])
+class BatchedEscapeAnalysisTest extends AnyFunSpec with Matchers {
+
+    /**
+     * Runs the given analyses after the call graph was computed; returns the project, the
+     * property store and the number of continuations executed by the analyses.
+     */
+    def run(
+        projectJARName: String,
+        analyses:       ComputationSpecification[FPCFAnalysis]*
+    ): (SomeProject, PropertyStore, Int) = {
+        val project = biProject(projectJARName)
+        project.get(RTACallGraphKey)
+        val ps = project.get(PropertyStoreKey)
+        val continuations = ps.scheduledOnUpdateComputationsCount
+        project.get(FPCFAnalysesManagerKey).runAll(analyses)
+        (project, ps, ps.scheduledOnUpdateComputationsCount - continuations)
+    }
+
+    /** The escape states of all analyzed allocation sites. */
+    def allocationSiteEscapes(
+        project: SomeProject
+    )(
+        escape: (SomeProject, DefinitionSite) => Option[EscapeProperty]
+    ): Map[String, EscapeProperty] = {
+        project.get(DefinitionSitesKey).getAllocationSites.flatMap { as =>
+            escape(project, as).map(s"${as.method.toJava}:${as.pc}" -> _)
+        }.toMap
+    }
+
+    /** The escape states of the formal parameters and allocation sites of the reachable methods. */
+    def escapes(project: SomeProject, ps: PropertyStore): Map[String, EscapeProperty] = {
+        escapeEntities(project, ps).flatMap { e =>
+            ps.get(e, EscapeProperty.key).filter(_.hasUBP).map {
+                s"${e._1.method.toJava}:${e._2}" -> _.ub
+            }
+        }.toMap
+    }
+
+    for (projectJARName <- List("ai.jar", "immutability.jar")) {
+        describe(s"the batched escape analysis of $projectJARName") {
+
+            lazy val (expectedProject, expectedPS, expectedContinuations) =
+                run(projectJARName, EagerInterProceduralEscapeAnalysis)
+            lazy val (actualProject, actualPS, actualContinuations) =
+                run(projectJARName, EagerBatchedEscapeAnalysis)
+
+            it("should derive the same escape states of the allocation sites") {
+                val expected = allocationSiteEscapes(expectedProject) { (p, as) =>
+                    val context = p.get(SimpleContextsKey)(p.get(DeclaredMethodsKey)(as.method))
+                    expectedPS.get((context, as), EscapeProperty.key).filter(_.hasUBP).map(_.ub)
+                }
+                val actual = allocationSiteEscapes(actualProject) { (p, as) =>
+                    val context = p.get(SimpleContextsKey)(p.get(DeclaredMethodsKey)(as.method))
+                    actualPS.get(context, MethodEscapeSummary.key).filter(_.hasUBP).map {
+                        _.ub.allocationSiteEscape(as.pc)
+                    }
+                }
+                actual should be(expected)
+            }
+
+            it("should derive the escape states of the formal parameters and allocation sites") {
+                val (project, ps, _) = run(
+                    projectJARName,
+                    EagerBatchedEscapeAnalysis,
+                    LazyBatchedEscapePropertyAnalysis,
+                    EscapePropertyQueries
+                )
+                escapes(project, ps) should be(escapes(expectedProject, expectedPS))
+            }
+
+            it("should require at most as many continuations") {
+                info(s"continuations: $expectedContinuations (per entity), "+
+                    s"$actualContinuations (batched)")
+                actualContinuations should be <= expectedContinuations
+            }
+        }
+    }
+}
+
+object BatchedEscapeAnalysisTest {
+
+    /**
+     * The formal parameters and allocation sites in all contexts of all reachable methods, i.e.,
+     * the entities analyzed by the [[EagerInterProceduralEscapeAnalysis]].
+     */
+    def escapeEntities(p: SomeProject, ps: PropertyStore): Iterator[(Context, Entity)] = {
+        val declaredMethods = p.get(DeclaredMethodsKey)
+        implicit val typeProvider: TypeProvider = p.get(TypeProviderKey)
+
+        def contexts(dm: DeclaredMethod): Iterator[Context] = {
+            val callers = ps(dm, Callers.key)
+            if (callers.isFinal && callers.asFinal.p != NoCallers)
+                callers.ub.calleeContexts(dm).iterator
+            else
+                Iterator.empty
+        }
+
+        val fps = p.get(VirtualFormalParametersKey).virtualFormalParameters.iterator.flatMap {
+            fp => contexts(fp.method).map(context => (context, fp: Entity))
+        }
+        val ass = p.get(DefinitionSitesKey).getAllocationSites.iterator.flatMap { as =>
+            contexts(declaredMethods(as.method)).map(context => (context, as: Entity))
+        }
+        fps ++ ass
+    }
+
+    /**
+     * Queries the escape states of all [[escapeEntities]], so that they are derived by the
+     * [[LazyBatchedEscapePropertyAnalysis]].
+     */
+    object EscapePropertyQueries extends BasicFPCFEagerAnalysisScheduler {
+
+        override def requiredProjectInformation: ProjectInformationKeys = Seq(
+            DeclaredMethodsKey,
+            VirtualFormalParametersKey,
+            DefinitionSitesKey,
+            TypeProviderKey
+        )
+
+        override def uses: Set[PropertyBounds] = Set(
+            PropertyBounds.finalP(Callers),
+            PropertyBounds.lub(EscapeProperty)
+        )
+
+        override def derivesEagerly: Set[PropertyBounds] = Set.empty
+
+        override def derivesCollaboratively: Set[PropertyBounds] = Set.empty
+
+        override def start(p: SomeProject, ps: PropertyStore, unused: Null): FPCFAnalysis = {
+            escapeEntities(p, ps).foreach(ps.force(_, EscapeProperty.key))
+            new DefaultFPCFAnalysis(p) {}
+        }
+    }
+}
@@ -0,0 +1,253 @@
+/* BSD 2-Clause License - see OPAL/LICENSE for details. */
+package org.opalj
+package tac
+package fpcf
+package analyses
+package ide
+
+import org.junit.runner.RunWith
+import org.scalatest.funspec.AnyFunSpec
+import org.scalatest.matchers.should.Matchers
+import org.scalatestplus.junit.JUnitRunner
+
+import org.opalj.log.GlobalLogContext
+import org.opalj.fpcf.FinalP
+import org.opalj.fpcf.PropertyKey
+import org.opalj.fpcf.PropertyStore
+import org.opalj.br.DeclaredMethod
+import org.opalj.br.ObjectType
+import org.opalj.br.analyses.DeclaredMethodsKey
+import org.opalj.br.analyses.Project
+import org.opalj.br.analyses.SomeProject
+import org.opalj.br.fpcf.FPCFAnalysesManagerKey
+import org.opalj.br.fpcf.PropertyStoreKey
+import org.opalj.br.fpcf.properties.Context
+import org.opalj.bi.TestResources.locateTestResources
+import org.opalj.tac.cg.RTACallGraphKey
+import org.opalj.tac.cg.TypeProviderKey
+import org.opalj.tac.fpcf.properties.IFDSProperty
+import org.opalj.tac.fpcf.properties.IFDSPropertyMetaInformation
+import org.opalj.tac.fpcf.properties.TACAI
+import org.opalj.tac.fpcf.properties.TheTACAI
+import org.opalj.tac.fpcf.analyses.ide.IDESolverTest._
+
+/**
+ * Solves an IDE problem that computes the call depth of the methods of the fixture project
+ * `ide`: the call edges increment the depth and the return edges decrement it again. Hence, the
+ * jump functions of the statements after a call have to compose the call, summary and return
+ * edge functions, recursive methods have no constant depth and the depths of the methods are
+ * the values computed in the second phase of the solver.
+ */
+@RunWith(classOf[JUnitRunner])
+class IDESolverTest extends AnyFunSpec with Matchers {
+
+    val project: Project[java.net.URL] =
+        Project(locateTestResources("ide.jar", "bi"), GlobalLogContext, BaseConfig)
+    project.get(RTACallGraphKey)
+
+    val solver: IDESolver[_, _] = {
+        val (_, analyses) = project.get(FPCFAnalysesManagerKey).runAll(CallDepthScheduler)
+        analyses.collectFirst { case (_, solver: IDESolver[_, _]) => solver }.get
+    }
+
+    val propertyStore: PropertyStore = project.get(PropertyStoreKey)
+
+    def context(name: String): Context = {
+        project.get(TypeProviderKey).newContext(method(project, name))
+    }
+
+    def depthsAtExits(name: String): Set[Depth] = {
+        propertyStore((context(name), CallDepthNullFact), CallDepthProperty.key) match {
+            case FinalP(property) => property.depths.valuesIterator.flatMap(_.values).toSet
+            case eps              => fail(s"unexpected result: $eps")
+        }
+    }
+
+    def depthsBeforeReturn(name: String): Map[CallDepthFact, Depth] = {
+        val calleeContext = context(name)
+        val stmts = propertyStore(calleeContext.method.definedMethod, TACAI.key) match {
+            case FinalP(TheTACAI(tac)) => tac.stmts
+            case eps                   => fail(s"unexpected 3-address code: $eps")
+        }
+        val index = stmts.indexWhere { stmt =>
+            stmt.astID == ReturnValue.ASTID || stmt.astID == Return.ASTID
+        }
+        val statement = Statement(calleeContext, null, stmts(index), index, stmts, null)
+        solver.valuesBefore(statement).asInstanceOf[Map[CallDepthFact, Depth]]
+    }
+
+    describe("the IDE solver") {
+
+        it("should compose the jump functions along calls and returns") {
+            depthsBeforeReturn("main") should be(Map(CallDepthNullFact -> ConstantDepth(0)))
+            depthsBeforeReturn("identity") should be(Map(CallDepthNullFact -> ConstantDepth(1)))
+        }
+
+        it("should terminate for recursive methods and meet the values of all calls") {
+            depthsAtExits("countDown") should be(Set(VariableDepth))
+        }
+
+        it("should compute the values at the beginning of the methods in the second phase") {
+            depthsAtExits("main") should be(Set(ConstantDepth(0)))
+            depthsAtExits("identity") should be(Set(ConstantDepth(1)))
+            depthsAtExits("twice") should be(Set(ConstantDepth(2)))
+        }
+    }
+}
+
+object IDESolverTest {
+
+    def method(project: SomeProject, name: String): DeclaredMethod = {
+        val classFile = project.classFile(ObjectType("ide/CallDepth")).get
+        project.get(DeclaredMethodsKey)(classFile.findMethod(name).head)
+    }
+
+    sealed trait CallDepthFact extends AbstractIFDSFact
+
+    case object CallDepthNullFact extends CallDepthFact with AbstractIFDSNullFact
+
+    /**
+     * The call depth of a method: [[UnknownDepth]] is the top element and [[VariableDepth]] is
+     * the bottom element of the lattice.
+     */
+    sealed trait Depth
+
+    case object UnknownDepth extends Depth
+
+    case class ConstantDepth(depth: Int) extends Depth
+
+    case object VariableDepth extends Depth
+
+    case class AddDepth(delta: Int) extends EdgeFunction[Depth] {
+
+        override def apply(value: Depth): Depth = value match {
+            case ConstantDepth(depth) => ConstantDepth(depth + delta)
+            case _                    => value
+        }
+
+        override def andThen(second: EdgeFunction[Depth]): EdgeFunction[Depth] = second match {
+            case AddDepth(otherDelta)                => AddDepth(delta + otherDelta)
+            case _ if second eq IdentityEdgeFunction => this
+            case _                                   => second
+        }
+
+        override def meet(other: EdgeFunction[Depth]): EdgeFunction[Depth] = other match {
+            case AddDepth(`delta`)                  => this
+            case _ if other eq IdentityEdgeFunction => if (delta == 0) this else AllVariable
+            case _                                  => AllVariable
+        }
+    }
+
+    case object AllVariable extends EdgeFunction[Depth] {
+
+        override def apply(value: Depth): Depth = VariableDepth
+
+        override def andThen(second: EdgeFunction[Depth]): EdgeFunction[Depth] = this
+
+        override def meet(other: EdgeFunction[Depth]): EdgeFunction[Depth] = this
+    }
+
+    final class CallDepthProperty(
+            val depths: Map[Statement, Map[CallDepthFact, Depth]]
+    ) extends IFDSProperty[CallDepthFact] {
+
+        override type Self = CallDepthProperty
+
+        override def flows: Map[Statement, Set[CallDepthFact]] = depths.map {
+            case (statement, facts) => statement -> facts.keySet
+        }
+
+        override def key: PropertyKey[CallDepthProperty] = CallDepthProperty.key
+    }
+
+    object CallDepthProperty extends IFDSPropertyMetaInformation[CallDepthFact] {
+
+        override type Self = CallDepthProperty
+
+        final val key: PropertyKey[CallDepthProperty] = PropertyKey.create(
+            "IDESolverTest.CallDepthProperty",
+            new CallDepthProperty(Map.empty)
+        )
+    }
+
+    class CallDepthProblem(project: SomeProject) extends IDEProblem[CallDepthFact, Depth] {
+
+        override def createIDEPropertyValue(
+            result: Map[Statement, Map[CallDepthFact, Depth]]
+        ): IFDSProperty[CallDepthFact] = new CallDepthProperty(result)
+
+        override val entryPoints: Map[DeclaredMethod, CallDepthFact] =
+            Map(method(project, "main") -> CallDepthNullFact)
+
+        override def entryValue(method: DeclaredMethod, fact: CallDepthFact): Depth = {
+            ConstantDepth(0)
+        }
+
+        override def top: Depth = UnknownDepth
+
+        override def meet(value1: Depth, value2: Depth): Depth = (value1, value2) match {
+            case (UnknownDepth, _)                                  => value2
+            case (_, UnknownDepth)                                  => value1
+            case (ConstantDepth(d1), ConstantDepth(d2)) if d1 == d2 => value1
+            case _                                                  => VariableDepth
+        }
+
+        override def normalFlow(
+            statement: Statement,
+            successor: Statement,
+            in:        CallDepthFact
+        ): Set[CallDepthFact] = Set.empty
+
+        override def callFlow(
+            call:          Statement,
+            calleeContext: Context,
+            in:            CallDepthFact
+        ): Set[CallDepthFact] = Set.empty
+
+        override def returnFlow(
+            call:          Statement,
+            calleeContext: Context,
+            exit:          Statement,
+            successor:     Statement,
+            in:            CallDepthFact
+        ): Set[CallDepthFact] = Set(in)
+
+        override def callToReturnFlow(
+            call:      Statement,
+            successor: Statement,
+            in:        CallDepthFact
+        ): Set[CallDepthFact] = Set.empty
+
+        override def nativeCall(
+            call:          Statement,
+            calleeContext: Context,
+            successor:     Statement,
+            in:            CallDepthFact
+        ): Set[CallDepthFact] = Set.empty
+
+        override def callEdgeFunction(
+            call:          Statement,
+            calleeContext: Context,
+            in:            CallDepthFact,
+            out:           CallDepthFact
+        ): EdgeFunction[Depth] = AddDepth(1)
+
+        override def returnEdgeFunction(
+            call:          Statement,
+            calleeContext: Context,
+            exit:          Statement,
+            successor:     Statement,
+            in:            CallDepthFact,
+            out:           CallDepthFact
+        ): EdgeFunction[Depth] = AddDepth(-1)
+    }
+
+    object CallDepthScheduler extends IDESolverScheduler[CallDepthFact, Depth] {
+
+        override def property: IFDSPropertyMetaInformation[CallDepthFact] = CallDepthProperty
+
+        override def createProblem(p: SomeProject): IDEProblem[CallDepthFact, Depth] = {
+            new CallDepthProblem(p)
+        }
+    }
+}
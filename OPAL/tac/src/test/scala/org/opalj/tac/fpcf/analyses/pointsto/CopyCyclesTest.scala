@@ -0,0 +1,114 @@
+/* BSD 2-Clause License - see OPAL/LICENSE for details. */
+package org.opalj
+package tac
+package fpcf
+package analyses
+package pointsto
+
+import java.net.URL
+
+import com.typesafe.config.ConfigValueFactory
+import org.junit.runner.RunWith
+import org.scalatest.flatspec.AnyFlatSpec
+import org.scalatest.matchers.should.Matchers
+import org.scalatestplus.junit.JUnitRunner
+
+import org.opalj.log.GlobalLogContext
+import org.opalj.br.analyses.Project
+import org.opalj.br.fpcf.PropertyStoreKey
+import org.opalj.br.fpcf.properties.pointsto.AllocationSitePointsToSet
+import org.opalj.bi.TestResources.locateTestResources
+import org.opalj.tac.cg.AllocationSiteBasedPointsToCallGraphKey
+
+@RunWith(classOf[JUnitRunner])
+class CopyCyclesTest extends AnyFlatSpec with Matchers {
+
+    behavior of "CopyCycles"
+
+    it should "not find a cycle in an acyclic graph" in {
+        val copyCycles = new CopyCycles()
+        copyCycles.addCopyEdge("a", "b")
+        copyCycles.addCopyEdge("b", "c")
+        copyCycles.searchCycle("a", "b") should be(null)
+        copyCycles.cycleOf("a") should be(null)
+    }
+
+    it should "find all members of a cycle but no other entities" in {
+        val copyCycles = new CopyCycles()
+        copyCycles.addCopyEdge("a", "b")
+        copyCycles.addCopyEdge("b", "c")
+        copyCycles.addCopyEdge("c", "a")
+        copyCycles.addCopyEdge("c", "d")
+        copyCycles.addCopyEdge("x", "a")
+        val cycle = copyCycles.searchCycle("c", "a")
+        cycle.members should be(Set("a", "b", "c"))
+        cycle.representative should be("a")
+        copyCycles.cycleOf("b") should be theSameInstanceAs cycle
+        copyCycles.cycleOf("d") should be(null)
+    }
+
+    it should "merge overlapping cycles" in {
+        val copyCycles = new CopyCycles()
+        copyCycles.addCopyEdge("a", "b")
+        copyCycles.addCopyEdge("b", "a")
+        copyCycles.searchCycle("b", "a").members should be(Set("a", "b"))
+        copyCycles.addCopyEdge("b", "c")
+        copyCycles.addCopyEdge("c", "b")
+        val cycle = copyCycles.searchCycle("c", "b")
+        cycle.members should be(Set("a", "b", "c"))
+        copyCycles.cycleOf("a") should be theSameInstanceAs cycle
+        // the representative of the existing cycle is kept
+        cycle.representative should be("a")
+    }
+
+    it should "create each edge to and from a representative only once" in {
+        val copyCycles = new CopyCycles()
+        copyCycles.addRepresentativeEdge("a", "r") should be(true)
+        copyCycles.addRepresentativeEdge("a", "r") should be(false)
+        copyCycles.addRepresentativeEdge("r", "a") should be(true)
+    }
+
+    it should "check each edge only once" in {
+        val copyCycles = new CopyCycles()
+        copyCycles.shouldCheckEdge("a", "b") should be(true)
+        copyCycles.shouldCheckEdge("a", "b") should be(false)
+        copyCycles.shouldCheckEdge("b", "a") should be(true)
+    }
+
+    it should "abort the search if too many entities are reachable" in {
+        val copyCycles = new CopyCycles(maxSearchedEntities = 2)
+        copyCycles.addCopyEdge("a", "b")
+        copyCycles.addCopyEdge("b", "c")
+        copyCycles.addCopyEdge("c", "d")
+        copyCycles.addCopyEdge("d", "a")
+        copyCycles.searchCycle("d", "a") should be(null)
+    }
+
+    def project(cycleElimination: Boolean): Project[URL] = {
+        val config = BaseConfig.withValue(
+            AbstractPointsToAnalysis.cycleEliminationConfigKey,
+            ConfigValueFactory.fromAnyRef(cycleElimination)
+        )
+        Project(locateTestResources("ai.jar", "bi"), GlobalLogContext, config)
+    }
+
+    def pointsToSets(project: Project[URL]): Map[String, (Set[String], Int)] = {
+        project.get(AllocationSiteBasedPointsToCallGraphKey)
+        val ps = project.get(PropertyStoreKey)
+        ps.entities(AllocationSitePointsToSet.key).map { eps =>
+            val pointsTo = eps.ub
+            (eps.e.toString, (pointsTo.types.map(_.toJava), pointsTo.numElements))
+        }.toMap
+    }
+
+    it should "not change the points-to sets computed by the points-to analysis" in {
+        val expectedPointsToSets = pointsToSets(project(cycleElimination = false))
+        val actualPointsToSets = pointsToSets(project(cycleElimination = true))
+        actualPointsToSets.keySet should be(expectedPointsToSets.keySet)
+        expectedPointsToSets foreach {
+            case (e, expectedPointsTo) =>
+                if (actualPointsToSets(e) != expectedPointsTo)
+                    fail(s"$e: ${actualPointsToSets(e)} (expected: $expectedPointsTo)")
+        }
+    }
+}
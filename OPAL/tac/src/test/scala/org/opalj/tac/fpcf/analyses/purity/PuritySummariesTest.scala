@@ -0,0 +1,133 @@
+/* BSD 2-Clause License - see OPAL/LICENSE for details. */
+package org.opalj
+package tac
+package fpcf
+package analyses
+package purity
+
+import java.net.URL
+import java.nio.file.Files
+import java.nio.file.Path
+
+import com.typesafe.config.Config
+import com.typesafe.config.ConfigValueFactory
+import org.junit.runner.RunWith
+import org.scalatest.funspec.AnyFunSpec
+import org.scalatest.matchers.should.Matchers
+import org.scalatestplus.junit.JUnitRunner
+
+import org.opalj.log.GlobalLogContext
+import org.opalj.fpcf.FinalEP
+import org.opalj.br.ClassFile
+import org.opalj.br.ObjectType
+import org.opalj.br.analyses.DeclaredMethodsKey
+import org.opalj.br.analyses.Project
+import org.opalj.br.analyses.SomeProject
+import org.opalj.br.analyses.cg.ParallelProjectScan
+import org.opalj.br.fpcf.FPCFAnalysesManagerKey
+import org.opalj.br.fpcf.analyses.LazyClassImmutabilityAnalysis
+import org.opalj.br.fpcf.analyses.LazyL0CompileTimeConstancyAnalysis
+import org.opalj.br.fpcf.analyses.LazyStaticDataUsageAnalysis
+import org.opalj.br.fpcf.analyses.LazyTypeImmutabilityAnalysis
+import org.opalj.br.fpcf.properties.Context
+import org.opalj.br.fpcf.properties.Purity
+import org.opalj.br.reader.Java8Framework.ClassFiles
+import org.opalj.bi.TestResources.locateTestResources
+import org.opalj.tac.cg.RTACallGraphKey
+import org.opalj.tac.fpcf.analyses.escape.LazyInterProceduralEscapeAnalysis
+import org.opalj.tac.fpcf.analyses.escape.LazyReturnValueFreshnessAnalysis
+
+/**
+ * Tests that the purity summaries of the library of the fixture project `purity_summaries`
+ * that are exported by one run of the purity analysis are used by the next run and yield the
+ * same purities, unless the library method calls a project method or the configuration changed.
+ */
+@RunWith(classOf[JUnitRunner])
+class PuritySummariesTest extends AnyFunSpec with Matchers {
+
+    val classFiles: Seq[(ClassFile, URL)] =
+        ClassFiles(locateTestResources("purity_summaries.jar", "bi"))
+
+    def config(summariesFile: Option[Path]): Config = {
+        BaseConfig.withValue(
+            PuritySummaries.ConfigKey,
+            ConfigValueFactory.fromAnyRef(summariesFile.map(_.toString).getOrElse(""))
+        )
+    }
+
+    def project(config: Config): SomeProject = {
+        val (libraryClassFiles, projectClassFiles) = classFiles.partition {
+            case (cf, _) => cf.thisType.packageName == "purity_summaries/lib"
+        }
+        Project(
+            projectClassFiles,
+            libraryClassFiles,
+            libraryClassFilesAreInterfacesOnly = false,
+            Iterable.empty,
+            Project.defaultHandlerForInconsistentProjects,
+            config,
+            GlobalLogContext
+        )
+    }
+
+    /** The purities of all methods (by their Java signature) computed for the given project. */
+    def purities(p: SomeProject): Map[String, Purity] = {
+        p.get(RTACallGraphKey)
+        val (ps, _) = p.get(FPCFAnalysesManagerKey).runAll(
+            LazyL0CompileTimeConstancyAnalysis,
+            LazyStaticDataUsageAnalysis,
+            LazyInterProceduralEscapeAnalysis,
+            LazyReturnValueFreshnessAnalysis,
+            LazyFieldLocalityAnalysis,
+            LazyL1FieldMutabilityAnalysis,
+            LazyClassImmutabilityAnalysis,
+            LazyTypeImmutabilityAnalysis,
+            EagerL2PurityAnalysis
+        )
+        ps.entities(Purity.key).collect {
+            case FinalEP(context: Context, purity) => context.method.toJava -> purity
+        }.toMap
+    }
+
+    def wasSeeded(p: SomeProject, methodName: String): Boolean = {
+        val classFile = p.classFile(ObjectType("purity_summaries/lib/Arithmetic")).get
+        val method = classFile.findMethod(methodName).head
+        p.get(PuritySummariesKey).wasSeeded(p.get(DeclaredMethodsKey)(method))
+    }
+
+    describe("the purity summaries") {
+
+        val summariesFile = Files.createTempDirectory("purity_summaries").resolve("summaries.tsv")
+        val expectedPurities = purities(project(config(None)))
+
+        it("should be exported for the library methods that don't call project methods") {
+            purities(project(config(Some(summariesFile)))) should be(expectedPurities)
+
+            val summaries = new String(Files.readAllBytes(summariesFile), "UTF-8")
+            summaries should startWith(PuritySummaries.KeyPrefix)
+            summaries should include("purity_summaries.lib.Arithmetic\tadd\t(II)I\t")
+            summaries should include("purity_summaries.lib.Arithmetic\tcount\t()I\t")
+            summaries should not include "purity_summaries.lib.Arithmetic\tapply\t"
+        }
+
+        it("should yield the same purities as the analysis without summaries") {
+            val p = project(config(Some(summariesFile)))
+            purities(p) should be(expectedPurities)
+
+            wasSeeded(p, "add") should be(true)
+            wasSeeded(p, "count") should be(true)
+            wasSeeded(p, "apply") should be(false)
+        }
+
+        it("should not be used if the configuration changed") {
+            val p = project(config(Some(summariesFile)).withValue(
+                ParallelProjectScan.ParallelScansConfigKey,
+                ConfigValueFactory.fromAnyRef(false)
+            ))
+            purities(p) should be(expectedPurities)
+
+            wasSeeded(p, "add") should be(false)
+            wasSeeded(p, "count") should be(false)
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/* BSD 2-Clause License - see OPAL/LICENSE for details. */
+package org.opalj
+package tac
+package fpcf
+package analyses
+package taint
+
+import scala.jdk.CollectionConverters._
+
+import com.typesafe.config.Config
+import com.typesafe.config.ConfigValue
+import com.typesafe.config.ConfigValueFactory
+import org.junit.runner.RunWith
+import org.scalatest.funspec.AnyFunSpec
+import org.scalatest.matchers.should.Matchers
+import org.scalatestplus.junit.JUnitRunner
+
+import org.opalj.log.GlobalLogContext
+import org.opalj.br.analyses.Project
+import org.opalj.br.fpcf.FPCFAnalysesManagerKey
+import org.opalj.bi.TestResources.locateTestResources
+import org.opalj.tac.cg.RTACallGraphKey
+import org.opalj.tac.fpcf.analyses.ide.IDESolver
+
+/**
+ * Runs the forward and the backward taint analysis on the benchmark corpus (the fixture
+ * project `taint`): the flows of all classes whose names start with `Leak` have to be found and
+ * there must be no findings in the classes whose names start with `Safe`.
+ */
+@RunWith(classOf[JUnitRunner])
+class TaintAnalysisTest extends AnyFunSpec with Matchers {
+
+    val leakingClasses: Set[String] = Set(
+        "LeakDirect",
+        "LeakViaArray",
+        "LeakViaCall",
+        "LeakViaField",
+        "LeakViaLibrary",
+        "LeakViaNestedField",
+        "LeakViaSetter",
+        "LeakViaStaticField"
+    )
+
+    def taintMethods(cf: String, name: String): ConfigValue = {
+        val taintMethod = Map("cf" -> cf, "name" -> name, "desc" -> "*").asJava
+        ConfigValueFactory.fromIterable(List(taintMethod).asJava)
+    }
+
+    def config(direction: String): Config = {
+        val prefix = TaintConfiguration.ConfigKeyPrefix
+        BaseConfig
+            .withValue(prefix+"direction", ConfigValueFactory.fromAnyRef(direction))
+            .withValue(prefix+"sources", taintMethods("taint/Sources", "source"))
+            .withValue(prefix+"sinks", taintMethods("taint/Sinks", "sink"))
+            .withValue(prefix+"sanitizers", taintMethods("taint/Sanitizers", "sanitize"))
+    }
+
+    def findings(direction: String): Set[TaintFinding] = {
+        val project =
+            Project(locateTestResources("taint.jar", "bi"), GlobalLogContext, config(direction))
+        project.get(RTACallGraphKey)
+        val (_, analyses) = project.get(FPCFAnalysesManagerKey).runAll(TaintAnalysisScheduler)
+        analyses.collectFirst {
+            case (_, solver: IDESolver[_, _]) => solver.problem.asInstanceOf[TaintProblem]
+        }.get.findings
+    }
+
+    def classesWithFindings(findings: Set[TaintFinding]): Set[String] = {
+        findings.map(_.method.declaringClassType.simpleName)
+    }
+
+    describe("the forward taint analysis") {
+
+        it("should report the calls of the sinks in exactly the leaking classes") {
+            val forwardFindings = findings("forward")
+            classesWithFindings(forwardFindings) should be(leakingClasses)
+            forwardFindings.map(_.taintMethod.name) should be(Set("sink"))
+        }
+    }
+
+    describe("the backward taint analysis") {
+
+        it("should report the calls of the sources in exactly the leaking classes") {
+            val backwardFindings = findings("backward")
+            classesWithFindings(backwardFindings) should be(leakingClasses)
+            backwardFindings.map(_.taintMethod.name) should be(Set("source"))
+        }
+    }
+}
@@ -0,0 +1,175 @@
+/* BSD 2-Clause License - see OPAL/LICENSE for details. */
+package org.opalj
+package tac
+package fpcf
+package properties
+
+import scala.util.Random
+
+import scala.collection.immutable.IntMap
+
+import org.junit.runner.RunWith
+import org.scalatest.flatspec.AnyFlatSpec
+import org.scalatest.matchers.should.Matchers
+import org.scalatestplus.junit.JUnitRunner
+
+import org.opalj.collection.immutable.IntTrieSet
+import org.opalj.fpcf.PropertyStore
+import org.opalj.value.ValueInformation
+import org.opalj.bi.TestResources.locateTestResources
+import org.opalj.br.analyses.DeclaredMethods
+import org.opalj.br.analyses.DeclaredMethodsKey
+import org.opalj.br.analyses.Project
+import org.opalj.br.reader.Java8Framework.ClassFiles
+import org.opalj.br.analyses.SomeProject
+import org.opalj.br.fpcf.PropertyStoreKey
+import org.opalj.br.fpcf.properties.Context
+import org.opalj.br.fpcf.properties.SimpleContexts
+import org.opalj.br.fpcf.properties.SimpleContextsKey
+import org.opalj.tac.cg.CHACallGraphKey
+import org.opalj.tac.cg.TypeProviderKey
+import org.opalj.tac.fpcf.analyses.cg.TypeProvider
+import org.opalj.tac.fpcf.properties.cg.Callees
+import org.opalj.tac.fpcf.properties.cg.CompactCallees
+import org.opalj.tac.fpcf.properties.cg.ConcreteCallees
+import org.opalj.tac.fpcf.properties.cg.NoCallees
+
+@RunWith(classOf[JUnitRunner])
+class CompactCalleesTest extends AnyFlatSpec with Matchers {
+    val typesProject: SomeProject =
+        Project(
+            ClassFiles(locateTestResources("classhierarchy.jar", "bi")),
+            Iterable.empty,
+            libraryClassFilesAreInterfacesOnly = true
+        )
+
+    typesProject.get(CHACallGraphKey)
+    implicit val declaredMethods: DeclaredMethods = typesProject.get(DeclaredMethodsKey)
+    implicit val propertyStore: PropertyStore = typesProject.get(PropertyStoreKey)
+    implicit val typeProvider: TypeProvider = typesProject.get(TypeProviderKey)
+    val simpleContexts: SimpleContexts = typesProject.get(SimpleContextsKey)
+
+    val contexts: IndexedSeq[Context] =
+        declaredMethods.declaredMethods.take(12).map(simpleContexts(_)).toIndexedSeq
+    val callerContexts: IndexedSeq[Context] = contexts.take(2)
+    val pcs: Range = 0 until 8
+
+    type Update = (
+        Context,
+        IntMap[IntTrieSet],
+        IntMap[IntTrieSet],
+        IntTrieSet,
+        IntMap[IntMap[Option[(ValueInformation, IntTrieSet)]]],
+        IntMap[IntMap[Seq[Option[(ValueInformation, IntTrieSet)]]]]
+    )
+
+    def randomUpdate(random: Random): Update = {
+        def randomCallees(): IntMap[IntTrieSet] = {
+            (0 until random.nextInt(3)).foldLeft(IntMap.empty[IntTrieSet]) { (callees, _) =>
+                val pc = pcs(random.nextInt(pcs.size))
+                val calleeId = contexts(random.nextInt(contexts.size)).id
+                callees.updated(pc, callees.getOrElse(pc, IntTrieSet.empty) + calleeId)
+            }
+        }
+        val indirectCallees = randomCallees()
+        // The receivers and parameters are derived from the call site and the callee, i.e.,
+        // they are consistent across updates
+        val receivers = indirectCallees.map {
+            case (pc, callees) =>
+                pc -> IntMap(callees.iterator.map { calleeId =>
+                    calleeId -> (if ((pc + calleeId) % 2 == 0) None else Some((null, IntTrieSet(pc))))
+                }.toSeq: _*)
+        }
+        val parameters = indirectCallees.map {
+            case (pc, callees) =>
+                pc -> IntMap(callees.iterator.map { calleeId =>
+                    calleeId -> Seq(None, Some((null, IntTrieSet(pc, calleeId))))
+                }.toSeq: _*)
+        }
+        (
+            callerContexts(random.nextInt(callerContexts.size)),
+            randomCallees(),
+            indirectCallees,
+            if (random.nextInt(4) == 0) IntTrieSet(pcs(random.nextInt(pcs.size))) else IntTrieSet.empty,
+            receivers,
+            parameters
+        )
+    }
+
+    def update(callees: Callees, update: Update): Callees = {
+        val (context, direct, indirect, incomplete, receivers, parameters) = update
+        callees.updateWithCallees(context, direct, indirect, incomplete, receivers, parameters)
+    }
+
+    def assertSameCallees(callees: Callees, expected: Callees): Unit = {
+        callees.callerContexts.map(_.id).toSet should be(expected.callerContexts.map(_.id).toSet)
+        for (callerContext <- callerContexts) {
+            callees.incompleteCallSites(callerContext).toSet should be(
+                expected.incompleteCallSites(callerContext).toSet
+            )
+            callees.hasIncompleteCallSites(callerContext) should be(
+                expected.hasIncompleteCallSites(callerContext)
+            )
+            for (pc <- pcs) {
+                callees.isIncompleteCallSite(callerContext, pc) should be(
+                    expected.isIncompleteCallSite(callerContext, pc)
+                )
+                callees.directCallees(callerContext, pc).map(_.id).toSet should be(
+                    expected.directCallees(callerContext, pc).map(_.id).toSet
+                )
+                callees.indirectCallees(callerContext, pc).map(_.id).toSet should be(
+                    expected.indirectCallees(callerContext, pc).map(_.id).toSet
+                )
+                for (calleeContext <- contexts) {
+                    callees.containsDirectCall(callerContext, pc, calleeContext) should be(
+                        expected.containsDirectCall(callerContext, pc, calleeContext)
+                    )
+                    val isIndirectCall = expected.containsIndirectCall(callerContext, pc, calleeContext)
+                    callees.containsIndirectCall(callerContext, pc, calleeContext) should be(isIndirectCall)
+                    if (isIndirectCall) {
+                        callees.indirectCallReceiver(callerContext, pc, calleeContext) should be(
+                            expected.indirectCallReceiver(callerContext, pc, calleeContext)
+                        )
+                        callees.indirectCallParameters(callerContext, pc, calleeContext) should be(
+                            expected.indirectCallParameters(callerContext, pc, calleeContext)
+                        )
+                    }
+                }
+            }
+            callees.directCallSites(callerContext).view.mapValues(_.map(_.id).toSet).toMap should be(
+                expected.directCallSites(callerContext).view.mapValues(_.map(_.id).toSet).toMap
+            )
+            callees.callSites(callerContext).view.mapValues(_.map(_.id).toSet).toMap should be(
+                expected.callSites(callerContext).view.mapValues(_.map(_.id).toSet).toMap
+            )
+        }
+    }
+
+    behavior of "the compact callees"
+
+    it should "be created by the empty callees" in {
+        val updates = randomUpdate(new Random(42))
+        update(NoCallees, updates) shouldBe a[CompactCallees]
+    }
+
+    it should "contain the same callees as the concrete callees after every update" in {
+        val random = new Random(42)
+        for (_ <- 1 to 20) {
+            val updates = Seq.fill(2 * CompactCallees.MaxDeltas + 5)(randomUpdate(random))
+            val (context, direct, indirect, incomplete, receivers, parameters) = updates.head
+            var expected: Callees =
+                ConcreteCallees(context, direct, indirect, incomplete, receivers, parameters)
+            var callees: Callees = update(NoCallees, updates.head)
+            assertSameCallees(callees, expected)
+            for (u <- updates.tail) {
+                expected = update(expected, u)
+                callees = update(callees, u)
+                // Only query some of the intermediate callees to test the updates of both
+                // compacted and not yet compacted callees
+                if (random.nextInt(4) == 0)
+                    assertSameCallees(callees, expected)
+            }
+            assertSameCallees(callees, expected)
+        }
+    }
+}
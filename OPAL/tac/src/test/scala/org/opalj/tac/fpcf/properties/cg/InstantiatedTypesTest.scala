@@ -0,0 +1,113 @@
+/* BSD 2-Clause License - see OPAL/LICENSE for details. */
+package org.opalj
+package tac
+package fpcf
+package properties
+package cg
+
+import scala.util.Random
+
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.CountDownLatch
+
+import org.junit.runner.RunWith
+import org.scalatest.flatspec.AnyFlatSpec
+import org.scalatest.matchers.should.Matchers
+import org.scalatestplus.junit.JUnitRunner
+
+import org.opalj.collection.immutable.UIDSet
+import org.opalj.br.ObjectType
+import org.opalj.br.ReferenceType
+
+@RunWith(classOf[JUnitRunner])
+class InstantiatedTypesTest extends AnyFlatSpec with Matchers {
+
+    val allTypes: IndexedSeq[ReferenceType] =
+        (0 until 64).map(i => ObjectType(s"instantiatedtypes/T$i"))
+
+    behavior of "InstantiatedTypes"
+
+    it should "contain the same types as the union of the added types" in {
+        val random = new Random(42)
+        val root = InstantiatedTypes.empty()
+        for { _ <- 0 until 100 } {
+            var typeSet = root
+            var expectedTypes = UIDSet.empty[ReferenceType]
+            for { _ <- 0 until random.nextInt(10) } {
+                val newTypes = UIDSet(allTypes.filter(_ => random.nextInt(8) == 0): _*)
+                val previousTypeSet = typeSet
+                typeSet = typeSet.updated(newTypes)
+                expectedTypes ++= newTypes
+
+                typeSet.types should be(expectedTypes)
+                typeSet.numElements should be(expectedTypes.size)
+                typeSet.dropOldest(previousTypeSet.numElements).toSet should be(
+                    newTypes.toSet -- previousTypeSet.types.toSet
+                )
+            }
+        }
+    }
+
+    it should "return the new types, ordered by id, when dropping the types seen so far" in {
+        val typeSet = InstantiatedTypes.empty().updated(UIDSet(allTypes(3), allTypes(1)))
+        val updatedTypeSet = typeSet.updated(UIDSet(allTypes(7), allTypes(1), allTypes(5)))
+        updatedTypeSet.dropOldest(typeSet.numElements).toList should be(
+            List(allTypes(7), allTypes(5))
+        )
+        updatedTypeSet.dropOldest(0).toList should be(
+            List(allTypes(7), allTypes(5), allTypes(3), allTypes(1))
+        )
+    }
+
+    it should "share the type sets derived from the same type set by the same types" in {
+        val root = InstantiatedTypes.empty()
+        val typeSet = root.updated(UIDSet(allTypes(1), allTypes(2)))
+        root.updated(List(allTypes(2), allTypes(1))) should be theSameInstanceAs typeSet
+        typeSet.updated(UIDSet(allTypes(1))) should be theSameInstanceAs typeSet
+        typeSet.updated(UIDSet(allTypes(3))) should be theSameInstanceAs (
+            root.updated(UIDSet(allTypes(1), allTypes(2))).updated(UIDSet(allTypes(3)))
+        )
+    }
+
+    it should "not share the type sets derived from different or global type sets" in {
+        val types = UIDSet(allTypes(1), allTypes(2))
+        val typeSet = InstantiatedTypes.empty().updated(types)
+        val otherTypeSet = InstantiatedTypes.empty().updated(types)
+        otherTypeSet should not be theSameInstanceAs(typeSet)
+        otherTypeSet should be(typeSet)
+
+        InstantiatedTypes(types) should not be theSameInstanceAs(InstantiatedTypes(types))
+        InstantiatedTypes(types) should be(typeSet)
+        InstantiatedTypes(UIDSet.empty) should be theSameInstanceAs NoInstantiatedTypes
+    }
+
+    it should "share the type sets derived concurrently from the same type set" in {
+        val root = InstantiatedTypes.empty()
+        val threads = 8
+        val start = new CountDownLatch(1)
+        val typeSets = new ConcurrentHashMap[Int, List[InstantiatedTypes]]()
+        val workers = (0 until threads).map { thread =>
+            new Thread(() => {
+                start.await()
+                var typeSet = root
+                val threadTypeSets = allTypes.grouped(4).map { types =>
+                    typeSet = typeSet.updated(types)
+                    typeSet
+                }.toList
+                typeSets.put(thread, threadTypeSets)
+            })
+        }
+        workers.foreach(_.start())
+        start.countDown()
+        workers.foreach(_.join())
+
+        val expectedTypeSets = typeSets.get(0)
+        expectedTypeSets.size should be(allTypes.size / 4)
+        (1 until threads).foreach { thread =>
+            typeSets.get(thread).zip(expectedTypeSets).foreach {
+                case (typeSet, expectedTypeSet) =>
+                    typeSet should be theSameInstanceAs expectedTypeSet
+            }
+        }
+    }
+}
@@ -0,0 +1,160 @@
+/* BSD 2-Clause License - see OPAL/LICENSE for details. */
+package org.opalj
+package tac
+package pointsto
+
+import org.junit.runner.RunWith
+import org.scalatest.funspec.AnyFunSpec
+import org.scalatest.matchers.should.Matchers
+import org.scalatestplus.junit.JUnitRunner
+
+import org.opalj.collection.immutable.IntTrieSet
+import org.opalj.fpcf.UBP
+import org.opalj.br.ObjectType
+import org.opalj.br.ReferenceType
+import org.opalj.br.TestSupport.biProject
+import org.opalj.br.fpcf.PropertyStoreKey
+import org.opalj.br.fpcf.properties.pointsto.AllocationSitePointsToSet
+import org.opalj.tac.cg.AllocationSiteBasedPointsToCallGraphKey
+import org.opalj.tac.cg.RTACallGraphKey
+import org.opalj.tac.common.DefinitionSitesKey
+
+@RunWith(classOf[JUnitRunner])
+class DemandDrivenPointsToTest extends AnyFunSpec with Matchers {
+
+    val project = biProject("ai.jar")
+    val callGraph = project.get(RTACallGraphKey)
+    val definitionSites = project.get(DefinitionSitesKey)
+    val tacai = project.get(LazyDetachedTACAIKey)
+
+    describe("the demand-driven points-to analysis") {
+
+        it("should return the allocation site for each allocation") {
+            val pointsTo = new DemandDrivenPointsTo(project, callGraph)
+            for {
+                m <- project.allMethodsWithBody
+                (stmt, index) <- tacai(m).stmts.iterator.zipWithIndex
+                if stmt.isAssignment && stmt.asAssignment.expr.isNew
+            } {
+                val result = pointsTo.pointsTo(m, IntTrieSet(index))
+                result should be(PointsToQueryResult(
+                    Set(Allocation(definitionSites(m, stmt.pc))), isComplete = true
+                ))
+            }
+        }
+
+        it("should compute the same results with and without cached intermediate results") {
+            val pointsTo = new DemandDrivenPointsTo(project, callGraph)
+            val methods = project.allMethodsWithBody.take(200)
+            def queryAll(pointsTo: DemandDrivenPointsTo) = for {
+                m <- methods
+                (stmt, index) <- tacai(m).stmts.iterator.zipWithIndex
+                if stmt.isAssignment && stmt.asAssignment.targetVar.value.isReferenceValue
+            } yield {
+                pointsTo.pointsTo(m, IntTrieSet(index), Int.MaxValue)
+            }
+
+            val results = queryAll(pointsTo)
+            val resultsUsingCache = queryAll(pointsTo)
+            resultsUsingCache should be(results)
+            queryAll(new DemandDrivenPointsTo(project, callGraph)) should be(results)
+            pointsTo.statistics("cache hits") should be > 0L
+        }
+
+        it("should return an unknown object for arguments of pcs that are not call sites") {
+            val pointsTo = new DemandDrivenPointsTo(project, callGraph)
+            val (m, stmt) = (for {
+                m <- project.allMethodsWithBody.iterator
+                stmt <- tacai(m).stmts.iterator
+                if stmt.isAssignment && stmt.asAssignment.expr.isNew
+            } yield (m, stmt)).next()
+            pointsTo.pointsToOfArgument(m, stmt.pc, 0) should be(PointsToQueryResult(
+                Set(UnknownObject(definitionSites(m, stmt.pc))), isComplete = true
+            ))
+        }
+
+        it("should return an unknown object for fields that may be written outside the project") {
+            val taintProject = biProject("taint.jar")
+            val taintDefinitionSites = taintProject.get(DefinitionSitesKey)
+            val taintTACAI = taintProject.get(LazyDetachedTACAIKey)
+            val pointsTo = new DemandDrivenPointsTo(taintProject, taintProject.get(RTACallGraphKey))
+
+            // the fields of taint.Box are public and not final
+            val loads = for {
+                m <- taintProject.allMethodsWithBody
+                (stmt, index) <- taintTACAI(m).stmts.iterator.zipWithIndex
+                if stmt.isAssignment && stmt.asAssignment.expr.astID == GetField.ASTID
+                if stmt.asAssignment.expr.asGetField.declaringClass.fqn == "taint/Box"
+            } yield (m, stmt.pc, index)
+            loads should not be empty
+            for ((m, pc, index) <- loads) {
+                val result = pointsTo.pointsTo(m, IntTrieSet(index), Int.MaxValue)
+                result.origins should contain(UnknownObject(taintDefinitionSites(m, pc)))
+            }
+        }
+
+        it("should flag the result as incomplete if the budget is exceeded") {
+            val pointsTo = new DemandDrivenPointsTo(project, callGraph)
+            val incompleteResults = for {
+                m <- project.allMethodsWithBody.iterator
+                (stmt, index) <- tacai(m).stmts.iterator.zipWithIndex
+                if stmt.isAssignment && stmt.asAssignment.expr.astID == StaticFunctionCall.ASTID
+            } yield {
+                pointsTo.pointsTo(m, IntTrieSet(index), budget = 1)
+            }
+            incompleteResults.exists(!_.isComplete) should be(true)
+        }
+
+        it("should find the objects stored in fields like the points-to analysis, also if the "+
+            "field loads and stores form cycles") {
+            val pointsToProject = biProject("ai.jar")
+            val pointsToCallGraph = pointsToProject.get(AllocationSiteBasedPointsToCallGraphKey)
+            val ps = pointsToProject.get(PropertyStoreKey)
+            val pointsToDefinitionSites = pointsToProject.get(DefinitionSitesKey)
+            val pointsToTACAI = pointsToProject.get(LazyDetachedTACAIKey)
+            val pointsTo = new DemandDrivenPointsTo(pointsToProject, pointsToCallGraph)
+
+            // the type of the allocated object if the origin is an allocation or a constant
+            def allocatedType(origin: ObjectOrigin): Option[ReferenceType] = origin match {
+                case Allocation(definitionSite) =>
+                    val tac = pointsToTACAI(definitionSite.method)
+                    val index = tac.properStmtIndexForPC(definitionSite.pc)
+                    if (index < 0) None else tac.stmts(index) match {
+                        case Assignment(_, _, New(_, tpe))         => Some(tpe)
+                        case Assignment(_, _, NewArray(_, _, tpe)) => Some(tpe)
+                        case Assignment(_, _, _: StringConst)      => Some(ObjectType.String)
+                        case Assignment(_, _, _: ClassConst)       => Some(ObjectType.Class)
+                        case _                                     => None
+                    }
+                case _ => None
+            }
+
+            var comparedLoads = 0
+            for {
+                context <- pointsToCallGraph.reachableMethods()
+                if context.method.hasSingleDefinedMethod
+                m = context.method.definedMethod
+                if m.body.isDefined
+                (stmt, index) <- pointsToTACAI(m).stmts.iterator.zipWithIndex
+                if stmt.isAssignment && stmt.asAssignment.targetVar.value.isReferenceValue
+                if stmt.asAssignment.expr.astID == GetField.ASTID ||
+                    stmt.asAssignment.expr.astID == GetStatic.ASTID
+            } {
+                val result = pointsTo.pointsTo(m, IntTrieSet(index), Int.MaxValue)
+                val types = result.origins.map(allocatedType)
+                // objects with unknown types may be of any of the expected types
+                if (result.isComplete && !types.contains(None)) {
+                    comparedLoads += 1
+                    val definitionSite = pointsToDefinitionSites(m, stmt.pc)
+                    val expectedTypes = ps(definitionSite, AllocationSitePointsToSet.key) match {
+                        case UBP(pointsToSet) => pointsToSet.types.toSet[ReferenceType]
+                        case _                => Set.empty[ReferenceType]
+                    }
+                    if (!expectedTypes.subsetOf(types.flatten))
+                        fail(s"${m.toJava}@${stmt.pc}: ${types.flatten} (expected: $expectedTypes)")
+                }
+            }
+            comparedLoads should be > 0
+        }
+    }
+}